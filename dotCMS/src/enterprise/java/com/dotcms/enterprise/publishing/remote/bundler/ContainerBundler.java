@@ -171,7 +171,7 @@ public class ContainerBundler implements IBundler {
 				+ h.getHostname() + uri;
 
 		try(final OutputStream outputStream = bundleOutput.addFile(myFileUrl)) {
-			BundlerUtil.objectToXML(wrapper, outputStream);
+			BundlerUtil.objectToBundleFile(wrapper, outputStream);
 			bundleOutput.setLastModified(myFileUrl, Calendar.getInstance().getTimeInMillis());
 		}
 
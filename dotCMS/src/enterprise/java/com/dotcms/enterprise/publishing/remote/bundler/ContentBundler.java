@@ -503,7 +503,7 @@ public class ContentBundler implements IBundler {
 
 		try(final OutputStream outputStream = output.addFile(myFileUrl)) {
 
-			BundlerUtil.objectToXML(wrapper, outputStream);
+			BundlerUtil.objectToBundleFile(wrapper, outputStream);
 		}
 
 		output.setLastModified(myFileUrl, cal.getTimeInMillis());
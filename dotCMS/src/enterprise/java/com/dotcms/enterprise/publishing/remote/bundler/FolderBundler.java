@@ -180,7 +180,7 @@ public class FolderBundler implements IBundler {
 						wrapper.getFolder().getIdentifier()+FOLDER_EXTENSION;
 
 				try (final OutputStream outputStream = bundleOutput.addFile(myFileUrl)) {
-					BundlerUtil.objectToXML(wrapper, outputStream);
+					BundlerUtil.objectToBundleFile(wrapper, outputStream);
 				}
 			}
 		}
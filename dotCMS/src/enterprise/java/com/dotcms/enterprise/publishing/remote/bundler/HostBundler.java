@@ -434,7 +434,7 @@ public class HostBundler implements IBundler {
 
 		try (final OutputStream outputStream = output.addFile(myFileUrl)) {
 
-			BundlerUtil.objectToXML(wrapper, outputStream);
+			BundlerUtil.objectToBundleFile(wrapper, outputStream);
 		}
 
 		output.setLastModified(myFileUrl, cal.getTimeInMillis());
@@ -177,7 +177,7 @@ public class StructureBundler implements IBundler {
 
 		try(final OutputStream outputStream = bundleRoot.addFile(myFileUrl)) {
 
-			BundlerUtil.objectToXML(wrapper, outputStream);
+			BundlerUtil.objectToBundleFile(wrapper, outputStream);
 		}
 
 		bundleRoot.setLastModified(myFileUrl, Calendar.getInstance().getTimeInMillis());
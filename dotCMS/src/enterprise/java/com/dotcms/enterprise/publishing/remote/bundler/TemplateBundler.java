@@ -169,7 +169,7 @@ public class TemplateBundler implements IBundler {
 
 		try (final OutputStream outputStream = output.addFile(myFileUrl)) {
 
-			BundlerUtil.objectToXML(wrapper, outputStream);
+			BundlerUtil.objectToBundleFile(wrapper, outputStream);
 		}
 
 		output.setLastModified(myFileUrl, Calendar.getInstance().getTimeInMillis());
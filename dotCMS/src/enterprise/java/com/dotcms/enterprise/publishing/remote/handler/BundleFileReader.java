@@ -0,0 +1,208 @@
+/* 
+* Licensed to dotCMS LLC under the dotCMS Enterprise License (the
+* “Enterprise License”) found below 
+* 
+* Copyright (c) 2023 dotCMS Inc.
+* 
+* With regard to the dotCMS Software and this code:
+* 
+* This software, source code and associated documentation files (the
+* "Software")  may only be modified and used if you (and any entity that
+* you represent) have:
+* 
+* 1. Agreed to and are in compliance with, the dotCMS Subscription Terms
+* of Service, available at https://www.dotcms.com/terms (the “Enterprise
+* Terms”) or have another agreement governing the licensing and use of the
+* Software between you and dotCMS. 2. Each dotCMS instance that uses
+* enterprise features enabled by the code in this directory is licensed
+* under these agreements and has a separate and valid dotCMS Enterprise
+* server key issued by dotCMS.
+* 
+* Subject to these terms, you are free to modify this Software and publish
+* patches to the Software if you agree that dotCMS and/or its licensors
+* (as applicable) retain all right, title and interest in and to all such
+* modifications and/or patches, and all such modifications and/or patches
+* may only be used, copied, modified, displayed, distributed, or otherwise
+* exploited with a valid dotCMS Enterprise license for the correct number
+* of dotCMS instances.  You agree that dotCMS and/or its licensors (as
+* applicable) retain all right, title and interest in and to all such
+* modifications.  You are not granted any other rights beyond what is
+* expressly stated herein.  Subject to the foregoing, it is forbidden to
+* copy, merge, publish, distribute, sublicense, and/or sell the Software.
+* 
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+* OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+* MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+* IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+* CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+* TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+* SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+* 
+* For all third party components incorporated into the dotCMS Software,
+* those components are licensed under the original license provided by the
+* owner of the applicable component.
+*/
+
+package com.dotcms.enterprise.publishing.remote.handler;
+
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.concurrent.DotSubmitter;
+import com.dotcms.publishing.XMLSerializerUtil;
+import com.dotmarketing.util.Config;
+import com.thoughtworks.xstream.XStream;
+import io.vavr.Lazy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the XStream data files of a bundle, XML or binary, ahead of the handler that processes
+ * them. While the handler saves one item, the next files are already being deserialized in a small
+ * thread pool, so the parsing of big bundles doesn't add up to the time spent in the database.
+ * <p>
+ * The files must be read in the same order they were passed to the constructor. Any other file is
+ * simply read in the calling thread. When read-ahead is disabled every file is read in the calling
+ * thread, exactly as the handlers used to do it. Nothing is read until the first call to
+ * {@link #read(File)}, so a reader for a second pass over the same files can be created upfront.
+ */
+public class BundleFileReader implements AutoCloseable {
+
+	public static final String RECEIVER_BATCH_MODE = "PUSH_PUBLISHING_RECEIVER_BATCH_MODE";
+	public static final String RECEIVER_THREADS = "PUSH_PUBLISHING_RECEIVER_THREADS";
+
+	private static final String SUBMITTER_NAME = "PushPublishReceiverReadThreadPool";
+
+	private static final Lazy<Integer> threads = Lazy.of(() -> Config.getIntProperty(RECEIVER_THREADS, 4));
+
+	private final XStream xstream;
+	private final Iterator<File> files;
+	private final Deque<PendingFile> pending = new ArrayDeque<>();
+	private final int readAhead;
+	private boolean started = false;
+
+	/**
+	 * Creates a reader for the given files, reading ahead only when the receiver runs in batch
+	 * mode.
+	 *
+	 * @param xstream The {@link XStream} instance used to deserialize the files.
+	 * @param files   The files, in the order they will be read.
+	 */
+	public BundleFileReader(final XStream xstream, final Collection<File> files) {
+		this(xstream, files, isBatchMode() ? threads.get() * 4 : 0);
+	}
+
+	BundleFileReader(final XStream xstream, final Collection<File> files, final int readAhead) {
+		this.xstream = xstream;
+		this.files = files.iterator();
+		this.readAhead = readAhead;
+	}
+
+	/**
+	 * Returns {@code true} when the push-publish receiver should favour throughput: bundle files
+	 * are read ahead and the reindex of the received content is queued at the end of the handler
+	 * instead of being done one content at a time.
+	 */
+	public static boolean isBatchMode() {
+		return Config.getBooleanProperty(RECEIVER_BATCH_MODE, false);
+	}
+
+	/**
+	 * Returns the object deserialized from the given file.
+	 *
+	 * @param file The file to read.
+	 * @param <T>  The type of the object stored in the file.
+	 *
+	 * @return The deserialized object.
+	 *
+	 * @throws IOException An error occurred when reading the file.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T read(final File file) throws IOException {
+		if (!started) {
+			// the files are only read once the handler starts consuming them
+			started = true;
+			int scheduled = 0;
+			while (scheduled < readAhead && scheduleNext()) {
+				scheduled++;
+			}
+		}
+		final PendingFile next = pending.peekFirst();
+		if (next == null || !next.file.equals(file)) {
+			return (T) readFile(file);
+		}
+
+		pending.pollFirst();
+		scheduleNext();
+		try {
+			return (T) next.result.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading " + file, e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException("Unable to read " + file, cause);
+		}
+	}
+
+	private boolean scheduleNext() {
+		while (readAhead > 0 && files.hasNext()) {
+			final File file = files.next();
+			if (file.isDirectory()) {
+				continue;
+			}
+			pending.addLast(new PendingFile(file, submitter().submit(() -> readFile(file))));
+			return true;
+		}
+		return false;
+	}
+
+	private Object readFile(final File file) throws IOException {
+		try (final InputStream input = Files.newInputStream(file.toPath())) {
+			return XMLSerializerUtil.unmarshal(xstream, input);
+		}
+	}
+
+	private static DotSubmitter submitter() {
+		return DotConcurrentFactory.getInstance().getSubmitter(SUBMITTER_NAME,
+				new DotConcurrentFactory.SubmitterConfigBuilder()
+						.poolSize(threads.get())
+						.maxPoolSize(threads.get())
+						.queueCapacity(Integer.MAX_VALUE)
+						.build());
+	}
+
+	/**
+	 * Cancels the files that were read ahead but not consumed, e.g. when the handler stops early.
+	 */
+	@Override
+	public void close() {
+		pending.forEach(next -> next.result.cancel(true));
+		pending.clear();
+	}
+
+	private static final class PendingFile {
+
+		private final File file;
+		private final Future<Object> result;
+
+		private PendingFile(final File file, final Future<Object> result) {
+			this.file = file;
+			this.result = result;
+		}
+	}
+
+}
@@ -55,6 +55,7 @@ import com.dotcms.publisher.receiver.handler.IHandler;
 import com.dotcms.publishing.DotPublishingException;
 import com.dotcms.publishing.PublisherConfig;
 import com.dotcms.publishing.PublisherConfig.Operation;
+import com.dotcms.publishing.XMLSerializerUtil;
 import com.dotcms.rendering.velocity.services.ContainerLoader;
 import com.dotcms.util.xstream.XStreamHandler;
 import com.dotmarketing.beans.Host;
@@ -159,7 +160,7 @@ public class ContainerHandler implements IHandler {
         }
         ContainerWrapper containerWrapper;
         try (InputStream input = Files.newInputStream(containerFile.toPath())) {
-          containerWrapper = (ContainerWrapper) xstream.fromXML(input);
+          containerWrapper = (ContainerWrapper) XMLSerializerUtil.unmarshal(xstream, input);
         }
 
         // skip file based containers
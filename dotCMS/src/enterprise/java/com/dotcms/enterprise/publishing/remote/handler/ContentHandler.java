@@ -94,6 +94,7 @@ import com.dotmarketing.portlets.contentlet.business.DotContentletStateException
 import com.dotmarketing.portlets.contentlet.business.HostAPI;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.contentlet.model.ContentletVersionInfo;
+import com.dotmarketing.portlets.contentlet.model.IndexPolicy;
 import com.dotmarketing.portlets.fileassets.business.FileAssetValidationException;
 import com.dotmarketing.portlets.folders.business.FolderAPI;
 import com.dotmarketing.portlets.folders.model.Folder;
@@ -123,8 +124,6 @@ import io.vavr.control.Try;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.File;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -166,6 +165,7 @@ public class ContentHandler implements IHandler {
 	private final Lazy<MultiTreeAPI> multiTreeAPI = Lazy.of(APILocator::getMultiTreeAPI);
 
 	private final Map<String,Long> infoToRemove = new HashMap<>();
+	private int handledCount = -1;
 	private final ExistingContentMapping existingContentMap = new ExistingContentMapping();
 
 	private static final boolean RESPECT_FRONTEND_ROLES = true;
@@ -189,6 +189,11 @@ public class ContentHandler implements IHandler {
 		return this.getClass().getName();
 	}
 
+	@Override
+	public int getHandledCount() {
+		return handledCount;
+	}
+
 	@Override
 	public void handle(final File bundleFolder) throws Exception {
 	    if(LicenseUtil.getLevel() < LicenseLevel.PROFESSIONAL.level) {
@@ -218,10 +223,12 @@ public class ContentHandler implements IHandler {
 		List<File> contents = isHost?FileUtil.listFilesRecursively(bundleFolder, new HostBundler().getFileFilter()):
 				FileUtil.listFilesRecursively(bundleFolder, new ContentBundler().getFileFilter());
 		Collections.sort(contents);
+		handledCount = contents.size();
 
 		handleContents(contents, bundleFolder, isHost);
 		HandlerUtil.setExistingContent(config.getId(), existingContentMap);
 
+		final boolean batchMode = BundleFileReader.isBatchMode();
 		String identToRemove = null;
 		Contentlet contentlet = null;
 		try{
@@ -229,9 +236,18 @@ public class ContentHandler implements IHandler {
 				identToRemove = ident;
                 APILocator.getVersionableAPI().removeContentletVersionInfoFromCache(ident, infoToRemove.get(ident));
 				contentlet = contentletAPI.findContentletByIdentifier(ident, false, infoToRemove.get(ident), APILocator.getUserAPI().getSystemUser(), true);
-				APILocator.getContentletAPI().refresh(contentlet);
+				if (!batchMode) {
+					APILocator.getContentletAPI().refresh(contentlet);
+				}
 				invalidateRelationshipsCache(contentlet);
             }
+			if (batchMode) {
+				// In batch mode the whole bundle is queued for reindex at once, instead of reindexing
+				// each content (and its dependencies) while the transaction is still open
+				identToRemove = null;
+				contentlet = null;
+				APILocator.getReindexQueueAPI().addIdentifierReindex(infoToRemove.keySet());
+			}
         }catch (Exception e) {
 			HandlerUtil.cleanupExistingContentByBundleId(config.getId());
 			throw new DotPublishingException("Unable to update Cache or Reindex Content: identToRemove=[" +
@@ -265,8 +281,9 @@ public class ContentHandler implements IHandler {
         File workingOn=null;
         Contentlet content = null;
 		ContentWrapper wrapper = null;
-    	try{
-	        final XStream xstream = XStreamHandler.newXStreamInstance();
+	    final XStream xstream = XStreamHandler.newXStreamInstance();
+    	try (final BundleFileReader firstPass = new BundleFileReader(xstream, contents);
+			 final BundleFileReader secondPass = new BundleFileReader(xstream, contents)) {
 			final Set<Pair<String,Long>> pushedIdsToIgnore = new HashSet<>();
             for (final File contentFile : contents) {
                 workingOn=contentFile;
@@ -274,9 +291,7 @@ public class ContentHandler implements IHandler {
                 if ( contentFile.isDirectory() ) {
                     continue;
                 }
-                try(final InputStream input = Files.newInputStream(contentFile.toPath())){
-                    wrapper = (ContentWrapper) xstream.fromXML(input);
-                }
+                wrapper = firstPass.read(contentFile);
                 //This is to check if the contentType exists in the receiver, to improve logs
 				//If the ContentType does not exists will throw a NotFoundInDBException
 				APILocator.getContentTypeAPI(systemUser).find(wrapper.getContent().getContentTypeId());
@@ -373,9 +388,7 @@ public class ContentHandler implements IHandler {
 				    continue;
                 }
 				workingOn = contentFile;
-				try (final InputStream input = Files.newInputStream(contentFile.toPath())){
-					wrapper = (ContentWrapper)xstream.fromXML(input);
-				}
+				wrapper = secondPass.read(contentFile);
 				content = null;
 
                 if(wrapper.getOperation().equals(PushPublisherConfig.Operation.PUBLISH)) {
@@ -785,6 +798,11 @@ public class ContentHandler implements IHandler {
         if (content.isArchived()){
             this.contentletAPI.unarchive(content, userToUse, !RESPECT_FRONTEND_ROLES);
         }
+        if (BundleFileReader.isBatchMode()) {
+            // the content is reindexed in bulk once the whole bundle has been saved
+            content.setIndexPolicy(IndexPolicy.DEFER);
+            content.setIndexPolicyDependencies(IndexPolicy.DEFER);
+        }
         content = this.contentletAPI.checkin(content, userToUse, !RESPECT_FRONTEND_ROLES);
 
         //First we need to remove the "old" trees in order to add this new ones
@@ -53,6 +53,7 @@ import com.dotcms.publisher.pusher.wrapper.FolderWrapper;
 import com.dotcms.publisher.receiver.handler.IHandler;
 import com.dotcms.publishing.DotPublishingException;
 import com.dotcms.publishing.PublisherConfig;
+import com.dotcms.publishing.XMLSerializerUtil;
 import com.dotcms.util.xstream.XStreamHandler;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Identifier;
@@ -175,7 +176,7 @@ public class FolderHandler implements IHandler {
 
                 FolderWrapper folderWrapper;
 	        	try (final InputStream input = Files.newInputStream(folderFile.toPath())){
-                     folderWrapper = (FolderWrapper) xstream.fromXML(input);
+                     folderWrapper = (FolderWrapper) XMLSerializerUtil.unmarshal(xstream, input);
                 }
 
 	        	final Folder folder = folderWrapper.getFolder();
@@ -53,6 +53,7 @@ import com.dotcms.publisher.receiver.handler.IHandler;
 import com.dotcms.publishing.DotPublishingException;
 import com.dotcms.publishing.PublisherConfig;
 import com.dotcms.publishing.PublisherConfig.Operation;
+import com.dotcms.publishing.XMLSerializerUtil;
 import com.dotcms.repackage.com.google.common.collect.ImmutableList;
 import com.dotcms.util.xstream.XStreamHandler;
 import com.dotmarketing.business.APILocator;
@@ -125,7 +126,7 @@ public class StructureHandler implements IHandler {
 
 	        	StructureWrapper structureWrapper;
 				try(final InputStream input = Files.newInputStream(structureFile.toPath())){
-					structureWrapper = (StructureWrapper) xstream.fromXML(input);
+					structureWrapper = (StructureWrapper) XMLSerializerUtil.unmarshal(xstream, input);
 				}
 
 	        	Structure structure = structureWrapper.getStructure();
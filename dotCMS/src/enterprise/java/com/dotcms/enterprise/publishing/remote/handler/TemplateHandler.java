@@ -54,6 +54,7 @@ import com.dotcms.publisher.pusher.wrapper.TemplateWrapper;
 import com.dotcms.publisher.receiver.handler.IHandler;
 import com.dotcms.publishing.DotPublishingException;
 import com.dotcms.publishing.PublisherConfig;
+import com.dotcms.publishing.XMLSerializerUtil;
 import com.dotcms.rendering.velocity.services.TemplateLoader;
 import com.dotcms.rendering.velocity.viewtools.DotTemplateTool;
 import com.dotcms.util.xstream.XStreamHandler;
@@ -138,7 +139,7 @@ public class TemplateHandler implements IHandler {
 	        	if(templateFile.isDirectory()) continue;
 	        	TemplateWrapper templateWrapper;
 				try(final InputStream input = Files.newInputStream(templateFile.toPath())){
-					templateWrapper = (TemplateWrapper) xstream.fromXML(input);
+					templateWrapper = (TemplateWrapper) XMLSerializerUtil.unmarshal(xstream, input);
 				}
 
 	        	template = templateWrapper.getTemplate();
@@ -182,7 +183,7 @@ public class TemplateHandler implements IHandler {
 		        	if(templateFile.isDirectory()) continue;
 		        	TemplateWrapper templateWrapper;
 					try(final InputStream input = Files.newInputStream(templateFile.toPath())){
-						templateWrapper = (TemplateWrapper) xstream.fromXML(input);
+						templateWrapper = (TemplateWrapper) XMLSerializerUtil.unmarshal(xstream, input);
 					}
 		        	VersionInfo info = templateWrapper.getVi();
 		        	if(info.isLocked()){
@@ -100,8 +100,10 @@ import org.apache.http.conn.HttpHostConnectException;
 public class AWSS3EndPointPublisher implements EndPointPublisher {
 
     private static final String AWSS3_PUBLISHER_WAITFORCOMPLETION_CONFIG_PARAM_KEY     = "awss3.publisher.waitforcompletion";
+    private static final String AWSS3_PUBLISHER_UPLOAD_ENGINE_CONFIG_PARAM_KEY         = "STATIC_PUSH_UPLOAD_ENGINE_ENABLED";
     private final Storage storage;
     private final FileFilter awss3FileFilter = new AWSS3FileFilter();
+    private transient S3UploadEngine uploadEngine;
 
     public AWSS3EndPointPublisher(final AWSS3Configuration configuration) {
 
@@ -123,6 +125,22 @@ public class AWSS3EndPointPublisher implements EndPointPublisher {
         this.storage.shutdownTransferManager();
     }
 
+    /**
+     * Waits for the files queued by {@link #pushBundleToEndpoint(String, String, String, String, File)}
+     * to be uploaded. It does nothing unless the upload engine is enabled.
+     *
+     * @throws DotPublishingException if any of the files could not be uploaded
+     */
+    public void waitForUploads() throws DotPublishingException {
+        if (null != this.uploadEngine) {
+            try {
+                this.uploadEngine.await();
+            } finally {
+                this.uploadEngine = null;
+            }
+        }
+    } // waitForUploads.
+
     /**
      * Implementation of {@link EndPointPublisher#checkConnectSuccessfully(String)}.
      *
@@ -184,6 +202,11 @@ public class AWSS3EndPointPublisher implements EndPointPublisher {
     public void pushBundleToEndpoint(final String bucketName, final String region, final String bucketRootPrefix,
                                      final String filePath, final File file) throws DotPublishingException {
 
+        if (this.isUploadEngineEnabled()) {
+            this.queueUpload(bucketName, bucketRootPrefix, filePath, file);
+            return;
+        }
+
         if (file.isDirectory()) {
             Logger.info(this, "Pushing Folder: " + file.getAbsolutePath());
 
@@ -218,6 +241,33 @@ public class AWSS3EndPointPublisher implements EndPointPublisher {
         }
     } // pushBundleToEndpoint.
 
+    /**
+     * Queues the file or folder in the {@link S3UploadEngine}, which uploads many files at the same
+     * time and skips the ones the bucket already has. {@link #waitForUploads()} waits for them.
+     */
+    private void queueUpload(final String bucketName, final String bucketRootPrefix,
+                             final String filePath, final File file) throws DotPublishingException {
+
+        if (null == this.uploadEngine) {
+            this.uploadEngine = new S3UploadEngine(this.storage, (eachFile, objectMetadata) ->
+                    this.setContentType(eachFile, objectMetadata));
+        }
+
+        try {
+            final String folderPath = this.getFolderPath(bucketRootPrefix, filePath, file);
+            if (file.isDirectory()) {
+                Logger.info(this, "Pushing Folder: " + file.getAbsolutePath());
+                this.uploadEngine.uploadFolder(bucketName, folderPath, file, awss3FileFilter);
+            } else if (awss3FileFilter.accept(file)) {
+                this.uploadEngine.upload(bucketName,
+                        UtilMethods.isSet(folderPath) ? folderPath + File.separator + file.getName() : file.getName(),
+                        file);
+            }
+        } catch (IOException e) {
+            throw new DotPublishingException("Can't push File: " + file.getAbsolutePath(), e);
+        }
+    } // queueUpload.
+
     private boolean pushSingleFile(String bucketName, String bucketRootPrefix, String filePath, File file) {
         //We want to filter these extensions.
         if (!awss3FileFilter.accept(file)) {
@@ -325,6 +375,11 @@ public class AWSS3EndPointPublisher implements EndPointPublisher {
         }
     } // pushDirectory.
     
+    private boolean isUploadEngineEnabled() {
+
+        return Config.getBooleanProperty(AWSS3_PUBLISHER_UPLOAD_ENGINE_CONFIG_PARAM_KEY, true);
+    } // isUploadEngineEnabled.
+
     private boolean isWaitForCompletionNeeded() {
 
         return Config.getBooleanProperty
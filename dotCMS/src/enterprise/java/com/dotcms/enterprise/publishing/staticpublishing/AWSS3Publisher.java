@@ -395,6 +395,9 @@ public class AWSS3Publisher extends Publisher {
                             }
                         }
 
+                        if (amIPublishing) {
+                            endPointPublisher.waitForUploads();
+                        }
 
                     } catch(Exception e) {
                         // if the bundle can't be sent after the total num of tries, delete the pushed assets for this bundle
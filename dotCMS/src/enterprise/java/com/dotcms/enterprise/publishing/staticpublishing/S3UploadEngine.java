@@ -0,0 +1,356 @@
+/* 
+* Licensed to dotCMS LLC under the dotCMS Enterprise License (the
+* “Enterprise License”) found below 
+* 
+* Copyright (c) 2023 dotCMS Inc.
+* 
+* With regard to the dotCMS Software and this code:
+* 
+* This software, source code and associated documentation files (the
+* "Software")  may only be modified and used if you (and any entity that
+* you represent) have:
+* 
+* 1. Agreed to and are in compliance with, the dotCMS Subscription Terms
+* of Service, available at https://www.dotcms.com/terms (the “Enterprise
+* Terms”) or have another agreement governing the licensing and use of the
+* Software between you and dotCMS. 2. Each dotCMS instance that uses
+* enterprise features enabled by the code in this directory is licensed
+* under these agreements and has a separate and valid dotCMS Enterprise
+* server key issued by dotCMS.
+* 
+* Subject to these terms, you are free to modify this Software and publish
+* patches to the Software if you agree that dotCMS and/or its licensors
+* (as applicable) retain all right, title and interest in and to all such
+* modifications and/or patches, and all such modifications and/or patches
+* may only be used, copied, modified, displayed, distributed, or otherwise
+* exploited with a valid dotCMS Enterprise license for the correct number
+* of dotCMS instances.  You agree that dotCMS and/or its licensors (as
+* applicable) retain all right, title and interest in and to all such
+* modifications.  You are not granted any other rights beyond what is
+* expressly stated herein.  Subject to the foregoing, it is forbidden to
+* copy, merge, publish, distribute, sublicense, and/or sell the Software.
+* 
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+* OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+* MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+* IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+* CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+* TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+* SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+* 
+* For all third party components incorporated into the dotCMS Software,
+* those components are licensed under the original license provided by the
+* owner of the applicable component.
+*/
+
+package com.dotcms.enterprise.publishing.staticpublishing;
+
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.model.UploadResult;
+import com.dotcms.enterprise.publishing.storage.Storage;
+import com.dotcms.publishing.DotPublishingException;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+
+/**
+ * Uploads the files of a static bundle to S3 with a bounded number of uploads in flight. Big
+ * files are split in parts by the {@link com.amazonaws.services.s3.transfer.TransferManager} of
+ * the {@link Storage}, while this class keeps many files moving at the same time instead of
+ * waiting for each one.
+ *
+ * Files that did not change are not uploaded again. The objects already in the bucket are listed
+ * once for every folder being pushed, page by page, and a file is skipped when the ETag of its
+ * object is its MD5, or when the {@link S3UploadManifest} says that ETag was returned for a file
+ * with the same MD5 (objects uploaded in parts).
+ *
+ * {@link #await()} must be called once every file was queued, to wait for the pending uploads.
+ */
+class S3UploadEngine {
+
+    static final String MAX_IN_FLIGHT_UPLOADS = "STATIC_PUSH_MAX_IN_FLIGHT_UPLOADS";
+    static final String SKIP_UNCHANGED_FILES = "STATIC_PUSH_SKIP_UNCHANGED_FILES";
+
+    private final Storage storage;
+    private final ObjectMetadataProvider metadataProvider;
+    private final Function<String, S3UploadManifest> manifestLoader;
+    private final int maxInFlightUploads;
+    private final boolean skipUnchangedFiles;
+    private final int retries;
+    private final int secondsToSleepOnError;
+
+    private final Deque<PendingUpload> inFlight = new ArrayDeque<>();
+    private final Map<String, S3UploadManifest> manifests = new HashMap<>();
+    private final Map<String, RemoteObjects> remoteObjects = new HashMap<>();
+    private final List<String> failedKeys = new ArrayList<>();
+    private int uploaded = 0;
+    private int skipped = 0;
+
+    S3UploadEngine(final Storage storage, final ObjectMetadataProvider metadataProvider) {
+        this(storage, metadataProvider, S3UploadManifest::forBucket,
+                Config.getIntProperty(MAX_IN_FLIGHT_UPLOADS, 50),
+                Config.getBooleanProperty(SKIP_UNCHANGED_FILES, true));
+    }
+
+    S3UploadEngine(final Storage storage, final ObjectMetadataProvider metadataProvider,
+                   final Function<String, S3UploadManifest> manifestLoader,
+                   final int maxInFlightUploads, final boolean skipUnchangedFiles) {
+        this.storage = storage;
+        this.metadataProvider = metadataProvider;
+        this.manifestLoader = manifestLoader;
+        this.maxInFlightUploads = Math.max(1, maxInFlightUploads);
+        this.skipUnchangedFiles = skipUnchangedFiles;
+        this.retries = Config.getIntProperty("STATIC_PUSH_RETRY_ATTEMPTS", 3);
+        this.secondsToSleepOnError = Config.getIntProperty("STATIC_PUSH_SLEEP_ON_ERROR_SECONDS", 10);
+    }
+
+    /**
+     * Queues the files of a folder, keeping their relative paths under the key prefix
+     *
+     * @param bucketName bucket to upload the files to
+     * @param keyPrefix key of the folder in the bucket, without the trailing separator
+     * @param folder local folder to upload
+     * @param fileFilter files to upload
+     */
+    void uploadFolder(final String bucketName, final String keyPrefix, final File folder,
+                      final FileFilter fileFilter) throws IOException {
+
+        final String prefix = keyPrefix.isEmpty() ? keyPrefix : keyPrefix + "/";
+        if (skipUnchangedFiles) {
+            remoteObjects(bucketName).list(prefix);
+        }
+
+        final String folderPath = folder.getAbsolutePath();
+        for (final File file : FileUtils.listFiles(folder, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE)) {
+            if (fileFilter.accept(file)) {
+                final String relativePath = file.getAbsolutePath().substring(folderPath.length() + 1)
+                        .replace(File.separatorChar, '/');
+                upload(bucketName, prefix + relativePath, file);
+            }
+        }
+    }
+
+    /**
+     * Queues a file to be uploaded, unless the bucket already has it. It blocks while the maximum
+     * number of uploads is in flight.
+     */
+    void upload(final String bucketName, final String key, final File file) throws IOException {
+
+        final String md5 = md5Hex(file);
+        if (skipUnchangedFiles && isUnchanged(bucketName, key, md5)) {
+            Logger.debug(this, () -> "Skipping unchanged file: " + key);
+            skipped++;
+            return;
+        }
+
+        while (inFlight.size() >= maxInFlightUploads) {
+            complete(inFlight.poll());
+        }
+
+        start(new PendingUpload(bucketName, key, file, md5));
+    }
+
+    /**
+     * Waits for the pending uploads and saves the manifests of the buckets
+     *
+     * @throws DotPublishingException if any file could not be uploaded after all the retries
+     */
+    void await() throws DotPublishingException {
+        try {
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll());
+            }
+        } finally {
+            manifests.values().forEach(S3UploadManifest::save);
+        }
+
+        Logger.info(this, String.format("Static push to S3: %d files uploaded, %d unchanged files skipped, %d failed",
+                uploaded, skipped, failedKeys.size()));
+
+        if (!failedKeys.isEmpty()) {
+            throw new DotPublishingException("Could not upload the files: " + failedKeys);
+        }
+    }
+
+    int getUploaded() {
+        return uploaded;
+    }
+
+    int getSkipped() {
+        return skipped;
+    }
+
+    private boolean isUnchanged(final String bucketName, final String key, final String md5) {
+        final RemoteObjects objects = remoteObjects(bucketName);
+        if (!objects.isListed(key)) {
+            objects.list(key);
+        }
+
+        final String eTag = objects.getETag(key);
+        return eTag != null && (eTag.equalsIgnoreCase(md5) || manifest(bucketName).matches(key, md5, eTag));
+    }
+
+    private void start(final PendingUpload pending) {
+        try {
+            final ObjectMetadata metadata = new ObjectMetadata();
+            metadataProvider.provideObjectMetadata(pending.file, metadata);
+            metadata.setContentLength(pending.file.length());
+            metadata.setContentMD5(Base64.encodeBase64String(Hex.decodeHex(pending.md5.toCharArray())));
+
+            pending.upload = storage.uploadFile(new PutObjectRequest(pending.bucketName, pending.key, pending.file)
+                    .withMetadata(metadata));
+            inFlight.add(pending);
+        } catch (final RuntimeException | DecoderException e) {
+            retryOrFail(pending, e);
+        }
+    }
+
+    private void complete(final PendingUpload pending) {
+        try {
+            final UploadResult result = pending.upload.waitForUploadResult();
+            manifest(pending.bucketName).put(pending.key, pending.md5, removeQuotes(result.getETag()));
+            uploaded++;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedKeys.add(pending.key);
+        } catch (final RuntimeException e) {
+            retryOrFail(pending, e);
+        }
+    }
+
+    private void retryOrFail(final PendingUpload pending, final Exception error) {
+        if (pending.attempt >= retries) {
+            Logger.error(this, "Can't push file: " + pending.file.getAbsolutePath() + ", reason: " + error.getMessage());
+            failedKeys.add(pending.key);
+            return;
+        }
+
+        pending.attempt++;
+        Logger.info(this, "Pushing File: " + pending.key + ", retries: " + pending.attempt + ", error: " + error.getMessage());
+        try {
+            Thread.sleep(secondsToSleepOnError * 1000L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedKeys.add(pending.key);
+            return;
+        }
+        start(pending);
+    }
+
+    private S3UploadManifest manifest(final String bucketName) {
+        return manifests.computeIfAbsent(bucketName, manifestLoader);
+    }
+
+    private RemoteObjects remoteObjects(final String bucketName) {
+        return remoteObjects.computeIfAbsent(bucketName, RemoteObjects::new);
+    }
+
+    private static String md5Hex(final File file) throws IOException {
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            return DigestUtils.md5Hex(input);
+        }
+    }
+
+    private static String removeQuotes(final String eTag) {
+        return eTag != null && eTag.length() > 1 && eTag.startsWith("\"") && eTag.endsWith("\"")
+                ? eTag.substring(1, eTag.length() - 1) : eTag;
+    }
+
+    /**
+     * ETags of the objects of a bucket, listed on demand for the prefixes being pushed
+     */
+    private class RemoteObjects {
+
+        private final String bucketName;
+        private final Set<String> listedPrefixes = new HashSet<>();
+        private final Map<String, String> eTags = new HashMap<>();
+
+        RemoteObjects(final String bucketName) {
+            this.bucketName = bucketName;
+        }
+
+        boolean isListed(final String key) {
+            for (final String prefix : listedPrefixes) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String getETag(final String key) {
+            return eTags.get(key);
+        }
+
+        /**
+         * Lists the objects under the prefix one page at a time. If the listing fails, the files
+         * under the prefix are uploaded as if the bucket did not have them.
+         */
+        void list(final String prefix) {
+            if (isListed(prefix)) {
+                return;
+            }
+
+            try {
+                ObjectListing listing = storage.listObjects(bucketName, prefix);
+                addAll(listing);
+                while (listing.isTruncated()) {
+                    listing = storage.listNextBatchOfObjects(listing);
+                    addAll(listing);
+                }
+            } catch (final RuntimeException e) {
+                Logger.warn(S3UploadEngine.class, String.format("Could not list the objects of bucket %s under %s: %s",
+                        bucketName, prefix, e.getMessage()));
+            }
+            listedPrefixes.add(prefix);
+        }
+
+        private void addAll(final ObjectListing listing) {
+            for (final S3ObjectSummary summary : listing.getObjectSummaries()) {
+                eTags.put(summary.getKey(), removeQuotes(summary.getETag()));
+            }
+        }
+    }
+
+    private static class PendingUpload {
+
+        private final String bucketName;
+        private final String key;
+        private final File file;
+        private final String md5;
+        private Upload upload;
+        private int attempt = 0;
+
+        private PendingUpload(final String bucketName, final String key, final File file, final String md5) {
+            this.bucketName = bucketName;
+            this.key = key;
+            this.file = file;
+            this.md5 = md5;
+        }
+    }
+
+}
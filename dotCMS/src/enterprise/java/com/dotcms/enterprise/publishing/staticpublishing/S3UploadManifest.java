@@ -0,0 +1,139 @@
+/* 
+* Licensed to dotCMS LLC under the dotCMS Enterprise License (the
+* “Enterprise License”) found below 
+* 
+* Copyright (c) 2023 dotCMS Inc.
+* 
+* With regard to the dotCMS Software and this code:
+* 
+* This software, source code and associated documentation files (the
+* "Software")  may only be modified and used if you (and any entity that
+* you represent) have:
+* 
+* 1. Agreed to and are in compliance with, the dotCMS Subscription Terms
+* of Service, available at https://www.dotcms.com/terms (the “Enterprise
+* Terms”) or have another agreement governing the licensing and use of the
+* Software between you and dotCMS. 2. Each dotCMS instance that uses
+* enterprise features enabled by the code in this directory is licensed
+* under these agreements and has a separate and valid dotCMS Enterprise
+* server key issued by dotCMS.
+* 
+* Subject to these terms, you are free to modify this Software and publish
+* patches to the Software if you agree that dotCMS and/or its licensors
+* (as applicable) retain all right, title and interest in and to all such
+* modifications and/or patches, and all such modifications and/or patches
+* may only be used, copied, modified, displayed, distributed, or otherwise
+* exploited with a valid dotCMS Enterprise license for the correct number
+* of dotCMS instances.  You agree that dotCMS and/or its licensors (as
+* applicable) retain all right, title and interest in and to all such
+* modifications.  You are not granted any other rights beyond what is
+* expressly stated herein.  Subject to the foregoing, it is forbidden to
+* copy, merge, publish, distribute, sublicense, and/or sell the Software.
+* 
+* THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS
+* OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+* MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+* IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+* CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+* TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+* SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+* 
+* For all third party components incorporated into the dotCMS Software,
+* those components are licensed under the original license provided by the
+* owner of the applicable component.
+*/
+
+package com.dotcms.enterprise.publishing.staticpublishing;
+
+import com.dotmarketing.util.ConfigUtils;
+import com.dotmarketing.util.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Local cache of the files uploaded to a bucket: the MD5 of each file and the ETag S3 returned for
+ * it. The ETag of an object uploaded in several parts is not the MD5 of the file, so this cache is
+ * what tells whether those objects changed since they were uploaded.
+ * It is kept under the static publishing folder, so it is shared by the nodes of a cluster.
+ */
+class S3UploadManifest {
+
+    private static final String MANIFESTS_FOLDER = "s3_manifests";
+
+    private final File file;
+    private final Properties entries = new Properties();
+    private boolean modified = false;
+
+    S3UploadManifest(final File file) {
+        this.file = file;
+        if (file.exists()) {
+            try (InputStream input = Files.newInputStream(file.toPath())) {
+                entries.load(input);
+            } catch (final IOException e) {
+                Logger.warn(this, "Could not read the upload manifest " + file + ", it will be rebuilt: " + e.getMessage());
+                entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the manifest of the bucket, stored under {@link ConfigUtils#getStaticPublishPath()}
+     */
+    static S3UploadManifest forBucket(final String bucketName) {
+        return new S3UploadManifest(new File(ConfigUtils.getStaticPublishPath() + File.separator
+                + MANIFESTS_FOLDER + File.separator + bucketName + ".properties"));
+    }
+
+    /**
+     * Returns true if the object was uploaded from a file with the given MD5 and S3 still has the
+     * object that was uploaded
+     */
+    boolean matches(final String key, final String md5, final String eTag) {
+        final String entry = entries.getProperty(key);
+        return entry != null && entry.equals(entry(md5, eTag));
+    }
+
+    void put(final String key, final String md5, final String eTag) {
+        if (eTag != null) {
+            entries.setProperty(key, entry(md5, eTag));
+            modified = true;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the manifest if it changed. It is written to a temporary file first, so a failure
+     * never leaves a truncated manifest behind.
+     */
+    void save() {
+        if (!modified) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            final Path tempFile = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(tempFile)) {
+                entries.store(output, null);
+            }
+            Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            modified = false;
+        } catch (final IOException e) {
+            Logger.warn(this, "Could not save the upload manifest " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String entry(final String md5, final String eTag) {
+        return md5 + " " + eTag;
+    }
+
+}
@@ -228,6 +228,17 @@ public class AWSS3Storage implements Storage {
         }
     }
 
+    @Override
+    public ObjectListing listNextBatchOfObjects(final ObjectListing previousListing) throws DotRuntimeException {
+        try {
+            return s3client.listNextBatchOfObjects(previousListing);
+        } catch (AmazonServiceException ase) {
+            throw new DotRuntimeException("Caught an error from Amazon S3: request made but was rejected", ase);
+        } catch (AmazonClientException ace) {
+            throw new DotRuntimeException("Caught an error from Amazon S3: client encountered an internal error", ace);
+        }
+    }
+
     @Override
     public void deleteFolder(final String bucketName, final String folderName) throws DotRuntimeException {
         try {
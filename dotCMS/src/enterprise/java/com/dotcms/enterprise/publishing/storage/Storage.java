@@ -142,6 +142,11 @@ public interface Storage {
      */
     ObjectListing listObjects(final String bucketName, final String folderPath) throws DotRuntimeException;
 
+    /**
+     * Returns the next page of a listing that was truncated, see {@link ObjectListing#isTruncated()}.
+     */
+    ObjectListing listNextBatchOfObjects(final ObjectListing previousListing) throws DotRuntimeException;
+
     /**
      * Performs a head bucket operation on the requested bucket name. This operation is useful to determine if a bucket exists and you have permission to access it.
      */
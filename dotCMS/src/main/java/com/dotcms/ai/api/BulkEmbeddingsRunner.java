@@ -1,5 +1,9 @@
 package com.dotcms.ai.api;
 
+import com.dotcms.ai.app.AppConfig;
+import com.dotcms.ai.app.AppKeys;
+import com.dotcms.ai.app.ConfigService;
+import com.dotcms.ai.db.EmbeddingsDTO;
 import com.dotcms.ai.rest.forms.EmbeddingsForm;
 import com.dotcms.contenttype.model.field.Field;
 import com.dotmarketing.business.APILocator;
@@ -7,9 +11,13 @@ import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
 import com.liferay.portal.model.User;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
 import io.vavr.control.Try;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -17,6 +25,11 @@ import java.util.stream.Collectors;
  * It implements the Runnable interface, allowing it to be used in a multithreaded context.
  * The class takes a list of inodes, representing the contentlets to be processed, and an EmbeddingsForm, which contains the necessary information for the embeddings generation.
  * The embeddings generation is performed in the run() method, which is executed in a separate thread when the class is used in a Thread object.
+ * <p>
+ * The chunks of all the contentlets are pulled or generated together: once there are enough pending chunks to fill
+ * {@link AppKeys#EMBEDDINGS_BATCH_CONCURRENCY} requests of {@link AppKeys#EMBEDDINGS_BATCH_MAX_INPUTS} inputs, they
+ * are sent in batches by {@link EmbeddingsAPI#pullOrGenerateEmbeddings(List, String)} and their embeddings are
+ * saved with a single batch insert.
  */
 public class BulkEmbeddingsRunner implements Runnable {
 
@@ -35,6 +48,13 @@ public class BulkEmbeddingsRunner implements Runnable {
 
     @Override
     public void run() {
+        final EmbeddingsAPI embeddingsAPI = APILocator.getDotAIAPI().getEmbeddingsAPI();
+        final AppConfig config = ConfigService.INSTANCE.config();
+        final int splitAtTokens = config.getConfigInteger(AppKeys.EMBEDDINGS_SPLIT_AT_TOKENS);
+        final int flushAt = Math.max(1, config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_MAX_INPUTS)
+                * Math.max(1, config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_CONCURRENCY)));
+        final List<Tuple2<Contentlet, String>> pendingChunks = new ArrayList<>();
+
         for (final String inode : inodes) {
             try {
                 final Contentlet contentlet = APILocator.getContentletAPI().find(inode, user, false);
@@ -48,15 +68,81 @@ public class BulkEmbeddingsRunner implements Runnable {
                         .filter(f -> embeddingsForm.fieldsAsList().contains(f.variable().toLowerCase()))
                         .collect(Collectors.toList());
                 // if a velocity template is passed in, use it.  Otherwise, try the fields
-                if (!APILocator.getDotAIAPI().getEmbeddingsAPI().generateEmbeddingsForContent(
-                        contentlet,
-                        embeddingsForm.velocityTemplate,
-                        embeddingsForm.indexName)) {
-                    APILocator.getDotAIAPI().getEmbeddingsAPI().generateEmbeddingsForContent(contentlet, fields, embeddingsForm.indexName);
+                final Optional<String> content = EmbeddingsAPIImpl
+                        .getContentToEmbed(contentlet, embeddingsForm.velocityTemplate)
+                        .or(() -> EmbeddingsAPIImpl.getContentToEmbed(contentlet, fields));
+                if (content.isEmpty()) {
+                    continue;
+                }
+
+                if (config.getConfigBoolean(AppKeys.EMBEDDINGS_DB_DELETE_OLD_ON_UPDATE)) {
+                    embeddingsAPI.deleteEmbedding(new EmbeddingsDTO.Builder()
+                            .withIdentifier(contentlet.getIdentifier())
+                            .withLanguage(contentlet.getLanguageId())
+                            .withIndexName(embeddingsForm.indexName)
+                            .withContentType(contentlet.getContentType().variable())
+                            .withExcludeInodes(new String[]{contentlet.getInode()})
+                            .build());
+                }
+
+                for (final String chunk : EmbeddingsRunner.splitIntoChunks(content.get(), splitAtTokens)) {
+                    if (!embeddingsAPI.embeddingExists(contentlet.getInode(), embeddingsForm.indexName, chunk)) {
+                        pendingChunks.add(Tuple.of(contentlet, chunk));
+                    }
                 }
             } catch (Exception e) {
                 Logger.warn(this.getClass(), "unable to embed content:" + inode + " error:" + e.getMessage(), e);
             }
+
+            if (pendingChunks.size() >= flushAt) {
+                saveEmbeddings(embeddingsAPI, pendingChunks);
+            }
+        }
+
+        saveEmbeddings(embeddingsAPI, pendingChunks);
+    }
+
+    /**
+     * Pulls or generates the embeddings of the pending chunks and saves them, the pending chunks are
+     * cleared even if it fails.
+     */
+    private void saveEmbeddings(final EmbeddingsAPI embeddingsAPI,
+                                final List<Tuple2<Contentlet, String>> pendingChunks) {
+        if (pendingChunks.isEmpty()) {
+            return;
+        }
+
+        try {
+            final List<Tuple2<Integer, List<Float>>> embeddings = embeddingsAPI.pullOrGenerateEmbeddings(
+                    pendingChunks.stream().map(Tuple2::_2).collect(Collectors.toList()),
+                    UtilMethods.extractUserIdOrNull(user));
+
+            final List<EmbeddingsDTO> embeddingsDTOs = new ArrayList<>(pendingChunks.size());
+            for (int i = 0; i < pendingChunks.size(); i++) {
+                if (embeddings.get(i)._2.isEmpty()) {
+                    continue;
+                }
+
+                final Contentlet contentlet = pendingChunks.get(i)._1;
+                embeddingsDTOs.add(new EmbeddingsDTO.Builder()
+                        .withContentType(contentlet.getContentType().variable())
+                        .withTokenCount(embeddings.get(i)._1)
+                        .withInode(contentlet.getInode())
+                        .withLanguage(contentlet.getLanguageId())
+                        .withTitle(contentlet.getTitle())
+                        .withIdentifier(contentlet.getIdentifier())
+                        .withHost(contentlet.getHost())
+                        .withExtractedText(pendingChunks.get(i)._2)
+                        .withIndexName(embeddingsForm.indexName)
+                        .withEmbeddings(embeddings.get(i)._2).build());
+            }
+
+            embeddingsAPI.saveEmbeddings(embeddingsDTOs);
+        } catch (Exception e) {
+            Logger.warn(this.getClass(), "unable to embed " + pendingChunks.size() + " chunks of content, error:"
+                    + e.getMessage(), e);
+        } finally {
+            pendingChunks.clear();
         }
     }
 
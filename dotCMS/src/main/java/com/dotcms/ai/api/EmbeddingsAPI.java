@@ -161,6 +161,19 @@ public interface EmbeddingsAPI {
      */
     Tuple2<Integer, List<Float>> pullOrGenerateEmbeddings(String contentId, String content, String userId);
 
+    /**
+     * Pulls or generates the embeddings of many snippets of content at once. The snippets that are
+     * not in the cache nor in the db are sent to OpenAI in batches, see {@link EmbeddingsBatcher},
+     * instead of one request per snippet.
+     *
+     * @param contents The snippets of content that will be tokenized and sent to OpenAI.
+     * @param userId   The ID of the user making the request.
+     *
+     * @return Tuple(Count of Tokens Input, List of Embeddings Output) of each snippet, in the same
+     * order as the snippets
+     */
+    List<Tuple2<Integer, List<Float>>> pullOrGenerateEmbeddings(List<String> contents, String userId);
+
     /**
      * Checks if the embeddings for the given inode, indexName, and extractedText already exist in the database.
      *
@@ -178,6 +191,13 @@ public interface EmbeddingsAPI {
      */
     void saveEmbeddings(final EmbeddingsDTO embeddings);
 
+    /**
+     * Saves the provided embeddings to the database in batches.
+     *
+     * @param embeddings the EmbeddingsDTO objects containing the embeddings to be saved.
+     */
+    void saveEmbeddings(final List<EmbeddingsDTO> embeddings);
+
     /**
      * Deletes the embeddings from the database that match the provided EmbeddingsDTO.
      *
@@ -46,6 +46,7 @@ import org.apache.velocity.context.Context;
 import javax.validation.constraints.NotNull;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -149,20 +150,37 @@ class EmbeddingsAPIImpl implements EmbeddingsAPI {
                                                 final List<Field> tryFields,
                                                 final String indexName) {
 
+        final Optional<String> content = getContentToEmbed(contentlet, tryFields);
+        if (content.isEmpty()) {
+            return false;
+        }
+
+        EmbeddingsCallStrategy.resolveStrategy().embed(this, contentlet, content.get(), indexName);
+
+        return true;
+    }
+
+    /**
+     * Returns the text to embed for the given fields of a contentlet, or for the fields that look
+     * indexable when no fields are given.
+     *
+     * @param contentlet The contentlet to embed.
+     * @param tryFields  The fields to embed, can be empty.
+     *
+     * @return The text to embed, empty if there is nothing to embed.
+     */
+    static Optional<String> getContentToEmbed(final Contentlet contentlet, final List<Field> tryFields) {
         final List<Field> fields = tryFields.isEmpty()
                 ? ContentToStringUtil.impl.get().guessWhatFieldsToIndex(contentlet)
                 : tryFields;
 
         final Optional<String> content = ContentToStringUtil.impl.get().parseFields(contentlet, fields);
         if (content.isEmpty() || UtilMethods.isEmpty(content.get())) {
-            Logger.warn(this, String.format("No valid fields to embed for Contentlet ID '%s' of type " +
+            Logger.warn(EmbeddingsAPIImpl.class, String.format("No valid fields to embed for Contentlet ID '%s' of type " +
                     "'%s' with title '%s'", contentlet.getIdentifier(), contentlet.getContentType().variable(), contentlet.getTitle()));
-            return false;
+            return Optional.empty();
         }
-
-        EmbeddingsCallStrategy.resolveStrategy().embed(this, contentlet, content.get(), indexName);
-
-        return true;
+        return content;
     }
 
     @Override
@@ -170,27 +188,39 @@ class EmbeddingsAPIImpl implements EmbeddingsAPI {
                                                 final String velocityTemplate,
                                                 final String indexName) {
 
-        if (UtilMethods.isEmpty(velocityTemplate)) {
+        final Optional<String> parsed = getContentToEmbed(contentlet, velocityTemplate);
+        if (parsed.isEmpty()) {
             return false;
         }
 
+        DotConcurrentFactory.getInstance().getSubmitter(OPEN_AI_THREAD_POOL_KEY).submit(new EmbeddingsRunner(this, contentlet, parsed.get(), indexName));
+
+        return true;
+    }
+
+    /**
+     * Returns the text to embed for a contentlet rendered with a velocity template.
+     *
+     * @param contentlet       The contentlet to embed.
+     * @param velocityTemplate The velocity template, can be empty.
+     *
+     * @return The text to embed, empty if there is no template or it renders nothing.
+     */
+    static Optional<String> getContentToEmbed(final Contentlet contentlet, final String velocityTemplate) {
+        if (UtilMethods.isEmpty(velocityTemplate)) {
+            return Optional.empty();
+        }
+
         final Context ctx = VelocityContextFactory.getMockContext(contentlet);
         final String textToEmbed = Try.of(() -> VelocityUtil.eval(velocityTemplate, ctx)).getOrNull();
 
         if (UtilMethods.isEmpty(textToEmbed)) {
-            return false;
+            return Optional.empty();
         }
 
-        final Optional<String> parsed = ContentToStringUtil.impl.get().isHtml(textToEmbed)
+        return ContentToStringUtil.impl.get().isHtml(textToEmbed)
                 ? ContentToStringUtil.impl.get().parseHTML(textToEmbed)
                 : Optional.of(textToEmbed);
-        if (parsed.isEmpty()) {
-            return false;
-        }
-
-        DotConcurrentFactory.getInstance().getSubmitter(OPEN_AI_THREAD_POOL_KEY).submit(new EmbeddingsRunner(this, contentlet, parsed.get(), indexName));
-
-        return true;
     }
 
     @WrapInTransaction
@@ -358,6 +388,80 @@ class EmbeddingsAPIImpl implements EmbeddingsAPI {
         return openAiEmbeddings;
     }
 
+    @WrapInTransaction
+    @Override
+    public List<Tuple2<Integer, List<Float>>> pullOrGenerateEmbeddings(final List<String> contents,
+                                                                       final String userId) {
+        final List<Tuple2<Integer, List<Float>>> results =
+                new ArrayList<>(Collections.nCopies(contents.size(), Tuple.of(0, List.of())));
+        // the same snippet is sent only once, even when it is repeated
+        final Map<String, List<Integer>> positionsByHash = new LinkedHashMap<>();
+        final List<String> contentsToGenerate = new ArrayList<>();
+        final List<List<Integer>> tokensToGenerate = new ArrayList<>();
+
+        for (int i = 0; i < contents.size(); i++) {
+            final String content = contents.get(i);
+            if (UtilMethods.isEmpty(content)) {
+                continue;
+            }
+
+            final String hashed = StringUtils.hashText(content);
+            final Tuple2<Integer, List<Float>> cachedEmbeddings = EMBEDDING_CACHE.getIfPresent(hashed);
+            if (cachedEmbeddings != null && !cachedEmbeddings._2.isEmpty()) {
+                results.set(i, cachedEmbeddings);
+                continue;
+            }
+
+            if (positionsByHash.containsKey(hashed)) {
+                positionsByHash.get(hashed).add(i);
+                continue;
+            }
+
+            final Tuple3<String, Integer, List<Float>> dbEmbeddings =
+                    EmbeddingsFactory.impl.get().searchExistingEmbeddings(content);
+            if (dbEmbeddings != null && !dbEmbeddings._3.isEmpty()) {
+                if (!AiKeys.CACHE.equalsIgnoreCase(dbEmbeddings._1)) {
+                    saveEmbeddingsForCache(content, Tuple.of(dbEmbeddings._2, dbEmbeddings._3));
+                }
+                EMBEDDING_CACHE.put(hashed, Tuple.of(dbEmbeddings._2, dbEmbeddings._3));
+                results.set(i, Tuple.of(dbEmbeddings._2, dbEmbeddings._3));
+                continue;
+            }
+
+            final List<Integer> tokens = EncodingUtil.get()
+                    .getEncoding()
+                    .map(encoding -> encoding.encode(content))
+                    .orElse(List.of());
+            if (tokens.isEmpty()) {
+                continue;
+            }
+
+            positionsByHash.put(hashed, new ArrayList<>(List.of(i)));
+            contentsToGenerate.add(content);
+            tokensToGenerate.add(tokens);
+        }
+
+        if (contentsToGenerate.isEmpty()) {
+            return results;
+        }
+
+        debugLogger(this.getClass(), () -> String.format("Generating embeddings for %d snippets of %d",
+                contentsToGenerate.size(), contents.size()));
+        final List<List<Float>> generated = new EmbeddingsBatcher(config).embed(tokensToGenerate, userId);
+        final List<EmbeddingsDTO> cacheEmbeddings = new ArrayList<>(generated.size());
+        final List<List<Integer>> positions = new ArrayList<>(positionsByHash.values());
+        for (int i = 0; i < generated.size(); i++) {
+            final String content = contentsToGenerate.get(i);
+            final Tuple2<Integer, List<Float>> embeddings = Tuple.of(tokensToGenerate.get(i).size(), generated.get(i));
+            EMBEDDING_CACHE.put(StringUtils.hashText(content), embeddings);
+            cacheEmbeddings.add(toCacheEmbeddings(content, embeddings));
+            positions.get(i).forEach(position -> results.set(position, embeddings));
+        }
+        saveEmbeddings(cacheEmbeddings);
+
+        return results;
+    }
+
     @CloseDBIfOpened
     @Override
     public boolean embeddingExists(final String inode, final String indexName, final String extractedText) {
@@ -370,6 +474,12 @@ class EmbeddingsAPIImpl implements EmbeddingsAPI {
         EmbeddingsFactory.impl.get().saveEmbeddings(embeddings);
     }
 
+    @WrapInTransaction
+    @Override
+    public void saveEmbeddings(final List<EmbeddingsDTO> embeddings) {
+        EmbeddingsFactory.impl.get().saveEmbeddings(embeddings);
+    }
+
     @WrapInTransaction
     @Override
     public int deleteEmbeddings(final EmbeddingsDTO dto) {
@@ -400,7 +510,11 @@ class EmbeddingsAPIImpl implements EmbeddingsAPI {
     }
 
     private void saveEmbeddingsForCache(final String content, final Tuple2<Integer, List<Float>> embeddings) {
-        final EmbeddingsDTO embeddingsDTO = new EmbeddingsDTO.Builder()
+        saveEmbeddings(toCacheEmbeddings(content, embeddings));
+    }
+
+    private EmbeddingsDTO toCacheEmbeddings(final String content, final Tuple2<Integer, List<Float>> embeddings) {
+        return new EmbeddingsDTO.Builder()
                 .withContentType(AiKeys.CACHE)
                 .withTokenCount(embeddings._1)
                 .withInode(AiKeys.CACHE)
@@ -412,8 +526,6 @@ class EmbeddingsAPIImpl implements EmbeddingsAPI {
                 .withIndexName(AiKeys.CACHE)
                 .withEmbeddings(embeddings._2)
                 .build();
-
-        saveEmbeddings(embeddingsDTO);
     }
 
     /**
@@ -0,0 +1,221 @@
+package com.dotcms.ai.api;
+
+import com.dotcms.ai.AiKeys;
+import com.dotcms.ai.app.AppConfig;
+import com.dotcms.ai.app.AppKeys;
+import com.dotcms.ai.client.AIProxyClient;
+import com.dotcms.ai.client.JSONObjectAIRequest;
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotmarketing.exception.DotCorruptedDataException;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.json.JSONArray;
+import com.dotmarketing.util.json.JSONObject;
+import io.vavr.control.Try;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.dotcms.ai.app.AppConfig.debugLogger;
+
+/**
+ * The EmbeddingsBatcher class sends the tokens of many chunks of content to the embeddings endpoint
+ * in as few requests as possible. The chunks are packed into requests of up to
+ * {@link AppKeys#EMBEDDINGS_BATCH_MAX_INPUTS} inputs and {@link AppKeys#EMBEDDINGS_BATCH_MAX_TOKENS}
+ * tokens, and up to {@link AppKeys#EMBEDDINGS_BATCH_CONCURRENCY} requests are sent at the same time.
+ * A request that is rate limited by the endpoint is retried after a backoff that doubles on every
+ * attempt, up to {@link AppKeys#EMBEDDINGS_BATCH_MAX_RETRIES} times.
+ */
+class EmbeddingsBatcher {
+
+    static final String EMBEDDINGS_BATCH_THREAD_POOL_KEY = "OpenAIEmbeddingsBatchThreadPool";
+
+    private static final long MAX_BACKOFF_MILLIS = 60000;
+
+    private final AppConfig config;
+    private final int maxInputs;
+    private final int maxTokens;
+    private final int maxRetries;
+    private final long backoffMillis;
+    private final Executor executor;
+
+    EmbeddingsBatcher(final AppConfig config) {
+        this(config,
+                config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_MAX_INPUTS),
+                config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_MAX_TOKENS),
+                config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_MAX_RETRIES),
+                config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_BACKOFF_MILLIS),
+                DotConcurrentFactory.getInstance().getSubmitter(EMBEDDINGS_BATCH_THREAD_POOL_KEY,
+                        new DotConcurrentFactory.SubmitterConfigBuilder()
+                                .poolSize(Math.max(1, config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_CONCURRENCY)))
+                                .maxPoolSize(Math.max(1, config.getConfigInteger(AppKeys.EMBEDDINGS_BATCH_CONCURRENCY)))
+                                .queueCapacity(config.getConfigInteger(AppKeys.EMBEDDINGS_THREADS_QUEUE))
+                                .build()));
+    }
+
+    EmbeddingsBatcher(final AppConfig config,
+                      final int maxInputs,
+                      final int maxTokens,
+                      final int maxRetries,
+                      final long backoffMillis,
+                      final Executor executor) {
+        this.config = config;
+        this.maxInputs = Math.max(1, maxInputs);
+        this.maxTokens = Math.max(1, maxTokens);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.backoffMillis = Math.max(0, backoffMillis);
+        this.executor = executor;
+    }
+
+    /**
+     * Generates the embeddings of the given inputs.
+     *
+     * @param inputs The encoded tokens of each chunk of content.
+     * @param userId The ID of the user making the request.
+     *
+     * @return The embeddings of each input, in the same order as the inputs.
+     */
+    List<List<Float>> embed(final List<List<Integer>> inputs, final String userId) {
+        final List<Float>[] embeddings = newEmbeddingsArray(inputs.size());
+        final List<CompletableFuture<Void>> requests = new ArrayList<>();
+
+        for (final int[] batch : pack(inputs, maxInputs, maxTokens)) {
+            requests.add(CompletableFuture.runAsync(() -> {
+                final List<List<Float>> batchEmbeddings = send(inputs.subList(batch[0], batch[1]), userId);
+                for (int i = 0; i < batchEmbeddings.size(); i++) {
+                    embeddings[batch[0] + i] = batchEmbeddings.get(i);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new DotRuntimeException(e.getCause());
+        }
+
+        return Arrays.asList(embeddings);
+    }
+
+    /**
+     * Packs the inputs into consecutive batches of up to {@code maxInputs} inputs and {@code maxTokens}
+     * tokens. An input with more tokens than {@code maxTokens} goes in a batch of its own.
+     *
+     * @return The {@code [from, to)} ranges of the inputs of each batch.
+     */
+    static List<int[]> pack(final List<List<Integer>> inputs, final int maxInputs, final int maxTokens) {
+        final List<int[]> batches = new ArrayList<>();
+        int from = 0;
+        int tokens = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            final int inputTokens = inputs.get(i).size();
+            if (i > from && (i - from >= maxInputs || tokens + inputTokens > maxTokens)) {
+                batches.add(new int[]{from, i});
+                from = i;
+                tokens = 0;
+            }
+            tokens += inputTokens;
+        }
+
+        if (from < inputs.size()) {
+            batches.add(new int[]{from, inputs.size()});
+        }
+        return batches;
+    }
+
+    /**
+     * Sends a batch of inputs to the embeddings endpoint, retrying it while it is rate limited.
+     */
+    private List<List<Float>> send(final List<List<Integer>> batch, final String userId) {
+        final JSONObject json = new JSONObject();
+        json.put(AiKeys.MODEL, config.getEmbeddingsModel().getCurrentModel());
+        json.put(AiKeys.INPUT, batch);
+
+        for (int attempt = 0; ; attempt++) {
+            final String responseString = doRequest(json, userId);
+            final JSONObject jsonResponse = Try.of(() -> new JSONObject(responseString)).getOrElseThrow(e -> {
+                Logger.error(this, "OpenAI Response String is not a valid JSON", e);
+                debugLogger(this.getClass(), () -> String.format("Invalid JSON Response: %s", responseString));
+                return new DotCorruptedDataException(e);
+            });
+
+            if (!jsonResponse.containsKey(AiKeys.ERROR)) {
+                return getEmbeddingsFromJSON(jsonResponse, batch.size());
+            }
+
+            final JSONObject error = jsonResponse.getJSONObject(AiKeys.ERROR);
+            final String errorMsg = error.optString(AiKeys.MESSAGE);
+            if (!isRateLimited(error) || attempt >= maxRetries) {
+                throw new DotRuntimeException(errorMsg);
+            }
+
+            final long sleep = backoff(attempt);
+            Logger.info(this, String.format("Embeddings request of %d inputs was rate limited, retrying in %dms: %s",
+                    batch.size(), sleep, errorMsg));
+            Try.run(() -> Thread.sleep(sleep));
+        }
+    }
+
+    /**
+     * Posts the payload to the embeddings endpoint and returns the response.
+     */
+    String doRequest(final JSONObject json, final String userId) {
+        return AIProxyClient.get()
+                .callToAI(JSONObjectAIRequest.quickEmbeddings(config, json, userId))
+                .getResponse();
+    }
+
+    private long backoff(final int attempt) {
+        final long delay = Math.min(MAX_BACKOFF_MILLIS, backoffMillis << Math.min(attempt, 16));
+        // the jitter keeps the concurrent requests from being retried all at once
+        return delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static boolean isRateLimited(final JSONObject error) {
+        final String code = error.optString("code");
+        final String type = error.optString("type");
+        final String message = error.optString(AiKeys.MESSAGE);
+        return "rate_limit_exceeded".equalsIgnoreCase(code)
+                || type.toLowerCase().contains("rate_limit")
+                || message.toLowerCase().contains("rate limit");
+    }
+
+    /**
+     * Extracts the embeddings from the response, the {@code index} of each item in {@code data} is
+     * the position of its input in the request.
+     */
+    private List<List<Float>> getEmbeddingsFromJSON(final JSONObject jsonResponse, final int size) {
+        final List<Float>[] embeddings = newEmbeddingsArray(size);
+        final JSONArray data = jsonResponse.getJSONArray(AiKeys.DATA);
+        for (int i = 0; i < data.size(); i++) {
+            final JSONObject item = data.getJSONObject(i);
+            final int index = item.optInt("index", i);
+            final JSONArray vector = item.getJSONArray(AiKeys.EMBEDDING);
+            final List<Float> embedding = new ArrayList<>(vector.size());
+            for (int j = 0; j < vector.size(); j++) {
+                embedding.add(((Number) vector.get(j)).floatValue());
+            }
+            embeddings[index] = embedding;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (null == embeddings[i]) {
+                throw new DotRuntimeException(String.format("The embeddings response has no embedding for input %d", i));
+            }
+        }
+        return Arrays.asList(embeddings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Float>[] newEmbeddingsArray(final int size) {
+        return new List[size];
+    }
+
+}
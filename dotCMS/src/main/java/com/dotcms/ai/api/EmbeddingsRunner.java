@@ -14,6 +14,7 @@ import io.vavr.Tuple2;
 
 import javax.validation.constraints.NotNull;
 import java.text.BreakIterator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -58,38 +59,12 @@ class EmbeddingsRunner implements Runnable {
                 embeddingsAPI.deleteEmbedding(deleteOldVersions);
             }
 
-            final String cleanContent = String.join(SPACE, this.content.trim().split("\\s+"));
             final int splitAtTokens = embeddingsAPI.config.getConfigInteger(AppKeys.EMBEDDINGS_SPLIT_AT_TOKENS);
-
-            // split into sentences
-            final BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.getDefault());
-            final StringBuilder buffer = new StringBuilder();
-            iterator.setText(cleanContent);
-            int start = iterator.first();
-            int totalTokens = 0;
-            for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
-                final String sentence = cleanContent.substring(start, end);
-                final int tokenCount = EncodingUtil.get()
-                        .getEncoding()
-                        .map(encoding -> encoding.countTokens(sentence))
-                        .orElse(0);
-                totalTokens += tokenCount;
-
-                if (totalTokens < splitAtTokens) {
-                    buffer.append(sentence.trim()).append(SPACE);
-                } else {
-                    saveEmbedding(buffer.toString());
-                    buffer.setLength(0);
-                    buffer.append(sentence.trim()).append(SPACE);
-                    totalTokens = tokenCount;
-                }
-            }
-
-            if (buffer.toString().split("\\s+").length > 0) {
-                debugLogger(this.getClass(), () -> String.format("Saving embeddings for contentlet ID '%s'", this.contentlet.getIdentifier()));
-                this.saveEmbedding(buffer.toString());
-                debugLogger(this.getClass(), () -> String.format("Embeddings for contentlet ID '%s' were saved", this.contentlet.getIdentifier()));
+            debugLogger(this.getClass(), () -> String.format("Saving embeddings for contentlet ID '%s'", this.contentlet.getIdentifier()));
+            for (final String chunk : splitIntoChunks(this.content, splitAtTokens)) {
+                this.saveEmbedding(chunk);
             }
+            debugLogger(this.getClass(), () -> String.format("Embeddings for contentlet ID '%s' were saved", this.contentlet.getIdentifier()));
         } catch (final Exception e) {
             final String errorMsg = String.format("Failed to generate embeddings for contentlet ID " +
                     "'%s': %s", contentlet.getIdentifier(), ExceptionUtil.getErrorMessage(e));
@@ -101,6 +76,54 @@ class EmbeddingsRunner implements Runnable {
         }
     }
 
+    /**
+     * Splits the content into chunks of whole sentences of less than {@code splitAtTokens} tokens
+     * each, a sentence longer than that is a chunk of its own.
+     *
+     * @param content       The content to split.
+     * @param splitAtTokens The maximum number of tokens of a chunk.
+     *
+     * @return The chunks, trimmed and without the empty ones.
+     */
+    static List<String> splitIntoChunks(@NotNull final String content, final int splitAtTokens) {
+        final String cleanContent = String.join(SPACE, content.trim().split("\\s+"));
+        final List<String> chunks = new ArrayList<>();
+
+        // split into sentences
+        final BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.getDefault());
+        final StringBuilder buffer = new StringBuilder();
+        iterator.setText(cleanContent);
+        int start = iterator.first();
+        int totalTokens = 0;
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            final String sentence = cleanContent.substring(start, end);
+            final int tokenCount = EncodingUtil.get()
+                    .getEncoding()
+                    .map(encoding -> encoding.countTokens(sentence))
+                    .orElse(0);
+            totalTokens += tokenCount;
+
+            if (totalTokens < splitAtTokens) {
+                buffer.append(sentence.trim()).append(SPACE);
+            } else {
+                addChunk(chunks, buffer);
+                buffer.setLength(0);
+                buffer.append(sentence.trim()).append(SPACE);
+                totalTokens = tokenCount;
+            }
+        }
+        addChunk(chunks, buffer);
+
+        return chunks;
+    }
+
+    private static void addChunk(final List<String> chunks, final StringBuilder buffer) {
+        final String chunk = buffer.toString().trim();
+        if (UtilMethods.isSet(chunk)) {
+            chunks.add(chunk);
+        }
+    }
+
     /**
      * Takes the tokenized content of a given Contentlet and pulls or generates its respective
      * embeddings.
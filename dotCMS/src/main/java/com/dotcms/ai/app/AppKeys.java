@@ -41,6 +41,11 @@ public enum AppKeys {
     EMBEDDINGS_CACHE_TTL_SECONDS("com.dotcms.ai.embeddings.cache.ttl.seconds", "600"),
     EMBEDDINGS_CACHE_SIZE("com.dotcms.ai.embeddings.cache.size", "1000"),
     EMBEDDINGS_DB_DELETE_OLD_ON_UPDATE("com.dotcms.ai.embeddings.delete.old.on.update", "true"),
+    EMBEDDINGS_BATCH_MAX_INPUTS("com.dotcms.ai.embeddings.batch.max.inputs", "256"),
+    EMBEDDINGS_BATCH_MAX_TOKENS("com.dotcms.ai.embeddings.batch.max.tokens", "100000"),
+    EMBEDDINGS_BATCH_CONCURRENCY("com.dotcms.ai.embeddings.batch.concurrency", "4"),
+    EMBEDDINGS_BATCH_MAX_RETRIES("com.dotcms.ai.embeddings.batch.max.retries", "5"),
+    EMBEDDINGS_BATCH_BACKOFF_MILLIS("com.dotcms.ai.embeddings.batch.backoff.millis", "1000"),
     DEBUG_LOGGING("com.dotcms.ai.debug.logging", StringPool.FALSE),
     COMPLETION_TEMPERATURE("com.dotcms.ai.completion.default.temperature", "1"),
     COMPLETION_ROLE_PROMPT(
@@ -4,6 +4,7 @@ import com.dotmarketing.common.db.DotConnect;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.StringUtils;
 import com.dotmarketing.util.UtilMethods;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import static com.dotcms.ai.db.EmbeddingsDTO.ALL_INDICES;
@@ -85,6 +87,7 @@ public class EmbeddingsFactory {
     public void dropVectorDbTable() {
         Logger.info(EmbeddingsFactory.class, "Dropping table dot_embeddings from database");
         runSQL(EmbeddingsSQL.DROP_EMBEDDINGS_TABLE);
+        EmbeddingsVectorIndex.impl.get().clear();
     }
 
     void runSQL(final String sql) {
@@ -206,26 +209,112 @@ public class EmbeddingsFactory {
         Logger.info(EmbeddingsFactory.class, String.format("Saving embeddings for content with Inode '%s': %s",
                 embeddings.inode, embeddings.title));
 
-        final PGvector vector = new PGvector(ArrayUtils.toPrimitive(embeddings.embeddings));
         try (final Connection conn = getPGVectorConnection();
              final PreparedStatement statement = conn.prepareStatement(EmbeddingsSQL.INSERT_EMBEDDINGS)) {
 
-            int i = 0;
-            statement.setString(++i, embeddings.inode);
-            statement.setString(++i, embeddings.identifier);
-            statement.setLong(++i, embeddings.language);
-            statement.setString(++i, embeddings.contentType[0]);
-            statement.setString(++i, embeddings.title);
-            statement.setString(++i, embeddings.extractedText);
-            statement.setString(++i, StringUtils.hashText(embeddings.extractedText));
-            statement.setString(++i, embeddings.host);
-            statement.setString(++i, embeddings.indexName);
-            statement.setInt(++i, embeddings.tokenCount);
-            statement.setObject(++i, vector);
+            setInsertParameters(statement, embeddings);
             statement.execute();
         } catch (SQLException e) {
             throw new DotRuntimeException(e);
         }
+        updateVectorIndex(() -> EmbeddingsVectorIndex.impl.get().add(List.of(embeddings)));
+    }
+
+    /**
+     * Saves the provided embeddings into the database using JDBC batches of up to
+     * {@code EMBEDDINGS_INSERT_BATCH_SIZE} rows, all of them in a single transaction.
+     *
+     * @param embeddings the embeddings to save
+     */
+    public void saveEmbeddings(final List<EmbeddingsDTO> embeddings) {
+        if (embeddings.isEmpty()) {
+            return;
+        }
+        Logger.info(EmbeddingsFactory.class, String.format("Saving %d embeddings", embeddings.size()));
+
+        final int batchSize = Math.max(1, Config.getIntProperty("EMBEDDINGS_INSERT_BATCH_SIZE", 500));
+        try (final Connection conn = getPGVectorConnection();
+             final PreparedStatement statement = conn.prepareStatement(EmbeddingsSQL.INSERT_EMBEDDINGS)) {
+
+            final boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int rows = 0;
+                for (final EmbeddingsDTO dto : embeddings) {
+                    setInsertParameters(statement, dto);
+                    statement.addBatch();
+                    if (++rows % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (rows % batchSize != 0) {
+                    statement.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DotRuntimeException(e);
+        }
+        updateVectorIndex(() -> EmbeddingsVectorIndex.impl.get().add(embeddings));
+    }
+
+    /**
+     * Reads all the embeddings in the database, in the order they were saved, without loading them
+     * all in memory at once. Used to build the {@link EmbeddingsVectorIndex}.
+     *
+     * @param consumer receives each embedding
+     */
+    public void loadEmbeddings(final Consumer<EmbeddingsDTO> consumer) {
+        try (final Connection conn = getPGVectorConnection()) {
+            // the postgres driver only streams the results with a fetch size inside a transaction
+            conn.setAutoCommit(false);
+            try (final PreparedStatement statement = conn.prepareStatement(EmbeddingsSQL.SELECT_ALL_EMBEDDINGS)) {
+                statement.setFetchSize(Config.getIntProperty("EMBEDDINGS_LOAD_FETCH_SIZE", 1000));
+                final ResultSet rs = statement.executeQuery();
+                while (rs.next()) {
+                    final float[] vector = rs.getObject("embeddings", PGvector.class).toArray();
+                    consumer.accept(new EmbeddingsDTO.Builder()
+                            .withContentType(rs.getString("content_type"))
+                            .withIdentifier(rs.getString(IDENTIFIER_KEY))
+                            .withInode(rs.getString(INODE_KEY))
+                            .withTitle(rs.getString("title"))
+                            .withLanguage(rs.getLong("language"))
+                            .withIndexName(rs.getString(INDEX_NAME_KEY))
+                            .withHost(rs.getString("host"))
+                            .withTokenCount(rs.getInt("token_count"))
+                            .withExtractedText(rs.getString("extracted_text"))
+                            .withEmbeddings(Arrays.asList(ArrayUtils.toObject(vector)))
+                            .build());
+                }
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            throw new DotRuntimeException(e);
+        }
+    }
+
+    private void setInsertParameters(final PreparedStatement statement,
+                                     final EmbeddingsDTO embeddings) throws SQLException {
+        final PGvector vector = new PGvector(ArrayUtils.toPrimitive(embeddings.embeddings));
+
+        int i = 0;
+        statement.setString(++i, embeddings.inode);
+        statement.setString(++i, embeddings.identifier);
+        statement.setLong(++i, embeddings.language);
+        statement.setString(++i, embeddings.contentType[0]);
+        statement.setString(++i, embeddings.title);
+        statement.setString(++i, embeddings.extractedText);
+        statement.setString(++i, StringUtils.hashText(embeddings.extractedText));
+        statement.setString(++i, embeddings.host);
+        statement.setString(++i, embeddings.indexName);
+        statement.setInt(++i, embeddings.tokenCount);
+        statement.setObject(++i, vector);
     }
 
     /**
@@ -235,6 +324,11 @@ public class EmbeddingsFactory {
      * @return a list of DTOs that match the provided DTO
      */
     public List<EmbeddingsDTO> searchEmbeddings(final EmbeddingsDTO dto) {
+        final Optional<List<EmbeddingsDTO>> indexed = EmbeddingsVectorIndex.impl.get().search(dto);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         final StringBuilder sql = new StringBuilder(
                 EmbeddingsSQL.SEARCH_EMBEDDINGS_SELECT_PREFIX
                         .replace(
@@ -374,6 +468,7 @@ public class EmbeddingsFactory {
         final List<Object> params = appendParams(sql, dto);
         Logger.info(EmbeddingsFactory.class, "deleting embeddings:" + dto);
 
+        final int deleted;
         try (final Connection conn = getPGVectorConnection();
              final PreparedStatement statement = conn.prepareStatement(sql.toString())) {
 
@@ -381,10 +476,33 @@ public class EmbeddingsFactory {
                 statement.setObject((i + 1), params.get(i));
             }
 
-            return statement.executeUpdate();
+            deleted = statement.executeUpdate();
         } catch (SQLException e) {
             throw new DotRuntimeException(e);
         }
+        updateVectorIndex(() -> EmbeddingsVectorIndex.impl.get().delete(dto));
+        return deleted;
+    }
+
+    /**
+     * Applies a change to the {@link EmbeddingsVectorIndex} right after the statement that made it
+     * in the db succeeded. The pgvector connections are not part of the hibernate transaction, they
+     * commit on their own, so there is nothing to wait for. If the index can not take the change it
+     * is dropped, so it is built again from the db.
+     */
+    private void updateVectorIndex(final Runnable change) {
+        final EmbeddingsVectorIndex vectorIndex = EmbeddingsVectorIndex.impl.get();
+        if (!vectorIndex.isEnabled()) {
+            return;
+        }
+
+        try {
+            change.run();
+        } catch (final RuntimeException e) {
+            Logger.warnAndDebug(EmbeddingsFactory.class,
+                    "Unable to update the embeddings vector index, it will be rebuilt: " + e.getMessage(), e);
+            vectorIndex.clear();
+        }
     }
 
     /**
@@ -394,6 +512,11 @@ public class EmbeddingsFactory {
      * @return the number of embeddings that match the provided DTO
      */
     public long countEmbeddings(final EmbeddingsDTO dto) {
+        final Optional<Long> indexed = EmbeddingsVectorIndex.impl.get().count(dto);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         final StringBuilder sql = new StringBuilder(
                 EmbeddingsSQL.COUNT_EMBEDDINGS_PREFIX
                         .replace(
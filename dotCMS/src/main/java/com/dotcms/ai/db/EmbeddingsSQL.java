@@ -90,6 +90,10 @@ class EmbeddingsSQL {
                     "?," +
                     "?)";
 
+    static final String SELECT_ALL_EMBEDDINGS =
+            "select inode, title, language, identifier, host, content_type, extracted_text, index_name, token_count, embeddings " +
+            "from dot_embeddings order by id";
+
     static final String SEARCH_EMBEDDINGS_SELECT_PREFIX=
             "select " +
             "inode, title, language, identifier,host, content_type, extracted_text, index_name, distance, token_count " +
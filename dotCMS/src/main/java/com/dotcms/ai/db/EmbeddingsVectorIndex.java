@@ -0,0 +1,438 @@
+package com.dotcms.ai.db;
+
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.StringUtils;
+import com.dotmarketing.util.UtilMethods;
+import io.vavr.Lazy;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import static com.dotcms.ai.db.EmbeddingsDTO.ALL_INDICES;
+
+/**
+ * In-memory approximate nearest neighbour index of the {@code dot_embeddings} table, so the semantic
+ * searches by cosine distance ({@code <=>}) are answered without a query to pgvector. There is one
+ * {@link HnswIndex} per embeddings index, and the columns returned by the searches are kept along
+ * with each vector.
+ * <p>
+ * It is off unless {@code EMBEDDINGS_HNSW_ENABLED} is true. It is built from the db in the background
+ * on the first search, the searches go to pgvector until it is ready. The {@link EmbeddingsFactory}
+ * keeps it in sync with the embeddings saved and deleted by this node, and it is rebuilt in the
+ * background when it is older than {@code EMBEDDINGS_HNSW_MAX_AGE_MINUTES}, so the changes made by the
+ * other nodes of a cluster are eventually seen, or when a third of its vectors have been removed.
+ * <p>
+ * Searches with filters that accept too few vectors for the graph to find them fall back to an
+ * exact search over the vectors of the index.
+ */
+public class EmbeddingsVectorIndex {
+
+    public static final Lazy<EmbeddingsVectorIndex> impl = Lazy.of(() -> new EmbeddingsVectorIndex(
+            Config.getBooleanProperty("EMBEDDINGS_HNSW_ENABLED", false),
+            Config.getIntProperty("EMBEDDINGS_HNSW_M", 16),
+            Config.getIntProperty("EMBEDDINGS_HNSW_EF_CONSTRUCTION", 100),
+            Config.getIntProperty("EMBEDDINGS_HNSW_EF_SEARCH", 100),
+            TimeUnit.MINUTES.toMillis(Config.getLongProperty("EMBEDDINGS_HNSW_MAX_AGE_MINUTES", 60)),
+            consumer -> EmbeddingsFactory.impl.get().loadEmbeddings(consumer),
+            DotConcurrentFactory.getInstance().getSubmitter()));
+
+    private static final String COSINE_OPERATOR = "<=>";
+
+    private final boolean enabled;
+    private final int maxConnections;
+    private final int efConstruction;
+    private final int efSearch;
+    private final long maxAgeMillis;
+    private final Consumer<Consumer<EmbeddingsDTO>> loader;
+    private final Executor executor;
+
+    private final AtomicBoolean building = new AtomicBoolean(false);
+    private final List<Consumer<Map<String, Graph>>> changesWhileBuilding = new ArrayList<>();
+    private volatile Map<String, Graph> graphs = null;
+    private volatile long builtAt = 0;
+
+    EmbeddingsVectorIndex(final boolean enabled,
+                          final int maxConnections,
+                          final int efConstruction,
+                          final int efSearch,
+                          final long maxAgeMillis,
+                          final Consumer<Consumer<EmbeddingsDTO>> loader,
+                          final Executor executor) {
+        this.enabled = enabled;
+        this.maxConnections = maxConnections;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.maxAgeMillis = maxAgeMillis;
+        this.loader = loader;
+        this.executor = executor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Searches the nearest embeddings like {@link EmbeddingsFactory#searchEmbeddings(EmbeddingsDTO)}.
+     *
+     * @param dto The search, with the embeddings to search for.
+     *
+     * @return The results, or empty if the search has to go to the db: the index is not enabled or
+     * not ready yet, or the distance operator is not the cosine distance.
+     */
+    public Optional<List<EmbeddingsDTO>> search(final EmbeddingsDTO dto) {
+        final Optional<Map<String, Graph>> ready = readyFor(dto);
+        if (ready.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final float[] vector = ArrayUtils.toPrimitive(dto.embeddings);
+        final int needed = dto.offset + dto.limit;
+        final List<Match> matches = new ArrayList<>();
+        for (final Graph graph : graphsFor(ready.get(), dto)) {
+            matches.addAll(graph.search(vector, needed, dto));
+        }
+        matches.sort(null);
+
+        final List<EmbeddingsDTO> results = new ArrayList<>();
+        for (int i = dto.offset; i < matches.size() && results.size() < dto.limit; i++) {
+            final Match match = matches.get(i);
+            if (dto.threshold != 0 && match.distance > dto.threshold) {
+                break;
+            }
+            results.add(match.toDTO());
+        }
+        return Optional.of(results);
+    }
+
+    /**
+     * Counts the contents with embeddings like {@link EmbeddingsFactory#countEmbeddings(EmbeddingsDTO)}.
+     *
+     * @param dto The search, with the embeddings to search for.
+     *
+     * @return The count, or empty if it has to be counted by the db.
+     */
+    public Optional<Long> count(final EmbeddingsDTO dto) {
+        final Optional<Map<String, Graph>> ready = readyFor(dto);
+        if (ready.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final float[] vector = ArrayUtils.toPrimitive(dto.embeddings);
+        final Set<String> inodes = new HashSet<>();
+        for (final Graph graph : graphsFor(ready.get(), dto)) {
+            graph.collectInodes(vector, dto, inodes);
+        }
+        return Optional.of((long) inodes.size());
+    }
+
+    /**
+     * Adds saved embeddings to the index, replacing the ones of the same content and text.
+     */
+    public void add(final List<EmbeddingsDTO> embeddings) {
+        if (enabled) {
+            change(current -> embeddings.forEach(dto -> add(current, dto)));
+        }
+    }
+
+    /**
+     * Removes the embeddings that match the filters of a delete, see
+     * {@link EmbeddingsFactory#deleteEmbeddings(EmbeddingsDTO)}.
+     */
+    public void delete(final EmbeddingsDTO dto) {
+        if (enabled) {
+            change(current -> graphsFor(current, dto).forEach(graph -> graph.delete(dto)));
+        }
+    }
+
+    /**
+     * Drops the index, it is built again on the next search.
+     */
+    public void clear() {
+        synchronized (this) {
+            graphs = null;
+            changesWhileBuilding.clear();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the db in the background, the current index keeps answering the
+     * searches until the new one is ready.
+     */
+    public void rebuild() {
+        if (enabled && building.compareAndSet(false, true)) {
+            executor.execute(this::build);
+        }
+    }
+
+    private Optional<Map<String, Graph>> readyFor(final EmbeddingsDTO dto) {
+        if (!enabled || !COSINE_OPERATOR.equals(dto.operator) || dto.embeddings.length == 0) {
+            return Optional.empty();
+        }
+
+        final Map<String, Graph> current = graphs;
+        if (null == current) {
+            rebuild();
+            return Optional.empty();
+        }
+
+        if (System.currentTimeMillis() - builtAt > maxAgeMillis
+                || current.values().stream().anyMatch(Graph::needsCompaction)) {
+            rebuild();
+        }
+        return Optional.of(current);
+    }
+
+    private void build() {
+        final long start = System.currentTimeMillis();
+        try {
+            synchronized (this) {
+                changesWhileBuilding.clear();
+            }
+
+            final Map<String, Graph> newGraphs = new ConcurrentHashMap<>();
+            loader.accept(dto -> add(newGraphs, dto));
+
+            synchronized (this) {
+                changesWhileBuilding.forEach(change -> change.accept(newGraphs));
+                changesWhileBuilding.clear();
+                graphs = newGraphs;
+                builtAt = System.currentTimeMillis();
+            }
+
+            Logger.info(this, String.format("Embeddings vector index built in %dms: %s",
+                    System.currentTimeMillis() - start, sizes(newGraphs)));
+        } catch (final Exception e) {
+            Logger.warnAndDebug(this.getClass(), "Unable to build the embeddings vector index: " + e.getMessage(), e);
+        } finally {
+            building.set(false);
+        }
+    }
+
+    private synchronized void change(final Consumer<Map<String, Graph>> change) {
+        if (null != graphs) {
+            change.accept(graphs);
+        }
+        // the index being built may have loaded the rows before this change
+        if (building.get()) {
+            changesWhileBuilding.add(change);
+        }
+    }
+
+    private void add(final Map<String, Graph> current, final EmbeddingsDTO dto) {
+        if (dto.embeddings.length == 0 || !UtilMethods.isSet(dto.indexName)) {
+            return;
+        }
+
+        final Graph graph = current.computeIfAbsent(dto.indexName.toLowerCase(),
+                key -> new Graph(new HnswIndex(dto.embeddings.length, maxConnections, efConstruction)));
+        if (graph.hnsw.dimensions() != dto.embeddings.length) {
+            Logger.warn(this, String.format("Skipping embeddings of %d dimensions in an index of %d dimensions: %s",
+                    dto.embeddings.length, graph.hnsw.dimensions(), dto.indexName));
+            return;
+        }
+        graph.add(dto);
+    }
+
+    private static List<Graph> graphsFor(final Map<String, Graph> current, final EmbeddingsDTO dto) {
+        if (!UtilMethods.isSet(dto.indexName) || ALL_INDICES.equals(dto.indexName)) {
+            return new ArrayList<>(current.values());
+        }
+        final Graph graph = current.get(dto.indexName.toLowerCase());
+        return null == graph ? List.of() : List.of(graph);
+    }
+
+    private static Map<String, Integer> sizes(final Map<String, Graph> current) {
+        final Map<String, Integer> sizes = new HashMap<>();
+        current.forEach((indexName, graph) -> sizes.put(indexName, graph.hnsw.size()));
+        return sizes;
+    }
+
+    /**
+     * Whether an embedding matches the filters of a search or delete, as the where clause built by
+     * the {@link EmbeddingsFactory} does, except for the index name
+     */
+    private static boolean matches(final Entry entry, final EmbeddingsDTO dto) {
+        return (!UtilMethods.isSet(dto.inode) || dto.inode.equals(entry.inode))
+                && (!UtilMethods.isSet(dto.identifier) || dto.identifier.equals(entry.identifier))
+                && Arrays.stream(dto.excludeIdentifiers).noneMatch(id -> id.equals(entry.identifier))
+                && Arrays.stream(dto.excludeInodes).noneMatch(inode -> inode.equals(entry.inode))
+                && (dto.language <= 0 || dto.language == entry.language)
+                && (dto.contentType.length == 0
+                        || Arrays.stream(dto.contentType).anyMatch(type -> type.equalsIgnoreCase(entry.contentType)))
+                && (!UtilMethods.isSet(dto.host) || dto.host.equals(entry.host));
+    }
+
+    private static boolean hasFilters(final EmbeddingsDTO dto) {
+        return UtilMethods.isSet(dto.inode) || UtilMethods.isSet(dto.identifier)
+                || dto.excludeIdentifiers.length > 0 || dto.excludeInodes.length > 0
+                || dto.language > 0 || dto.contentType.length > 0 || UtilMethods.isSet(dto.host);
+    }
+
+    /**
+     * The HNSW index of an embeddings index and the columns of its vectors
+     */
+    private final class Graph {
+
+        private final HnswIndex hnsw;
+        private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+        private final Map<String, Integer> nodesByKey = new ConcurrentHashMap<>();
+
+        private Graph(final HnswIndex hnsw) {
+            this.hnsw = hnsw;
+        }
+
+        private synchronized void add(final EmbeddingsDTO dto) {
+            final Entry entry = new Entry(dto);
+            final int node = hnsw.add(ArrayUtils.toPrimitive(dto.embeddings));
+            entries.put(node, entry);
+
+            final Integer previous = nodesByKey.put(entry.key(), node);
+            if (null != previous) {
+                remove(previous);
+            }
+        }
+
+        private synchronized void delete(final EmbeddingsDTO dto) {
+            final List<Integer> deleted = new ArrayList<>();
+            entries.forEach((node, entry) -> {
+                if (matches(entry, dto)) {
+                    deleted.add(node);
+                }
+            });
+            deleted.forEach(node -> {
+                final Entry entry = entries.get(node);
+                nodesByKey.remove(entry.key(), node);
+                remove(node);
+            });
+        }
+
+        private void remove(final int node) {
+            hnsw.remove(node);
+            entries.remove(node);
+        }
+
+        private boolean needsCompaction() {
+            return hnsw.removedSize() > 0 && hnsw.removedSize() * 3 > hnsw.size() + hnsw.removedSize();
+        }
+
+        private List<Match> search(final float[] vector, final int k, final EmbeddingsDTO dto) {
+            final boolean filtered = hasFilters(dto);
+            final IntPredicate accept = node -> {
+                final Entry entry = entries.get(node);
+                return null != entry && (!filtered || matches(entry, dto));
+            };
+
+            List<HnswIndex.Neighbor> neighbors = hnsw.search(vector, k, Math.max(efSearch, k), accept);
+            if (filtered && neighbors.size() < k) {
+                neighbors = hnsw.exactSearch(vector, k, accept);
+            }
+
+            final List<Match> matches = new ArrayList<>(neighbors.size());
+            for (final HnswIndex.Neighbor neighbor : neighbors) {
+                final Entry entry = entries.get(neighbor.node);
+                if (null != entry) {
+                    matches.add(new Match(entry, neighbor.distance));
+                }
+            }
+            return matches;
+        }
+
+        private void collectInodes(final float[] vector, final EmbeddingsDTO dto, final Set<String> inodes) {
+            if (dto.threshold == 0) {
+                entries.values().stream().filter(entry -> matches(entry, dto)).forEach(entry -> inodes.add(entry.inode));
+                return;
+            }
+
+            final IntPredicate accept = node -> {
+                final Entry entry = entries.get(node);
+                return null != entry && matches(entry, dto);
+            };
+            for (final HnswIndex.Neighbor neighbor : hnsw.searchWithin(vector, dto.threshold, accept)) {
+                final Entry entry = entries.get(neighbor.node);
+                if (null != entry) {
+                    inodes.add(entry.inode);
+                }
+            }
+        }
+    }
+
+    /**
+     * The columns of an embedding returned by the searches
+     */
+    private static final class Entry {
+
+        private final String inode;
+        private final String identifier;
+        private final long language;
+        private final String contentType;
+        private final String title;
+        private final String host;
+        private final String indexName;
+        private final String extractedText;
+        private final int tokenCount;
+
+        private Entry(final EmbeddingsDTO dto) {
+            this.inode = dto.inode;
+            this.identifier = dto.identifier;
+            this.language = dto.language;
+            this.contentType = dto.contentType.length > 0 ? dto.contentType[0] : null;
+            this.title = dto.title;
+            this.host = dto.host;
+            this.indexName = dto.indexName;
+            this.extractedText = dto.extractedText;
+            this.tokenCount = dto.tokenCount;
+        }
+
+        // the same content can not have the same text twice in an index, see EmbeddingsFactory#embeddingExists
+        private String key() {
+            return inode + ':' + StringUtils.hashText(String.valueOf(extractedText));
+        }
+    }
+
+    private static final class Match implements Comparable<Match> {
+
+        private final Entry entry;
+        private final float distance;
+
+        private Match(final Entry entry, final float distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+
+        private EmbeddingsDTO toDTO() {
+            return new EmbeddingsDTO.Builder()
+                    .withContentType(entry.contentType)
+                    .withIdentifier(entry.identifier)
+                    .withInode(entry.inode)
+                    .withTitle(entry.title)
+                    .withLanguage(entry.language)
+                    .withIndexName(entry.indexName)
+                    .withHost(entry.host)
+                    .withTokenCount(entry.tokenCount)
+                    .withThreshold(distance)
+                    .withExtractedText(entry.extractedText)
+                    .build();
+        }
+
+        @Override
+        public int compareTo(final Match other) {
+            return Float.compare(distance, other.distance);
+        }
+    }
+
+}
@@ -0,0 +1,479 @@
+package com.dotcms.ai.db;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical Navigable Small World graph over float vectors, used to find the approximate nearest
+ * neighbours of a vector by cosine distance without comparing it against every vector.
+ * <p>
+ * The vectors are normalized when they are added and kept off-heap, in pages of direct buffers,
+ * only the graph is kept on-heap. Removed vectors stay in the graph to route the searches but they
+ * are never returned; the index has to be rebuilt to get rid of them. Adding and removing vectors
+ * take a write lock, the searches run concurrently.
+ */
+public class HnswIndex {
+
+    private static final int PAGE_SIZE = 1024;
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    private final int dimensions;
+    private final int maxConnections;
+    private final int maxConnections0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private final List<FloatBuffer> pages = new ArrayList<>();
+    private final List<int[][]> graph = new ArrayList<>();
+    private final BitSet removed = new BitSet();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int removedCount = 0;
+
+    /**
+     * @param dimensions     Dimensions of the vectors.
+     * @param maxConnections Connections of each node in the upper levels, twice as many in level 0.
+     * @param efConstruction Size of the candidate list when a vector is added.
+     */
+    public HnswIndex(final int dimensions, final int maxConnections, final int efConstruction) {
+        this(dimensions, maxConnections, efConstruction, new Random());
+    }
+
+    HnswIndex(final int dimensions, final int maxConnections, final int efConstruction, final Random random) {
+        if (dimensions <= 0 || maxConnections < 2) {
+            throw new IllegalArgumentException("Invalid HNSW parameters, dimensions: " + dimensions
+                    + ", connections: " + maxConnections);
+        }
+        this.dimensions = dimensions;
+        this.maxConnections = maxConnections;
+        this.maxConnections0 = maxConnections * 2;
+        this.efConstruction = Math.max(efConstruction, maxConnections);
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+        this.random = random;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Returns the number of vectors that were added and not removed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return graph.size() - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of removed vectors that are still in the graph
+     */
+    public int removedSize() {
+        lock.readLock().lock();
+        try {
+            return removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a vector to the index.
+     *
+     * @param vector The vector, it must have {@link #dimensions()} dimensions.
+     *
+     * @return The node of the vector, used to remove it and returned by the searches.
+     */
+    public int add(final float[] vector) {
+        final float[] normalized = normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            final int node = graph.size();
+            store(node, normalized);
+
+            final int level = randomLevel();
+            final int[][] levels = new int[level + 1][];
+            Arrays.fill(levels, NO_NEIGHBORS);
+            graph.add(levels);
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return node;
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                current = greedySearch(normalized, current, l);
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                final List<Neighbor> candidates = searchLayer(normalized, current, efConstruction, l, null);
+                levels[l] = selectNeighbors(candidates, l == 0 ? maxConnections0 : maxConnections);
+                for (final int neighbor : levels[l]) {
+                    connect(neighbor, node, l);
+                }
+                current = candidates.get(0).node;
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+            return node;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a vector from the results of the searches.
+     *
+     * @param node The node returned when the vector was added.
+     */
+    public void remove(final int node) {
+        lock.writeLock().lock();
+        try {
+            if (node >= 0 && node < graph.size() && !removed.get(node)) {
+                removed.set(node);
+                removedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the approximate nearest neighbours of a vector.
+     *
+     * @param vector The vector to search for.
+     * @param k      The number of neighbours to return.
+     * @param ef     The size of the candidate list, the bigger the better the recall and the slower
+     *               the search. It is never smaller than {@code k}.
+     * @param accept Filters the nodes that can be returned, can be null.
+     *
+     * @return Up to {@code k} neighbours, the nearest first.
+     */
+    public List<Neighbor> search(final float[] vector, final int k, final int ef, final IntPredicate accept) {
+        final float[] normalized = normalize(vector);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || k <= 0) {
+                return List.of();
+            }
+
+            int current = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                current = greedySearch(normalized, current, l);
+            }
+
+            final IntPredicate returnable = node -> !removed.get(node) && (null == accept || accept.test(node));
+            final List<Neighbor> neighbors = searchLayer(normalized, current, Math.max(ef, k), 0, returnable);
+            return neighbors.size() > k ? new ArrayList<>(neighbors.subList(0, k)) : neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the exact nearest neighbours of a vector comparing it against every vector, it is meant
+     * for the searches whose filters accept too few nodes for the graph to find them.
+     *
+     * @param vector The vector to search for.
+     * @param k      The number of neighbours to return.
+     * @param accept Filters the nodes that can be returned, can be null.
+     *
+     * @return Up to {@code k} neighbours, the nearest first.
+     */
+    public List<Neighbor> exactSearch(final float[] vector, final int k, final IntPredicate accept) {
+        final float[] normalized = normalize(vector);
+        final PriorityQueue<Neighbor> nearest = new PriorityQueue<>(Comparator.reverseOrder());
+
+        lock.readLock().lock();
+        try {
+            for (int node = 0; node < graph.size(); node++) {
+                if (removed.get(node) || (null != accept && !accept.test(node))) {
+                    continue;
+                }
+                final float distance = distance(normalized, node);
+                if (nearest.size() < k || distance < nearest.peek().distance) {
+                    nearest.add(new Neighbor(node, distance));
+                    if (nearest.size() > k) {
+                        nearest.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        final List<Neighbor> neighbors = new ArrayList<>(nearest);
+        neighbors.sort(null);
+        return neighbors;
+    }
+
+    /**
+     * Finds all the vectors within a cosine distance of a vector comparing it against every vector.
+     *
+     * @param vector      The vector to search for.
+     * @param maxDistance The maximum distance.
+     * @param accept      Filters the nodes that can be returned, can be null.
+     *
+     * @return The neighbours within the distance, in no particular order.
+     */
+    public List<Neighbor> searchWithin(final float[] vector, final float maxDistance, final IntPredicate accept) {
+        final float[] normalized = normalize(vector);
+        final List<Neighbor> neighbors = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (int node = 0; node < graph.size(); node++) {
+                if (removed.get(node) || (null != accept && !accept.test(node))) {
+                    continue;
+                }
+                final float distance = distance(normalized, node);
+                if (distance <= maxDistance) {
+                    neighbors.add(new Neighbor(node, distance));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return neighbors;
+    }
+
+    private float[] normalize(final float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(String.format("Expected a vector of %d dimensions, got %d",
+                    dimensions, vector.length));
+        }
+
+        double norm = 0;
+        for (final float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        final float[] normalized = new float[dimensions];
+        if (norm > 0) {
+            for (int i = 0; i < dimensions; i++) {
+                normalized[i] = (float) (vector[i] / norm);
+            }
+        }
+        return normalized;
+    }
+
+    private void store(final int node, final float[] normalized) {
+        if (node / PAGE_SIZE >= pages.size()) {
+            pages.add(ByteBuffer.allocateDirect(PAGE_SIZE * dimensions * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer());
+        }
+
+        final FloatBuffer page = pages.get(node / PAGE_SIZE);
+        final int offset = (node % PAGE_SIZE) * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            page.put(offset + i, normalized[i]);
+        }
+    }
+
+    private float dot(final float[] normalized, final int node) {
+        final FloatBuffer page = pages.get(node / PAGE_SIZE);
+        final int offset = (node % PAGE_SIZE) * dimensions;
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += normalized[i] * page.get(offset + i);
+        }
+        return dot;
+    }
+
+    // the stored vectors are normalized, so the cosine distance is 1 - dot product
+    private float distance(final float[] normalized, final int node) {
+        return 1 - dot(normalized, node);
+    }
+
+    private float distance(final int node, final int other) {
+        final FloatBuffer page = pages.get(node / PAGE_SIZE);
+        final FloatBuffer otherPage = pages.get(other / PAGE_SIZE);
+        final int offset = (node % PAGE_SIZE) * dimensions;
+        final int otherOffset = (other % PAGE_SIZE) * dimensions;
+        float dot = 0;
+        for (int i = 0; i < dimensions; i++) {
+            dot += page.get(offset + i) * otherPage.get(otherOffset + i);
+        }
+        return 1 - dot;
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private int greedySearch(final float[] normalized, final int entry, final int level) {
+        int current = entry;
+        float currentDistance = distance(normalized, current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (final int neighbor : neighbors(current, level)) {
+                final float neighborDistance = distance(normalized, neighbor);
+                if (neighborDistance < currentDistance) {
+                    current = neighbor;
+                    currentDistance = neighborDistance;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Searches a level of the graph from the entry node, all the nodes are visited but only the
+     * accepted ones are returned.
+     *
+     * @return Up to {@code ef} accepted nodes, the nearest first.
+     */
+    private List<Neighbor> searchLayer(final float[] normalized, final int entry, final int ef,
+                                       final int level, final IntPredicate accept) {
+        final BitSet visited = new BitSet(graph.size());
+        final PriorityQueue<Neighbor> candidates = new PriorityQueue<>();
+        final PriorityQueue<Neighbor> results = new PriorityQueue<>(Comparator.reverseOrder());
+
+        final Neighbor start = new Neighbor(entry, distance(normalized, entry));
+        visited.set(entry);
+        candidates.add(start);
+        if (null == accept || accept.test(entry)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            final Neighbor candidate = candidates.poll();
+            if (results.size() >= ef && candidate.distance > results.peek().distance) {
+                break;
+            }
+
+            for (final int neighbor : neighbors(candidate.node, level)) {
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+
+                final float distance = distance(normalized, neighbor);
+                if (results.size() < ef || distance < results.peek().distance) {
+                    final Neighbor next = new Neighbor(neighbor, distance);
+                    candidates.add(next);
+                    if (null == accept || accept.test(neighbor)) {
+                        results.add(next);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        final List<Neighbor> nearest = new ArrayList<>(results);
+        nearest.sort(null);
+        return nearest;
+    }
+
+    private int[] neighbors(final int node, final int level) {
+        final int[][] levels = graph.get(node);
+        return level < levels.length ? levels[level] : NO_NEIGHBORS;
+    }
+
+    /**
+     * Selects the neighbours of a node with the heuristic of the HNSW paper: a candidate is kept
+     * only if it is nearer to the node than to the neighbours already kept, so the connections go
+     * in different directions. The nearest discarded candidates fill the free connections.
+     *
+     * @param candidates The candidates, the nearest first.
+     */
+    private int[] selectNeighbors(final List<Neighbor> candidates, final int max) {
+        final List<Neighbor> selected = new ArrayList<>(max);
+        final List<Neighbor> discarded = new ArrayList<>();
+
+        for (final Neighbor candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            boolean diverse = true;
+            for (final Neighbor kept : selected) {
+                if (distance(candidate.node, kept.node) < candidate.distance) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : discarded).add(candidate);
+        }
+
+        for (int i = 0; i < discarded.size() && selected.size() < max; i++) {
+            selected.add(discarded.get(i));
+        }
+        return selected.stream().mapToInt(neighbor -> neighbor.node).toArray();
+    }
+
+    private void connect(final int node, final int neighbor, final int level) {
+        final int[][] levels = graph.get(node);
+        final int[] current = levels[level];
+        final int max = level == 0 ? maxConnections0 : maxConnections;
+
+        if (current.length < max) {
+            final int[] connections = Arrays.copyOf(current, current.length + 1);
+            connections[current.length] = neighbor;
+            levels[level] = connections;
+            return;
+        }
+
+        final List<Neighbor> candidates = new ArrayList<>(current.length + 1);
+        for (final int connection : current) {
+            candidates.add(new Neighbor(connection, distance(node, connection)));
+        }
+        candidates.add(new Neighbor(neighbor, distance(node, neighbor)));
+        candidates.sort(null);
+        levels[level] = selectNeighbors(candidates, max);
+    }
+
+    /**
+     * A node of the index and its distance to the searched vector
+     */
+    public static final class Neighbor implements Comparable<Neighbor> {
+
+        public final int node;
+        public final float distance;
+
+        Neighbor(final int node, final float distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(final Neighbor other) {
+            final int byDistance = Float.compare(distance, other.distance);
+            return byDistance != 0 ? byDistance : Integer.compare(node, other.node);
+        }
+
+        @Override
+        public String toString() {
+            return node + ":" + distance;
+        }
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.dotcms.cache.transport;
+
+import com.dotmarketing.business.DotCacheAdministrator;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Buffers the cache invalidations sent to the cluster for a few milliseconds and sends them as
+ * compact batches instead of one pub/sub message each. While buffering:
+ * <ul>
+ *     <li>the same group/key is only sent once</li>
+ *     <li>keys of a group that is flushed in the same window are dropped</li>
+ *     <li>when more than {@code cache.invalidation.batch.group.flush.threshold} keys of the same
+ *     group are invalidated in the same window the whole group is flushed instead</li>
+ *     <li>everything is dropped if the whole cache is flushed</li>
+ * </ul>
+ * A batch is a deflated binary list of groups, each one with its flush flag and keys, encoded in
+ * base64 so it can travel in the json payload of the pub/sub events. Batches are split so none of
+ * them goes over {@code cache.invalidation.batch.max.bytes}, Postgres NOTIFY payloads can not be
+ * longer than 8000 bytes.
+ */
+public class CacheInvalidationBatcher {
+
+    private static final byte VERSION = 1;
+    private static final String FLUSH_KEY = "0";
+
+    private final Consumer<String> sender;
+    private final long windowMillis;
+    private final int groupFlushThreshold;
+    private final int maxMessageBytes;
+    private final ScheduledExecutorService scheduler;
+
+    // pending invalidations, guarded by this
+    private Map<String, Set<String>> pendingKeys = new LinkedHashMap<>();
+    private Set<String> pendingGroups = new LinkedHashSet<>();
+    private boolean pendingFlushAll = false;
+    private long pendingSince = 0;
+
+    final LongAdder invalidationsQueued = new LongAdder();
+    final LongAdder invalidationsCoalesced = new LongAdder();
+    final LongAdder messagesSent = new LongAdder();
+
+    public CacheInvalidationBatcher(final Consumer<String> sender) {
+        this(sender,
+                Config.getLongProperty("cache.invalidation.batch.millis", 5),
+                Config.getIntProperty("cache.invalidation.batch.group.flush.threshold", 1000),
+                Config.getIntProperty("cache.invalidation.batch.max.bytes", 6000));
+    }
+
+    CacheInvalidationBatcher(final Consumer<String> sender, final long windowMillis,
+            final int groupFlushThreshold, final int maxMessageBytes) {
+        this.sender = sender;
+        this.windowMillis = windowMillis;
+        this.groupFlushThreshold = groupFlushThreshold;
+        this.maxMessageBytes = maxMessageBytes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("CACHE-INVALIDATION-BATCHER-%d").build());
+    }
+
+    /**
+     * Queues an invalidation message, in the {@code key:group} format used by the
+     * {@link com.dotmarketing.business.cache.transport.CacheTransport}s.
+     *
+     * @return false if the message is not an invalidation and must be sent on its own.
+     */
+    public boolean add(final String message) {
+        final int separator = null == message ? -1 : message.lastIndexOf(':');
+        if (separator <= 0) {
+            return false;
+        }
+        final String key = message.substring(0, separator).toLowerCase();
+        final String group = message.substring(separator + 1).toLowerCase();
+
+        invalidationsQueued.increment();
+        final boolean schedule;
+        synchronized (this) {
+            schedule = pendingSince == 0;
+            if (schedule) {
+                pendingSince = System.currentTimeMillis();
+            }
+            queue(key, group);
+        }
+        if (schedule) {
+            scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    private void queue(final String key, final String group) {
+        if (pendingFlushAll) {
+            invalidationsCoalesced.increment();
+            return;
+        }
+        if (FLUSH_KEY.equals(key) && DotCacheAdministrator.ROOT_GOUP.equals(group)) {
+            invalidationsCoalesced.add(pendingGroups.size() + pendingKeys.values().stream().mapToInt(Set::size).sum());
+            pendingFlushAll = true;
+            pendingGroups.clear();
+            pendingKeys.clear();
+            return;
+        }
+        if (FLUSH_KEY.equals(key)) {
+            final Set<String> keys = pendingKeys.remove(group);
+            if (null != keys) {
+                invalidationsCoalesced.add(keys.size());
+            }
+            if (!pendingGroups.add(group)) {
+                invalidationsCoalesced.increment();
+            }
+            return;
+        }
+        if (pendingGroups.contains(group)) {
+            invalidationsCoalesced.increment();
+            return;
+        }
+        final Set<String> keys = pendingKeys.computeIfAbsent(group, g -> new LinkedHashSet<>());
+        if (!keys.add(key)) {
+            invalidationsCoalesced.increment();
+        } else if (keys.size() > groupFlushThreshold) {
+            // cheaper for every node to flush the group than to remove this many keys one by one
+            invalidationsCoalesced.add(keys.size() - 1);
+            pendingKeys.remove(group);
+            pendingGroups.add(group);
+        }
+    }
+
+    /**
+     * Sends everything that is pending.
+     */
+    public void flush() {
+        final Map<String, Set<String>> keys;
+        final Set<String> groups;
+        final boolean flushAll;
+        final long since;
+        synchronized (this) {
+            if (pendingSince == 0) {
+                return;
+            }
+            keys = pendingKeys;
+            groups = pendingGroups;
+            flushAll = pendingFlushAll;
+            since = pendingSince;
+            pendingKeys = new LinkedHashMap<>();
+            pendingGroups = new LinkedHashSet<>();
+            pendingFlushAll = false;
+            pendingSince = 0;
+        }
+
+        final List<String[]> entries = new ArrayList<>();
+        if (flushAll) {
+            entries.add(new String[]{DotCacheAdministrator.ROOT_GOUP, FLUSH_KEY});
+        }
+        groups.forEach(group -> entries.add(new String[]{group, FLUSH_KEY}));
+        keys.forEach((group, groupKeys) -> groupKeys.forEach(key -> entries.add(new String[]{group, key})));
+
+        send(entries, since);
+    }
+
+    private void send(final List<String[]> entries, final long since) {
+        final String message = encode(entries, since);
+        if (message.length() > maxMessageBytes && entries.size() > 1) {
+            final int half = entries.size() / 2;
+            send(entries.subList(0, half), since);
+            send(entries.subList(half, entries.size()), since);
+            return;
+        }
+        try {
+            sender.accept(message);
+            messagesSent.increment();
+        } catch (Exception e) {
+            Logger.warnAndDebug(this.getClass(), "Unable to send cache invalidations to the cluster: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends what is pending and stops the scheduler.
+     */
+    public void shutdown() {
+        flush();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Encodes a batch as: version, creation time, number of groups and, for each group, its name,
+     * whether the whole group is flushed and its keys.
+     */
+    static String encode(final List<String[]> entries, final long since) {
+        final Map<String, List<String>> byGroup = new LinkedHashMap<>();
+        final Set<String> flushedGroups = new HashSet<>();
+        for (final String[] entry : entries) {
+            final List<String> keys = byGroup.computeIfAbsent(entry[0], group -> new ArrayList<>());
+            if (FLUSH_KEY.equals(entry[1])) {
+                flushedGroups.add(entry[0]);
+            } else {
+                keys.add(entry[1]);
+            }
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeByte(VERSION);
+            output.writeLong(since);
+            output.writeInt(byGroup.size());
+            for (final Map.Entry<String, List<String>> group : byGroup.entrySet()) {
+                final boolean flushGroup = flushedGroups.contains(group.getKey());
+                output.writeUTF(group.getKey());
+                output.writeBoolean(flushGroup);
+                output.writeInt(flushGroup ? 0 : group.getValue().size());
+                if (!flushGroup) {
+                    for (final String key : group.getValue()) {
+                        output.writeUTF(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DotRuntimeException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a batch sent by {@link #encode(List, long)}.
+     */
+    public static Batch decode(final String message) {
+        final byte[] bytes = Base64.getDecoder().decode(message);
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            final byte version = input.readByte();
+            if (version != VERSION) {
+                throw new DotRuntimeException("Unknown cache invalidation batch version: " + version);
+            }
+            final long createdAt = input.readLong();
+            final int groups = input.readInt();
+            final List<String> messages = new ArrayList<>();
+            for (int i = 0; i < groups; i++) {
+                final String group = input.readUTF();
+                final boolean flushGroup = input.readBoolean();
+                final int keys = input.readInt();
+                if (flushGroup) {
+                    messages.add(FLUSH_KEY + ":" + group);
+                }
+                for (int j = 0; j < keys; j++) {
+                    messages.add(input.readUTF() + ":" + group);
+                }
+            }
+            return new Batch(createdAt, messages);
+        } catch (IOException e) {
+            throw new DotRuntimeException(e);
+        }
+    }
+
+    public long getInvalidationsQueued() {
+        return invalidationsQueued.sum();
+    }
+
+    public long getInvalidationsCoalesced() {
+        return invalidationsCoalesced.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    /**
+     * A decoded batch, its invalidation messages in the {@code key:group} format and when the first
+     * of them was queued by the sender.
+     */
+    public static final class Batch {
+
+        public final long createdAt;
+        public final List<String> messages;
+
+        Batch(final long createdAt, final List<String> messages) {
+            this.createdAt = createdAt;
+            this.messages = messages;
+        }
+    }
+
+}
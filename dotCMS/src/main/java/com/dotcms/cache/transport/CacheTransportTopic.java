@@ -4,6 +4,8 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import com.dotcms.dotpubsub.DotPubSubEvent;
 import com.dotcms.dotpubsub.DotPubSubProvider;
 import com.dotcms.dotpubsub.DotPubSubProviderLocator;
@@ -62,7 +64,7 @@ public class CacheTransportTopic implements DotPubSubTopic {
     }
 
     public enum CacheEventType {
-        INVAL, PING, PONG, CLUSTER_REQ, CLUSTER_RES, UKN;
+        INVAL, INVAL_BATCH, PING, PONG, CLUSTER_REQ, CLUSTER_RES, UKN;
 
         static public CacheEventType from(Serializable name) {
             for (CacheEventType type : CacheEventType.values()) {
@@ -105,6 +107,30 @@ public class CacheTransportTopic implements DotPubSubTopic {
         return true;
     };
 
+    // end to end lag of the invalidation batches, from the first invalidation queued by the sender
+    // until it is applied here, so it includes the clock difference between the servers
+    private final LongAdder batchesReceived = new LongAdder();
+    private final LongAdder batchLagMillis = new LongAdder();
+    private final LongAccumulator maxBatchLagMillis = new LongAccumulator(Math::max, 0);
+
+    final private Function2<DotPubSubEvent, CacheTransportTopic, Boolean> invalBatch = (event, topic) -> {
+        if (topic.serverId.equals(event.getOrigin())) {
+            Logger.debug(getClass(), () -> "pub/sub event sent from me, ignoring:" + event);
+            return true;
+        }
+
+        final CacheInvalidationBatcher.Batch batch = CacheInvalidationBatcher.decode(event.getMessage());
+        Logger.debug(getClass(), () -> "got cache invalidation batch of " + batch.messages.size() + " invalidations");
+        for (final String message : batch.messages) {
+            CacheLocator.getCacheAdministrator().invalidateCacheMesageFromCluster(message);
+        }
+        final long lag = Math.max(0, System.currentTimeMillis() - batch.createdAt);
+        topic.batchesReceived.increment();
+        topic.batchLagMillis.add(lag);
+        topic.maxBatchLagMillis.accumulate(lag);
+        return true;
+    };
+
     final private Function2<DotPubSubEvent, CacheTransportTopic, Boolean> ping = (event, topic) -> {
         Logger.info(this.getClass(), () -> "Got PING from server:" + event.getOrigin() + ". sending PONG");
         topic.provider.publish(
@@ -148,11 +174,25 @@ public class CacheTransportTopic implements DotPubSubTopic {
     final Map<String, Function2<DotPubSubEvent, CacheTransportTopic, Boolean>> functionMap =
                     new ImmutableMap.Builder<String, Function2<DotPubSubEvent, CacheTransportTopic, Boolean>>()
                                     .put(CacheEventType.INVAL.name(), this.inval)
+                                    .put(CacheEventType.INVAL_BATCH.name(), this.invalBatch)
                                     .put(CacheEventType.PING.name(), this.ping)
                                     .put(CacheEventType.PONG.name(), this.pong)
                                     .put(CacheEventType.CLUSTER_REQ.name(), this.clusterRequest)
                                     .put(CacheEventType.CLUSTER_RES.name(), this.clusterResponse).build();
 
+    public long batchesReceived() {
+        return batchesReceived.sum();
+    }
+
+    public long averageBatchLagMillis() {
+        final long batches = batchesReceived.sum();
+        return batches > 0 ? batchLagMillis.sum() / batches : 0;
+    }
+
+    public long maxBatchLagMillis() {
+        return maxBatchLagMillis.get();
+    }
+
     @Override
     public long messagesSent() {
         return messagesSent;
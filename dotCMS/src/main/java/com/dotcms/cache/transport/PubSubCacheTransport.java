@@ -1,6 +1,7 @@
 package com.dotcms.cache.transport;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import com.dotcms.cache.transport.CacheTransportTopic.CacheEventType;
@@ -14,6 +15,7 @@ import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.cache.transport.CacheTransport;
 import com.dotmarketing.business.cache.transport.CacheTransportException;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import io.vavr.control.Try;
 
@@ -31,6 +33,12 @@ public class PubSubCacheTransport implements CacheTransport {
 
     final AtomicBoolean initialized = new AtomicBoolean(false);
 
+    /**
+     * Buffers the invalidations and sends them in batches, null if disabled. Only enable it once
+     * every server in the cluster is able to read the batches.
+     */
+    final CacheInvalidationBatcher batcher;
+
     @Override
     public boolean requiresAutowiring() {
         return false;
@@ -39,6 +47,9 @@ public class PubSubCacheTransport implements CacheTransport {
     public PubSubCacheTransport() {
         this.pubsub = DotPubSubProviderLocator.provider.get();
         this.topic = new CacheTransportTopic();
+        this.batcher = Config.getBooleanProperty("cache.invalidation.batch.enabled", false)
+                        ? new CacheInvalidationBatcher(this::sendBatch)
+                        : null;
         Logger.debug(this.getClass(), "PubSubCacheTransport");
     }
 
@@ -59,6 +70,10 @@ public class PubSubCacheTransport implements CacheTransport {
             return;
         }
 
+        if (this.batcher != null && this.batcher.add(message)) {
+            return;
+        }
+
         final DotPubSubEvent event = new DotPubSubEvent.Builder().withTopic(this.topic)
                         .withType(CacheEventType.INVAL.name()).withMessage(message).build();
 
@@ -66,6 +81,13 @@ public class PubSubCacheTransport implements CacheTransport {
 
     }
 
+    private void sendBatch(final String batch) {
+        final DotPubSubEvent event = new DotPubSubEvent.Builder().withTopic(this.topic)
+                        .withType(CacheEventType.INVAL_BATCH.name()).withMessage(batch).build();
+
+        this.pubsub.publish(event);
+    }
+
     @Override
     public void testCluster() throws CacheTransportException {
 
@@ -107,6 +129,9 @@ public class PubSubCacheTransport implements CacheTransport {
     @Override
     public void shutdown() throws CacheTransportException {
         Logger.debug(this.getClass(), "shutdown()");
+        if (this.batcher != null) {
+            this.batcher.shutdown();
+        }
         this.pubsub.stop();
         if (initialized.get()) {
             initialized.set(false);
@@ -181,6 +206,20 @@ public class PubSubCacheTransport implements CacheTransport {
             public long getSentMessages() {
                 return topic.messagesSent();
             }
+
+            @Override
+            public Map<String, Serializable> asMap() {
+                final Map<String, Serializable> map = new HashMap<>(CacheTransportInfo.super.asMap());
+                if (batcher != null) {
+                    map.put("invalidationsQueued", batcher.getInvalidationsQueued());
+                    map.put("invalidationsCoalesced", batcher.getInvalidationsCoalesced());
+                    map.put("invalidationBatchesSent", batcher.getMessagesSent());
+                }
+                map.put("invalidationBatchesReceived", topic.batchesReceived());
+                map.put("invalidationBatchLagAvgMillis", topic.averageBatchLagMillis());
+                map.put("invalidationBatchLagMaxMillis", topic.maxBatchLagMillis());
+                return map;
+            }
         };
     }
 
@@ -1,44 +1,98 @@
 package com.dotcms.content.elasticsearch;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.TermQueryBuilder;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import com.dotmarketing.beans.Identifier;
+import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.Cachable;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.DotCacheAdministrator;
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UtilMethods;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import io.vavr.control.Try;
 
 /**
  * This cache will take an ElasticSearch SearchRequest as a key and will return the SearchHits for
  * that SearchRequest from cache if they are available.  This entire cache can be turned off by setting
  * ES_CACHE_SEARCH_QUERIES = false in your dotmarketing-config.properties
- * 
+ * <p>
+ * Every entry is tagged with what its query is restricted to, taken from the term filters of the
+ * query: the content types, or else the sites, or else the languages. The queries that are not
+ * restricted by any of them get the {@code all} tag. Each tag has a generation that is part of the
+ * key of the entries, so indexing a contentlet only invalidates the entries tagged with its content
+ * type, site or language (and the {@code all} ones) by starting a new generation of those tags; the
+ * rest of the entries are kept. The generations are kept in their own cache group, so removing them
+ * also reaches the other nodes of the cluster. The contentlets of a batch are invalidated together,
+ * every tag once no matter how many contentlets of the batch have it. A contentlet moved to another
+ * site also invalidates the entries of the site it was moved from, see
+ * {@link #invalidateSiteChange(String, String)}.
+ *
  * @author will
  *
  */
 public class ESQueryCache implements Cachable {
 
+    static final String TAG_ALL = "all";
+    static final String TAG_CONTENT_TYPE = "contenttype:";
+    static final String TAG_SITE = "site";
+    static final String TAG_LANGUAGE = "lang";
 
     private final DotCacheAdministrator cache;
 
+    private final Map<String, TagStats> tagStats = new ConcurrentHashMap<>();
+
+    // sites the contentlets were moved from, by identifier, until the contentlets are indexed again
+    private final Cache<String, String> previousSites;
 
 
-    
     @VisibleForTesting
     public ESQueryCache(DotCacheAdministrator cache) {
-        this.cache = cache;
+        this(cache, 10000, 600);
+    }
 
+    private ESQueryCache(final DotCacheAdministrator cache, final int movedContentSize,
+            final int movedContentSeconds) {
+        this.cache = cache;
+        this.previousSites = Caffeine.newBuilder().maximumSize(movedContentSize)
+                .expireAfterWrite(movedContentSeconds, TimeUnit.SECONDS).build();
     }
 
 
     public ESQueryCache() {
-        this(CacheLocator.getCacheAdministrator());
+        this(CacheLocator.getCacheAdministrator(),
+                Config.getIntProperty("ES_QUERY_CACHE_MOVED_CONTENT_SIZE", 10000),
+                Config.getIntProperty("ES_QUERY_CACHE_MOVED_CONTENT_SECONDS", 600));
     }
 
 
-    final static String[] groups = new String[] {"esquerycache","esquerycountcache"};
+    final static String[] groups = new String[] {"esquerycache","esquerycountcache","esquerycachetags"};
 
     @Override
     public String getPrimaryGroup() {
@@ -61,10 +115,10 @@ public class ESQueryCache implements Cachable {
 
     /**
      * This provides the hash String for the given SearchRequest/CountRequest
-     * Taking a look at the SearchRequest.hashCode(), it seems like 
+     * Taking a look at the SearchRequest.hashCode(), it seems like
      * it will suit our purpose.
      * However CountRequest has a poor hashCode we need to take into account at least the query per-se
-     * 
+     *
      * @param actionRequest
      * @return
      */
@@ -81,30 +135,311 @@ public class ESQueryCache implements Cachable {
         }
     }
 
+    /**
+     * Builds the key of a request with the current generation of its tags. The same key must be used
+     * to get and to put the result of a request, so a result computed while its tags are being
+     * invalidated is stored with the old generation and never read.
+     *
+     * @param actionRequest a SearchRequest or a CountRequest
+     * @return CacheKey
+     */
+    public CacheKey key(final ActionRequest actionRequest) {
 
+        final Set<String> tags = tags(actionRequest);
+        final StringBuilder key = new StringBuilder(hash(actionRequest));
+        for (final String tag : tags) {
+            key.append('|').append(generation(tag));
+        }
+        return new CacheKey(key.toString(), tags);
+    }
+
+    /**
+     * Returns the tags of a request, sorted so the key is always the same
+     */
+    @VisibleForTesting
+    Set<String> tags(final ActionRequest actionRequest) {
+
+        final SearchSourceBuilder source = actionRequest instanceof SearchRequest
+                ? ((SearchRequest) actionRequest).source()
+                : actionRequest instanceof CountRequest ? ((CountRequest) actionRequest).source() : null;
+
+        final Set<String> contentTypes = new TreeSet<>();
+        final Set<String> sites = new TreeSet<>();
+        final Set<String> languages = new TreeSet<>();
+        if (null != source) {
+            collectTermFilters(source.query(), contentTypes, sites, languages);
+            collectTermFilters(source.postFilter(), contentTypes, sites, languages);
+        }
+
+        final Set<String> tags = new TreeSet<>();
+        if (!contentTypes.isEmpty()) {
+            contentTypes.forEach(contentType -> tags.add(TAG_CONTENT_TYPE + contentType));
+        } else if (!sites.isEmpty()) {
+            tags.add(TAG_SITE);
+            sites.forEach(site -> tags.add(TAG_SITE + ":" + site));
+        } else if (!languages.isEmpty()) {
+            tags.add(TAG_LANGUAGE);
+            languages.forEach(language -> tags.add(TAG_LANGUAGE + ":" + language));
+        } else {
+            tags.add(TAG_ALL);
+        }
+        return tags;
+    }
+
+    // only the required clauses restrict the results
+    private void collectTermFilters(final QueryBuilder query, final Set<String> contentTypes,
+            final Set<String> sites, final Set<String> languages) {
+
+        if (!(query instanceof BoolQueryBuilder)) {
+            return;
+        }
+
+        final BoolQueryBuilder boolQuery = (BoolQueryBuilder) query;
+        for (final QueryBuilder clause : boolQuery.filter()) {
+            if (!(clause instanceof TermQueryBuilder)) {
+                continue;
+            }
+
+            final TermQueryBuilder termQuery = (TermQueryBuilder) clause;
+            final String value = String.valueOf(termQuery.value()).toLowerCase();
+            switch (termQuery.fieldName()) {
+                case "contenttype":
+                case "structurename":
+                    contentTypes.add(value);
+                    break;
+                case "conhost":
+                    sites.add(value);
+                    break;
+                case "languageid":
+                    languages.add(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private String generation(final String tag) {
+
+        final String generation = (String) cache.getNoThrow(tag, groups[2]);
+        if (null != generation) {
+            return generation;
+        }
+
+        final String newGeneration = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        cache.put(tag, newGeneration, groups[2]);
+        return newGeneration;
+    }
+
+    private void invalidateTag(final String tag) {
+        cache.remove(tag, groups[2]);
+        tagStats.computeIfAbsent(tag, key -> new TagStats()).evictions.increment();
+    }
+
+    /**
+     * Invalidates the entries that could include the given contentlet
+     *
+     * @param contentlet the contentlet that was indexed or removed from the index
+     */
+    public void invalidate(final Contentlet contentlet) {
+        invalidate(List.of(contentlet));
+    }
+
+    /**
+     * Invalidates the entries that could include the given contentlets
+     *
+     * @param contentlets the contentlets that were indexed or removed from the index
+     */
+    public void invalidate(final Collection<Contentlet> contentlets) {
+
+        final Set<String> tags = new HashSet<>();
+        for (final Contentlet contentlet : contentlets) {
+            final String contentType = Try.of(() -> contentlet.getContentType().variable()).getOrNull();
+            if (null == contentType) {
+                clearCache();
+                return;
+            }
+            collectPreviousSite(contentlet.getIdentifier(), tags);
+            collectTags(contentType, contentlet.getHost(), contentlet.getLanguageId(), tags);
+        }
+        tags.forEach(this::invalidateTag);
+    }
+
+    /**
+     * Invalidates the entries that could include any version of the given identifiers, it is used
+     * when the languages of the contentlets are not known. The identifiers that are not cached are
+     * read with a single query.
+     *
+     * @param identifiers the identifiers of the contentlets that were indexed or removed from the index
+     */
+    public void invalidateIdentifiers(final Collection<String> identifiers) {
+
+        final Set<String> tags = new HashSet<>();
+        final Set<String> notCached = new HashSet<>();
+        for (final String id : identifiers) {
+            collectPreviousSite(id, tags);
+            final Identifier identifier = Try.of(() -> APILocator.getIdentifierAPI().loadFromCache(id)).getOrNull();
+            if (null != identifier && UtilMethods.isSet(identifier.getId())
+                    && UtilMethods.isSet(identifier.getAssetSubType())) {
+                collectTags(identifier.getAssetSubType(), identifier.getHostId(), 0, tags);
+            } else {
+                notCached.add(id);
+            }
+        }
+
+        if (!notCached.isEmpty()) {
+            final List<Map<String, Object>> rows = Try.of(() -> loadIdentifiers(notCached)).getOrNull();
+            if (null == rows || rows.size() < notCached.size() || rows.stream()
+                    .anyMatch(row -> !UtilMethods.isSet((String) row.get("asset_subtype")))) {
+                Logger.debug(this, () -> "Unable to find the identifiers " + notCached + ", clearing the whole cache");
+                clearCache();
+                return;
+            }
+            rows.forEach(row -> collectTags((String) row.get("asset_subtype"),
+                    (String) row.get("host_inode"), 0, tags));
+        }
+        tags.forEach(this::invalidateTag);
+    }
+
+    private List<Map<String, Object>> loadIdentifiers(final Collection<String> ids) throws DotDataException {
+
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for (final List<String> chunk : Lists.partition(new ArrayList<>(ids), 500)) {
+            final DotConnect dotConnect = new DotConnect().setSQL(
+                    "SELECT id, asset_subtype, host_inode FROM identifier WHERE id IN ("
+                            + DotConnect.createParametersPlaceholder(chunk.size()) + ")");
+            chunk.forEach(dotConnect::addParam);
+            rows.addAll(dotConnect.loadObjectResults());
+        }
+        return rows;
+    }
+
+    /**
+     * Invalidates the entries that could include a contentlet
+     *
+     * @param contentType variable of the content type of the contentlet
+     * @param siteId identifier of the site of the contentlet, null if unknown
+     * @param languageId language of the contentlet, 0 if unknown
+     */
+    public void invalidate(final String contentType, final String siteId, final long languageId) {
+
+        final Set<String> tags = new HashSet<>();
+        collectTags(contentType, siteId, languageId, tags);
+        tags.forEach(this::invalidateTag);
+    }
+
+    private void collectTags(final String contentType, final String siteId, final long languageId,
+            final Set<String> tags) {
+
+        tags.add(TAG_CONTENT_TYPE + contentType.toLowerCase());
+        tags.add(UtilMethods.isSet(siteId) ? TAG_SITE + ":" + siteId.toLowerCase() : TAG_SITE);
+        tags.add(languageId > 0 ? TAG_LANGUAGE + ":" + languageId : TAG_LANGUAGE);
+        tags.add(TAG_ALL);
+    }
+
+    /**
+     * Invalidates the entries of the site a contentlet is being moved from. The indexed contentlet
+     * only tells its new site, so the previous one is kept and invalidated once more when the
+     * contentlet is indexed, in case a search cached the old results in between. The previous sites
+     * are only kept on this node, for a while and up to {@code ES_QUERY_CACHE_MOVED_CONTENT_SIZE}
+     * contentlets: the move itself invalidates the entries on every node, the second invalidation
+     * only narrows the window of a search racing the reindex.
+     *
+     * @param identifier identifier of the contentlet
+     * @param previousSiteId identifier of the site the contentlet was in
+     */
+    public void invalidateSiteChange(final String identifier, final String previousSiteId) {
+
+        if (!UtilMethods.isSet(identifier) || !UtilMethods.isSet(previousSiteId)) {
+            return;
+        }
+        previousSites.put(identifier, previousSiteId);
+        invalidateTag(TAG_SITE + ":" + previousSiteId.toLowerCase());
+    }
+
+    private void collectPreviousSite(final String identifier, final Set<String> tags) {
+
+        final String previousSiteId = null != identifier ? previousSites.asMap().remove(identifier) : null;
+        if (null != previousSiteId) {
+            tags.add(TAG_SITE + ":" + previousSiteId.toLowerCase());
+        }
+    }
+
+    /**
+     * Invalidates the entries that could include any contentlet of a content type
+     *
+     * @param contentType variable of the content type
+     */
+    public void invalidateContentType(final String contentType) {
+
+        invalidateTag(TAG_CONTENT_TYPE + contentType.toLowerCase());
+        invalidateTag(TAG_SITE);
+        invalidateTag(TAG_LANGUAGE);
+        invalidateTag(TAG_ALL);
+    }
+
+    /**
+     * Returns the hits, misses and evictions (generations invalidated) of each tag
+     *
+     * @return Map of tag to its stats
+     */
+    public Map<String, Map<String, Long>> getTagStats() {
+
+        final Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        new TreeSet<>(tagStats.keySet()).forEach(tag -> stats.put(tag, tagStats.get(tag).toMap()));
+        return stats;
+    }
+
+    private <T> Optional<T> get(final CacheKey key, final String group) {
+
+        @SuppressWarnings("unchecked")
+        final T value = (T) cache.getNoThrow(key.key, group);
+        for (final String tag : key.tags) {
+            final TagStats stats = tagStats.computeIfAbsent(tag, k -> new TagStats());
+            (null != value ? stats.hits : stats.misses).increment();
+        }
+        return Optional.ofNullable(value);
+    }
 
     /**
      * takes a SearchRequest and returns and Optional<SearchHits> for it
-     * 
+     *
      * @param searchRequest
      * @return
      */
     public Optional<SearchHits> get(final SearchRequest searchRequest) {
-        final String hash = hash(searchRequest);
-        return Optional.ofNullable((SearchHits) cache.getNoThrow(hash, groups[0]));
+        return getHits(key(searchRequest));
+    }
 
+    /**
+     * Returns the SearchHits cached with the given key
+     *
+     * @param key key of a SearchRequest, see {@link #key(ActionRequest)}
+     * @return
+     */
+    public Optional<SearchHits> getHits(final CacheKey key) {
+        return get(key, groups[0]);
     }
 
 
     /**
      * Puts SearchHits into the cache using the SearchRequest as the key
-     * 
+     *
      * @param searchRequest
      * @param hits
      */
     public void put(final SearchRequest searchRequest, final SearchHits hits) {
-        final String hash = hash(searchRequest);
-        cache.put(hash, hits, groups[0]);
+        putHits(key(searchRequest), hits);
+    }
+
+    /**
+     * Puts SearchHits into the cache with the key the request had before it was executed
+     *
+     * @param key key of a SearchRequest, see {@link #key(ActionRequest)}
+     * @param hits
+     */
+    public void putHits(final CacheKey key, final SearchHits hits) {
+        cache.put(key.key, hits, groups[0]);
     }
 
 
@@ -114,8 +449,17 @@ public class ESQueryCache implements Cachable {
      * @return
      */
     public Optional<Long> get(final CountRequest countRequest) {
-        final String hash = hash(countRequest);
-        return Optional.ofNullable((Long) cache.getNoThrow(hash, groups[1]));
+        return getCount(key(countRequest));
+    }
+
+    /**
+     * Returns the count cached with the given key
+     *
+     * @param key key of a CountRequest, see {@link #key(ActionRequest)}
+     * @return
+     */
+    public Optional<Long> getCount(final CacheKey key) {
+        return get(key, groups[1]);
     }
 
     /**
@@ -124,8 +468,47 @@ public class ESQueryCache implements Cachable {
      * @param count
      */
     public void put(final CountRequest countRequest, final Long count) {
-        final String hash = hash(countRequest);
-        cache.put(hash, count, groups[1]);
+        putCount(key(countRequest), count);
+    }
+
+    /**
+     * Puts a count into the cache with the key the request had before it was executed
+     *
+     * @param key key of a CountRequest, see {@link #key(ActionRequest)}
+     * @param count
+     */
+    public void putCount(final CacheKey key, final Long count) {
+        cache.put(key.key, count, groups[1]);
+    }
+
+    /**
+     * Key of a request along with the generations of its tags
+     */
+    public static final class CacheKey {
+
+        private final String key;
+        private final Set<String> tags;
+
+        private CacheKey(final String key, final Set<String> tags) {
+            this.key = key;
+            this.tags = tags;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    private static final class TagStats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        private Map<String, Long> toMap() {
+            return Map.of("hits", hits.sum(), "misses", misses.sum(), "evictions", evictions.sum());
+        }
     }
 
 
@@ -24,6 +24,7 @@ import com.dotcms.variant.model.Variant;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.reindex.AdaptiveReindexTuner;
 import com.dotmarketing.common.reindex.BulkProcessorListener;
 import com.dotmarketing.common.reindex.ReindexEntry;
 import com.dotmarketing.common.reindex.ReindexQueueAPI;
@@ -613,20 +614,21 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
         final BulkRequest bulkRequest = createBulkRequest(contentToIndex);
         bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
         putToIndex(bulkRequest);
-        CacheLocator.getESQueryCache().clearCache();
+        CacheLocator.getESQueryCache().invalidate(contentToIndex);
     } // indexContentListNow.
 
     private void indexContentListWaitFor(final List<Contentlet> contentToIndex) {
         final BulkRequest bulkRequest = createBulkRequest(contentToIndex);
         bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
         putToIndex(bulkRequest);
-        CacheLocator.getESQueryCache().clearCache();
+        CacheLocator.getESQueryCache().invalidate(contentToIndex);
     } // indexContentListWaitFor.
 
     private void indexContentListDefer(final List<Contentlet> contentToIndex) {
         final BulkRequest bulkRequest = createBulkRequest(contentToIndex);
         bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
         putToIndex(bulkRequest);
+        CacheLocator.getESQueryCache().invalidate(contentToIndex);
     } // indexContentListWaitFor.
 
     @Override
@@ -690,15 +692,18 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
                                 .bulkAsync(request, RequestOptions.DEFAULT, bulkListener),
                 bulkProcessorListener);
 
+        final AdaptiveReindexTuner tuner = bulkProcessorListener.getTuner();
         // if running in a cluster reduce the number of concurrent requests in order to not overtax ES
-        final int numberToReindexInRequest = Try.of(
+        final int numberToReindexInRequest = tuner != null ? tuner.bulkActions() : Try.of(
                 () -> ReindexThread.ELASTICSEARCH_BULK_ACTIONS / APILocator.getServerAPI()
                         .getReindexingServers().size()).getOrElse(10);
 
+        // in adaptive mode the number of actions decides when to flush, not the size of the request
         builder.setBulkActions(numberToReindexInRequest)
-                .setBulkSize(
-                        new ByteSizeValue(ReindexThread.ELASTICSEARCH_BULK_SIZE, ByteSizeUnit.MB))
-                .setConcurrentRequests(ELASTICSEARCH_CONCURRENT_REQUESTS)
+                .setBulkSize(tuner != null ? new ByteSizeValue(-1)
+                        : new ByteSizeValue(ReindexThread.ELASTICSEARCH_BULK_SIZE, ByteSizeUnit.MB))
+                .setConcurrentRequests(tuner != null ? tuner.concurrentRequests()
+                        : ELASTICSEARCH_CONCURRENT_REQUESTS)
                 .setBackoffPolicy(BackoffPolicy.constantBackoff(TimeValue.timeValueSeconds(
                                 ReindexThread.BACKOFF_POLICY_TIME_IN_SECONDS),
                         ReindexThread.BACKOFF_POLICY_MAX_RETRYS));
@@ -1117,8 +1122,8 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
                     "Failed to remove content from index: " + response.buildFailureMessage());
         }
 
-        //Delete query cache when a new content has been reindexed
-        CacheLocator.getESQueryCache().clearCache();
+        //Invalidate the cached queries that could include the removed content
+        CacheLocator.getESQueryCache().invalidate(contentlet);
     }
 
     private void reindexDependenciesForDeletedContent(final Contentlet contentlet,
@@ -1236,8 +1241,8 @@ public class ContentletIndexAPIImpl implements ContentletIndexAPI {
         Logger.info(this, "Records deleted: " +
                 response.getDeleted() + " from contentType: " + structureName);
 
-        //Delete query cache when a new content has been reindexed
-        CacheLocator.getESQueryCache().clearCache();
+        //Invalidate the cached queries that could include content of the content type
+        CacheLocator.getESQueryCache().invalidateContentType(structureName);
     }
 
     public void fullReindexAbort() {
@@ -151,6 +151,7 @@ public class ESContentFactoryImpl extends ContentletFactory {
 
     private static final boolean REFRESH_BLOCK_EDITOR_REFERENCES = Config.getBooleanProperty("REFRESH_BLOCK_EDITOR_REFERENCES", true);
     private static final String[] ES_FIELDS = {"inode", "identifier"};
+    private static final LuceneQueryCompiler queryCompiler = new LuceneQueryCompiler();
     public static final int ES_TRACK_TOTAL_HITS_DEFAULT = 10000000;
     public static final String ES_TRACK_TOTAL_HITS = "ES_TRACK_TOTAL_HITS";
     private static final String[] UPSERT_INODE_EXTRA_COLUMNS = {"owner", "idate", "type"};
@@ -866,45 +867,26 @@ public class ESContentFactoryImpl extends ContentletFactory {
 
     @Override
     protected Contentlet find(final String inode) throws ElasticsearchException, DotStateException, DotDataException, DotSecurityException {
-        Contentlet contentlet = contentletCache.get(inode);
-        if (contentlet != null && InodeUtils.isSet(contentlet.getInode())) {
-            if (CACHE_404_CONTENTLET.equals(contentlet.getInode())) {
-                return null;
-            }
-            return processCachedContentlet(contentlet);
-        }
-
-        final Optional<Contentlet> dbContentlet = this.findInDb(inode);
-        if (dbContentlet.isPresent()) {
-            contentlet = dbContentlet.get();
-            contentletCache.add(contentlet.getInode(), contentlet);
-            return contentlet;
-        } else {
-            contentletCache.add(inode, cache404Content);
-            return null;
-        }
+        // concurrent misses of the same inode share a single db lookup
+        final Contentlet contentlet = contentletCache.getOrLoad(inode,
+                () -> this.findInDb(inode).orElse(cache404Content));
+        return processFoundContentlet(contentlet);
 
     }
     @Override
     protected Contentlet find(final String inode, String variant) throws ElasticsearchException, DotStateException, DotDataException, DotSecurityException {
-        Contentlet contentlet = contentletCache.get(inode);
-        if (contentlet != null && InodeUtils.isSet(contentlet.getInode())) {
-            if (CACHE_404_CONTENTLET.equals(contentlet.getInode())) {
-                return null;
-            }
-            return processCachedContentlet(contentlet);
-        }
+        final Contentlet contentlet = contentletCache.getOrLoad(inode,
+                () -> this.findInDb(inode, variant).orElse(cache404Content));
+        return processFoundContentlet(contentlet);
 
-        final Optional<Contentlet> dbContentlet = this.findInDb(inode, variant);
-        if (dbContentlet.isPresent()) {
-            contentlet = dbContentlet.get();
-            contentletCache.add(contentlet.getInode(), contentlet);
-            return contentlet;
-        } else {
-            contentletCache.add(inode, cache404Content);
+    }
+
+    private Contentlet processFoundContentlet(final Contentlet contentlet) {
+        if (contentlet == null || !InodeUtils.isSet(contentlet.getInode())
+                || CACHE_404_CONTENTLET.equals(contentlet.getInode())) {
             return null;
         }
-
+        return processCachedContentlet(contentlet);
     }
 
     /**
@@ -1595,7 +1577,7 @@ public class ESContentFactoryImpl extends ContentletFactory {
     @NotNull
     private CountRequest getCountRequest(final String queryString) {
         SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
-        sourceBuilder.query(QueryBuilders.queryStringQuery(queryString));
+        sourceBuilder.query(queryCompiler.compile(queryString));
         final CountRequest countRequest = new CountRequest(inferIndexToHit(queryString));
         countRequest.source(sourceBuilder);
         return countRequest;
@@ -1657,10 +1639,10 @@ public class ESContentFactoryImpl extends ContentletFactory {
                 queryBuilder = QueryBuilders.matchAllQuery();
             }
 
-            postFilter = QueryBuilders.queryStringQuery(query);
+            postFilter = queryCompiler.compile(query);
 
         } else {
-            queryBuilder = QueryBuilders.queryStringQuery(query);
+            queryBuilder = queryCompiler.compile(query);
         }
 
         searchSourceBuilder.query(queryBuilder);
@@ -1708,15 +1690,17 @@ public class ESContentFactoryImpl extends ContentletFactory {
      */
     SearchHits cachedIndexSearch(final SearchRequest searchRequest) {
         
-        final Optional<SearchHits> optionalHits = shouldQueryCache() ? queryCache.get(searchRequest) : Optional.empty();
+        // the key is taken before searching, a result is never cached with tags invalidated while it was computed
+        final ESQueryCache.CacheKey cacheKey = shouldQueryCache() ? queryCache.key(searchRequest) : null;
+        final Optional<SearchHits> optionalHits = null != cacheKey ? queryCache.getHits(cacheKey) : Optional.empty();
         if(optionalHits.isPresent()) {
             return optionalHits.get();
         }
         try {
             SearchResponse response = RestHighLevelClientProvider.getInstance().getClient().search(searchRequest, RequestOptions.DEFAULT);
             SearchHits hits  = response.getHits();
-            if(shouldQueryCache()) {
-                queryCache.put(searchRequest, hits);
+            if(null != cacheKey) {
+                queryCache.putHits(cacheKey, hits);
             }
             return hits;
         } catch (final ElasticsearchStatusException | IndexNotFoundException | SearchPhaseExecutionException e) {
@@ -1727,8 +1711,8 @@ public class ESContentFactoryImpl extends ContentletFactory {
             Logger.warn(this.getClass(), String.format("ES Query: %s", String.valueOf(searchRequest.source()) ));
             Logger.warn(this.getClass(), String.format("Class %s: %s", e.getClass().getName(), exceptionMsg));
             Logger.warn(this.getClass(), "----------------------------------------------");
-            if(shouldQueryCache(exceptionMsg)) {
-                queryCache.put(searchRequest, ERROR_HIT);
+            if(null != cacheKey && shouldQueryCache(exceptionMsg)) {
+                queryCache.putHits(cacheKey, ERROR_HIT);
             }
             return ERROR_HIT;
         } catch(final IllegalStateException e) {
@@ -1765,15 +1749,16 @@ public class ESContentFactoryImpl extends ContentletFactory {
      */
     Long cachedIndexCount(final CountRequest countRequest) {
 
-        final Optional<Long> optionalCount = shouldQueryCache() ? queryCache.get(countRequest) : Optional.empty();
+        final ESQueryCache.CacheKey cacheKey = shouldQueryCache() ? queryCache.key(countRequest) : null;
+        final Optional<Long> optionalCount = null != cacheKey ? queryCache.getCount(cacheKey) : Optional.empty();
         if(optionalCount.isPresent()) {
             return optionalCount.get();
         }
         try {
             final CountResponse response = RestHighLevelClientProvider.getInstance().getClient().count(countRequest, RequestOptions.DEFAULT);
             final long count = response.getCount();
-            if(shouldQueryCache()) {
-                queryCache.put(countRequest, count);
+            if(null != cacheKey) {
+                queryCache.putCount(cacheKey, count);
             }
             return count;
         } catch (final ElasticsearchStatusException | IndexNotFoundException | SearchPhaseExecutionException e) {
@@ -1783,8 +1768,8 @@ public class ESContentFactoryImpl extends ContentletFactory {
             Logger.warn(this.getClass(), String.format("ES Query: %s", String.valueOf(countRequest.source()) ));
             Logger.warn(this.getClass(), String.format("Class %s: %s", e.getClass().getName(), exceptionMsg));
             Logger.warn(this.getClass(), "----------------------------------------------");
-            if(shouldQueryCache(exceptionMsg)) {
-                queryCache.put(countRequest, -1L);
+            if(null != cacheKey && shouldQueryCache(exceptionMsg)) {
+                queryCache.putCount(cacheKey, -1L);
             }
             return -1L;
         } catch(final IllegalStateException e) {
@@ -2553,9 +2538,8 @@ public class ESContentFactoryImpl extends ContentletFactory {
 	        TranslatedQuery result = CacheLocator.getContentletCache()
                     .getTranslatedQuery(query + " --- " + sortBy);
 
+	        // the cached query was already lowercased before it was cached
 	        if(result != null) {
-                result.setQuery(lowercaseStringExceptMatchingTokens(result.getQuery(),
-                        LUCENE_RESERVED_KEYWORDS_REGEX));
                 return result;
             }
 
@@ -535,12 +535,16 @@ public class ESContentletAPIImpl implements ContentletAPI {
         }
 
         // update with the new host and path
+        final String previousHostId = identifier.getHostId();
         identifier.setHostId(host.getIdentifier());
         identifier.setParentPath(folder.getPath());
 
         Logger.debug(this, () -> "Updating the identifier: " + identifier);
         // changing the host and path will move the contentlet
         APILocator.getIdentifierAPI().save(identifier);
+        if (!host.getIdentifier().equals(previousHostId)) {
+            CacheLocator.getESQueryCache().invalidateSiteChange(identifier.getId(), previousHostId);
+        }
 
         // update the version ts in order to be repushed
         final Optional<ContentletVersionInfo> versionInfoOpt = APILocator.getVersionableAPI()
@@ -5738,6 +5742,9 @@ public class ESContentletAPIImpl implements ContentletAPI {
             final String hostId =
                     UtilMethods.isSet(contentletRaw.getHost()) ? contentletRaw.getHost()
                             : contentlet.getHost();
+            if (UtilMethods.isSet(identifier.getHostId()) && !identifier.getHostId().equals(hostId)) {
+                CacheLocator.getESQueryCache().invalidateSiteChange(identifier.getId(), identifier.getHostId());
+            }
             identifier.setHostId(hostId);
             if (contentlet.isFileAsset()) {
                 try {
@@ -0,0 +1,230 @@
+package com.dotcms.content.elasticsearch.business;
+
+import com.dotmarketing.util.Config;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+
+/**
+ * Compiles the translated dotCMS Lucene queries into typed Elasticsearch queries, so the structural
+ * clauses of a query are not parsed by ES as a {@code query_string} on every search.
+ * <p>
+ * The top level clauses of the query are parsed, and the required and prohibited clauses on the
+ * system fields mapped as keyword, boolean or long ({@code +live:true}, {@code -deleted:true},
+ * {@code +contentType:blog}, {@code +languageId:[1 TO 3]}...) become {@code term} and {@code range}
+ * queries in filter context. Everything else (text fields, phrases, wildcards, groups, boosts) is
+ * left in a single {@code query_string} that keeps the original prefixes, so the matching is the
+ * same as sending the whole query as a {@code query_string}. Only the scoring of the structural
+ * clauses is lost, which are the same for all the results anyway.
+ * <p>
+ * Queries with top level boolean operators ({@code AND}, {@code OR}, {@code NOT}) are not compiled,
+ * they are sent as a {@code query_string} as before. The compiled queries are kept in a bounded cache
+ * by query text.
+ */
+public final class LuceneQueryCompiler {
+
+    private static final Set<String> BOOLEAN_FIELDS = Set.of("live", "working", "deleted", "locked");
+    private static final Set<String> LONG_FIELDS = Set.of("languageid", "basetype");
+    private static final Set<String> KEYWORD_FIELDS = Set.of("contenttype", "structurename", "conhost",
+            "variant", "categories", "tags", "wfstep", "owner", "moduser");
+    private static final Set<String> OPERATORS = Set.of("and", "or", "not", "&&", "||");
+
+    private static final Pattern FIELD_NAME = Pattern.compile("[a-z0-9_.]+");
+    private static final Pattern KEYWORD_VALUE = Pattern.compile("[a-z0-9_][a-z0-9_.\\-]*");
+    private static final Pattern LONG_VALUE = Pattern.compile("-?[0-9]+");
+    private static final Pattern LONG_RANGE = Pattern.compile(
+            "([\\[{])\\s*(-?[0-9]+|\\*)\\s+(?i:to)\\s+(-?[0-9]+|\\*)\\s*([]}])");
+
+    private final boolean enabled;
+    private final Cache<String, QueryBuilder> compiledQueries;
+
+    public LuceneQueryCompiler() {
+        this(Config.getBooleanProperty("ES_QUERY_COMPILER_ENABLED", true),
+                Config.getIntProperty("ES_QUERY_COMPILER_CACHE_SIZE", 5000));
+    }
+
+    LuceneQueryCompiler(final boolean enabled, final int cacheSize) {
+        this.enabled = enabled;
+        this.compiledQueries = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Returns the ES query for a translated Lucene query, the returned query must not be modified
+     *
+     * @param query the query, already translated by {@link ESContentFactoryImpl#translateQuery(String, String)}
+     * @return QueryBuilder
+     */
+    public QueryBuilder compile(final String query) {
+
+        if (!enabled) {
+            return QueryBuilders.queryStringQuery(query);
+        }
+        return compiledQueries.get(query, LuceneQueryCompiler::compileQuery);
+    }
+
+    static QueryBuilder compileQuery(final String query) {
+
+        final List<String> clauses = splitClauses(query);
+        if (null == clauses || clauses.isEmpty()
+                || clauses.stream().anyMatch(clause -> OPERATORS.contains(clause.toLowerCase()))) {
+            return QueryBuilders.queryStringQuery(query);
+        }
+
+        final BoolQueryBuilder boolQuery = QueryBuilders.boolQuery();
+        final List<String> scoredClauses = new ArrayList<>();
+        final List<String> prohibitedClauses = new ArrayList<>();
+        boolean hasRequiredClause = false;
+        boolean compiled = false;
+
+        for (final String clause : clauses) {
+
+            final char prefix = clause.length() > 1 ? clause.charAt(0) : ' ';
+            final boolean required = prefix == '+';
+            final boolean prohibited = prefix == '-' || prefix == '!';
+            final String body = required || prohibited ? clause.substring(1) : clause;
+
+            final QueryBuilder structuralQuery = required || prohibited ? toStructuralQuery(body) : null;
+            if (null != structuralQuery) {
+                compiled = true;
+                if (required) {
+                    boolQuery.filter(structuralQuery);
+                } else {
+                    boolQuery.mustNot(structuralQuery);
+                }
+            } else if (prohibited) {
+                prohibitedClauses.add(body);
+            } else {
+                hasRequiredClause |= required;
+                scoredClauses.add(clause);
+            }
+        }
+
+        if (!compiled) {
+            return QueryBuilders.queryStringQuery(query);
+        }
+
+        if (!scoredClauses.isEmpty()) {
+            // when there are no required clauses, the ones left are optional only if something else is required
+            final QueryBuilder scoredQuery = QueryBuilders.queryStringQuery(String.join(" ", scoredClauses));
+            if (hasRequiredClause) {
+                boolQuery.must(scoredQuery);
+            } else {
+                boolQuery.should(scoredQuery);
+            }
+        }
+        if (!prohibitedClauses.isEmpty()) {
+            boolQuery.mustNot(QueryBuilders.queryStringQuery(String.join(" ", prohibitedClauses)));
+        }
+        return boolQuery;
+    }
+
+    /**
+     * Returns the term or range query for a clause on a system field, null if the clause is not a
+     * plain value on one of those fields
+     */
+    private static QueryBuilder toStructuralQuery(final String clause) {
+
+        final int colon = clause.indexOf(':');
+        if (colon <= 0 || clause.indexOf('\\') >= 0) {
+            return null;
+        }
+
+        final String field = clause.substring(0, colon);
+        final String value = clause.substring(colon + 1).trim();
+        if (!FIELD_NAME.matcher(field).matches() || value.isEmpty()) {
+            return null;
+        }
+
+        if (BOOLEAN_FIELDS.contains(field)) {
+            return "true".equals(value) || "false".equals(value)
+                    ? QueryBuilders.termQuery(field, Boolean.parseBoolean(value)) : null;
+        }
+
+        if (LONG_FIELDS.contains(field)) {
+            if (LONG_VALUE.matcher(value).matches()) {
+                return QueryBuilders.termQuery(field, Long.parseLong(value));
+            }
+            return toLongRange(field, value);
+        }
+
+        return KEYWORD_FIELDS.contains(field) && KEYWORD_VALUE.matcher(value).matches()
+                ? QueryBuilders.termQuery(field, value) : null;
+    }
+
+    private static QueryBuilder toLongRange(final String field, final String value) {
+
+        final Matcher matcher = LONG_RANGE.matcher(value);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        final RangeQueryBuilder rangeQuery = QueryBuilders.rangeQuery(field);
+        if (!"*".equals(matcher.group(2))) {
+            rangeQuery.from(Long.parseLong(matcher.group(2)), "[".equals(matcher.group(1)));
+        }
+        if (!"*".equals(matcher.group(3))) {
+            rangeQuery.to(Long.parseLong(matcher.group(3)), "]".equals(matcher.group(4)));
+        }
+        return rangeQuery;
+    }
+
+    /**
+     * Splits the query in its top level clauses, keeping quoted phrases, ranges and groups together
+     *
+     * @return the clauses, or null if the query can not be split, i.e. it is not balanced
+     */
+    static List<String> splitClauses(final String query) {
+
+        final List<String> clauses = new ArrayList<>();
+        final StringBuilder clause = new StringBuilder();
+        boolean inQuote = false;
+        boolean inRange = false;
+        int depth = 0;
+
+        for (int i = 0; i < query.length(); i++) {
+
+            final char c = query.charAt(i);
+            if (c == '\\' && i + 1 < query.length()) {
+                clause.append(c).append(query.charAt(++i));
+                continue;
+            }
+
+            if (inQuote) {
+                inQuote = c != '"';
+            } else if (inRange) {
+                inRange = c != ']' && c != '}';
+            } else if (c == '"') {
+                inQuote = true;
+            } else if (c == '[' || c == '{') {
+                inRange = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth < 0) {
+                return null;
+            } else if (Character.isWhitespace(c) && depth == 0) {
+                if (clause.length() > 0) {
+                    clauses.add(clause.toString());
+                    clause.setLength(0);
+                }
+                continue;
+            }
+            clause.append(c);
+        }
+
+        if (inQuote || inRange || depth != 0) {
+            return null;
+        }
+        if (clause.length() > 0) {
+            clauses.add(clause.toString());
+        }
+        return clauses;
+    }
+}
@@ -10,6 +10,7 @@ import com.dotcms.content.elasticsearch.business.ContentletIndexAPIImpl;
 import com.dotcms.content.elasticsearch.business.IndiciesInfo;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.reindex.ReindexThread;
 import com.dotmarketing.exception.DotDataException;
 import io.vavr.control.Try;
 
@@ -76,6 +77,7 @@ public class ESReindexationProcessStatus implements Serializable {
             theMap.put("newIndexPath", getNewIndexPath());
             theMap.put("reindexTimeElapsed",timeElapsed );
         }
+        theMap.put("reindexPipeline", ReindexThread.getInstance().getTuner().getStats());
         return theMap;
     }
 }
@@ -7,7 +7,9 @@ import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.structure.model.Relationship;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface RelationshipFactory {
@@ -103,6 +105,19 @@ public interface RelationshipFactory {
     List<Contentlet> dbRelatedContentByChild(final String childInode, final String relationType, final boolean live,
             final String orderBy) throws DotDataException;
 
+    /**
+     * Gets the identifiers of the content related to several contentlets at once, in tree order, the
+     * same content {@link #dbRelatedContent(Relationship, Contentlet, boolean)} returns for each of
+     * them. Only the contentlets with related content are included in the result.
+     * @param relationType relation type of the relationship
+     * @param identifiers identifiers of the contentlets
+     * @param hasParent true if the contentlets are the parents of the relationship
+     * @return Map of contentlet identifier -> identifiers of its related content
+     * @throws DotDataException
+     */
+    Map<String, List<String>> dbRelatedIdentifiers(final String relationType, final Collection<String> identifiers,
+            final boolean hasParent) throws DotDataException;
+
     int maxSortOrder(final String parentInode, final String relationType);
 
     void deleteByContent(final Contentlet contentlet, final Relationship relationship,
@@ -27,10 +27,14 @@ import com.dotmarketing.util.InodeUtils;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UUIDGenerator;
 import com.dotmarketing.util.UtilMethods;
+import com.google.common.collect.Lists;
 import com.liferay.util.StringPool;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -617,6 +621,38 @@ public class RelationshipFactoryImpl implements RelationshipFactory{
         return contentlets;
     }
 
+    @Override
+    public Map<String, List<String>> dbRelatedIdentifiers(final String relationType,
+            final Collection<String> identifiers, final boolean hasParent) throws DotDataException {
+
+        final String sourceColumn  = hasParent? "parent": "child";
+        final String relatedColumn = hasParent? "child": "parent";
+        final Map<String, List<String>> relatedIdentifiers = new HashMap<>();
+        for (final List<String> chunk : Lists.partition(new ArrayList<>(new LinkedHashSet<>(identifiers)), 500)) {
+
+            final DotConnect dc = new DotConnect();
+            dc.setSQL("select t." + sourceColumn + " as identifier, c.identifier as related "
+                    + "from tree t join contentlet c on t." + relatedColumn + " = c.identifier "
+                    + "join contentlet_version_info cvi on c.identifier = cvi.identifier "
+                    + " where t." + sourceColumn + " in (" + DotConnect.createParametersPlaceholder(chunk.size()) + ") "
+                    + " and cvi.working_inode = c.inode "
+                    + "  and t.relation_type = ? "
+                    + " order by t.tree_order, cvi.version_ts");
+            chunk.forEach(dc::addParam);
+            dc.addParam(relationType);
+
+            for (final Map<String, Object> row : dc.loadObjectResults()) {
+                final List<String> related = relatedIdentifiers.computeIfAbsent(
+                        (String) row.get("identifier"), identifier -> new ArrayList<>());
+                if (!related.contains(row.get("related"))) {
+                    related.add((String) row.get("related"));
+                }
+            }
+        }
+
+        return relatedIdentifiers;
+    }
+
     public  List<Contentlet> dbRelatedContentByChild(final String childIdentifier, final String relationType, final boolean live,
             final String orderBy) throws DotDataException {
 	    return dbRelatedContentByChild(childIdentifier, relationType, live,orderBy, -1, -1);
@@ -1,5 +1,6 @@
 package com.dotcms.graphql;
 
+import com.dotcms.graphql.dataloader.DotDataLoaders;
 import com.dotcms.rest.AnonymousAccess;
 import com.dotcms.rest.InitDataObject;
 import com.dotcms.rest.WebResource;
@@ -22,7 +23,9 @@ public class DotGraphQLContextBuilder implements GraphQLServletContextBuilder {
                         .rejectWhenNoUser(false)
                         .requiredAnonAccess(AnonymousAccess.systemSetting())
                         .init();
+        // the loaders are created for each request, so their caches are never shared between users
         return DotGraphQLContext.createServletContext()
+                .with(DotDataLoaders.newRegistry(initDataObject.getUser()))
                 .with(httpServletRequest)
                 .with(httpServletResponse)
                 .with(initDataObject.getUser()).build();
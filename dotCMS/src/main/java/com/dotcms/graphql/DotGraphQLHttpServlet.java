@@ -1,12 +1,17 @@
 package com.dotcms.graphql;
 
+import com.dotcms.graphql.dataloader.DataLoaderStatisticsInstrumentation;
+import com.dotcms.graphql.execution.DotPreparsedDocumentProvider;
+import com.dotcms.graphql.execution.OperationTimingInstrumentation;
 import com.dotcms.rest.api.CorsFilter;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
+import graphql.kickstart.execution.GraphQLQueryInvoker;
 import graphql.kickstart.servlet.AbstractGraphQLHttpServlet;
 import graphql.kickstart.servlet.GraphQLConfiguration;
 import io.vavr.Function0;
+import io.vavr.Lazy;
 import java.util.HashMap;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
@@ -18,12 +23,19 @@ public class DotGraphQLHttpServlet extends AbstractGraphQLHttpServlet {
 
     private static final String CORS_GRAPHQL = CorsFilter.CORS_PREFIX + ".graphql";
 
+    // the configuration is built for every request, the invoker is shared so the parsed documents are reused
+    private static final Lazy<GraphQLQueryInvoker> queryInvoker = Lazy.of(() -> GraphQLQueryInvoker.newBuilder()
+            .withPreparsedDocumentProvider(new DotPreparsedDocumentProvider())
+            .with(List.of(new DataLoaderStatisticsInstrumentation(), new OperationTimingInstrumentation()))
+            .build());
+
     @Override
     protected GraphQLConfiguration getConfiguration() {
         return GraphQLConfiguration
                 .with(new DotGraphQLSchemaProvider())
                 .with(List.of(new DotGraphQLServletListener()))
                 .with(new DotGraphQLContextBuilder())
+                .with(queryInvoker.get())
                 .build();
     }
 
@@ -50,6 +50,7 @@ import com.dotcms.util.LowerKeyMap;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.portlets.htmlpageasset.business.render.ContainerRaw;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
 import com.google.common.annotations.VisibleForTesting;
@@ -57,7 +58,10 @@ import graphql.scalars.ExtendedScalars;
 import graphql.schema.DataFetcher;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLNamedSchemaElement;
+import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLType;
@@ -71,6 +75,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -89,6 +95,12 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
 
     private final Map<String, GraphQLType> typesMap = new HashMap<>();
 
+    // object types generated for each content type, by content type id. They are reused by the next
+    // schemas until the content type or any of its fields is modified. They are never added to a
+    // schema, building one resolves the type references of its types in place, so every schema gets
+    // a copy, see copyOf
+    private final Map<String, VersionedObjectType> contentTypeObjectTypes = new ConcurrentHashMap<>();
+
     ContentAPIGraphQLTypesProvider() {
         // custom type mappings
         this.fieldClassGraphqlTypeMap.put(BinaryField.class, CustomFieldType.BINARY.getType());
@@ -132,7 +144,7 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
 
     private void fillTypesMap() throws DotDataException {
         typesMap.clear();
-        // we want to generate them always - no cache
+        // the object types of the content types that did not change are reused, see getContentAPITypes
         final Set<GraphQLType> contentAPITypes = getContentAPITypes();
 
         for (GraphQLType graphQLType : contentAPITypes) {
@@ -166,19 +178,83 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
             localTypesMap.put(type.variable(), type);
         });
 
+        if (!Config.getBooleanProperty("GRAPHQL_INCREMENTAL_SCHEMA_ENABLED", true)) {
+            contentTypeObjectTypes.clear();
+        }
+
+        final Set<String> currentTypeIds = new HashSet<>();
+        final AtomicInteger generatedTypes = new AtomicInteger();
         allTypes.forEach((type) -> {
             try {
 
+                currentTypeIds.add(type.id());
+                final String version = getVersion(type);
+                final VersionedObjectType cachedType = contentTypeObjectTypes.get(type.id());
+                if (null != cachedType && cachedType.version.equals(version)) {
+                    contentAPITypes.add(copyOf(cachedType.objectType));
+                    return;
+                }
+
                 Logger.debug(this, ()-> "Generating GraphQL Type for type: " + type.variable());
-                contentAPITypes.add(createType(type));
+                final GraphQLObjectType objectType = createType(type);
+                contentTypeObjectTypes.put(type.id(), new VersionedObjectType(version, objectType));
+                generatedTypes.incrementAndGet();
+                contentAPITypes.add(copyOf(objectType));
             }catch (IllegalArgumentException e) {
                 Logger.error(this, "Unable to generate GraphQL Type for type: " + type.variable());
             }
         });
 
+        // the types that were deleted
+        contentTypeObjectTypes.keySet().retainAll(currentTypeIds);
+
+        Logger.debug(this, ()-> "Generated " + generatedTypes.get() + " GraphQL Types, reused "
+                + (currentTypeIds.size() - generatedTypes.get()));
         return contentAPITypes;
     }
 
+    /**
+     * Saving or deleting a field also updates the mod date of its content type, the fields are
+     * included anyway in case they are changed by other means, i.e. pushed to this node
+     */
+    private String getVersion(final ContentType contentType) {
+
+        final StringBuilder version = new StringBuilder(contentType.variable()).append(':')
+                .append(null != contentType.modDate() ? contentType.modDate().getTime() : 0);
+        for (final Field field : contentType.fields()) {
+            version.append(':').append(field.id()).append('@')
+                    .append(null != field.modDate() ? field.modDate().getTime() : 0);
+        }
+        return version.toString();
+    }
+
+    /**
+     * Copies the object type with new field definitions, arguments and list and non null wrappers,
+     * the only parts of it the schema builder changes when it replaces the type references. The
+     * copy refers to other types by the same references, so they are resolved against the types of
+     * the new schema, i.e. to the new object type of a related content type that was modified.
+     */
+    @VisibleForTesting
+    static GraphQLObjectType copyOf(final GraphQLObjectType objectType) {
+        return objectType.transform(builder -> objectType.getFieldDefinitions().forEach(
+                fieldDefinition -> builder.field(fieldDefinition.transform(fieldBuilder -> {
+                    fieldBuilder.type((GraphQLOutputType) copyWrappers(fieldDefinition.getType()));
+                    fieldDefinition.getArguments().forEach(argument -> fieldBuilder.argument(
+                            argument.transform(argumentBuilder -> argumentBuilder
+                                    .type((GraphQLInputType) copyWrappers(argument.getType())))));
+                }))));
+    }
+
+    private static GraphQLType copyWrappers(final GraphQLType type) {
+        if (type instanceof GraphQLList) {
+            return GraphQLList.list(copyWrappers(((GraphQLList) type).getWrappedType()));
+        }
+        if (type instanceof GraphQLNonNull) {
+            return GraphQLNonNull.nonNull(copyWrappers(((GraphQLNonNull) type).getWrappedType()));
+        }
+        return type;
+    }
+
     private GraphQLObjectType createType(ContentType contentType) {
         DotPreconditions.checkArgument(contentType.variable()
                 .matches(TYPES_AND_FIELDS_VALID_NAME_REGEX),
@@ -303,6 +379,18 @@ public enum ContentAPIGraphQLTypesProvider implements GraphQLTypesProvider {
     protected void setFieldGeneratorFactory(
             GraphQLFieldGeneratorFactory fieldGeneratorFactory) {
         this.fieldGeneratorFactory = fieldGeneratorFactory;
+        this.contentTypeObjectTypes.clear();
+    }
+
+    private static final class VersionedObjectType {
+
+        private final String version;
+        private final GraphQLObjectType objectType;
+
+        private VersionedObjectType(final String version, final GraphQLObjectType objectType) {
+            this.version = version;
+            this.objectType = objectType;
+        }
     }
 
 
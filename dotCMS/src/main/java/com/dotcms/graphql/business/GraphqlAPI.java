@@ -3,6 +3,7 @@ package com.dotcms.graphql.business;
 import com.dotmarketing.exception.DotDataException;
 import com.liferay.portal.model.User;
 import graphql.schema.GraphQLSchema;
+import java.util.Map;
 
 /**
  * Api to
@@ -17,6 +18,13 @@ public interface GraphqlAPI {
 
     void invalidateSchema();
 
+    /**
+     * Returns how many times the schema was generated and how long it took
+     *
+     * @return Map with the generations count and the last, max and average time in millis
+     */
+    Map<String, Object> getSchemaGenerationStats();
+
     /**
      * If GRAPHQL_PRINT_SCHEMA is turn on to true, prints the schema in the file system
      *
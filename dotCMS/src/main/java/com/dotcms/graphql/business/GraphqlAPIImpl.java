@@ -41,6 +41,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class GraphqlAPIImpl implements GraphqlAPI {
 
@@ -49,6 +51,8 @@ public class GraphqlAPIImpl implements GraphqlAPI {
 
     private GraphQLSchemaCache schemaCache;
 
+    private final SchemaGenerationStats schemaGenerationStats = new SchemaGenerationStats();
+
     @VisibleForTesting
     protected GraphqlAPIImpl(final GraphQLSchemaCache schemaCache) {
         typesProviders.add(ContentAPIGraphQLTypesProvider.INSTANCE);
@@ -119,9 +123,43 @@ public class GraphqlAPIImpl implements GraphqlAPI {
     final Runnable removeSchema = ()->{schemaCache.removeSchema();};
 
     /**
-     * Nullifies the schema so it is regenerated next time it is fetched
+     * Generates the schemas that are in cache again and swaps them in, the old ones keep serving
+     * the requests meanwhile. Only the types of the content types that changed are generated again.
+     */
+    final Runnable regenerateSchema = ()->{
+        if (!Config.getBooleanProperty("GRAPHQL_SCHEMA_BACKGROUND_REGENERATION", true)) {
+            removeSchema.run();
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                final GraphQLSchema schema = schemaCache.getSchema(false).isPresent()
+                        ? generateSchema(APILocator.systemUser()) : null;
+                final GraphQLSchema anonymousSchema = schemaCache.getSchema(true).isPresent()
+                        ? generateSchema(APILocator.getUserAPI().getAnonymousUserNoThrow()) : null;
+
+                // the removal is what invalidates the schemas in the other nodes of the cluster
+                schemaCache.removeSchema();
+                if (null != schema) {
+                    schemaCache.putSchema(false, schema);
+                }
+                if (null != anonymousSchema) {
+                    schemaCache.putSchema(true, anonymousSchema);
+                }
+            }
+        } catch (Exception e) {
+            Logger.warnAndDebug(GraphqlAPIImpl.class, "Unable to regenerate the GraphQL schema, it will be "
+                    + "generated on the next request: " + e.getMessage(), e);
+            removeSchema.run();
+        }
+    };
+
+    /**
+     * Regenerates the schema in the background, the current one is used until the new one is ready.
      * This method is debounced for 5 seconds to prevent overloading when
-     * content types are saved.
+     * content types are saved. When the delay is 0 the schema is just nullified, so it is
+     * regenerated next time it is fetched
      */
     @Override
     public void invalidateSchema() {
@@ -132,7 +170,7 @@ public class GraphqlAPIImpl implements GraphqlAPI {
             return;
         }
 
-        debouncer.debounce("invalidateGraphSchema", removeSchema , delay, TimeUnit.MILLISECONDS);
+        debouncer.debounce("invalidateGraphSchema", regenerateSchema , delay, TimeUnit.MILLISECONDS);
 
 
     }
@@ -164,10 +202,25 @@ public class GraphqlAPIImpl implements GraphqlAPI {
         return generateSchema(APILocator.systemUser());
     }
 
+    @Override
+    public Map<String, Object> getSchemaGenerationStats() {
+        return schemaGenerationStats.toMap();
+    }
+
     @LogTime(loggingLevel = "INFO")
     @VisibleForTesting
     protected GraphQLSchema generateSchema(final User user) {
 
+        final long start = System.currentTimeMillis();
+        try {
+            return buildSchema(user);
+        } finally {
+            schemaGenerationStats.record(System.currentTimeMillis() - start);
+        }
+    }
+
+    private GraphQLSchema buildSchema(final User user) {
+
         Logger.debug(this, ()-> "Generating GraphQL Schema for the user: " + user.getUserId());
         final Set<GraphQLType> graphQLTypes = new HashSet<>();
 
@@ -231,6 +284,29 @@ public class GraphqlAPIImpl implements GraphqlAPI {
                 .additionalTypes(finalTypesSet).build();
     }
 
+    private static final class SchemaGenerationStats {
+
+        private final LongAdder generations = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Long::max, 0);
+        private volatile long lastMillis;
+
+        private void record(final long millis) {
+            generations.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulate(millis);
+            lastMillis = millis;
+        }
+
+        private Map<String, Object> toMap() {
+            final long count = generations.sum();
+            return Map.of("generations", count,
+                    "lastMillis", lastMillis,
+                    "maxMillis", maxMillis.get(),
+                    "averageMillis", count > 0 ? totalMillis.sum() / count : 0);
+        }
+    }
+
     private Builder createRootTypeBuilder() {
         return newObject()
             .name("Query")
@@ -3,30 +3,53 @@ package com.dotcms.graphql.datafetcher;
 import static com.dotcms.contenttype.model.type.BaseContentType.DOTASSET;
 
 import com.dotcms.contenttype.model.type.DotAssetContentType;
+import com.dotcms.graphql.dataloader.DotDataLoaders;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.contentlet.transform.BinaryToMapTransformer;
 import com.dotmarketing.util.Logger;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 
-public class BinaryFieldDataFetcher implements DataFetcher<Map<String, Object>> {
+public class BinaryFieldDataFetcher implements DataFetcher<CompletableFuture<Map<String, Object>>> {
     @Override
-    public Map<String, Object> get(final DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<Map<String, Object>> get(final DataFetchingEnvironment environment) throws Exception {
         try {
             final Contentlet contentlet = environment.getSource();
             final String var = contentlet.getContentType().baseType() == DOTASSET ?"asset"
                     :environment.getField().getName();
 
             Logger.debug(this, ()-> "Fetching binary field for contentlet: " + contentlet.getIdentifier());
+            // all the binary fields of the contentlet are transformed at once, so it is only done once per contentlet
+            final Optional<DataLoader<Contentlet, Map<String, Object>>> loader =
+                    DotDataLoaders.get(environment, DotDataLoaders.BINARIES);
+            if (loader.isPresent()) {
+                return loader.get().load(contentlet).handle((binariesMap, error) -> {
+                    if (null == error) {
+                        return (Map<String, Object>) binariesMap.get(var + "Map");
+                    }
+                    final Throwable cause = error instanceof CompletionException && null != error.getCause()
+                            ? error.getCause() : error;
+                    if (cause instanceof IllegalArgumentException) {
+                        Logger.warn(this, "Binary is null");
+                        return Collections.emptyMap();
+                    }
+                    throw new CompletionException(cause);
+                });
+            }
+
             final BinaryToMapTransformer transformer = new BinaryToMapTransformer(contentlet);
-            return (Map<String, Object>) transformer.asMap().get(var + "Map");
+            return CompletableFuture.completedFuture((Map<String, Object>) transformer.asMap().get(var + "Map"));
         } catch (IllegalArgumentException e) {
             Logger.warn(this, "Binary is null");
-            return Collections.emptyMap();
+            return CompletableFuture.completedFuture(Collections.emptyMap());
         } catch (Exception e) {
             Logger.error(this, e.getMessage(), e);
             throw e;
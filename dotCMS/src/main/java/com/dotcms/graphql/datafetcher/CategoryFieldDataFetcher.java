@@ -1,6 +1,7 @@
 package com.dotcms.graphql.datafetcher;
 
 import com.dotcms.graphql.DotGraphQLContext;
+import com.dotcms.graphql.dataloader.DotDataLoaders;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.contentlet.transform.CategoryToMapTransformer;
@@ -10,29 +11,43 @@ import com.liferay.portal.model.User;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 
-public class CategoryFieldDataFetcher implements DataFetcher<List<Map<String, Object>>> {
+public class CategoryFieldDataFetcher implements DataFetcher<CompletableFuture<List<Map<String, Object>>>> {
     
     private final static List<Map<String, Object>> EMPTY_LIST=ImmutableList.of();
     
     
     
     @Override
-    public List<Map<String, Object>> get(final DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<List<Map<String, Object>>> get(final DataFetchingEnvironment environment) throws Exception {
         try {
             final User user = ((DotGraphQLContext) environment.getContext()).getUser();
             final Contentlet contentlet = environment.getSource();
             final String var = environment.getField().getName();
 
             Logger.debug(this, ()-> "Fetching categories for contentlet: " + contentlet.getIdentifier());
+            // all the category fields of the contentlet are transformed at once, so it is only done once per contentlet
+            final Optional<DataLoader<Contentlet, Map<String, Object>>> loader =
+                    DotDataLoaders.get(environment, DotDataLoaders.CATEGORIES);
+            if (loader.isPresent()) {
+                return loader.get().load(contentlet).thenApply(categoriesMap -> getCategories(categoriesMap, var));
+            }
+
             final CategoryToMapTransformer transformer = new CategoryToMapTransformer(contentlet, user);
-            return transformer.asMap().get(var) == null ? EMPTY_LIST : (List<Map<String, Object>>) ((Map) transformer.asMap().get(var)).get("categories");
+            return CompletableFuture.completedFuture(getCategories(transformer.asMap(), var));
         } catch (Exception e) {
             Logger.error(this, e.getMessage(), e);
             throw e;
         }
     }
+
+    private List<Map<String, Object>> getCategories(final Map<String, Object> categoriesMap, final String var) {
+        return categoriesMap.get(var) == null ? EMPTY_LIST : (List<Map<String, Object>>) ((Map) categoriesMap.get(var)).get("categories");
+    }
 }
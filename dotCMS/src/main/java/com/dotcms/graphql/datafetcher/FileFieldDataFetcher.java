@@ -1,10 +1,11 @@
 package com.dotcms.graphql.datafetcher;
 
 import com.dotcms.graphql.DotGraphQLContext;
+import com.dotcms.graphql.dataloader.ContentletBatchLoader;
+import com.dotcms.graphql.dataloader.DotDataLoaders;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.contentlet.transform.DotTransformerBuilder;
-import com.dotmarketing.portlets.fileassets.business.FileAsset;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
 import com.liferay.portal.model.User;
@@ -12,10 +13,12 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import io.vavr.control.Try;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.DataLoader;
 
-public class FileFieldDataFetcher implements DataFetcher<Contentlet> {
+public class FileFieldDataFetcher implements DataFetcher<CompletableFuture<Contentlet>> {
     @Override
-    public Contentlet get(final DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<Contentlet> get(final DataFetchingEnvironment environment) throws Exception {
         try {
             final User user = ((DotGraphQLContext) environment.getContext()).getUser();
             final Contentlet contentlet = environment.getSource();
@@ -23,30 +26,43 @@ public class FileFieldDataFetcher implements DataFetcher<Contentlet> {
             final String fileAssetIdentifier = (String) contentlet.get(var);
 
             if (!UtilMethods.isSet(fileAssetIdentifier)) {
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
 
             Logger.debug(this, ()-> "Fetching file field for contentlet: " + contentlet.getIdentifier() + " field: " + var +
                     " fileAssetIdentifier: " + fileAssetIdentifier);
 
+            final Optional<DataLoader<ContentletBatchLoader.Key, Contentlet>> loader =
+                    DotDataLoaders.get(environment, DotDataLoaders.CONTENTLETS);
+            if (loader.isPresent()) {
+                return loader.get().load(new ContentletBatchLoader.Key(fileAssetIdentifier,
+                                contentlet.getLanguageId(), contentlet.isLive()))
+                        .thenApply(fileAsContent -> toFileAsset(Optional.ofNullable(fileAsContent)));
+            }
+
             Optional<Contentlet> fileAsContentOptional = APILocator.getContentletAPI()
                 .findContentletByIdentifierOrFallback(fileAssetIdentifier, contentlet.isLive(), contentlet.getLanguageId(),
                     user, true);
 
-            Contentlet fileAsset = null;
-
-            if(fileAsContentOptional.isPresent()) {
-                final Contentlet fileAsContent =
-                new DotTransformerBuilder().defaultOptions().content(fileAsContentOptional.get()).build().hydrate().get(0);
-
-                fileAsset = Try.of(()->(Contentlet)APILocator.getFileAssetAPI()
-                        .fromContentlet(fileAsContent)).getOrElse(fileAsContent);
-            }
-
-            return fileAsset;
+            return CompletableFuture.completedFuture(toFileAsset(fileAsContentOptional));
         } catch (Exception e) {
             Logger.error(this, e.getMessage(), e);
             throw e;
         }
     }
+
+    private Contentlet toFileAsset(final Optional<Contentlet> fileAsContentOptional) {
+
+        Contentlet fileAsset = null;
+
+        if(fileAsContentOptional.isPresent()) {
+            final Contentlet fileAsContent =
+            new DotTransformerBuilder().defaultOptions().content(fileAsContentOptional.get()).build().hydrate().get(0);
+
+            fileAsset = Try.of(()->(Contentlet)APILocator.getFileAssetAPI()
+                    .fromContentlet(fileAsContent)).getOrElse(fileAsContent);
+        }
+
+        return fileAsset;
+    }
 }
@@ -1,27 +1,39 @@
 package com.dotcms.graphql.datafetcher;
 
 import com.dotcms.graphql.DotGraphQLContext;
+import com.dotcms.graphql.dataloader.DotDataLoaders;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.contentlet.transform.FolderToMapTransformer;
 import com.dotmarketing.util.Logger;
 import com.liferay.portal.model.User;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 
-public class FolderFieldDataFetcher implements DataFetcher<Map<String, Object>> {
+public class FolderFieldDataFetcher implements DataFetcher<CompletableFuture<Map<String, Object>>> {
     @Override
-    public Map<String, Object> get(final DataFetchingEnvironment environment) throws Exception {
+    public CompletableFuture<Map<String, Object>> get(final DataFetchingEnvironment environment) throws Exception {
         try {
             final User user = ((DotGraphQLContext) environment.getContext()).getUser();
             final Contentlet contentlet = environment.getSource();
             Logger.debug(this, ()-> "Fetching folder for contentlet: " + contentlet.getIdentifier());
+            // most of the contentlets of a query live in the same few folders
+            final Optional<DataLoader<String, Map<String, Object>>> loader =
+                    DotDataLoaders.get(environment, DotDataLoaders.FOLDERS);
+            if (loader.isPresent()) {
+                return loader.get().load(contentlet.getFolder())
+                        .thenApply(folderMap -> null == folderMap ? null : (Map<String, Object>) folderMap.get("folderMap"));
+            }
+
             final Map<String, Object> folderMap = (Map<String, Object>) new FolderToMapTransformer(contentlet, user)
                 .asMap().get("folderMap");
 
-            return folderMap;
+            return CompletableFuture.completedFuture(folderMap);
         } catch (Exception e) {
             Logger.error(this, e.getMessage(), e);
             throw e;
@@ -2,6 +2,8 @@ package com.dotcms.graphql.datafetcher;
 
 import com.dotcms.contenttype.model.field.Field;
 import com.dotcms.graphql.DotGraphQLContext;
+import com.dotcms.graphql.dataloader.DotDataLoaders;
+import com.dotcms.graphql.dataloader.RelatedContentBatchLoader;
 import com.dotcms.rendering.velocity.viewtools.content.util.ContentUtils;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.exception.DotDataException;
@@ -19,7 +21,9 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.dataloader.DataLoader;
 
 public class RelationshipFieldDataFetcher implements DataFetcher<Object> {
     @Override
@@ -29,16 +33,11 @@ public class RelationshipFieldDataFetcher implements DataFetcher<Object> {
 
             Logger.debug(this, ()-> "Fetching relationship field for contentlet: " + nonCachedContentlet.getIdentifier());
 
-            // let's use the cache content so relationships are also cached
-            final Contentlet contentlet = APILocator.getContentletAPI()
-                .findContentletByIdentifier(nonCachedContentlet.getIdentifier(), nonCachedContentlet.isLive(),
-                nonCachedContentlet.getLanguageId(), APILocator.systemUser(), true);
-
             final String fieldVar = environment.getField().getName();
 
             final Field
                 field =
-                APILocator.getContentTypeFieldAPI().byContentTypeIdAndVar(contentlet.getContentTypeId(), fieldVar);
+                APILocator.getContentTypeFieldAPI().byContentTypeIdAndVar(nonCachedContentlet.getContentTypeId(), fieldVar);
 
             Relationship relationship;
             User user;
@@ -71,8 +70,20 @@ public class RelationshipFieldDataFetcher implements DataFetcher<Object> {
 
             final boolean pullParents = APILocator.getRelationshipAPI().isParentField(relationship, field);
 
+            final Optional<DataLoader<RelatedContentBatchLoader.Key, List<Contentlet>>> loader =
+                    DotDataLoaders.get(environment, DotDataLoaders.RELATED_CONTENT);
+            if (loader.isPresent()) {
+                final Object emptyResult = objectToReturn;
+                return loader.get().load(new RelatedContentBatchLoader.Key(nonCachedContentlet.getIdentifier(),
+                                nonCachedContentlet.getContentTypeId(), nonCachedContentlet.getLanguageId(),
+                                nonCachedContentlet.isLive(), relationship, pullParents, query, limit, offset,
+                                sort))
+                        .thenApply(relatedContent -> !UtilMethods.isSet(relatedContent) ? emptyResult
+                                : records.doesAllowOnlyOne() ? relatedContent.get(0) : relatedContent);
+            }
+
             List<Contentlet> relatedContent = ContentUtils
-                    .pullRelatedField(relationship, contentlet.getIdentifier(),
+                    .pullRelatedField(relationship, nonCachedContentlet.getIdentifier(),
                             query, limit, offset, sort, user, null, pullParents,
                             nonCachedContentlet.getLanguageId(), nonCachedContentlet.isLive());
             
@@ -0,0 +1,109 @@
+package com.dotcms.graphql.dataloader;
+
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.business.PermissionAPI;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.util.Logger;
+import com.liferay.portal.model.User;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.dataloader.BatchLoader;
+import org.dataloader.Try;
+
+/**
+ * Loads contentlets by identifier, language and live/working version. The inodes of the keys are
+ * resolved from the version info cache, then all the contentlets of a batch are read with a single
+ * {@link com.dotmarketing.portlets.contentlet.business.ContentletAPI#findContentlets(List)} call and
+ * their permissions are checked together. The keys that are not found that way, i.e. the ones that
+ * need the fallback to the default language, are loaded one by one as before.
+ */
+public class ContentletBatchLoader implements BatchLoader<ContentletBatchLoader.Key, Try<Contentlet>> {
+
+    private final User user;
+
+    ContentletBatchLoader(final User user) {
+        this.user = user;
+    }
+
+    @Override
+    public CompletionStage<List<Try<Contentlet>>> load(final List<Key> keys) {
+
+        final Map<Key, String> inodes = new LinkedHashMap<>();
+        for (final Key key : keys) {
+            APILocator.getVersionableAPI().getContentletVersionInfo(key.identifier, key.languageId)
+                    .map(versionInfo -> key.live ? versionInfo.getLiveInode() : versionInfo.getWorkingInode())
+                    .filter(Objects::nonNull)
+                    .ifPresent(inode -> inodes.put(key, inode));
+        }
+
+        final Map<String, Contentlet> contentletsByInode = new HashMap<>();
+        if (!inodes.isEmpty()) {
+            try {
+                final List<Contentlet> contentlets = APILocator.getPermissionAPI().filterCollection(
+                        APILocator.getContentletAPI().findContentlets(new ArrayList<>(inodes.values())),
+                        PermissionAPI.PERMISSION_READ, true, user);
+                contentletsByInode.putAll(contentlets.stream()
+                        .collect(Collectors.toMap(Contentlet::getInode, Function.identity(), (first, second) -> first)));
+            } catch (Exception e) {
+                Logger.warnAndDebug(ContentletBatchLoader.class,
+                        "Unable to load the contentlets in batch: " + e.getMessage(), e);
+            }
+        }
+
+        Logger.debug(this, () -> "Loaded " + contentletsByInode.size() + " of " + keys.size()
+                + " contentlets in batch");
+        return CompletableFuture.completedFuture(keys.stream().map(key -> {
+
+            final Contentlet contentlet = contentletsByInode.get(inodes.get(key));
+            return null != contentlet ? Try.succeeded(contentlet) : Try.tryCall(() -> APILocator.getContentletAPI()
+                    .findContentletByIdentifierOrFallback(key.identifier, key.live, key.languageId, user, true)
+                    .orElse(null));
+        }).collect(Collectors.toList()));
+    }
+
+    /**
+     * Contentlet identifier, language and whether the live or the working version is wanted
+     */
+    public static final class Key {
+
+        private final String identifier;
+        private final long languageId;
+        private final boolean live;
+
+        public Key(final String identifier, final long languageId, final boolean live) {
+            this.identifier = identifier;
+            this.languageId = languageId;
+            this.live = live;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return languageId == key.languageId && live == key.live && identifier.equals(key.identifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(identifier, languageId, live);
+        }
+
+        @Override
+        public String toString() {
+            return identifier + ":" + languageId + ":" + (live ? "live" : "working");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dotcms.graphql.dataloader;
+
+import com.dotcms.graphql.DotGraphQLContext;
+import com.dotcms.graphql.execution.QueryMetadataExtension;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Adds the statistics of the {@link org.dataloader.DataLoader}s used by a query to the
+ * {@code extensions} of the response, under {@code queryMetadata.dataLoaders}. This is done once the
+ * whole query was resolved, since the nested fields are loaded after the {@code QueryMetadata} field
+ * is fetched.
+ */
+public class DataLoaderStatisticsInstrumentation extends SimpleInstrumentation {
+
+    public static final String DATA_LOADERS = "dataLoaders";
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(final ExecutionResult executionResult,
+            final InstrumentationExecutionParameters parameters) {
+
+        if (!(parameters.getContext() instanceof DotGraphQLContext)) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        final Map<String, Map<String, Long>> statistics = DotDataLoaders.getStatistics(
+                ((DotGraphQLContext) parameters.getContext()).getDataLoaderRegistry());
+        return CompletableFuture.completedFuture(statistics.isEmpty() ? executionResult
+                : QueryMetadataExtension.with(executionResult, DATA_LOADERS, statistics));
+    }
+}
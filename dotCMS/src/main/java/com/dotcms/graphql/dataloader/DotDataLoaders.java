@@ -0,0 +1,115 @@
+package com.dotcms.graphql.dataloader;
+
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.contentlet.transform.DotFolderTransformerBuilder;
+import com.dotmarketing.portlets.contentlet.transform.DotTransformerBuilder;
+import com.dotmarketing.util.Config;
+import com.liferay.portal.model.User;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.SimpleStatisticsCollector;
+import org.dataloader.stats.Statistics;
+
+/**
+ * Builds the {@link DataLoader}s used by the GraphQL data fetchers to resolve nested fields in
+ * batches. A new {@link DataLoaderRegistry} is created for every GraphQL request, so the values
+ * loaded are only cached for the request and with the permissions of its user.
+ * <p>
+ * The fetchers fall back to load the values one by one when the loader is not registered, i.e.
+ * when the context was not created by the {@link com.dotcms.graphql.DotGraphQLContextBuilder}.
+ */
+public final class DotDataLoaders {
+
+    public static final String CONTENTLETS = "contentlets";
+    public static final String RELATED_CONTENT = "relatedContent";
+    public static final String CATEGORIES = "categories";
+    public static final String FOLDERS = "folders";
+    public static final String BINARIES = "binaries";
+
+    private DotDataLoaders() {
+    }
+
+    /**
+     * Creates the registry with all the loaders for the request of the given user
+     *
+     * @param user the user making the GraphQL request
+     * @return DataLoaderRegistry
+     */
+    public static DataLoaderRegistry newRegistry(final User user) {
+
+        return new DataLoaderRegistry()
+                .register(CONTENTLETS, DataLoaderFactory.newDataLoaderWithTry(
+                        new ContentletBatchLoader(user), options()))
+                .register(RELATED_CONTENT, DataLoaderFactory.newDataLoaderWithTry(
+                        new RelatedContentBatchLoader(user), options()))
+                .register(CATEGORIES, DataLoaderFactory.newDataLoaderWithTry(
+                        new KeyMappingBatchLoader<Contentlet, Map<String, Object>>(contentlet -> new DotTransformerBuilder()
+                                .categoryToMapTransformer().forUser(user).content(contentlet).build()
+                                .toMaps().get(0)), byInodeOptions()))
+                .register(BINARIES, DataLoaderFactory.newDataLoaderWithTry(
+                        new KeyMappingBatchLoader<Contentlet, Map<String, Object>>(contentlet -> {
+                            final List<Map<String, Object>> maps = new DotTransformerBuilder()
+                                    .binaryToMapTransformer().content(contentlet).build().toMaps();
+                            return maps.isEmpty() ? Map.of() : maps.get(0);
+                        }), byInodeOptions()))
+                .register(FOLDERS, DataLoaderFactory.newDataLoaderWithTry(
+                        new KeyMappingBatchLoader<String, Map<String, Object>>(folderInode -> {
+                            final List<Map<String, Object>> maps = new DotFolderTransformerBuilder()
+                                    .withFolders(folderInode).build().toMaps();
+                            return maps.isEmpty() ? null : maps.get(0);
+                        }), options()));
+    }
+
+    private static DataLoaderOptions options() {
+        return DataLoaderOptions.newOptions()
+                .setMaxBatchSize(Config.getIntProperty("GRAPHQL_DATALOADER_MAX_BATCH_SIZE", 500))
+                .setStatisticsCollector(SimpleStatisticsCollector::new);
+    }
+
+    // contentlets are not comparable, the ones with the same inode are the same key
+    private static DataLoaderOptions byInodeOptions() {
+        return options().setCacheKeyFunction(contentlet -> ((Contentlet) contentlet).getInode());
+    }
+
+    /**
+     * Returns the loader registered with the given name for the request being resolved
+     *
+     * @param environment the environment of the data fetcher
+     * @param name name of the loader
+     * @return the loader, empty if the request does not have loaders
+     */
+    public static <K, V> Optional<DataLoader<K, V>> get(final DataFetchingEnvironment environment,
+            final String name) {
+        return Optional.ofNullable(environment.getDataLoader(name));
+    }
+
+    /**
+     * Returns how many keys were loaded and how many batch calls were made by each loader
+     *
+     * @param registry the registry of the request
+     * @return Map of loader name to its statistics, only the loaders that were used are included
+     */
+    public static Map<String, Map<String, Long>> getStatistics(final DataLoaderRegistry registry) {
+
+        final Map<String, Map<String, Long>> statistics = new LinkedHashMap<>();
+        for (final String name : registry.getKeys()) {
+
+            final Statistics loaderStatistics = registry.getDataLoader(name).getStatistics();
+            if (loaderStatistics.getLoadCount() > 0) {
+                statistics.put(name, Map.of(
+                        "loads", loaderStatistics.getLoadCount(),
+                        "batchCalls", loaderStatistics.getBatchInvokeCount(),
+                        "batchedKeys", loaderStatistics.getBatchLoadCount(),
+                        "cacheHits", loaderStatistics.getCacheHitCount()));
+            }
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dotcms.graphql.dataloader;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.dataloader.BatchLoader;
+import org.dataloader.Try;
+
+/**
+ * {@link BatchLoader} for values that can only be resolved one by one. There is no batch query
+ * behind it, but thanks to the cache of the loader every distinct key is resolved once per
+ * request, no matter how many fields or parents ask for it. A key that fails does not fail the
+ * rest of the batch, the error is returned for that key only.
+ */
+class KeyMappingBatchLoader<K, V> implements BatchLoader<K, Try<V>> {
+
+    private final Function<K, V> mapping;
+
+    KeyMappingBatchLoader(final Function<K, V> mapping) {
+        this.mapping = mapping;
+    }
+
+    @Override
+    public CompletionStage<List<Try<V>>> load(final List<K> keys) {
+        return CompletableFuture.completedFuture(keys.stream()
+                .map(key -> Try.tryCall(() -> mapping.apply(key)))
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,274 @@
+package com.dotcms.graphql.dataloader;
+
+import com.dotcms.rendering.velocity.viewtools.content.util.ContentUtils;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.business.CacheLocator;
+import com.dotmarketing.business.DotCacheException;
+import com.dotmarketing.business.FactoryLocator;
+import com.dotmarketing.business.PermissionAPI;
+import com.dotmarketing.comparators.ContentMapComparator;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.contentlet.transform.DotTransformerBuilder;
+import com.dotmarketing.portlets.structure.model.Relationship;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UtilMethods;
+import com.liferay.portal.model.User;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.dataloader.BatchLoader;
+import org.dataloader.Try;
+
+/**
+ * Loads the content related to a contentlet through a relationship field. The identifiers of the
+ * related content are taken from the {@link com.dotmarketing.portlets.structure.factories.RelationshipCache},
+ * the same entries {@link com.dotmarketing.portlets.contentlet.business.ContentletAPI#getRelatedContent}
+ * uses, and the ones not cached yet are read with one
+ * {@link com.dotcms.contenttype.business.RelationshipFactory#dbRelatedIdentifiers} call per
+ * relationship and direction, then cached. The versions of the batch are resolved from the version
+ * info of each identifier and read with one
+ * {@link com.dotmarketing.portlets.contentlet.business.ContentletAPI#findContentlets(List)} call,
+ * their permissions are checked together and they are hydrated only once, no matter how many
+ * contentlets they are related to.
+ *
+ * The keys with a query, legacy relationships and the ones whose related content could not be read
+ * are pulled one by one with {@link ContentUtils#pullRelatedField} as before.
+ */
+public class RelatedContentBatchLoader implements BatchLoader<RelatedContentBatchLoader.Key, Try<List<Contentlet>>> {
+
+    private final User user;
+
+    RelatedContentBatchLoader(final User user) {
+        this.user = user;
+    }
+
+    @Override
+    public CompletionStage<List<Try<List<Contentlet>>>> load(final List<Key> keys) {
+
+        // anonymous users only get to see live content
+        final boolean liveOnly = null == user || user.isAnonymousUser();
+        final List<Key> fromDB = keys.stream().filter(this::isFromDB).distinct().collect(Collectors.toList());
+        final Map<Key, List<String>> relatedIdentifiers = loadRelatedIdentifiers(fromDB);
+        final Map<Key, List<String>> relatedInodes = new HashMap<>();
+        relatedIdentifiers.forEach((key, identifiers) -> relatedInodes.put(key, toInodes(key, identifiers, liveOnly)));
+
+        final Map<String, Contentlet> contentletsByInode = new HashMap<>();
+        final List<String> inodes = relatedInodes.values().stream().flatMap(List::stream).distinct()
+                .collect(Collectors.toList());
+        if (!inodes.isEmpty()) {
+            try {
+                final List<Contentlet> contentlets = APILocator.getPermissionAPI().filterCollection(
+                        APILocator.getContentletAPI().findContentlets(inodes),
+                        PermissionAPI.PERMISSION_READ, true, user);
+                contentletsByInode.putAll(contentlets.stream()
+                        .collect(Collectors.toMap(Contentlet::getInode, Function.identity(), (first, second) -> first)));
+            } catch (Exception e) {
+                Logger.warnAndDebug(RelatedContentBatchLoader.class,
+                        "Unable to load the related contentlets in batch: " + e.getMessage(), e);
+                relatedInodes.clear();
+            }
+        }
+
+        Logger.debug(this, () -> "Loaded the related content of " + relatedInodes.size() + " of "
+                + keys.size() + " keys in batch");
+        final List<Try<List<Contentlet>>> related = keys.stream().map(key -> relatedInodes.containsKey(key)
+                ? Try.succeeded(sort(key, relatedInodes.get(key).stream().map(contentletsByInode::get)
+                        .filter(Objects::nonNull).collect(Collectors.toList())))
+                : Try.tryCall(() -> ContentUtils.pullRelatedField(key.relationship, key.identifier,
+                        key.query, key.limit, key.offset, key.sort, user, null, key.pullParents,
+                        key.languageId, key.live)))
+                .collect(Collectors.toList());
+
+        final Map<String, Contentlet> toHydrate = new LinkedHashMap<>();
+        related.stream().filter(Try::isSuccess).flatMap(contentlets -> contentlets.get().stream())
+                .forEach(contentlet -> toHydrate.putIfAbsent(contentlet.getInode(), contentlet));
+
+        final Map<String, Contentlet> hydrated = new HashMap<>();
+        if (!toHydrate.isEmpty()) {
+            final List<Contentlet> sources = new ArrayList<>(toHydrate.values());
+            final List<Contentlet> hydratedContentlets = new DotTransformerBuilder()
+                    .graphQLDataFetchOptions().content(sources).build().hydrate();
+            for (int i = 0; i < sources.size(); i++) {
+                hydrated.put(sources.get(i).getInode(), hydratedContentlets.get(i));
+            }
+        }
+
+        return CompletableFuture.completedFuture(related.stream()
+                .map(contentlets -> contentlets.map(list -> list.stream()
+                        .map(contentlet -> hydrated.get(contentlet.getInode()))
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList()));
+    }
+
+    // same conditions ContentletAPI#getRelatedContent uses to read the related content from the tree
+    private boolean isFromDB(final Key key) {
+        return !UtilMethods.isSet(key.query) && key.relationship.isRelationshipField()
+                && Config.getBooleanProperty("GET_RELATED_CONTENT_FROM_DB", true);
+    }
+
+    /**
+     * Returns the identifiers of the related content of every key, in tree order, from the relationship
+     * cache or else from the tree, with one query per relationship and direction for the whole batch.
+     * The keys whose related content could not be read are left out.
+     */
+    private Map<Key, List<String>> loadRelatedIdentifiers(final List<Key> keys) {
+
+        final Map<Key, List<String>> relatedIdentifiers = new HashMap<>();
+        final Map<String, List<Key>> notCached = new LinkedHashMap<>();
+        for (final Key key : keys) {
+            final Optional<List<String>> cached = cachedRelatedIdentifiers(key);
+            if (cached.isPresent()) {
+                relatedIdentifiers.put(key, cached.get());
+            } else {
+                notCached.computeIfAbsent(key.relationship.getRelationTypeValue() + ":" + key.pullsChildren(),
+                        group -> new ArrayList<>()).add(key);
+            }
+        }
+
+        for (final List<Key> group : notCached.values()) {
+            final Key first = group.get(0);
+            try {
+                final Map<String, List<String>> loaded = FactoryLocator.getRelationshipFactory()
+                        .dbRelatedIdentifiers(first.relationship.getRelationTypeValue(),
+                                group.stream().map(key -> key.identifier).collect(Collectors.toList()),
+                                first.pullsChildren());
+                for (final Key key : group) {
+                    final List<String> identifiers = loaded.getOrDefault(key.identifier, List.of());
+                    cacheRelatedIdentifiers(key, identifiers);
+                    relatedIdentifiers.put(key, identifiers);
+                }
+            } catch (Exception e) {
+                Logger.warnAndDebug(RelatedContentBatchLoader.class, "Unable to load the content related through "
+                        + first.relationship.getRelationTypeValue() + " in batch: " + e.getMessage(), e);
+            }
+        }
+        return relatedIdentifiers;
+    }
+
+    private Optional<List<String>> cachedRelatedIdentifiers(final Key key) {
+        return relatedContentMap(key).map(relatedContent -> relatedContent.get(key.fieldVariable()));
+    }
+
+    // the same entry ContentletAPI#getRelatedContent keeps for the field of the contentlet
+    private void cacheRelatedIdentifiers(final Key key, final List<String> identifiers) {
+
+        final Map<String, List<String>> relatedContent = relatedContentMap(key)
+                .<Map<String, List<String>>>map(ConcurrentHashMap::new).orElseGet(ConcurrentHashMap::new);
+        relatedContent.put(key.fieldVariable(), List.copyOf(identifiers));
+        CacheLocator.getRelationshipCache().putRelatedContentMap(key.identifier, relatedContent);
+    }
+
+    private Optional<Map<String, List<String>>> relatedContentMap(final Key key) {
+        try {
+            return Optional.ofNullable(CacheLocator.getRelationshipCache().getRelatedContentMap(key.identifier));
+        } catch (DotCacheException e) {
+            Logger.debug(this, () -> "Unable to read the related content of " + key + " from cache: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Applies the offset and limit of the key and returns the inodes of the version in the language of
+     * the key of every related identifier that has one
+     */
+    private List<String> toInodes(final Key key, final List<String> identifiers, final boolean liveOnly) {
+
+        final int from = Math.min(Math.max(key.offset, 0), identifiers.size());
+        final int to = key.limit > 0 ? Math.min(from + key.limit, identifiers.size()) : identifiers.size();
+        final boolean live = key.live || liveOnly;
+        return identifiers.subList(from, to).stream()
+                .map(identifier -> APILocator.getVersionableAPI().getContentletVersionInfo(identifier, key.languageId))
+                .filter(Optional::isPresent).map(Optional::get)
+                .map(versionInfo -> live ? versionInfo.getLiveInode() : versionInfo.getWorkingInode())
+                .filter(UtilMethods::isSet)
+                .collect(Collectors.toList());
+    }
+
+    private List<Contentlet> sort(final Key key, final List<Contentlet> contentlets) {
+        if (UtilMethods.isSet(key.sort)) {
+            contentlets.sort(new ContentMapComparator(key.sort));
+        }
+        return contentlets;
+    }
+
+    /**
+     * A contentlet, one of its relationship fields and the arguments of the GraphQL field
+     */
+    public static final class Key {
+
+        private final String identifier;
+        private final String contentTypeId;
+        private final long languageId;
+        private final boolean live;
+        private final Relationship relationship;
+        private final boolean pullParents;
+        private final String query;
+        private final int limit;
+        private final int offset;
+        private final String sort;
+
+        public Key(final String identifier, final String contentTypeId, final long languageId,
+                final boolean live, final Relationship relationship, final boolean pullParents,
+                final String query, final int limit, final int offset, final String sort) {
+            this.identifier = identifier;
+            this.contentTypeId = contentTypeId;
+            this.languageId = languageId;
+            this.live = live;
+            this.relationship = relationship;
+            this.pullParents = pullParents;
+            this.query = query;
+            this.limit = limit;
+            this.offset = offset;
+            this.sort = sort;
+        }
+
+        // the same direction ContentUtils#pullRelatedField pulls the related content in
+        private boolean pullsChildren() {
+            return APILocator.getRelationshipAPI().sameParentAndChild(relationship)
+                    ? !pullParents : relationship.getParentStructureInode().equals(contentTypeId);
+        }
+
+        // the field ContentletAPI#getRelatedContent keeps the related content of the key under
+        private String fieldVariable() {
+            final String relationName = pullsChildren() ? relationship.getChildRelationName()
+                    : relationship.getParentRelationName();
+            return null != relationName ? relationName : relationship.getRelationTypeValue();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return languageId == key.languageId && live == key.live && pullParents == key.pullParents
+                    && limit == key.limit && offset == key.offset && identifier.equals(key.identifier)
+                    && relationship.getInode().equals(key.relationship.getInode())
+                    && query.equals(key.query) && sort.equals(key.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(identifier, languageId, live, relationship.getInode(), pullParents, query,
+                    limit, offset, sort);
+        }
+
+        @Override
+        public String toString() {
+            return identifier + ":" + relationship.getRelationTypeValue() + ":" + languageId;
+        }
+    }
+}
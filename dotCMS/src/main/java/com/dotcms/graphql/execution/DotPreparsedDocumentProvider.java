@@ -0,0 +1,129 @@
+package com.dotcms.graphql.execution;
+
+import com.dotcms.graphql.DotGraphQLContext;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UtilMethods;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.liferay.portal.model.User;
+import graphql.ErrorType;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.schema.GraphQLSchema;
+import io.vavr.control.Try;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the parsed and validated documents of the GraphQL queries, so the repeated query shapes
+ * (the same query with different variables) skip the parsing and the validation. The documents are
+ * kept by the SHA-256 of the query text and per schema: the anonymous and the authenticated users
+ * get a different schema, and when the schema is regenerated the documents validated against the
+ * old one are dropped along with it.
+ * <p>
+ * It also supports persisted queries following the Apollo protocol. A client can send only the
+ * hash of a query it already sent, in {@code extensions.persistedQuery.sha256Hash}, with no query
+ * text. When the hash is unknown a {@code PersistedQueryNotFound} error is returned and the client is
+ * expected to send the query text along with the hash, which registers it.
+ */
+public class DotPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY = "persistedQuery";
+    private static final String SHA_256_HASH = "sha256Hash";
+
+    private final boolean documentCacheEnabled = Config.getBooleanProperty(
+            "GRAPHQL_DOCUMENT_CACHE_ENABLED", true);
+    private final int documentCacheSize = Config.getIntProperty("GRAPHQL_DOCUMENT_CACHE_SIZE", 1000);
+    private final boolean persistedQueriesEnabled = Config.getBooleanProperty(
+            "GRAPHQL_PERSISTED_QUERIES_ENABLED", true);
+
+    // weak keys are compared by identity, the documents of a schema go away with it
+    private final Cache<GraphQLSchema, Cache<String, PreparsedDocumentEntry>> documentsBySchema =
+            Caffeine.newBuilder().weakKeys().build();
+    private final Cache<String, String> persistedQueries = Caffeine.newBuilder()
+            .maximumSize(Config.getIntProperty("GRAPHQL_PERSISTED_QUERIES_SIZE", 1000)).build();
+
+    @Override
+    public PreparsedDocumentEntry getDocument(final ExecutionInput executionInput,
+            final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+
+        final String persistedQueryHash = persistedQueriesEnabled ? getPersistedQueryHash(executionInput) : null;
+        ExecutionInput input = executionInput;
+        final String queryHash;
+
+        if (UtilMethods.isSet(input.getQuery())) {
+
+            queryHash = hash(input.getQuery());
+            if (null != persistedQueryHash) {
+                if (!persistedQueryHash.equalsIgnoreCase(queryHash)) {
+                    return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                            .message("The persisted query hash does not match the query")
+                            .errorType(ErrorType.ValidationError).build());
+                }
+                persistedQueries.put(queryHash, input.getQuery());
+            }
+        } else if (null != persistedQueryHash) {
+
+            queryHash = persistedQueryHash.toLowerCase();
+            final String query = persistedQueries.getIfPresent(queryHash);
+            if (null == query) {
+                return new PreparsedDocumentEntry(new PersistedQueryNotFound(persistedQueryHash));
+            }
+            input = executionInput.transform(builder -> builder.query(query));
+        } else {
+            return parseAndValidateFunction.apply(input);
+        }
+
+        final Cache<String, PreparsedDocumentEntry> documents = documentCacheEnabled ? getDocuments(input) : null;
+        if (null == documents) {
+            return parseAndValidateFunction.apply(input);
+        }
+
+        final PreparsedDocumentEntry cachedDocument = documents.getIfPresent(queryHash);
+        if (null != cachedDocument) {
+            return cachedDocument;
+        }
+
+        final PreparsedDocumentEntry document = parseAndValidateFunction.apply(input);
+        // invalid queries are not kept, they would only fill the cache
+        if (!document.hasErrors()) {
+            documents.put(queryHash, document);
+        }
+        return document;
+    }
+
+    private Cache<String, PreparsedDocumentEntry> getDocuments(final ExecutionInput executionInput) {
+
+        final User user = executionInput.getContext() instanceof DotGraphQLContext
+                ? ((DotGraphQLContext) executionInput.getContext()).getUser() : null;
+        final GraphQLSchema schema = Try.of(() -> APILocator.getGraphqlAPI().getSchema(null != user ? user
+                        : APILocator.getUserAPI().getAnonymousUserNoThrow()))
+                .onFailure(e -> Logger.debug(this, () -> "Unable to get the GraphQL schema: " + e.getMessage()))
+                .getOrNull();
+
+        return null == schema ? null : documentsBySchema.get(schema,
+                key -> Caffeine.newBuilder().maximumSize(documentCacheSize).build());
+    }
+
+    private String getPersistedQueryHash(final ExecutionInput executionInput) {
+
+        final Map<String, Object> extensions = executionInput.getExtensions();
+        final Object persistedQuery = null != extensions ? extensions.get(PERSISTED_QUERY) : null;
+        if (persistedQuery instanceof Map) {
+            final Object hash = ((Map<?, ?>) persistedQuery).get(SHA_256_HASH);
+            return hash instanceof String && UtilMethods.isSet((String) hash) ? (String) hash : null;
+        }
+        return null;
+    }
+
+    private static String hash(final String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.dotcms.graphql.execution;
+
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the parsing, the validation and the execution of each GraphQL operation. The operations
+ * slower than {@code GRAPHQL_SLOW_OPERATION_MILLIS} are logged as warnings. The times are only added
+ * to the {@code extensions} of the response, under {@code queryMetadata.timing}, when
+ * {@code GRAPHQL_OPERATION_TIMING_IN_RESPONSE} is enabled, which it is not by default. The parsing and
+ * validation times are zero when the document comes from the {@link DotPreparsedDocumentProvider}.
+ */
+public class OperationTimingInstrumentation extends SimpleInstrumentation {
+
+    public static final String TIMING = "timing";
+
+    private final long slowOperationMillis = Config.getLongProperty("GRAPHQL_SLOW_OPERATION_MILLIS", 2000);
+    private final boolean timingInResponse = Config.getBooleanProperty("GRAPHQL_OPERATION_TIMING_IN_RESPONSE", false);
+
+    @Override
+    public InstrumentationState createState(final InstrumentationCreateStateParameters parameters) {
+        return new TimingState();
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(final InstrumentationExecutionParameters parameters) {
+
+        final long start = System.nanoTime();
+        final TimingState state = parameters.getInstrumentationState();
+        return SimpleInstrumentationContext.whenCompleted((document, error) -> state.parseNanos = System.nanoTime() - start);
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(
+            final InstrumentationValidationParameters parameters) {
+
+        final long start = System.nanoTime();
+        final TimingState state = parameters.getInstrumentationState();
+        return SimpleInstrumentationContext.whenCompleted((errors, error) -> state.validationNanos = System.nanoTime() - start);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            final InstrumentationExecuteOperationParameters parameters) {
+
+        final long start = System.nanoTime();
+        final TimingState state = parameters.getInstrumentationState();
+        return SimpleInstrumentationContext.whenCompleted((result, error) -> state.executionNanos = System.nanoTime() - start);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(final ExecutionResult executionResult,
+            final InstrumentationExecutionParameters parameters) {
+
+        final TimingState state = parameters.getInstrumentationState();
+        if (null == state) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        final long totalMillis = toMillis(System.nanoTime() - state.start);
+        final String operation = null != parameters.getOperation() ? parameters.getOperation() : "anonymous";
+        final Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("operation", operation);
+        timing.put("parseMillis", toMillis(state.parseNanos));
+        timing.put("validationMillis", toMillis(state.validationNanos));
+        timing.put("executionMillis", toMillis(state.executionNanos));
+        timing.put("totalMillis", totalMillis);
+
+        if (totalMillis >= slowOperationMillis) {
+            Logger.warn(this, "Slow GraphQL operation: " + timing);
+        } else {
+            Logger.debug(this, () -> "GraphQL operation: " + timing);
+        }
+
+        return CompletableFuture.completedFuture(timingInResponse
+                ? QueryMetadataExtension.with(executionResult, TIMING, timing) : executionResult);
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static final class TimingState implements InstrumentationState {
+
+        private final long start = System.nanoTime();
+        private volatile long parseNanos;
+        private volatile long validationNanos;
+        private volatile long executionNanos;
+    }
+}
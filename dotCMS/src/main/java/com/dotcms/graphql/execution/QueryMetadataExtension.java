@@ -0,0 +1,42 @@
+package com.dotcms.graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Helps the instrumentations to add entries to the {@code queryMetadata} map of the {@code extensions}
+ * of a GraphQL response, keeping the entries added by the others.
+ */
+public final class QueryMetadataExtension {
+
+    public static final String QUERY_METADATA = "queryMetadata";
+
+    private QueryMetadataExtension() {
+    }
+
+    /**
+     * Returns a copy of the result with the given entry added to {@code extensions.queryMetadata}
+     *
+     * @param executionResult the result of the query
+     * @param key key of the entry in the query metadata
+     * @param value value of the entry
+     * @return ExecutionResult
+     */
+    public static ExecutionResult with(final ExecutionResult executionResult, final String key,
+            final Object value) {
+
+        final Map<Object, Object> extensions = null != executionResult.getExtensions()
+                ? new LinkedHashMap<>(executionResult.getExtensions()) : new LinkedHashMap<>();
+        final Map<String, Object> queryMetadata = new LinkedHashMap<>();
+        if (extensions.get(QUERY_METADATA) instanceof Map) {
+            ((Map<?, ?>) extensions.get(QUERY_METADATA))
+                    .forEach((name, entry) -> queryMetadata.put(String.valueOf(name), entry));
+        }
+        queryMetadata.put(key, value);
+        extensions.put(QUERY_METADATA, queryMetadata);
+
+        return ExecutionResultImpl.newExecutionResult().from(executionResult).extensions(extensions).build();
+    }
+}
@@ -3,8 +3,10 @@ package com.dotcms.integritycheckers;
 import com.dotcms.repackage.com.csvreader.CsvReader;
 import com.dotcms.repackage.com.csvreader.CsvWriter;
 import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.db.Row;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.portlets.structure.model.Structure;
 import com.dotmarketing.util.ConfigUtils;
 import com.dotmarketing.util.Logger;
@@ -15,12 +17,10 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Base class for all the integrity checkers implementation
@@ -151,30 +151,28 @@ public abstract class AbstractIntegrityChecker implements IntegrityChecker {
                     .append(structureTypeId).append(") ")
                     .append("INNER JOIN identifier i ON (i.id = c.identifier)").toString();
 
-            final Connection conn = DbConnectionFactory.getConnection();
-            try (final PreparedStatement statement = conn.prepareStatement(query)) {
-                try (final ResultSet rs = statement.executeQuery()) {
-                    int count = 0;
-
-                    while (rs.next()) {
-                        writer.write(rs.getString("working_inode"));
-                        writer.write(rs.getString("live_inode"));
-                        writer.write(rs.getString("identifier"));
-                        writer.write(rs.getString("parent_path"));
-                        writer.write(rs.getString("asset_name"));
-                        writer.write(rs.getString("host_inode"));
-                        writer.write(rs.getString("language_id"));
-                        writer.endRecord();
-
-                        count++;
-
-                        if (count == 1000) {
-                            writer.flush();
-                            count = 0;
-                        }
+            // streams the rows instead of loading all the contentlets of the type in memory
+            try (final Stream<Row> rows = new DotConnect().setSQL(query).streamObjectResults()) {
+                int count = 0;
+
+                for (final Row row : (Iterable<Row>) rows::iterator) {
+                    writer.write(row.getString("working_inode"));
+                    writer.write(row.getString("live_inode"));
+                    writer.write(row.getString("identifier"));
+                    writer.write(row.getString("parent_path"));
+                    writer.write(row.getString("asset_name"));
+                    writer.write(row.getString("host_inode"));
+                    writer.write(row.getString("language_id"));
+                    writer.endRecord();
+
+                    count++;
+
+                    if (count == 1000) {
+                        writer.flush();
+                        count = 0;
                     }
                 }
-            } catch (final SQLException e) {
+            } catch (final DotDataException | DotRuntimeException e) {
                 throw new DotDataException(String.format("An error occurred when generating the CSV file for " +
                         "Contentlets for Content Type ID '%s' to file '%s': %s", structureTypeId, outputFile, e
                         .getMessage()), e);
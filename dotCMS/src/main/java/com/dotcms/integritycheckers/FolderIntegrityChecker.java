@@ -7,10 +7,12 @@ import com.dotmarketing.beans.Identifier;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.db.Row;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.db.FlushCacheRunnable;
 import com.dotmarketing.db.HibernateUtil;
 import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.portlets.folders.model.Folder;
 import com.dotmarketing.portlets.structure.model.Structure;
@@ -22,13 +24,11 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Folder integrity checker implementation
@@ -56,28 +56,27 @@ public class FolderIntegrityChecker extends AbstractIntegrityChecker {
             csvFile = new File(outputFile);
             writer = new CsvWriter(new FileWriter(csvFile, true), '|');
 
-            final Connection conn = DbConnectionFactory.getConnection();
-            try (final PreparedStatement statement = conn
-                    .prepareStatement("select f.inode, f.identifier, i.parent_path, i.asset_name, i.host_inode from folder f join identifier i on f.identifier = i.id ")) {
-                try (final ResultSet rs = statement.executeQuery()) {
-                    int count = 0;
-
-                    while (rs.next()) {
-                        writer.write(rs.getString("inode"));
-                        writer.write(rs.getString("identifier"));
-                        writer.write(rs.getString("parent_path"));
-                        writer.write(rs.getString("asset_name"));
-                        writer.write(rs.getString("host_inode"));
-                        writer.endRecord();
-                        count++;
-
-                        if (count == 1000) {
-                            writer.flush();
-                            count = 0;
-                        }
+            // streams the rows instead of loading all the folders in memory
+            try (final Stream<Row> rows = new DotConnect()
+                    .setSQL("select f.inode, f.identifier, i.parent_path, i.asset_name, i.host_inode from folder f join identifier i on f.identifier = i.id ")
+                    .streamObjectResults()) {
+                int count = 0;
+
+                for (final Row row : (Iterable<Row>) rows::iterator) {
+                    writer.write(row.getString("inode"));
+                    writer.write(row.getString("identifier"));
+                    writer.write(row.getString("parent_path"));
+                    writer.write(row.getString("asset_name"));
+                    writer.write(row.getString("host_inode"));
+                    writer.endRecord();
+                    count++;
+
+                    if (count == 1000) {
+                        writer.flush();
+                        count = 0;
                     }
                 }
-            } catch (final SQLException e) {
+            } catch (final DotDataException | DotRuntimeException e) {
                 throw new DotDataException(String.format("An error occurred when generating the CSV file for Folders " +
                         "to '%s': %s", outputFile, e.getMessage()), e);
             }
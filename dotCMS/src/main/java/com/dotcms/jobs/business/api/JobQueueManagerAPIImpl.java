@@ -11,6 +11,7 @@ import com.dotcms.jobs.business.job.JobState;
 import com.dotcms.jobs.business.processor.JobProcessor;
 import com.dotcms.jobs.business.processor.ProgressTracker;
 import com.dotcms.jobs.business.queue.JobQueue;
+import com.dotcms.jobs.business.queue.PostgresJobQueue;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.google.common.annotations.VisibleForTesting;
@@ -25,6 +26,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -84,6 +86,9 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
     private final Map<String, RetryStrategy> retryStrategies;
     private final RetryStrategy defaultRetryStrategy;
 
+    // Incremented every time the queue reports new jobs, so the idle workers can be woken up
+    private final AtomicLong jobsAvailable = new AtomicLong(0);
+
     // The number of threads to use for job processing.
     static final int DEFAULT_THREAD_POOL_SIZE = Config.getIntProperty(
             "JOB_QUEUE_THREAD_POOL_SIZE", 10
@@ -124,9 +129,7 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
      * number of threads.
      */
     public JobQueueManagerAPIImpl() {
-        // We don't have yet a JobQueue implementation, an implementation will be developed in a
-        // later task.
-        this(null, DEFAULT_THREAD_POOL_SIZE);
+        this(new PostgresJobQueue(), DEFAULT_THREAD_POOL_SIZE);
     }
 
     /**
@@ -194,6 +197,7 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
 
             startLatch = new CountDownLatch(threadPoolSize);
             executorService = Executors.newFixedThreadPool(threadPoolSize);
+            jobQueue.onJobsAvailable(this::wakeUpWorkers);
 
             for (int i = 0; i < threadPoolSize; i++) {
                 executorService.submit(() -> {
@@ -235,6 +239,7 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
                 isShuttingDown = false;
             }
 
+            jobQueue.close();
             isClosed = true;
             Logger.info(this, "JobQueue has been successfully closed.");
         } else {
@@ -373,6 +378,7 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
 
             try {
 
+                final long jobsAvailableBefore = jobsAvailable.get();
                 Job job = jobQueue.nextJob();
                 if (job != null) {
                     processJobWithRetry(job);
@@ -381,8 +387,11 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
                     // If no jobs were found, wait for a short time before checking again
                     // Implement exponential backoff when queue is repeatedly empty
                     long sleepTime = Math.min(1000 * (long) Math.pow(2, emptyQueueCount), 30000);
-                    Thread.sleep(sleepTime);
-                    emptyQueueCount++;
+                    if (waitForJobs(jobsAvailableBefore, sleepTime)) {
+                        emptyQueueCount = 0;
+                    } else {
+                        emptyQueueCount++;
+                    }
                 }
             } catch (InterruptedException e) {
                 Logger.error(this, "Job processing thread interrupted: " + e.getMessage(), e);
@@ -394,6 +403,39 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
         }
     }
 
+    /**
+     * Called by the job queue when there may be new jobs, wakes up the idle workers.
+     */
+    private void wakeUpWorkers() {
+        synchronized (jobsAvailable) {
+            jobsAvailable.incrementAndGet();
+            jobsAvailable.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the job queue reports new jobs or the given time elapses. It returns right away
+     * if new jobs were reported after the queue was checked, so a notification is never missed.
+     *
+     * @param jobsAvailableBefore The value of {@link #jobsAvailable} before checking the queue.
+     * @param maxWaitMillis       The maximum time to wait, in milliseconds.
+     * @return {@code true} if new jobs were reported, {@code false} if the time elapsed.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private boolean waitForJobs(final long jobsAvailableBefore, final long maxWaitMillis)
+            throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + maxWaitMillis;
+        synchronized (jobsAvailable) {
+            long remaining = maxWaitMillis;
+            while (jobsAvailable.get() == jobsAvailableBefore && remaining > 0) {
+                jobsAvailable.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return jobsAvailable.get() != jobsAvailableBefore;
+        }
+    }
+
     /**
      * Checks if the circuit breaker is open and handles the waiting period if it is.
      *
@@ -437,7 +479,7 @@ public class JobQueueManagerAPIImpl implements JobQueueManagerAPI {
                     Logger.debug(this, "Job " + job.id() + " is not ready for retry, "
                             + "putting back in queue.");
                     // Put the job back in the queue for later retry
-                    jobQueue.putJobBackInQueue(job);
+                    jobQueue.putJobBackInQueue(job, nextRetryDelay(job));
                 }
             } else {
                 handleNonRetryableFailedJob(job);
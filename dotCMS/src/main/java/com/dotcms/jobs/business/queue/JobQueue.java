@@ -2,6 +2,7 @@ package com.dotcms.jobs.business.queue;
 
 import com.dotcms.jobs.business.job.Job;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -83,6 +84,17 @@ public interface JobQueue {
      */
     void putJobBackInQueue(Job job);
 
+    /**
+     * Puts a failed job back in the queue, to be retried once the given delay since its last retry
+     * elapses. Queues that can't hold a job back put it in the queue right away.
+     *
+     * @param job              The job to retry.
+     * @param retryDelayMillis The delay since the last retry of the job, in milliseconds.
+     */
+    default void putJobBackInQueue(final Job job, final long retryDelayMillis) {
+        putJobBackInQueue(job);
+    }
+
     /**
      * Retrieves the next job in the queue.
      *
@@ -90,6 +102,40 @@ public interface JobQueue {
      */
     Job nextJob();
 
+    /**
+     * Retrieves up to {@code maxJobs} jobs from the queue at once. Implementations backed by a
+     * database should claim them with a single query.
+     *
+     * @param maxJobs The maximum number of jobs to retrieve.
+     * @return The next jobs in the queue, or an empty list if the queue is empty.
+     */
+    default List<Job> nextJobs(final int maxJobs) {
+        final List<Job> jobs = new ArrayList<>();
+        Job job;
+        while (jobs.size() < maxJobs && (job = nextJob()) != null) {
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    /**
+     * Registers a listener to be called when jobs are added or put back in the queue, so idle
+     * workers can be woken up instead of waiting for their next poll. Implementations that can't
+     * detect new jobs may ignore it.
+     *
+     * @param listener The listener to call when there may be jobs available.
+     */
+    default void onJobsAvailable(final Runnable listener) {
+        // the workers keep polling the queue
+    }
+
+    /**
+     * Releases the resources held by the queue, like the connection used to listen for new jobs.
+     */
+    default void close() {
+        // nothing to release
+    }
+
     /**
      * Updates the progress of a job.
      *
@@ -0,0 +1,528 @@
+package com.dotcms.jobs.business.queue;
+
+import com.dotcms.jobs.business.error.ErrorDetail;
+import com.dotcms.jobs.business.error.JobProcessingException;
+import com.dotcms.jobs.business.job.Job;
+import com.dotcms.jobs.business.job.JobResult;
+import com.dotcms.jobs.business.job.JobState;
+import com.dotcms.util.CloseUtils;
+import com.dotcms.util.JsonUtil;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UUIDGenerator;
+import com.google.common.annotations.VisibleForTesting;
+import io.vavr.control.Try;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * {@link JobQueue} backed by the {@code job} and {@code job_queue} tables, shared by all the nodes
+ * of the cluster.
+ * <ul>
+ *     <li>Workers claim jobs with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so they never block
+ *     each other and a job is only handed to one of them. Many jobs can be claimed at once with
+ *     {@link #nextJobs(int)}.</li>
+ *     <li>A claimed job is leased to the node for {@code JOB_QUEUE_LEASE_MILLIS}. The lease is
+ *     extended by every {@link #updateJobProgress(String, float)}, which the
+ *     {@link com.dotcms.jobs.business.api.JobQueueManagerAPI} calls every second as a heartbeat.
+ *     The jobs whose lease expires, because their node died, are put back in the queue. The
+ *     leases and the retry delays are checked against the clock of the db, never the one of the
+ *     node, so a node whose clock drifts can not steal the jobs of the others.</li>
+ *     <li>Adding a job sends a {@code NOTIFY} that is received by a {@code LISTEN} connection in
+ *     every node, which wakes up the workers registered with {@link #onJobsAvailable(Runnable)}
+ *     instead of having them poll the table.</li>
+ * </ul>
+ */
+public class PostgresJobQueue implements JobQueue {
+
+    private static final int KILL_ON_FAILURES = Config.getIntProperty("JOB_QUEUE_LISTENER_KILL_ON_FAILURES", 100);
+    private static final int LISTEN_TIMEOUT_MILLIS = Config.getIntProperty("JOB_QUEUE_LISTEN_TIMEOUT_MILLIS", 5000);
+
+    private final DataSource dataSource;
+    private final String serverId;
+    private final long leaseMillis;
+    private final AtomicLong lastLeaseCheck = new AtomicLong(0);
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile JobsListener jobsListener;
+
+    public PostgresJobQueue() {
+        this(DbConnectionFactory.getDataSource(),
+                APILocator.getServerAPI().readServerId(),
+                Config.getLongProperty("JOB_QUEUE_LEASE_MILLIS", 60000));
+    }
+
+    @VisibleForTesting
+    public PostgresJobQueue(final DataSource dataSource, final String serverId, final long leaseMillis) {
+        this.dataSource = dataSource;
+        this.serverId = serverId;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Override
+    public String addJob(final String queueName, final Map<String, Object> parameters) {
+        final String jobId = UUIDGenerator.generateUuid();
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (final Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (final PreparedStatement statement = conn.prepareStatement(PostgresJobQueueSQL.INSERT_JOB)) {
+                    int i = 0;
+                    statement.setString(++i, jobId);
+                    statement.setString(++i, queueName);
+                    statement.setString(++i, JobState.PENDING.name());
+                    statement.setString(++i, toJson(parameters));
+                    statement.setTimestamp(++i, now);
+                    statement.setTimestamp(++i, now);
+                    statement.executeUpdate();
+                }
+                enqueue(conn, jobId, queueName, JobState.PENDING, now);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DotRuntimeException("Unable to add a job to the queue " + queueName, e);
+        }
+        return jobId;
+    }
+
+    @Override
+    public Job getJob(final String jobId) {
+        final List<Job> jobs = query(PostgresJobQueueSQL.SELECT_JOB, jobId);
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    @Override
+    public List<Job> getActiveJobs(final String queueName, final int page, final int pageSize) {
+        return query(PostgresJobQueueSQL.SELECT_ACTIVE_JOBS, queueName, pageSize, offset(page, pageSize));
+    }
+
+    @Override
+    public List<Job> getCompletedJobs(final String queueName, final LocalDateTime startDate,
+            final LocalDateTime endDate, final int page, final int pageSize) {
+        return query(PostgresJobQueueSQL.SELECT_COMPLETED_JOBS, queueName, Timestamp.valueOf(startDate),
+                Timestamp.valueOf(endDate), pageSize, offset(page, pageSize));
+    }
+
+    @Override
+    public List<Job> getJobs(final int page, final int pageSize) {
+        return query(PostgresJobQueueSQL.SELECT_JOBS, pageSize, offset(page, pageSize));
+    }
+
+    @Override
+    public List<Job> getFailedJobs(final int page, final int pageSize) {
+        return query(PostgresJobQueueSQL.SELECT_FAILED_JOBS, pageSize, offset(page, pageSize));
+    }
+
+    /**
+     * Saves the new state of a job. Failed jobs go back to the queue, so a worker can decide
+     * whether they are retried or removed, and finished or cancelled jobs are taken out of it.
+     */
+    @Override
+    public void updateJobStatus(final Job job) {
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        final boolean active = job.state() == JobState.PENDING || job.state() == JobState.RUNNING;
+
+        try (final Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (final PreparedStatement statement = conn.prepareStatement(PostgresJobQueueSQL.UPDATE_JOB_STATUS)) {
+                    int i = 0;
+                    statement.setString(++i, job.state().name());
+                    statement.setString(++i, job.result().map(JobResult::name).orElse(null));
+                    statement.setFloat(++i, job.progress());
+                    statement.setInt(++i, job.retryCount());
+                    statement.setLong(++i, job.lastRetryTimestamp());
+                    statement.setString(++i, job.errorDetail().map(PostgresJobQueue::toJson).orElse(null));
+                    statement.setTimestamp(++i, now);
+                    statement.setTimestamp(++i, job.state() == JobState.RUNNING ? now : null);
+                    setTimestamp(statement, ++i, job.completedAt());
+                    statement.setBoolean(++i, active);
+                    statement.setLong(++i, leaseMillis);
+                    statement.setString(++i, job.id());
+                    statement.executeUpdate();
+                }
+
+                if (job.state() == JobState.PENDING || job.state() == JobState.FAILED) {
+                    enqueue(conn, job.id(), job.queueName(), job.state(), now);
+                } else if (!active) {
+                    execute(conn, PostgresJobQueueSQL.DELETE_FROM_QUEUE, job.id());
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DotRuntimeException("Unable to update the status of the job " + job.id(), e);
+        }
+    }
+
+    @Override
+    public void putJobBackInQueue(final Job job) {
+        requeue(job, null);
+    }
+
+    /**
+     * Puts a failed job back in the queue, where it is not claimed until the retry delay since its
+     * last retry elapses. No notification is sent for it, the workers find it polling the queue
+     * once it is due.
+     */
+    @Override
+    public void putJobBackInQueue(final Job job, final long retryDelayMillis) {
+        final long remainingMillis = job.lastRetryTimestamp() + retryDelayMillis - System.currentTimeMillis();
+        requeue(job, remainingMillis > 0 ? remainingMillis : null);
+    }
+
+    private void requeue(final Job job, final Long delayMillis) {
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try (final Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                execute(conn, PostgresJobQueueSQL.REQUEUE_JOB, job.state().name(), job.retryCount(),
+                        job.lastRetryTimestamp(), now, job.id());
+                if (null == delayMillis) {
+                    enqueue(conn, job.id(), job.queueName(), job.state(), now);
+                } else {
+                    execute(conn, PostgresJobQueueSQL.INSERT_INTO_QUEUE_DELAYED, job.id(), job.queueName(),
+                            job.state().name(), now, delayMillis);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DotRuntimeException("Unable to put the job " + job.id() + " back in the queue", e);
+        }
+    }
+
+    @Override
+    public Job nextJob() {
+        final List<Job> jobs = nextJobs(1);
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    /**
+     * Claims up to {@code maxJobs} jobs in a single statement, the oldest first, leaving out the
+     * failed jobs whose retry is not due yet. Once every half a lease, it also puts back in the
+     * queue the jobs whose lease expired.
+     */
+    @Override
+    public List<Job> nextJobs(final int maxJobs) {
+        requeueExpiredJobs();
+
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        final List<Job> jobs = query(PostgresJobQueueSQL.CLAIM_JOBS, maxJobs, serverId, leaseMillis, now);
+        jobs.sort(Comparator.comparing(job -> job.createdAt().orElse(LocalDateTime.MIN)));
+        return jobs;
+    }
+
+    /**
+     * Saves the progress of a job and extends its lease, this is the heartbeat of a running job.
+     */
+    @Override
+    public void updateJobProgress(final String jobId, final float progress) {
+        try (final Connection conn = dataSource.getConnection()) {
+            execute(conn, PostgresJobQueueSQL.UPDATE_JOB_PROGRESS, progress,
+                    Timestamp.valueOf(LocalDateTime.now()), leaseMillis, jobId);
+        } catch (SQLException e) {
+            throw new DotRuntimeException("Unable to update the progress of the job " + jobId, e);
+        }
+    }
+
+    /**
+     * Takes a job out of the queue, the job itself is kept so it is still listed by
+     * {@link #getFailedJobs(int, int)}.
+     */
+    @Override
+    public void removeJob(final String jobId) {
+        if (null == getJob(jobId)) {
+            throw new IllegalArgumentException("Job not found: " + jobId);
+        }
+
+        try (final Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                execute(conn, PostgresJobQueueSQL.DELETE_FROM_QUEUE, jobId);
+                execute(conn, PostgresJobQueueSQL.RELEASE_JOB, Timestamp.valueOf(LocalDateTime.now()), jobId);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DotRuntimeException("Unable to remove the job " + jobId + " from the queue", e);
+        }
+    }
+
+    @Override
+    public void onJobsAvailable(final Runnable listener) {
+        listeners.add(listener);
+        listener();
+    }
+
+    @Override
+    public void close() {
+        listeners.clear();
+        synchronized (this) {
+            if (null != jobsListener) {
+                jobsListener.stopListening();
+                jobsListener = null;
+            }
+        }
+    }
+
+    /**
+     * Puts back in the queue the jobs whose lease expired. Only one worker of the node does it at
+     * a time, and the rows locked by the other nodes are skipped.
+     */
+    @VisibleForTesting
+    int requeueExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        final long lastCheck = lastLeaseCheck.get();
+        if (now - lastCheck < leaseMillis / 2 || !lastLeaseCheck.compareAndSet(lastCheck, now)) {
+            return 0;
+        }
+
+        final Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        try (final Connection conn = dataSource.getConnection()) {
+            final int requeued = execute(conn, PostgresJobQueueSQL.REQUEUE_EXPIRED_JOBS, timestamp, timestamp);
+            if (requeued > 0) {
+                Logger.warn(this, String.format("Put back %d jobs with an expired lease in the queue", requeued));
+                execute(conn, PostgresJobQueueSQL.NOTIFY, "expired");
+            }
+            return requeued;
+        } catch (SQLException e) {
+            Logger.warnAndDebug(PostgresJobQueue.class, "Unable to requeue the expired jobs: " + e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private void enqueue(final Connection conn, final String jobId, final String queueName,
+            final JobState state, final Timestamp now) throws SQLException {
+        execute(conn, PostgresJobQueueSQL.INSERT_INTO_QUEUE, jobId, queueName, state.name(), now, null);
+        // the notification is delivered when the transaction commits
+        execute(conn, PostgresJobQueueSQL.NOTIFY, queueName);
+    }
+
+    private List<Job> query(final String sql, final Object... params) {
+        try (final Connection conn = dataSource.getConnection();
+             final PreparedStatement statement = prepare(conn, sql, params);
+             final ResultSet rs = statement.executeQuery()) {
+
+            final List<Job> jobs = new ArrayList<>();
+            while (rs.next()) {
+                jobs.add(toJob(rs));
+            }
+            return jobs;
+        } catch (SQLException e) {
+            throw new DotRuntimeException(e);
+        }
+    }
+
+    private static int execute(final Connection conn, final String sql, final Object... params) throws SQLException {
+        try (final PreparedStatement statement = prepare(conn, sql, params)) {
+            return statement.execute() ? 0 : statement.getUpdateCount();
+        }
+    }
+
+    private static PreparedStatement prepare(final Connection conn, final String sql, final Object... params)
+            throws SQLException {
+        final PreparedStatement statement = conn.prepareStatement(sql);
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        return statement;
+    }
+
+    private static void setTimestamp(final PreparedStatement statement, final int index,
+            final Optional<LocalDateTime> value) throws SQLException {
+        if (value.isPresent()) {
+            statement.setTimestamp(index, Timestamp.valueOf(value.get()));
+        } else {
+            statement.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    private static int offset(final int page, final int pageSize) {
+        return Math.max(0, page - 1) * pageSize;
+    }
+
+    private static Job toJob(final ResultSet rs) throws SQLException {
+        final Optional<ErrorDetail> errorDetail = Optional.ofNullable(rs.getString("error_detail"))
+                .map(PostgresJobQueue::toErrorDetail);
+
+        return Job.builder()
+                .id(rs.getString("id"))
+                .queueName(rs.getString("queue_name"))
+                .state(JobState.valueOf(rs.getString("state")))
+                .parameters(fromJson(rs.getString("parameters")))
+                .result(Optional.ofNullable(rs.getString("result")).map(JobResult::valueOf))
+                .progress(rs.getFloat("progress"))
+                .retryCount(rs.getInt("retry_count"))
+                .lastRetryTimestamp(rs.getLong("last_retry_timestamp"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+                .errorDetail(errorDetail)
+                .lastException(errorDetail.map(ErrorDetail::exception))
+                .build();
+    }
+
+    private static Optional<LocalDateTime> toLocalDateTime(final Timestamp timestamp) {
+        return Optional.ofNullable(timestamp).map(Timestamp::toLocalDateTime);
+    }
+
+    private static String toJson(final Map<String, Object> map) {
+        return Try.of(() -> JsonUtil.getJsonAsString(map)).getOrElseThrow(DotRuntimeException::new);
+    }
+
+    private static Map<String, Object> fromJson(final String json) {
+        return null == json ? Map.of() : Try.of(() -> JsonUtil.getJsonFromString(json))
+                .getOrElseThrow(DotRuntimeException::new);
+    }
+
+    /**
+     * The exception of an error can't be stored, only its class and message, see
+     * {@link #toErrorDetail(String)}
+     */
+    private static String toJson(final ErrorDetail errorDetail) {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("message", errorDetail.message());
+        map.put("exceptionClass", errorDetail.exceptionClass());
+        map.put("exceptionMessage", errorDetail.exception().getMessage());
+        map.put("timestamp", errorDetail.timestamp().toString());
+        map.put("processingStage", errorDetail.processingStage());
+        map.put("stackTrace", errorDetail.stackTrace());
+        return toJson(map);
+    }
+
+    /**
+     * Rebuilds the exception of an error with its message when the class has such a constructor,
+     * so the retry strategies can still tell the retryable exceptions from the others.
+     */
+    private static ErrorDetail toErrorDetail(final String json) {
+        final Map<String, Object> map = fromJson(json);
+        final String exceptionClass = Optional.ofNullable((String) map.get("exceptionClass"))
+                .orElse(JobProcessingException.class.getName());
+        final String message = (String) map.get("exceptionMessage");
+        final Throwable exception = Try.of(() -> (Throwable) Class.forName(exceptionClass)
+                        .getConstructor(String.class).newInstance(message))
+                .getOrElse(() -> new JobProcessingException("unknown", exceptionClass + ": " + message, null));
+
+        return ErrorDetail.builder()
+                .message((String) map.get("message"))
+                .exceptionClass(exceptionClass)
+                .exception(exception)
+                .timestamp(LocalDateTime.parse((String) map.get("timestamp")))
+                .processingStage((String) map.get("processingStage"))
+                .build();
+    }
+
+    private JobsListener listener() {
+        if (null != jobsListener && jobsListener.isListening()) {
+            return jobsListener;
+        }
+        synchronized (this) {
+            if (null == jobsListener || !jobsListener.isListening()) {
+                jobsListener = new JobsListener();
+                jobsListener.start();
+            }
+            return jobsListener;
+        }
+    }
+
+    private void notifyListeners() {
+        listeners.forEach(listener -> Try.run(listener::run)
+                .onFailure(e -> Logger.warn(PostgresJobQueue.class, "Job queue listener failed: " + e.getMessage())));
+    }
+
+    /**
+     * Holds a connection that {@code LISTEN}s to the job queue channel and wakes up the workers
+     * when there are new jobs. If the connection fails, a new one is opened on the next
+     * {@link #onJobsAvailable(Runnable)} or after {@link #LISTEN_TIMEOUT_MILLIS}.
+     */
+    private class JobsListener extends Thread {
+
+        private volatile boolean listening = true;
+        private Connection connection;
+
+        JobsListener() {
+            setName("JobQueue LISTEN Thread");
+            setDaemon(true);
+        }
+
+        boolean isListening() {
+            return listening;
+        }
+
+        void stopListening() {
+            listening = false;
+            interrupt();
+        }
+
+        @Override
+        public void run() {
+            int failures = 0;
+            while (listening) {
+                try {
+                    if (null == connection || connection.isClosed()) {
+                        connection = dataSource.getConnection();
+                        try (final Statement statement = connection.createStatement()) {
+                            statement.execute("LISTEN " + PostgresJobQueueSQL.NOTIFY_CHANNEL); //NOSONAR
+                        }
+                        // jobs may have been added while there was no connection listening
+                        notifyListeners();
+                    }
+
+                    final PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                            .getNotifications(LISTEN_TIMEOUT_MILLIS);
+                    if (null != notifications && notifications.length > 0) {
+                        notifyListeners();
+                    }
+                    failures = 0;
+                } catch (Exception e) {
+                    if (!listening) {
+                        break;
+                    }
+                    Logger.warn(PostgresJobQueue.class, "Job queue listener failed: " + e.getMessage());
+                    CloseUtils.closeQuietly(connection);
+                    connection = null;
+                    if (++failures > KILL_ON_FAILURES) {
+                        Logger.error(PostgresJobQueue.class, "Job queue listener failed " + KILL_ON_FAILURES
+                                + " times, the workers will poll the queue", e);
+                        listening = false;
+                        break;
+                    }
+                    Try.run(() -> Thread.sleep(LISTEN_TIMEOUT_MILLIS));
+                }
+            }
+            CloseUtils.closeQuietly(connection);
+        }
+    }
+
+}
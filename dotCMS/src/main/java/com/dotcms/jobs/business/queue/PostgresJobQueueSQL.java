@@ -0,0 +1,110 @@
+package com.dotcms.jobs.business.queue;
+
+/**
+ * SQL statements used by the {@link PostgresJobQueue}. The {@code job} table keeps every job and
+ * its state, while {@code job_queue} only holds the jobs waiting to be picked up by a worker.
+ */
+final class PostgresJobQueueSQL {
+
+    private PostgresJobQueueSQL() {
+    }
+
+    static final String NOTIFY_CHANNEL = "dot_job_queue";
+
+    static final String NOTIFY = "SELECT pg_notify('" + NOTIFY_CHANNEL + "', ?)";
+
+    static final String INSERT_JOB =
+            "INSERT INTO job (id, queue_name, state, parameters, progress, retry_count, "
+                    + "last_retry_timestamp, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?::jsonb, 0, 0, 0, ?, ?)";
+
+    static final String INSERT_INTO_QUEUE =
+            "INSERT INTO job_queue (id, queue_name, state, created_at, next_attempt_at) VALUES (?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (id) DO UPDATE SET state = EXCLUDED.state, created_at = EXCLUDED.created_at, "
+                    + "next_attempt_at = EXCLUDED.next_attempt_at";
+
+    /**
+     * Puts a failed job back in the queue, not to be claimed until the given milliseconds pass.
+     * The due time is taken from the clock of the db, the same one the claims are checked against.
+     */
+    static final String INSERT_INTO_QUEUE_DELAYED =
+            "INSERT INTO job_queue (id, queue_name, state, created_at, next_attempt_at) "
+                    + "VALUES (?, ?, ?, ?, now() + (? * interval '1 millisecond')) "
+                    + "ON CONFLICT (id) DO UPDATE SET state = EXCLUDED.state, created_at = EXCLUDED.created_at, "
+                    + "next_attempt_at = EXCLUDED.next_attempt_at";
+
+    static final String DELETE_FROM_QUEUE = "DELETE FROM job_queue WHERE id = ?";
+
+    /**
+     * Takes the oldest jobs out of the queue and leases them to this node. The rows locked by
+     * another worker are skipped, so concurrent workers never wait for each other nor claim the
+     * same job, and so are the failed jobs waiting for their next retry. The retries and the
+     * leases are checked against the clock of the db, so the nodes do not need to agree on the time.
+     */
+    static final String CLAIM_JOBS =
+            "WITH claimed AS ("
+                    + "  SELECT id FROM job_queue WHERE next_attempt_at IS NULL OR next_attempt_at <= now() "
+                    + "  ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED"
+                    + "), dequeued AS ("
+                    + "  DELETE FROM job_queue q USING claimed c WHERE q.id = c.id RETURNING q.id"
+                    + ") "
+                    + "UPDATE job j SET execution_node = ?, "
+                    + "  lease_expires_at = now() + (? * interval '1 millisecond'), updated_at = ? "
+                    + "FROM dequeued d WHERE j.id = d.id "
+                    + "RETURNING j.*";
+
+    /**
+     * Puts back in the queue the jobs whose lease expired because the node running them stopped
+     * sending heartbeats.
+     */
+    static final String REQUEUE_EXPIRED_JOBS =
+            "WITH expired AS ("
+                    + "  SELECT id FROM job WHERE lease_expires_at < now() "
+                    + "  AND state IN ('PENDING', 'RUNNING', 'FAILED') FOR UPDATE SKIP LOCKED"
+                    + "), requeued AS ("
+                    + "  UPDATE job j SET state = CASE WHEN j.state = 'RUNNING' THEN 'PENDING' ELSE j.state END, "
+                    + "  execution_node = NULL, lease_expires_at = NULL, updated_at = ? "
+                    + "  FROM expired e WHERE j.id = e.id RETURNING j.id, j.queue_name, j.state"
+                    + ") "
+                    + "INSERT INTO job_queue (id, queue_name, state, created_at) "
+                    + "SELECT id, queue_name, state, ? FROM requeued ON CONFLICT (id) DO NOTHING";
+
+    static final String UPDATE_JOB_STATUS =
+            "UPDATE job SET state = ?, result = ?, progress = ?, retry_count = ?, last_retry_timestamp = ?, "
+                    + "error_detail = ?::jsonb, updated_at = ?, started_at = COALESCE(started_at, ?), "
+                    + "completed_at = ?, "
+                    + "lease_expires_at = CASE WHEN ? THEN now() + (? * interval '1 millisecond') ELSE NULL END "
+                    + "WHERE id = ?";
+
+    static final String REQUEUE_JOB =
+            "UPDATE job SET state = ?, retry_count = ?, last_retry_timestamp = ?, execution_node = NULL, "
+                    + "lease_expires_at = NULL, updated_at = ? WHERE id = ?";
+
+    static final String RELEASE_JOB =
+            "UPDATE job SET execution_node = NULL, lease_expires_at = NULL, updated_at = ? WHERE id = ?";
+
+    /**
+     * Saves the progress of a running job, which also works as the heartbeat that extends its
+     * lease.
+     */
+    static final String UPDATE_JOB_PROGRESS =
+            "UPDATE job SET progress = ?, updated_at = ?, "
+                    + "lease_expires_at = now() + (? * interval '1 millisecond') "
+                    + "WHERE id = ? AND state IN ('PENDING', 'RUNNING')";
+
+    static final String SELECT_JOB = "SELECT * FROM job WHERE id = ?";
+
+    static final String SELECT_ACTIVE_JOBS =
+            "SELECT * FROM job WHERE queue_name = ? AND state IN ('PENDING', 'RUNNING') "
+                    + "ORDER BY created_at LIMIT ? OFFSET ?";
+
+    static final String SELECT_COMPLETED_JOBS =
+            "SELECT * FROM job WHERE queue_name = ? AND state = 'COMPLETED' "
+                    + "AND completed_at BETWEEN ? AND ? ORDER BY completed_at DESC LIMIT ? OFFSET ?";
+
+    static final String SELECT_JOBS = "SELECT * FROM job ORDER BY created_at DESC LIMIT ? OFFSET ?";
+
+    static final String SELECT_FAILED_JOBS =
+            "SELECT * FROM job WHERE state = 'FAILED' ORDER BY updated_at DESC LIMIT ? OFFSET ?";
+
+}
@@ -11,6 +11,7 @@ public class PushedAsset implements Serializable {
 	private String environmentId;
 	private String endpointIds;
 	private String publisher;
+	private String fingerprint;
 
 	public PushedAsset() {}
 
@@ -24,6 +25,11 @@ public class PushedAsset implements Serializable {
 		this.publisher = publisher;
 	}
 
+	public PushedAsset(String bundleId, String assetId, String assetType, Date pushDate, String environmentId, String endpointIds, String publisher, String fingerprint) {
+		this(bundleId, assetId, assetType, pushDate, environmentId, endpointIds, publisher);
+		this.fingerprint = fingerprint;
+	}
+
 	public String getAssetId() {
 		return assetId;
 	}
@@ -74,6 +80,17 @@ public class PushedAsset implements Serializable {
 		this.publisher = publisher;
 	}
 
+	/**
+	 * Fingerprint of the version of the asset that was pushed, see
+	 * {@link com.dotcms.publisher.util.dependencies.AssetFingerprintUtil}. It is null for the
+	 * assets pushed before fingerprints were recorded.
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
 
+	public void setFingerprint(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
 
 }
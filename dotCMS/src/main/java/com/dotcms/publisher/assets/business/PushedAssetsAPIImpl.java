@@ -31,17 +31,11 @@ public class PushedAssetsAPIImpl implements PushedAssetsAPI {
 	public void deletePushedAssets(String bundleId, String environmentId)
 			throws DotDataException {
 
-		List<PushedAsset> assets = pushedAssetsFactory.getPushedAssets(bundleId, environmentId);
+		// clear the entries to be deleted from the cache, streaming them instead of loading all of them
+		pushedAssetsFactory.forEachPushedAsset(bundleId, environmentId, this::removeFromCache);
 
 		pushedAssetsFactory.deletePushedAssets(bundleId, environmentId);
 
-		// clear the deleted entries from the cache
-		if(assets!=null && assets.size()>0) {
-			for (PushedAsset asset : assets) {
-				CacheLocator.getPushedAssetsCache().removePushedAssetById(asset.getAssetId(), asset.getEnvironmentId());
-			}
-		}
-
 	}
 
 	@WrapInTransaction
@@ -49,33 +43,21 @@ public class PushedAssetsAPIImpl implements PushedAssetsAPI {
 	public void deletePushedAssets(String assetId)
 			throws DotDataException {
 
-		List<PushedAsset> assets = pushedAssetsFactory.getPushedAssets(assetId);
+		// clear the entries to be deleted from the cache
+		pushedAssetsFactory.forEachPushedAsset(assetId, this::removeFromCache);
 
 		pushedAssetsFactory.deletePushedAssets(assetId);
 
-		// clear the deleted entries from the cache
-		if(assets!=null && assets.size()>0) {
-			for (PushedAsset asset : assets) {
-				CacheLocator.getPushedAssetsCache().removePushedAssetById(asset.getAssetId(), asset.getEnvironmentId());
-			}
-		}
-
 	}
 
 	@WrapInTransaction
 	@Override
 	public void deletePushedAssetsByEnvironment(final String assetId, final String environmentId)  throws DotDataException {
 
-		final List<PushedAsset> assets = pushedAssetsFactory.getPushedAssets(assetId, environmentId);
+		// clear the entries to be deleted from the cache
+		pushedAssetsFactory.forEachPushedAsset(assetId, environmentId, this::removeFromCache);
 
 		pushedAssetsFactory.deletePushedAssetsByEnvironment(assetId, environmentId);
-
-		// clear the deleted entries from the cache
-		if(UtilMethods.isSet(assets)) {
-			for (final PushedAsset asset : assets) {
-				CacheLocator.getPushedAssetsCache().removePushedAssetById(asset.getAssetId(), asset.getEnvironmentId());
-			}
-		}
 	}
 
 	@WrapInTransaction
@@ -83,17 +65,15 @@ public class PushedAssetsAPIImpl implements PushedAssetsAPI {
 	public void deletePushedAssetsByEnvironment(String environmentId)
 			throws DotDataException {
 
-		List<PushedAsset> assets = pushedAssetsFactory.getPushedAssetsByEnvironment(environmentId);
+		// clear the entries to be deleted from the cache
+		pushedAssetsFactory.forEachPushedAssetByEnvironment(environmentId, this::removeFromCache);
 
 		pushedAssetsFactory.deletePushedAssetsByEnvironment(environmentId);
 
-		// clear the deleted entries from the cache
-		if(assets!=null && assets.size()>0) {
-			for (PushedAsset asset : assets) {
-				CacheLocator.getPushedAssetsCache().removePushedAssetById(asset.getAssetId(), asset.getEnvironmentId());
-			}
-		}
+	}
 
+	private void removeFromCache(final PushedAsset asset) {
+		CacheLocator.getPushedAssetsCache().removePushedAssetById(asset.getAssetId(), asset.getEnvironmentId());
 	}
 
 	@WrapInTransaction
@@ -4,10 +4,11 @@ import com.dotcms.publisher.assets.bean.PushedAsset;
 import com.dotmarketing.exception.DotDataException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class PushedAssetsFactory {
 
-	protected static String INSERT_ASSETS = "INSERT INTO publishing_pushed_assets VALUES (?,?,?,?,?,?,?)";
+	protected static String INSERT_ASSETS = "INSERT INTO publishing_pushed_assets (bundle_id, asset_id, asset_type, push_date, environment_id, endpoint_ids, publisher, asset_fingerprint) VALUES (?,?,?,?,?,?,?,?)";
 	protected static String SELECT_ASSETS_BY_BUNDLE_ENV= "SELECT * FROM publishing_pushed_assets WHERE bundle_id = ? and environment_id = ?";
 	protected static String SELECT_ASSETS_BY_ASSET_ID= "SELECT * FROM publishing_pushed_assets WHERE asset_id = ? ORDER BY push_date";
 	protected static String SELECT_ASSETS_BY_ENV_ID= "SELECT * FROM publishing_pushed_assets WHERE environment_id = ?";
@@ -53,12 +54,38 @@ public abstract class PushedAssetsFactory {
 
 	public abstract List<PushedAsset> getPushedAssets(String bundleId, String environmentId)  throws DotDataException;
 
+	/**
+	 * Passes every pushed asset of a bundle in an environment to the given action, the rows are
+	 * streamed from the database instead of being loaded in a list
+	 * @param bundleId      {@link String} bundle id
+	 * @param environmentId {@link String} environment id
+	 * @param action        {@link Consumer} called for every pushed asset
+	 * @throws DotDataException
+	 */
+	public abstract void forEachPushedAsset(String bundleId, String environmentId, Consumer<PushedAsset> action)  throws DotDataException;
+
 	public abstract void deleteAllPushedAssets() throws DotDataException;
 
 	public abstract List<PushedAsset> getPushedAssets(String assetId) throws DotDataException;
 
+	/**
+	 * Passes every push of an asset to the given action, see {@link #forEachPushedAsset(String, String, Consumer)}
+	 * @param assetId {@link String} asset id
+	 * @param action  {@link Consumer} called for every pushed asset
+	 * @throws DotDataException
+	 */
+	public abstract void forEachPushedAsset(String assetId, Consumer<PushedAsset> action) throws DotDataException;
+
 	public abstract List<PushedAsset> getPushedAssetsByEnvironment(String assetId) throws DotDataException;
 
+	/**
+	 * Passes every pushed asset of an environment to the given action, see {@link #forEachPushedAsset(String, String, Consumer)}
+	 * @param environmentId {@link String} environment id
+	 * @param action        {@link Consumer} called for every pushed asset
+	 * @throws DotDataException
+	 */
+	public abstract void forEachPushedAssetByEnvironment(String environmentId, Consumer<PushedAsset> action) throws DotDataException;
+
 	public abstract PushedAsset getLastPushForAsset(String assetId, String environmentId, String endpointIds)  throws DotDataException;
 
 }
@@ -11,6 +11,7 @@ import com.dotmarketing.util.UtilMethods;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class PushedAssetsFactoryImpl extends PushedAssetsFactory {
 	private PushedAssetsCache cache=CacheLocator.getPushedAssetsCache();
@@ -24,6 +25,7 @@ public class PushedAssetsFactoryImpl extends PushedAssetsFactory {
 		db.addParam(asset.getEnvironmentId());
 		db.addParam(asset.getEndpointIds());
 		db.addParam(asset.getPublisher());
+		db.addParam(asset.getFingerprint());
 		db.loadResult();
 		cache.removePushedAssetById(asset.getAssetId(), asset.getEnvironmentId());
 	}
@@ -82,25 +84,25 @@ public class PushedAssetsFactoryImpl extends PushedAssetsFactory {
 	public List<PushedAsset> getPushedAssets(String bundleId, String environmentId)
 			throws DotDataException {
 		List<PushedAsset> assets = new ArrayList<>();
+		forEachPushedAsset(bundleId, environmentId, assets::add);
+		return assets;
+
+	}
+
+	@Override
+	public void forEachPushedAsset(final String bundleId, final String environmentId,
+			final Consumer<PushedAsset> action) throws DotDataException {
 
 		if(!UtilMethods.isSet(bundleId) || !UtilMethods.isSet(environmentId)) {
-			return assets;
+			return;
 		}
 
-		DotConnect dc = new DotConnect();
+		final DotConnect dc = new DotConnect();
 		dc.setSQL(SELECT_ASSETS_BY_BUNDLE_ENV);
 		dc.addParam(bundleId);
 		dc.addParam(environmentId);
 
-		List<Map<String, Object>> res = dc.loadObjectResults();
-
-		for(Map<String, Object> row : res){
-			PushedAsset asset = PublisherUtil.getPushedAssetByMap(row);
-			assets.add(asset);
-		}
-
-		return assets;
-
+		dc.forEachRow(row -> action.accept(PublisherUtil.getPushedAssetByRow(row)));
 	}
 
 
@@ -117,46 +119,46 @@ public class PushedAssetsFactoryImpl extends PushedAssetsFactory {
 	public List<PushedAsset> getPushedAssets(String assetId)
 			throws DotDataException {
 		List<PushedAsset> assets = new ArrayList<>();
+		forEachPushedAsset(assetId, assets::add);
+		return assets;
+	}
+
+	@Override
+	public void forEachPushedAsset(final String assetId, final Consumer<PushedAsset> action)
+			throws DotDataException {
 
 		if(!UtilMethods.isSet(assetId)) {
-			return assets;
+			return;
 		}
 
-		DotConnect dc = new DotConnect();
+		final DotConnect dc = new DotConnect();
 		dc.setSQL(SELECT_ASSETS_BY_ASSET_ID);
 		dc.addParam(assetId);
 
-		List<Map<String, Object>> res = dc.loadObjectResults();
-
-		for(Map<String, Object> row : res){
-			PushedAsset asset = PublisherUtil.getPushedAssetByMap(row);
-			assets.add(asset);
-		}
-
-		return assets;
+		dc.forEachRow(row -> action.accept(PublisherUtil.getPushedAssetByRow(row)));
 	}
 
 	@Override
 	public List<PushedAsset> getPushedAssetsByEnvironment(String environmentId)
 			throws DotDataException {
 		List<PushedAsset> assets = new ArrayList<>();
+		forEachPushedAssetByEnvironment(environmentId, assets::add);
+		return assets;
+	}
+
+	@Override
+	public void forEachPushedAssetByEnvironment(final String environmentId,
+			final Consumer<PushedAsset> action) throws DotDataException {
 
 		if(!UtilMethods.isSet(environmentId)) {
-			return assets;
+			return;
 		}
 
-		DotConnect dc = new DotConnect();
+		final DotConnect dc = new DotConnect();
 		dc.setSQL(SELECT_ASSETS_BY_ENV_ID);
 		dc.addParam(environmentId);
 
-		List<Map<String, Object>> res = dc.loadObjectResults();
-
-		for(Map<String, Object> row : res){
-			PushedAsset asset = PublisherUtil.getPushedAssetByMap(row);
-			assets.add(asset);
-		}
-
-		return assets;
+		dc.forEachRow(row -> action.accept(PublisherUtil.getPushedAssetByRow(row)));
 	}
 	
 	
@@ -0,0 +1,54 @@
+package com.dotcms.publisher.business;
+
+import java.io.Serializable;
+
+/**
+ * Keeps how many items a receiver handler processed out of a bundle and how long it took, so slow
+ * handlers can be spotted in the publishing audit history.
+ */
+public class HandlerStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+	private String name;
+	private int items;
+	private long millis;
+
+	public HandlerStats() {
+	}
+
+	public HandlerStats(final String name, final int items, final long millis) {
+		this.name = name;
+		this.items = items;
+		this.millis = millis;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	/**
+	 * Returns the number of items processed by the handler.
+	 */
+	public int getItems() {
+		return items;
+	}
+	public void setItems(int items) {
+		this.items = items;
+	}
+	public long getMillis() {
+		return millis;
+	}
+	public void setMillis(long millis) {
+		this.millis = millis;
+	}
+	public double getItemsPerSecond() {
+		return items <= 0 || millis <= 0 ? 0 : items * 1000d / millis;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d items in %d ms (%.1f items/sec)", name, items, millis,
+				getItemsPerSecond());
+	}
+}
@@ -7,6 +7,7 @@ import com.thoughtworks.xstream.XStream;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class PublishAuditHistory implements Serializable {
@@ -22,6 +23,8 @@ public class PublishAuditHistory implements Serializable {
 	private Date publishEnd;
 	private int numTries = 0;
 	private Map<String, String> assets;
+	//the time spent by each handler of the receiver, in the order they ran
+	private Map<String, HandlerStats> handlerStats;
 	
 	public PublishAuditHistory() {
 		assets = new HashMap<>();
@@ -98,6 +101,22 @@ public class PublishAuditHistory implements Serializable {
 	}
 
 
+	public Map<String, HandlerStats> getHandlerStats() {
+		if (handlerStats == null) {
+			handlerStats = new LinkedHashMap<>();
+		}
+		return handlerStats;
+	}
+
+	public void setHandlerStats(Map<String, HandlerStats> handlerStats) {
+		this.handlerStats = handlerStats;
+	}
+
+	public void addHandlerStats(HandlerStats stats) {
+		getHandlerStats().put(stats.getName(), stats);
+	}
+
+
 	public void addOrUpdateEndpoint(String groupId, String endpointId, EndpointDetail detail) {
 		Map<String, EndpointDetail> groupMap = endpointsMap.get(groupId);
 		if(groupMap == null) {
@@ -0,0 +1,215 @@
+package com.dotcms.publisher.pusher;
+
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.concurrent.DotSubmitter;
+import com.dotcms.publisher.endpoint.bean.PublishingEndPoint;
+import com.dotcms.publishing.output.BundleStream;
+import com.dotcms.rest.RestClientBuilder;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import io.vavr.Lazy;
+import org.glassfish.jersey.client.ClientProperties;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link BundleStream} that uploads a bundle to a push publishing endpoint while the bundle is being
+ * generated. The compressed bytes are handed to the upload thread through a bounded queue: when the
+ * endpoint is slower than the bundlers the queue fills up and the bundle generation waits for it.
+ * If the endpoint doesn't take more data for {@code PUSH_PUBLISHING_STREAM_TIMEOUT_MILLIS} the stream
+ * fails and the {@link PushPublisher} sends the bundle file instead.
+ * <p>
+ * The upload only starts once half of the queue is full, or when the bundle is complete, so the
+ * endpoint isn't kept waiting while the first bundlers collect the assets.
+ */
+class EndpointBundleStream implements BundleStream {
+
+    private static final byte[] END_OF_BUNDLE = new byte[0];
+    private static final String SUBMITTER_NAME = "PushPublishStreamThreadPool";
+
+    private static final Lazy<Client> client = Lazy.of(() -> {
+        final Client restClient = RestClientBuilder.newClient();
+        restClient.property(ClientProperties.REQUEST_ENTITY_PROCESSING, "CHUNKED");
+        restClient.property(ClientProperties.CHUNKED_ENCODING_SIZE,
+                Config.getIntProperty("PUSH_PUBLISHING_CHUNKED_ENCODING_SIZE", 1024));
+        return restClient;
+    });
+
+    private final PublishingEndPoint endpoint;
+    private final String contentDisposition;
+    private final boolean forcePush;
+    private final BlockingQueue<byte[]> chunks;
+    private final int startThreshold;
+    private final long timeoutMillis = Config.getLongProperty("PUSH_PUBLISHING_STREAM_TIMEOUT_MILLIS", 60000);
+
+    private volatile boolean aborted = false;
+    private Future<Integer> upload;
+
+    EndpointBundleStream(final PublishingEndPoint endpoint, final String contentDisposition,
+            final boolean forcePush) {
+        this.endpoint = endpoint;
+        this.contentDisposition = contentDisposition;
+        this.forcePush = forcePush;
+        final int capacity = Math.max(2, Config.getIntProperty("PUSH_PUBLISHING_STREAM_QUEUE_SIZE", 16));
+        this.chunks = new ArrayBlockingQueue<>(capacity);
+        this.startThreshold = capacity / 2;
+    }
+
+    PublishingEndPoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length > 0) {
+            put(Arrays.copyOfRange(bytes, offset, offset + length));
+        }
+        if (upload == null && chunks.size() >= startThreshold) {
+            startUpload();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (upload == null) {
+            startUpload();
+        }
+        put(END_OF_BUNDLE);
+    }
+
+    @Override
+    public void abort() {
+        aborted = true;
+        chunks.clear();
+    }
+
+    /**
+     * Waits for the endpoint to answer the upload.
+     *
+     * @return The HTTP status returned by the endpoint, or empty if the bundle could not be streamed.
+     */
+    Optional<Integer> getStatus() {
+        if (upload == null || aborted) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(upload.get(timeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (final ExecutionException | TimeoutException e) {
+            Logger.warn(this, "Unable to stream the bundle to the endpoint " + endpoint.getServerName()
+                    + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void put(final byte[] chunk) throws IOException {
+        final long start = System.currentTimeMillis();
+        try {
+            while (!chunks.offer(chunk, 1, TimeUnit.SECONDS)) {
+                if (aborted || (upload != null && upload.isDone())) {
+                    throw new IOException("The upload to " + endpoint.getServerName() + " has finished");
+                }
+                if (System.currentTimeMillis() - start > timeoutMillis) {
+                    throw new IOException("The endpoint " + endpoint.getServerName() + " is not reading the bundle");
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    private void startUpload() {
+        final DotSubmitter submitter = DotConcurrentFactory.getInstance().getSubmitter(SUBMITTER_NAME,
+                new DotConcurrentFactory.SubmitterConfigBuilder()
+                        .poolSize(Config.getIntProperty("PUSH_PUBLISHING_STREAM_THREADS", 8))
+                        .maxPoolSize(Config.getIntProperty("PUSH_PUBLISHING_STREAM_THREADS", 8))
+                        .queueCapacity(Integer.MAX_VALUE)
+                        .build());
+        upload = submitter.submit(() -> {
+            final Response response = client.get()
+                    .target(endpoint.toURL() + "/api/bundlePublisher/publish")
+                    .queryParam("FORCE_PUSH", forcePush)
+                    .request(MediaType.APPLICATION_JSON)
+                    .header("Content-Disposition", contentDisposition)
+                    .header("Authorization", AuthCredentialPushPublishUtil.INSTANCE.getRequestToken(endpoint).get())
+                    .post(Entity.entity(new ChunksInputStream(), MediaType.APPLICATION_OCTET_STREAM_TYPE));
+            final int status = response.getStatus();
+            response.close();
+            return status;
+        });
+    }
+
+    /**
+     * Reads the chunks put in the queue by the bundle generation. It fails if the generation is
+     * aborted, which makes the HTTP client abort the request instead of ending it normally.
+     */
+    private class ChunksInputStream extends InputStream {
+
+        private byte[] chunk = new byte[0];
+        private int position = 0;
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (chunk == END_OF_BUNDLE) {
+                return -1;
+            }
+            while (position == chunk.length) {
+                chunk = nextChunk();
+                position = 0;
+                if (chunk == END_OF_BUNDLE) {
+                    return -1;
+                }
+            }
+            final int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        private byte[] nextChunk() throws IOException {
+            final long start = System.currentTimeMillis();
+            try {
+                byte[] next;
+                while ((next = chunks.poll(1, TimeUnit.SECONDS)) == null) {
+                    if (aborted) {
+                        throw new IOException("The bundle generation failed");
+                    }
+                    if (System.currentTimeMillis() - start > timeoutMillis) {
+                        throw new IOException("No bundle data received in " + timeoutMillis + " ms");
+                    }
+                }
+                if (aborted) {
+                    throw new IOException("The bundle generation failed");
+                }
+                return next;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+}
@@ -37,6 +37,8 @@ import com.dotcms.publishing.Publisher;
 import com.dotcms.publishing.PublisherConfig;
 import com.dotcms.publishing.PublisherConfig.DeliveryStrategy;
 import com.dotcms.publishing.output.BundleOutput;
+import com.dotcms.publishing.output.BundleStream;
+import com.dotcms.publishing.output.StreamingTarGzipBundleOutput;
 import com.dotcms.publishing.output.TarGzipBundleOutput;
 import com.dotcms.repackage.org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.io.FileUtils;
@@ -76,6 +78,7 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -113,6 +116,10 @@ public class PushPublisher extends Publisher {
 	private static final String BUNDLE_ID      = "BundleId";
 	private static final String ENDPOINT_NAME  = "EndpointName";
 
+	// endpoints picked for each environment and the streams opened to them while the bundle was generated
+	private final Map<String, List<PublishingEndPoint>> selectedEndpoints = new HashMap<>();
+	private final Map<String, EndpointBundleStream> bundleStreams = new HashMap<>();
+
 	@Override
 	public PublisherConfig init ( PublisherConfig config ) throws DotPublishingException {
 		if ( LicenseUtil.getLevel() < LicenseLevel.PROFESSIONAL.level ) {
@@ -157,7 +164,8 @@ public class PushPublisher extends Publisher {
 			List<Environment> environments = APILocator.getEnvironmentAPI().findEnvironmentsByBundleId(this.config.getId());
 
 			client.property(ClientProperties.REQUEST_ENTITY_PROCESSING, "CHUNKED");
-			client.property(ClientProperties.CHUNKED_ENCODING_SIZE, 1024);
+			client.property(ClientProperties.CHUNKED_ENCODING_SIZE,
+					Config.getIntProperty("PUSH_PUBLISHING_CHUNKED_ENCODING_SIZE", 1024));
 
 			String contentDisposition = "attachment; filename=\"" + bundleFile.getName() + "\"";
 
@@ -176,43 +184,26 @@ public class PushPublisher extends Publisher {
 			int totalEndpoints = 0;
 			for (Environment environment : environments) {
 				List<PublishingEndPoint> allEndpoints = this.publishingEndPointAPI.findSendingEndPointsByEnvironment(environment.getId());
-				List<PublishingEndPoint> endpoints = new ArrayList<>();
 				totalEndpoints += (null != allEndpoints) ? allEndpoints.size() : 0;
 
-				Map<String, EndpointDetail> endpointsDetail = endpointsMap.get(environment.getId());
-				//Filter Endpoints list and push only to those that are enabled and are Dynamic (not S3 at the moment)
-				for(PublishingEndPoint ep : allEndpoints) {
-					if(ep.isEnabled() && getProtocols().contains(ep.getProtocol())) {
-						// If pushing a bundle for the first time, always add
-						// all end-points
-						if (null == endpointsDetail || endpointsDetail.size() == 0) {
-							endpoints.add(ep);
-						} else {
-							EndpointDetail epDetail = endpointsDetail.get(ep.getId());
-							// If re-trying a bundle or just re-attempting to
-							// install a bundle, send it only to those
-							// end-points whose status IS NOT success
-							if (DeliveryStrategy.ALL_ENDPOINTS.equals(this.config.getDeliveryStrategy())
-									|| (DeliveryStrategy.FAILED_ENDPOINTS.equals(this.config.getDeliveryStrategy())
-									&& PublishAuditStatus.Status.SUCCESS.getCode() != epDetail.getStatus()
-                                    && Status.SUCCESS_WITH_WARNINGS.getCode() != epDetail.getStatus()
-									&& PublishAuditStatus.Status.BUNDLE_SENT_SUCCESSFULLY.getCode() != epDetail.getStatus())) {
-								endpoints.add(ep);
-							}
-						}
-					}
-				}
+				List<PublishingEndPoint> endpoints = selectedEndpoints.containsKey(environment.getId()) ?
+						selectedEndpoints.get(environment.getId()) :
+						selectEndpoints(environment, allEndpoints, endpointsMap.get(environment.getId()));
 
 				boolean failedEnvironment = false;
-				if(!environment.getPushToAll()) {
-					Collections.shuffle(endpoints);
-					if(!endpoints.isEmpty())
-						endpoints = endpoints.subList(0, 1);
-				}
-
 				for (PublishingEndPoint endpoint : endpoints) {
 					EndpointDetail detail = new EndpointDetail();
 
+					if (isBundleStreamed(endpoint)) {
+						PushPublishLogger.log(this.getClass(), "Status Update: Bundle streamed to " + endpoint.getServerName());
+						detail.setStatus(PublishAuditStatus.Status.BUNDLE_SENT_SUCCESSFULLY.getCode());
+						detail.setInfo("Everything ok");
+						if (isHistoryEmpty || failedEnvironment) {
+							currentStatusHistory.addOrUpdateEndpoint(environment.getId(), endpoint.getId(), detail);
+						}
+						continue;
+					}
+
 					InputStream bundleStream = new BufferedInputStream(Files.newInputStream(bundleFile.toPath()));
 
 					try {
@@ -337,7 +328,98 @@ public class PushPublisher extends Publisher {
 			throw new DotPublishingException(e.getMessage(),e);
 		} finally {
 			client.close();
+			selectedEndpoints.clear();
+			bundleStreams.clear();
+		}
+	}
+
+	/**
+	 * Filters the endpoints of an environment the bundle has to be sent to: the enabled, dynamic (not
+	 * S3 at the moment) ones, and when retrying only those that didn't get the bundle yet. Environments
+	 * that don't push to all their endpoints get one of them at random.
+	 */
+	private List<PublishingEndPoint> selectEndpoints(final Environment environment,
+			final List<PublishingEndPoint> allEndpoints, final Map<String, EndpointDetail> endpointsDetail) {
+		List<PublishingEndPoint> endpoints = new ArrayList<>();
+		for(PublishingEndPoint ep : allEndpoints) {
+			if(ep.isEnabled() && getProtocols().contains(ep.getProtocol())) {
+				// If pushing a bundle for the first time, always add
+				// all end-points
+				if (null == endpointsDetail || endpointsDetail.size() == 0) {
+					endpoints.add(ep);
+				} else {
+					EndpointDetail epDetail = endpointsDetail.get(ep.getId());
+					// If re-trying a bundle or just re-attempting to
+					// install a bundle, send it only to those
+					// end-points whose status IS NOT success
+					if (DeliveryStrategy.ALL_ENDPOINTS.equals(this.config.getDeliveryStrategy())
+							|| (DeliveryStrategy.FAILED_ENDPOINTS.equals(this.config.getDeliveryStrategy())
+							&& PublishAuditStatus.Status.SUCCESS.getCode() != epDetail.getStatus()
+							&& Status.SUCCESS_WITH_WARNINGS.getCode() != epDetail.getStatus()
+							&& PublishAuditStatus.Status.BUNDLE_SENT_SUCCESSFULLY.getCode() != epDetail.getStatus())) {
+						endpoints.add(ep);
+					}
+				}
+			}
 		}
+
+		if(!environment.getPushToAll()) {
+			Collections.shuffle(endpoints);
+			if(!endpoints.isEmpty())
+				endpoints = endpoints.subList(0, 1);
+		}
+		return endpoints;
+	}
+
+	/**
+	 * Opens a stream to each endpoint the bundle has to be sent to, so it is uploaded while it is
+	 * generated. Endpoints that can't be streamed to get the bundle file in {@link #process(PublishStatus)}.
+	 */
+	private List<BundleStream> openBundleStreams() {
+		final List<BundleStream> streams = new ArrayList<>();
+		try {
+			final Bundle bundle = APILocator.getBundleAPI().getBundleById(this.config.getId());
+			final Map<String, Map<String, EndpointDetail>> endpointsMap =
+					pubAuditAPI.getPublishAuditStatus(this.config.getId()).getStatusPojo().getEndpointsMap();
+			final File bundleFile = new File(BundlerUtil.getBundleRoot(this.config.getName(), false) + ".tar.gz");
+			final String contentDisposition = "attachment; filename=\"" + bundleFile.getName() + "\"";
+
+			for (final Environment environment : APILocator.getEnvironmentAPI().findEnvironmentsByBundleId(this.config.getId())) {
+				final List<PublishingEndPoint> endpoints = selectEndpoints(environment,
+						this.publishingEndPointAPI.findSendingEndPointsByEnvironment(environment.getId()),
+						endpointsMap.get(environment.getId()));
+				selectedEndpoints.put(environment.getId(), endpoints);
+
+				for (final PublishingEndPoint endpoint : endpoints) {
+					if (endpoint.hasAuthKey()) {
+						final EndpointBundleStream stream =
+								newBundleStream(endpoint, contentDisposition, bundle.isForcePush());
+						bundleStreams.put(endpoint.getId(), stream);
+						streams.add(stream);
+					}
+				}
+			}
+		} catch (final Exception e) {
+			Logger.warn(this.getClass(), "Unable to stream bundle " + this.config.getId()
+					+ ", the bundle file will be sent instead: " + e.getMessage());
+			selectedEndpoints.clear();
+			bundleStreams.clear();
+			return Collections.emptyList();
+		}
+		return streams;
+	}
+
+	EndpointBundleStream newBundleStream(final PublishingEndPoint endpoint, final String contentDisposition,
+			final boolean forcePush) {
+		return new EndpointBundleStream(endpoint, contentDisposition, forcePush);
+	}
+
+	/**
+	 * Returns true if the bundle was uploaded to the endpoint while it was generated.
+	 */
+	private boolean isBundleStreamed(final PublishingEndPoint endpoint) {
+		final EndpointBundleStream stream = bundleStreams.remove(endpoint.getId());
+		return null != stream && stream.getStatus().map(status -> status == HttpStatus.SC_OK).orElse(false);
 	}
 
 	private void handleInvalidTokenResponse(
@@ -563,8 +645,16 @@ public class PushPublisher extends Publisher {
 		}
 	}
 
+	/**
+	 * Creates the tar.gz bundle file. When {@code PUSH_PUBLISHING_STREAM_BUNDLE} is enabled the
+	 * bundle is also uploaded to the endpoints while it is generated, see {@link EndpointBundleStream};
+	 * retries always send the bundle file.
+	 */
 	@Override
 	public BundleOutput createBundleOutput() throws IOException {
+		if (Config.getBooleanProperty("PUSH_PUBLISHING_STREAM_BUNDLE", false)) {
+			return new StreamingTarGzipBundleOutput(config, this::openBundleStreams);
+		}
 		return new TarGzipBundleOutput(config);
 	}
 }
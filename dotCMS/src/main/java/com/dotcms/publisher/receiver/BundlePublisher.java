@@ -24,6 +24,7 @@ import com.dotcms.enterprise.publishing.remote.handler.VariantHandler;
 import com.dotcms.enterprise.publishing.remote.handler.WorkflowHandler;
 import com.dotcms.publisher.business.DotPublisherException;
 import com.dotcms.publisher.business.EndpointDetail;
+import com.dotcms.publisher.business.HandlerStats;
 import com.dotcms.publisher.business.PublishAuditAPI;
 import com.dotcms.publisher.business.PublishAuditHistory;
 import com.dotcms.publisher.business.PublishAuditStatus;
@@ -224,7 +225,15 @@ public class BundlePublisher extends Publisher {
             // Execute the handlers
             for (IHandler handler : handlers) {
                 Logger.debug(BundlePublisher.class, "Start of Handler: " + handler.getName());
+                final long handlerStart = System.currentTimeMillis();
                 handler.handle(folderOut);
+                final HandlerStats stats = new HandlerStats(handler.getName(),
+                        handler.getHandledCount(), System.currentTimeMillis() - handlerStart);
+                // only the handlers that count their items have a throughput to report
+                if (null != currentStatusHistory && stats.getItems() >= 0) {
+                    currentStatusHistory.addHandlerStats(stats);
+                }
+                Logger.debug(this, () -> "Bundle '" + bundleName + "' " + stats);
 
                 if (!handler.getWarnings().isEmpty()){
                     detail.setStatus(Status.SUCCESS_WITH_WARNINGS.getCode());
@@ -14,4 +14,13 @@ public interface IHandler {
 	default List<String> getWarnings(){
         return Collections.emptyList();
     }
+
+	/**
+	 * Returns the number of items read from the bundle by the last call to {@link #handle(File)},
+	 * used to report the throughput of each handler. Handlers that don't count them return -1 and
+	 * are left out of the {@link com.dotcms.publisher.business.HandlerStats} of the bundle.
+	 */
+	default int getHandledCount() {
+		return -1;
+	}
 }
@@ -8,6 +8,7 @@ import com.dotcms.publisher.endpoint.bean.factory.PublishingEndPointFactory;
 import com.dotcms.publisher.endpoint.bean.impl.PushPublishingEndPoint;
 import com.dotcms.publisher.environment.bean.Environment;
 import com.dotmarketing.business.APILocator;
+import com.dotmarketing.common.db.Row;
 import com.dotmarketing.common.model.ContentletSearch;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.util.Logger;
@@ -19,6 +20,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * This class manage all the operation we can do over a from/to a PublishQueue index (search, add and delete)
@@ -106,20 +108,38 @@ public class PublisherUtil {
 	}
 
 	public static PushedAsset getPushedAssetByMap(Map<String, Object> row){
+		return getPushedAsset(row::get);
+	}
+
+	/**
+	 * Reads the pushed asset from the current row of a streamed result, without copying the row into a map
+	 */
+	public static PushedAsset getPushedAssetByRow(final Row row){
+		return getPushedAsset(row::get);
+	}
+
+	private static PushedAsset getPushedAsset(final Function<String, Object> row){
 		PushedAsset b = new PushedAsset();
-		b.setBundleId(row.get("bundle_id").toString());
-		b.setAssetId(row.get("asset_id").toString());
-		b.setAssetType(row.get("asset_type").toString());
-		b.setPushDate((Date)row.get("push_date"));
-		b.setEnvironmentId(row.get("environment_id").toString());
-		b.setEndpointId(UtilMethods.isSet(row.get("endpoint_ids"))?row.get("endpoint_ids").toString():"");
+		b.setBundleId(row.apply("bundle_id").toString());
+		b.setAssetId(row.apply("asset_id").toString());
+		b.setAssetType(row.apply("asset_type").toString());
+		b.setPushDate((Date)row.apply("push_date"));
+		b.setEnvironmentId(row.apply("environment_id").toString());
+		final Object endpointIds = row.apply("endpoint_ids");
+		b.setEndpointId(UtilMethods.isSet(endpointIds)?endpointIds.toString():"");
 
-		final Object publisher = row.get("publisher");
+		final Object publisher = row.apply("publisher");
 
 		if (UtilMethods.isSet(publisher)) {
 			b.setPublisher(publisher.toString());
 		}
 
+		final Object fingerprint = row.apply("asset_fingerprint");
+
+		if (UtilMethods.isSet(fingerprint)) {
+			b.setFingerprint(fingerprint.toString());
+		}
+
 		return b;
 	}
 
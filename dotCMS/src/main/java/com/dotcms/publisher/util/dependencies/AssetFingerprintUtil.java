@@ -0,0 +1,153 @@
+package com.dotcms.publisher.util.dependencies;
+
+import com.dotcms.contenttype.model.field.Field;
+import com.dotcms.contenttype.model.type.ContentType;
+import com.dotmarketing.beans.VersionInfo;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.business.Versionable;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.contentlet.model.ContentletVersionInfo;
+import com.dotmarketing.portlets.folders.model.Folder;
+import com.dotmarketing.portlets.rules.model.Rule;
+import com.dotmarketing.portlets.structure.model.Relationship;
+import com.dotmarketing.portlets.structure.model.Structure;
+import com.dotmarketing.portlets.workflows.model.WorkflowScheme;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.InodeUtils;
+import com.dotmarketing.util.Logger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Calculates the fingerprint of the current version of an asset that can be pushed. Two equal
+ * fingerprints mean that the asset did not change, so it can be left out of a bundle when the
+ * endpoints already have it.
+ *
+ * For versioned assets the fingerprint is made of the working and live inodes of every language
+ * and variant, since a new inode is created for every change, while the rest of the assets use the
+ * attributes that change when they are saved.
+ */
+public class AssetFingerprintUtil {
+
+    public static final String FINGERPRINTS_ENABLED = "PUSH_PUBLISHING_FINGERPRINTS_ENABLED";
+
+    private static final String SEPARATOR = "|";
+
+    private AssetFingerprintUtil() {
+    }
+
+    /**
+     * Returns true if the fingerprints of the pushed assets are recorded and used to leave the
+     * unchanged dependencies out of the bundles
+     */
+    public static boolean isEnabled() {
+        return Config.getBooleanProperty(FINGERPRINTS_ENABLED, true);
+    }
+
+    /**
+     * Returns the fingerprint of the current version of the asset, or empty if the asset is not
+     * supported or the fingerprint could not be calculated.
+     *
+     * @param asset asset to be added into a bundle
+     * @return a SHA-256 hex string
+     */
+    public static <T> Optional<String> getFingerprint(final T asset) {
+        if (!isEnabled() || asset == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return getFingerprintSource(asset).map(DigestUtils::sha256Hex);
+        } catch (final Exception e) {
+            Logger.warn(AssetFingerprintUtil.class, String.format(
+                    "Could not calculate the fingerprint of %s [%s]: %s", asset.getClass().getSimpleName(),
+                    DependencyManager.getBundleKey(asset), e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private static <T> Optional<String> getFingerprintSource(final T asset) throws DotDataException {
+        if (asset instanceof Contentlet) {
+            return getContentletSource(Contentlet.class.cast(asset));
+        } else if (asset instanceof Structure) {
+            final Structure structure = Structure.class.cast(asset);
+            return Optional.of(join(structure.getInode(), structure.getVelocityVarName(),
+                    structure.getModDate(), getFieldsSource(structure.getInode())));
+        } else if (asset instanceof ContentType) {
+            final ContentType contentType = ContentType.class.cast(asset);
+            return Optional.of(join(contentType.inode(), contentType.variable(),
+                    contentType.modDate(), getFieldsSource(contentType.inode())));
+        } else if (asset instanceof Folder) {
+            final Folder folder = Folder.class.cast(asset);
+            return Optional.of(join(folder.getInode(), folder.getIdentifier(), folder.getName(),
+                    folder.getTitle(), folder.getSortOrder(), folder.isShowOnMenu(),
+                    folder.getFilesMasks(), folder.getDefaultFileType(), folder.getModDate()));
+        } else if (asset instanceof Relationship) {
+            final Relationship relationship = Relationship.class.cast(asset);
+            return Optional.of(join(relationship.getInode(), relationship.getRelationTypeValue(),
+                    relationship.getCardinality(), relationship.getModDate()));
+        } else if (asset instanceof Rule) {
+            final Rule rule = Rule.class.cast(asset);
+            return Optional.of(join(rule.getId(), rule.getModDate()));
+        } else if (asset instanceof WorkflowScheme) {
+            final WorkflowScheme workflowScheme = WorkflowScheme.class.cast(asset);
+            return Optional.of(join(workflowScheme.getId(), workflowScheme.getModDate()));
+        } else if (asset instanceof Versionable) {
+            return getVersionableSource(Versionable.class.cast(asset));
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<String> getContentletSource(final Contentlet contentlet) throws DotDataException {
+        final List<ContentletVersionInfo> versionInfos = APILocator.getVersionableAPI()
+                .findContentletVersionInfos(contentlet.getIdentifier());
+
+        if (versionInfos.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final List<String> versions = new ArrayList<>();
+        for (final ContentletVersionInfo info : versionInfos) {
+            versions.add(join(info.getLang(), info.getVariant(), info.getWorkingInode(),
+                    info.getLiveInode(), info.isDeleted()));
+        }
+        versions.sort(Comparator.naturalOrder());
+
+        return Optional.of(join(contentlet.getIdentifier(), String.join(SEPARATOR, versions)));
+    }
+
+    private static Optional<String> getVersionableSource(final Versionable versionable) throws DotDataException {
+        final VersionInfo info = APILocator.getVersionableAPI()
+                .getVersionInfo(versionable.getVersionId());
+
+        if (info == null || !InodeUtils.isSet(info.getIdentifier())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(join(info.getIdentifier(), info.getWorkingInode(), info.getLiveInode(),
+                info.isDeleted()));
+    }
+
+    private static String getFieldsSource(final String contentTypeId) throws DotDataException {
+        return APILocator.getContentTypeFieldAPI().byContentTypeId(contentTypeId).stream()
+                .sorted(Comparator.comparing(Field::id))
+                .map(field -> join(field.id(), field.variable(), field.modDate()))
+                .collect(Collectors.joining(SEPARATOR));
+    }
+
+    private static String join(final Object... values) {
+        final StringBuilder builder = new StringBuilder();
+        for (final Object value : values) {
+            builder.append(value instanceof Date ? ((Date) value).getTime() : value).append(SEPARATOR);
+        }
+        return builder.toString();
+    }
+
+}
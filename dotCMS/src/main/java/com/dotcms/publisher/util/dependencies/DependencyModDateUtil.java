@@ -22,12 +22,16 @@ import com.dotmarketing.portlets.structure.model.Relationship;
 import com.dotmarketing.portlets.workflows.model.WorkflowScheme;
 import com.dotmarketing.util.InodeUtils;
 import com.dotmarketing.util.Logger;
+import io.vavr.Lazy;
 import java.util.stream.Collectors;
 
 import java.util.*;
 
 /**
- * Provide util method to know if a asset should be exclude by mod_date attribute
+ * Provide util method to know if a asset should be exclude by mod_date attribute.
+ * When the last push of an asset recorded its fingerprint, the fingerprint of the current version is
+ * compared instead, and the receivers are asked to confirm they applied that push, see
+ * {@link AssetFingerprintUtil} and {@link ReceiverStateHandshake}.
  */
 public class DependencyModDateUtil {
 
@@ -41,6 +45,7 @@ public class DependencyModDateUtil {
 	private Bundle bundle;
 	private boolean isDownload;
 	private boolean isPublish;
+	private final ReceiverStateHandshake receiverStateHandshake = new ReceiverStateHandshake();
 
 	public DependencyModDateUtil(final PushPublisherConfig config) {
 		this(config, config.isDownloading());
@@ -121,7 +126,7 @@ public class DependencyModDateUtil {
 	 * @return
 	 */
 	public boolean excludeByModDate ( final Relationship relationship) {
-		return excludeByModDate(DependencyManager.getBundleKey(relationship), PusheableAsset.RELATIONSHIP,
+		return excludeByModDate(relationship, DependencyManager.getBundleKey(relationship), PusheableAsset.RELATIONSHIP,
 				relationship.getModDate());
 	}
 
@@ -133,7 +138,7 @@ public class DependencyModDateUtil {
 	 * @return
 	 */
 	public boolean excludeByModDate ( final Folder folder) {
-		return excludeByModDate(DependencyManager.getBundleKey(folder), PusheableAsset.FOLDER,
+		return excludeByModDate(folder, DependencyManager.getBundleKey(folder), PusheableAsset.FOLDER,
 				folder.getModDate());
 	}
 
@@ -145,7 +150,7 @@ public class DependencyModDateUtil {
 	 * @return
 	 */
 	public boolean excludeByModDate ( final Rule rule) {
-		return excludeByModDate(DependencyManager.getBundleKey(rule), PusheableAsset.RULE,
+		return excludeByModDate(rule, DependencyManager.getBundleKey(rule), PusheableAsset.RULE,
 				rule.getModDate());
 	}
 
@@ -157,7 +162,7 @@ public class DependencyModDateUtil {
 	 * @return
 	 */
 	public boolean excludeByModDate ( final WorkflowScheme workflowScheme) {
-		return excludeByModDate(DependencyManager.getBundleKey(workflowScheme), PusheableAsset.WORKFLOW,
+		return excludeByModDate(workflowScheme, DependencyManager.getBundleKey(workflowScheme), PusheableAsset.WORKFLOW,
 				workflowScheme.getModDate());
 	}
 
@@ -170,12 +175,31 @@ public class DependencyModDateUtil {
 	 * @return
 	 */
 	public boolean excludeByModDate ( final Versionable asset, final PusheableAsset pusheableAsset) {
-		return excludeByModDate(DependencyManager.getBundleKey(asset), pusheableAsset,
+		return excludeByModDate(asset, DependencyManager.getBundleKey(asset), pusheableAsset,
 				asset.getModDate());
 	}
 
-	private synchronized boolean excludeByModDate ( final String assetId, final PusheableAsset pusheableAsset,
-			final Date assetModDate) {
+	private boolean excludeByModDate ( final Object asset, final String assetId,
+			final PusheableAsset pusheableAsset, final Date assetModDate) {
+
+		final List<PushedAsset> pushesToConfirm = new ArrayList<>();
+		if (!isUnchangedSincePush(asset, assetId, pusheableAsset, assetModDate, pushesToConfirm)) {
+			return false;
+		}
+
+		// the receivers are asked out of the lock, so a slow one does not hold back the other assets
+		for (final PushedAsset pushedAsset : pushesToConfirm) {
+			if (!receiverStateHandshake.isApplied(pushedAsset)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private synchronized boolean isUnchangedSincePush ( final Object asset, final String assetId,
+			final PusheableAsset pusheableAsset, final Date assetModDate,
+			final List<PushedAsset> pushesToConfirm) {
 
 		// we need to check if all environments have the last version of the asset in
 		// order to skip adding it to the Set
@@ -185,6 +209,7 @@ public class DependencyModDateUtil {
 
 		if ( !bundle.isForcePush() && !isDownload && isPublish ) {
 
+			final Lazy<Optional<String>> fingerprint = Lazy.of(() -> AssetFingerprintUtil.getFingerprint(asset));
 
 			for (Environment environment : envs) {
 				final Optional<PushedAsset> pushedAssetOptional =
@@ -195,6 +220,16 @@ public class DependencyModDateUtil {
 				}
 
 				final PushedAsset pushedAsset = pushedAssetOptional.get();
+				if (pushedAsset.getFingerprint() != null && fingerprint.get().isPresent()) {
+					// the fingerprint tells exactly if the pushed version is still the current one
+					if (!pushedAsset.getFingerprint().equals(fingerprint.get().get())) {
+						return false;
+					}
+
+					pushesToConfirm.add(pushedAsset);
+					continue;
+				}
+
 				boolean modifiedOnCurrentEnv = isModifiedAfterPushAsset(assetId, assetModDate, pushedAsset,
 						pusheableAsset);
 
@@ -90,8 +90,13 @@ public class PushedAssetUtil {
     }
 
     public <T> void savePushedAssetForAllEnv(final T asset, final PusheableAsset pusheableAsset) {
+        if (this.environments.isEmpty()) {
+            return;
+        }
+
+        final String fingerprint = AssetFingerprintUtil.getFingerprint(asset).orElse(null);
         this.environments.forEach(environment ->
-                savePushedAsset(DependencyManager.getBundleKey(asset), pusheableAsset, environment));
+                savePushedAsset(DependencyManager.getBundleKey(asset), pusheableAsset, fingerprint, environment));
     }
 
     public <T> void removePushedAssetForAllEnv(final T asset, final PusheableAsset pusheableAsset) {
@@ -111,6 +116,7 @@ public class PushedAssetUtil {
     private void savePushedAsset(
             final String assetId,
             final PusheableAsset pusheableAsset,
+            final String fingerprint,
             final Environment env) {
 
         try {
@@ -120,7 +126,8 @@ public class PushedAssetUtil {
                     new PushedAsset(this.config.getId(),
                             assetId, pusheableAsset.toString(), new Date(), env.getId(),
                             environmentsEndpointsAndPublisher.get(env.getId() + ENDPOINTS_SUFFIX),
-                            environmentsEndpointsAndPublisher.get(env.getId() + PUBLISHER_SUFFIX));
+                            environmentsEndpointsAndPublisher.get(env.getId() + PUBLISHER_SUFFIX),
+                            fingerprint);
 
             APILocator.getPushedAssetsAPI().savePushedAsset(assetToPush);
         } catch (DotDataException e) {
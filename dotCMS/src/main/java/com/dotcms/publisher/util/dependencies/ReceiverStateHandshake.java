@@ -0,0 +1,152 @@
+package com.dotcms.publisher.util.dependencies;
+
+import com.dotcms.publisher.assets.bean.PushedAsset;
+import com.dotcms.publisher.business.EndpointDetail;
+import com.dotcms.publisher.business.PublishAuditHistory;
+import com.dotcms.publisher.business.PublishAuditStatus.Status;
+import com.dotcms.publisher.endpoint.bean.PublishingEndPoint;
+import com.dotcms.publishing.PublisherConfiguration;
+import com.dotcms.rest.RestClientBuilder;
+import com.dotcms.util.AnnotationUtils;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UtilMethods;
+import io.vavr.Lazy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Asks the receivers whether they applied the bundle that last carried an asset, before the asset
+ * is left out of a new bundle because its fingerprint did not change. A receiver that lost that
+ * bundle, e.g. because its database was restored, gets the asset again.
+ *
+ * It reuses the audit end-point the sender already polls to follow the status of its bundles, and
+ * every bundle is only checked once for each bundle being generated. The requests have short
+ * timeouts, and an endpoint that fails to answer one is not asked again while the bundle is
+ * generated, its assets are just sent again.
+ *
+ * It is off by default, as it makes one request per previous bundle and endpoint.
+ */
+class ReceiverStateHandshake {
+
+    static final String HANDSHAKE_ENABLED = "PUSH_PUBLISHING_FINGERPRINT_HANDSHAKE";
+    static final String HANDSHAKE_TIMEOUT_MILLIS = "PUSH_PUBLISHING_FINGERPRINT_HANDSHAKE_TIMEOUT_MILLIS";
+
+    private final Map<String, Lazy<Boolean>> appliedBundles = new ConcurrentHashMap<>();
+    private final Map<String, Optional<PublishingEndPoint>> endpoints = new ConcurrentHashMap<>();
+    private final Set<String> unreachableEndpoints = ConcurrentHashMap.newKeySet();
+    private final Lazy<Client> client = Lazy.of(ReceiverStateHandshake::newClient);
+
+    /**
+     * Returns true if every endpoint the asset was pushed to applied the bundle that carried it.
+     * Threads asking for the same bundle wait for a single check, the rest run in parallel.
+     *
+     * @param pushedAsset last push of the asset to an environment
+     * @return false if any of the endpoints did not apply the bundle or could not be asked
+     */
+    boolean isApplied(final PushedAsset pushedAsset) {
+        if (!Config.getBooleanProperty(HANDSHAKE_ENABLED, false)) {
+            return true;
+        }
+
+        final String key = pushedAsset.getBundleId() + ":" + pushedAsset.getEndpointIds();
+        return appliedBundles.computeIfAbsent(key,
+                k -> Lazy.of(() -> isApplied(pushedAsset.getBundleId(), pushedAsset.getEndpointIds())))
+                .get();
+    }
+
+    private boolean isApplied(final String bundleId, final String endpointIds) {
+        if (!UtilMethods.isSet(endpointIds)) {
+            return false;
+        }
+
+        for (final String endpointId : endpointIds.split(",")) {
+            if (!isAppliedOnEndpoint(bundleId, endpointId)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isAppliedOnEndpoint(final String bundleId, final String endpointId) {
+        if (unreachableEndpoints.contains(endpointId)) {
+            return false;
+        }
+
+        try {
+            final PublishingEndPoint endpoint = findEndpoint(endpointId).orElse(null);
+
+            if (endpoint == null || !endpoint.isEnabled()) {
+                return false;
+            }
+
+            if (isStatic(endpoint)) {
+                // static endpoints have no audit to ask, the local push history is all we have
+                return true;
+            }
+
+            try (final Response response = client.get()
+                    .target(endpoint.toURL() + "/api/auditPublishing")
+                    .path("get")
+                    .path(bundleId)
+                    .request().get()) {
+
+                if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                    Logger.debug(this, () -> String.format(
+                            "Endpoint %s has no record of bundle %s", endpoint.getServerName(), bundleId));
+                    return false;
+                }
+
+                final PublishAuditHistory history =
+                        PublishAuditHistory.getObjectFromString(response.readEntity(String.class));
+                return history != null && isSuccess(history.getEndpointsMap().values());
+            }
+        } catch (final Exception e) {
+            unreachableEndpoints.add(endpointId);
+            Logger.warn(this, String.format("Could not check the status of bundle %s in endpoint %s, "
+                    + "its assets are sent again: %s", bundleId, endpointId, e.getMessage()));
+            return false;
+        }
+    }
+
+    private Optional<PublishingEndPoint> findEndpoint(final String endpointId) {
+        return endpoints.computeIfAbsent(endpointId, id -> {
+            try {
+                return Optional.ofNullable(APILocator.getPublisherEndPointAPI().findEndPointById(id));
+            } catch (final Exception e) {
+                Logger.warn(this, String.format("Could not find endpoint %s: %s", id, e.getMessage()));
+                return Optional.empty();
+            }
+        });
+    }
+
+    private boolean isSuccess(final Collection<Map<String, EndpointDetail>> groups) {
+        return !groups.isEmpty() && groups.stream()
+                .flatMap(group -> group.values().stream())
+                .allMatch(detail -> detail.getStatus() == Status.SUCCESS.getCode()
+                        || detail.getStatus() == Status.SUCCESS_WITH_WARNINGS.getCode());
+    }
+
+    private static Client newClient() {
+        final int timeout = Config.getIntProperty(HANDSHAKE_TIMEOUT_MILLIS, 2000);
+        final Client client = RestClientBuilder.newClient();
+        client.property(ClientProperties.CONNECT_TIMEOUT, timeout);
+        client.property(ClientProperties.READ_TIMEOUT, timeout);
+        return client;
+    }
+
+    private boolean isStatic(final PublishingEndPoint endpoint) {
+        final PublisherConfiguration configuration = AnnotationUtils
+                .getBeanAnnotation(endpoint.getPublisher(), PublisherConfiguration.class);
+        return configuration != null && configuration.isStatic();
+    }
+
+}
@@ -16,6 +16,7 @@ import com.dotcms.rest.api.v1.DotObjectMapperProvider;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.business.DotStateException;
 import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.Config;
 import com.dotmarketing.util.ConfigUtils;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
@@ -50,6 +51,9 @@ import java.util.List;
 
 public class BundlerUtil {
 
+    public static final String BUNDLE_FORMAT_PROPERTY = "PUSH_PUBLISHING_BUNDLE_FORMAT";
+    public static final String BINARY_BUNDLE_FORMAT = "binary";
+
     private static ObjectMapper objectMapper;
     private static ObjectMapper customMapper;
 
@@ -278,6 +282,23 @@ public class BundlerUtil {
         XMLSerializerUtil.getInstance().marshal(obj, xmlWriter);
     }
 
+    /**
+     * Serialize a bundled object, e.g. a content or folder wrapper, in the format set by
+     * {@code PUSH_PUBLISHING_BUNDLE_FORMAT}: {@code xml} (the default) or {@code binary}. The binary
+     * format is smaller and faster to read, but it can only be used when every receiver is able to
+     * read it. Receivers detect the format of each file, see {@link #xmlToObject(InputStream)}.
+     *
+     * @param obj          Object to serialize
+     * @param outputStream Stream to write to
+     */
+    public static void objectToBundleFile(final Object obj, final OutputStream outputStream) throws IOException {
+        if (BINARY_BUNDLE_FORMAT.equalsIgnoreCase(Config.getStringProperty(BUNDLE_FORMAT_PROPERTY, "xml"))) {
+            XMLSerializerUtil.getInstance().marshalBinary(obj, outputStream);
+        } else {
+            objectToXML(obj, outputStream);
+        }
+    }
+
     /**
      * Serialize a given object to json (using jackson)
      *
@@ -367,7 +388,7 @@ public class BundlerUtil {
         final XStream xstream = XMLSerializerUtil.getInstance().getXmlSerializer();
 
         try (InputStream input = new BufferedInputStream(inputStream)) {
-            return xstream.fromXML(input);
+            return XMLSerializerUtil.unmarshal(xstream, input);
         }
     }
 
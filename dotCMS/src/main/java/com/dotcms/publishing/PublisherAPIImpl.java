@@ -155,6 +155,7 @@ public class PublisherAPIImpl implements PublisherAPI, DotInitializer {
                         } else {
                             addBundleXMLIntoBundle(config, output);
                         }
+                        output.complete();
                     } else {
                         Logger.info(this, "Retrying bundle: " + config.getId()
                                 + ", we don't need to run bundlers again");
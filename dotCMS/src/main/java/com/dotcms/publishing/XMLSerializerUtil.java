@@ -5,14 +5,30 @@ import com.dotcms.util.xstream.XStreamHandler;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.XStreamException;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
- * Util for serialize object to XML file
+ * Util for serialize object to XML file.
+ * <p>
+ * Objects can also be written in a compact binary format: the same XStream object graph encoded
+ * with XStream's binary driver, where tag and attribute names are written once and then referenced
+ * by id. Binary files start with a small header holding {@link #BINARY_FORMAT_VERSION}, which lets
+ * {@link #unmarshal(XStream, InputStream)} tell them apart from XML files.
  */
 public class XMLSerializerUtil {
 
+    public static final int BINARY_FORMAT_VERSION = 1;
+
+    private static final byte[] BINARY_HEADER = {'D', 'O', 'T', 'B'};
+
     private static final XMLSerializerUtil instance= new XMLSerializerUtil();
     private XStream xmlSerializer;
 
@@ -44,4 +60,44 @@ public class XMLSerializerUtil {
     public void marshal(Object obj, final HierarchicalStreamWriter xmlWriter) {
         xmlSerializer.marshal(obj, xmlWriter);
     }
+
+    /**
+     * Serialize an object to the binary format, preceded by its header. The stream is flushed but
+     * not closed.
+     *
+     * @throws IOException if the object cannot be written
+     */
+    public void marshalBinary(final Object obj, final OutputStream outputStream) throws IOException {
+        outputStream.write(BINARY_HEADER);
+        outputStream.write(BINARY_FORMAT_VERSION);
+        final BinaryStreamWriter binaryWriter = new BinaryStreamWriter(outputStream);
+        xmlSerializer.marshal(obj, binaryWriter);
+        binaryWriter.flush();
+    }
+
+    /**
+     * Deserialize an object written either as XML or in the binary format, detecting the format
+     * from the first bytes of the stream.
+     *
+     * @param xstream     the XStream instance used to read the object
+     * @param inputStream the stream to read, it is not closed
+     * @return the deserialized object
+     * @throws IOException if the stream cannot be read or was written by a newer binary format
+     */
+    public static Object unmarshal(final XStream xstream, final InputStream inputStream) throws IOException {
+        final InputStream input = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        input.mark(BINARY_HEADER.length + 1);
+        final byte[] header = input.readNBytes(BINARY_HEADER.length + 1);
+        if (header.length == BINARY_HEADER.length + 1
+                && Arrays.equals(BINARY_HEADER, Arrays.copyOf(header, BINARY_HEADER.length))) {
+            final int version = header[BINARY_HEADER.length];
+            if (version > BINARY_FORMAT_VERSION) {
+                throw new IOException("Unsupported bundle binary format version: " + version);
+            }
+            return xstream.unmarshal(new BinaryStreamReader(input));
+        }
+
+        input.reset();
+        return xstream.fromXML(input);
+    }
 }
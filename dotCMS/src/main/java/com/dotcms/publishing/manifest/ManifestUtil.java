@@ -35,7 +35,7 @@ public class ManifestUtil {
         if(bundleTarGzipFile.getCanonicalPath().startsWith(ConfigUtils.getBundlePath())) {
             try (final FileInputStream fileInputStream = new FileInputStream(bundleTarGzipFile);
                     BufferedInputStream in = new BufferedInputStream(fileInputStream);
-                    GzipCompressorInputStream gzIn = new GzipCompressorInputStream(in);
+                    GzipCompressorInputStream gzIn = new GzipCompressorInputStream(in, true);
                     TarArchiveInputStream tarInputStream = new TarArchiveInputStream(gzIn)) {
 
                 TarArchiveEntry entry;
@@ -70,7 +70,7 @@ public class ManifestUtil {
 
                 try (final FileInputStream fileInputStream = new FileInputStream(bundleTarGzipFile);
                         BufferedInputStream in = new BufferedInputStream(fileInputStream);
-                        GzipCompressorInputStream gzIn = new GzipCompressorInputStream(in);
+                        GzipCompressorInputStream gzIn = new GzipCompressorInputStream(in, true);
                         TarArchiveInputStream tarInputStream = new TarArchiveInputStream(gzIn)) {
 
                     TarArchiveEntry entry;
@@ -23,6 +23,15 @@ public abstract class BundleOutput implements Closeable {
 
     public abstract void create() throws IOException;
 
+    /**
+     * Called once every file of the bundle was added, right before the output is closed. Outputs
+     * that hand the bundle over while it is written use it to tell a complete bundle from one whose
+     * generation failed.
+     */
+    public void complete() {
+        // nothing to do by default
+    }
+
     /**
      * Add a new file into the output
      *
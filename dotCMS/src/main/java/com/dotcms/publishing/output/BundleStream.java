@@ -0,0 +1,31 @@
+package com.dotcms.publishing.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination that receives the compressed bundle while it is being generated, see
+ * {@link StreamingTarGzipBundleOutput}.
+ */
+public interface BundleStream extends Closeable {
+
+    /**
+     * Sends the next bytes of the bundle. It may block while the destination catches up, and throws
+     * an {@link IOException} when the destination can't take more data, after which the bundle is not
+     * sent to it anymore.
+     */
+    void write(byte[] bytes, int offset, int length) throws IOException;
+
+    /**
+     * Called once the whole bundle was written.
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Called instead of {@link #close()} when the bundle could not be generated, so the destination
+     * never takes a partial bundle as a complete one.
+     */
+    void abort();
+
+}
@@ -0,0 +1,145 @@
+package com.dotcms.publishing.output;
+
+import com.dotcms.concurrent.DotConcurrentFactory;
+import com.dotcms.concurrent.DotSubmitter;
+import com.dotmarketing.util.Config;
+import io.vavr.Lazy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip {@link OutputStream} that splits the data in blocks and compresses them in parallel. Each
+ * block is written as a complete gzip member, one after the other in the original order; a stream of
+ * concatenated members is still a valid gzip file, which {@link java.util.zip.GZIPInputStream} reads
+ * as a single stream.
+ * <p>
+ * The blocks of every stream are compressed in a pool shared by all of them, sized once from
+ * {@code PUSH_PUBLISHING_COMPRESSION_THREADS}: a change of the property needs a restart to resize it.
+ * Each stream keeps at most twice as many blocks as threads pending, once that limit is reached the
+ * writer waits for the oldest block to be written.
+ */
+public class ParallelGzipOutputStream extends FilterOutputStream {
+
+    public static final String COMPRESSION_THREADS = "PUSH_PUBLISHING_COMPRESSION_THREADS";
+
+    private static final String SUBMITTER_NAME = "BundleCompressionThreadPool";
+
+    private static final Lazy<Integer> threads = Lazy.of(() -> Math.max(1, Config.getIntProperty(COMPRESSION_THREADS, 1)));
+
+    private final DotSubmitter submitter;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    private byte[] block;
+    private int blockLength = 0;
+    private boolean closed = false;
+
+    /**
+     * @param out       The stream where the compressed data is written.
+     * @param blockSize The size of the uncompressed blocks.
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final int blockSize) {
+        super(out);
+        this.submitter = DotConcurrentFactory.getInstance().getSubmitter(SUBMITTER_NAME,
+                new DotConcurrentFactory.SubmitterConfigBuilder()
+                        .poolSize(threads.get())
+                        .maxPoolSize(threads.get())
+                        .queueCapacity(Integer.MAX_VALUE)
+                        .build());
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = threads.get() * 2;
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            final int count = Math.min(length, blockSize - blockLength);
+            System.arraycopy(bytes, offset, block, blockLength, count);
+            blockLength += count;
+            offset += count;
+            length -= count;
+            if (blockLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        if (blockLength == 0) {
+            return;
+        }
+
+        final byte[] data = blockLength == blockSize ? block : Arrays.copyOf(block, blockLength);
+        final int length = blockLength;
+        pendingBlocks.addLast(submitter.submit(() -> compress(data, length)));
+        block = new byte[blockSize];
+        blockLength = 0;
+
+        while (pendingBlocks.size() >= maxPendingBlocks) {
+            writeOldestBlock();
+        }
+    }
+
+    private void writeOldestBlock() throws IOException {
+        try {
+            out.write(pendingBlocks.pollFirst().get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (final ExecutionException e) {
+            throw new IOException("Unable to compress bundle block", e.getCause());
+        }
+    }
+
+    private static byte[] compress(final byte[] data, final int length) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Compresses the data written so far and waits for all the pending blocks to be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        submitBlock();
+        while (!pendingBlocks.isEmpty()) {
+            writeOldestBlock();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+        } finally {
+            pendingBlocks.forEach(pending -> pending.cancel(true));
+            out.close();
+        }
+    }
+
+}
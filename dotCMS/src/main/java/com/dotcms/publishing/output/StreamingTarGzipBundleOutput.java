@@ -0,0 +1,116 @@
+package com.dotcms.publishing.output;
+
+import com.dotcms.publishing.PublisherConfig;
+import com.dotmarketing.util.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link TarGzipBundleOutput} that also hands the compressed bundle to a list of {@link BundleStream}
+ * while it is being written, e.g. to upload it to the endpoints at the same time it is generated.
+ * <p>
+ * The bundle file is still written, so it can be sent again if a stream fails or the bundle is
+ * retried. A stream that fails is dropped and the bundle keeps being generated for the others.
+ */
+public class StreamingTarGzipBundleOutput extends TarGzipBundleOutput {
+
+    private final Supplier<List<BundleStream>> streamsSupplier;
+    private final List<BundleStream> streams = new ArrayList<>();
+    private boolean completed = false;
+
+    /**
+     * @param publisherConfig The configuration of the bundle.
+     * @param streamsSupplier Opens the streams, it is only called if the bundle is generated, i.e. not
+     *                        when an existing bundle file is retried.
+     */
+    public StreamingTarGzipBundleOutput(final PublisherConfig publisherConfig,
+            final Supplier<List<BundleStream>> streamsSupplier) throws IOException {
+        super(publisherConfig);
+        this.streamsSupplier = streamsSupplier;
+    }
+
+    @Override
+    protected OutputStream newOutputStream() throws IOException {
+        streams.addAll(streamsSupplier.get());
+        return new TeeOutputStream(super.newOutputStream());
+    }
+
+    @Override
+    public void complete() {
+        this.completed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } catch (final IOException | RuntimeException e) {
+            this.completed = false;
+            throw e;
+        } finally {
+            for (final BundleStream stream : streams) {
+                if (completed) {
+                    try {
+                        stream.close();
+                    } catch (final IOException e) {
+                        Logger.warn(this, "Unable to finish bundle stream: " + e.getMessage());
+                    }
+                } else {
+                    stream.abort();
+                }
+            }
+            streams.clear();
+        }
+    }
+
+    /**
+     * Writes the bundle to the file and to every stream that didn't fail.
+     */
+    private class TeeOutputStream extends OutputStream {
+
+        private final OutputStream fileOutputStream;
+
+        private TeeOutputStream(final OutputStream fileOutputStream) {
+            this.fileOutputStream = fileOutputStream;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            fileOutputStream.write(bytes, offset, length);
+
+            final Iterator<BundleStream> iterator = streams.iterator();
+            while (iterator.hasNext()) {
+                final BundleStream stream = iterator.next();
+                try {
+                    stream.write(bytes, offset, length);
+                } catch (final IOException e) {
+                    Logger.warn(StreamingTarGzipBundleOutput.class,
+                            "Bundle stream dropped, the bundle file will be sent instead: " + e.getMessage());
+                    stream.abort();
+                    iterator.remove();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            fileOutputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            fileOutputStream.close();
+        }
+    }
+
+}
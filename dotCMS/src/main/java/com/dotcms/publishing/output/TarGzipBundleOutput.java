@@ -2,6 +2,7 @@ package com.dotcms.publishing.output;
 
 import com.dotcms.publishing.PublisherConfig;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.util.Config;
 import com.dotmarketing.util.ConfigUtils;
@@ -16,13 +17,24 @@ import java.util.Collection;
 import java.util.zip.GZIPOutputStream;
 
 /**
- * {@link BundleOutput} implementation to create a bundle in a tar.gzip file
+ * {@link BundleOutput} implementation to create a bundle in a tar.gzip file.
+ * <p>
+ * The bundle is compressed in parallel when {@code PUSH_PUBLISHING_COMPRESSION_THREADS} is greater
+ * than 1, see {@link ParallelGzipOutputStream}. Files added to the bundle are kept in memory until
+ * they reach {@code PUSH_PUBLISHING_ENTRY_MEMORY_THRESHOLD} bytes, bigger files are spooled to a
+ * temporary file before being added to the tar.
  */
 public class TarGzipBundleOutput extends BundleOutput {
     private File tarGzipFile;
     private TarArchiveOutputStream tarArchiveOutputStream;
     private int GZIP_OUTPUT_STREAM_BUFFER_SIZE = Config
             .getIntProperty("GZIP_OUTPUT_STREAM_BUFFER_SIZE", 65536);
+    private int COMPRESSION_THREADS = Config
+            .getIntProperty(ParallelGzipOutputStream.COMPRESSION_THREADS, 1);
+    private int COMPRESSION_BLOCK_SIZE = Config
+            .getIntProperty("PUSH_PUBLISHING_COMPRESSION_BLOCK_SIZE", 1024 * 1024);
+    private int ENTRY_MEMORY_THRESHOLD = Config
+            .getIntProperty("PUSH_PUBLISHING_ENTRY_MEMORY_THRESHOLD", 1024 * 1024);
 
     public TarGzipBundleOutput(final PublisherConfig publisherConfig) throws IOException {
         super(publisherConfig);
@@ -32,15 +44,24 @@ public class TarGzipBundleOutput extends BundleOutput {
 
     @Override
     public void create() throws IOException {
-        final OutputStream outputStream = Files.newOutputStream(tarGzipFile.toPath());
+        final OutputStream outputStream = newOutputStream();
 
-        tarArchiveOutputStream = new TarArchiveOutputStream(new GZIPOutputStream(outputStream, GZIP_OUTPUT_STREAM_BUFFER_SIZE));
+        tarArchiveOutputStream = new TarArchiveOutputStream(COMPRESSION_THREADS > 1 ?
+                new ParallelGzipOutputStream(outputStream, COMPRESSION_BLOCK_SIZE) :
+                new GZIPOutputStream(outputStream, GZIP_OUTPUT_STREAM_BUFFER_SIZE));
 
         tarArchiveOutputStream.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_STAR);
         // TAR originally didn't support long file names, so enable the support for it
         tarArchiveOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
     }
 
+    /**
+     * Returns the stream where the compressed bundle is written, by default the bundle file.
+     */
+    protected OutputStream newOutputStream() throws IOException {
+        return Files.newOutputStream(tarGzipFile.toPath());
+    }
+
     public static File getBundleTarGzipFile(final String bundleId) {
         final String fileName = String.format("%s%s%s.tar.gz",ConfigUtils.getBundlePath(),File.separator,bundleId);
         return new File(fileName);
@@ -115,35 +136,43 @@ public class TarGzipBundleOutput extends BundleOutput {
         }
     }
 
-    private class TarGzipPublisherOutputStream extends ByteArrayOutputStream {
+    private class TarGzipPublisherOutputStream extends DeferredFileOutputStream {
         private boolean closed = false;
         private String filePath;
 
         public TarGzipPublisherOutputStream(final String filePath) {
-            super();
+            super(ENTRY_MEMORY_THRESHOLD, "bundle-entry", ".tmp", null);
 
             this.filePath = filePath;
         }
 
         @Override
         public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
             super.close();
 
-            final byte[] bytes = this.toByteArray();
-
             final TarArchiveEntry tarArchiveEntry = new TarArchiveEntry(filePath);
-            tarArchiveEntry.setSize(bytes.length);
+            tarArchiveEntry.setSize(this.getByteCount());
 
-            putEntry(bytes, tarArchiveEntry);
+            try (final InputStream inputStream = this.isInMemory() ?
+                    new ByteArrayInputStream(this.getData()) : Files.newInputStream(this.getFile().toPath())) {
+                putEntry(inputStream, tarArchiveEntry);
+            } finally {
+                if (!this.isInMemory()) {
+                    Files.deleteIfExists(this.getFile().toPath());
+                }
+            }
 
             this.closed = true;
         }
 
-        private void putEntry(byte[] bytes, TarArchiveEntry tarArchiveEntry) throws IOException {
+        private void putEntry(final InputStream inputStream, final TarArchiveEntry tarArchiveEntry) throws IOException {
             synchronized (tarArchiveOutputStream) {
                 try {
                     tarArchiveOutputStream.putArchiveEntry(tarArchiveEntry);
-                    IOUtils.copy(new ByteArrayInputStream(bytes), tarArchiveOutputStream);
+                    IOUtils.copy(inputStream, tarArchiveOutputStream);
                 } finally {
                     tarArchiveOutputStream.closeArchiveEntry();
                 }
@@ -43,4 +43,12 @@ public class ScriptEngineFactory {
 
         return this.instanceMap.getOrDefault(engineName, this.defaultEngine);
     }
+
+    /**
+     * Releases the resources held by the engines, i.e. the shared js engine
+     */
+    public void shutdown () {
+
+        this.jsScriptEngine.shutdown();
+    }
 }
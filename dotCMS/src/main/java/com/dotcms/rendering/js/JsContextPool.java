@@ -0,0 +1,109 @@
+package com.dotcms.rendering.js;
+
+import com.dotmarketing.util.Logger;
+import io.vavr.control.Try;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of GraalJS {@link Context}s that already evaluated the dot functions and modules, so
+ * a request does not have to build a context and parse them again. A context is only used by one
+ * request at a time, the members bound for a request are removed before the context goes back to
+ * the pool.
+ * <p>
+ * The pool never blocks, when there is no idle context a new one is built, and when the pool is
+ * full the returned context is closed. Contexts are also discarded when they get older than the max
+ * age, so the modules imported by the scripts are eventually read again, or when the dot sources
+ * changed since they were built.
+ */
+class JsContextPool {
+
+    private final Supplier<Context> contextFactory;
+    private final BlockingQueue<PooledContext> idleContexts;
+    private final long maxAgeMillis;
+
+    JsContextPool(final Supplier<Context> contextFactory, final int size, final long maxAgeMillis) {
+        this.contextFactory = contextFactory;
+        this.idleContexts   = new ArrayBlockingQueue<>(size);
+        this.maxAgeMillis   = maxAgeMillis;
+    }
+
+    /**
+     * Takes an idle context initialized with the given dot sources, or builds a new one
+     * @param dotSources the dot functions and modules the context must have loaded
+     * @return PooledContext
+     */
+    PooledContext borrow(final List<Source> dotSources) {
+
+        PooledContext pooledContext;
+        while (null != (pooledContext = this.idleContexts.poll())) {
+
+            if (pooledContext.canBeReused(dotSources, this.maxAgeMillis)) {
+                return pooledContext;
+            }
+            pooledContext.close();
+        }
+
+        final Context context = this.contextFactory.get();
+        try {
+            dotSources.forEach(context::eval);
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+        return new PooledContext(context, dotSources);
+    }
+
+    /**
+     * Gives a context back to the pool
+     * @param pooledContext context borrowed from this pool
+     * @param reusable false if the context must not be used again, i.e. the script failed
+     */
+    void release(final PooledContext pooledContext, final boolean reusable) {
+
+        if (!reusable || !this.idleContexts.offer(pooledContext)) {
+            pooledContext.close();
+        }
+    }
+
+    /**
+     * Closes all the idle contexts
+     */
+    void clear() {
+
+        PooledContext pooledContext;
+        while (null != (pooledContext = this.idleContexts.poll())) {
+            pooledContext.close();
+        }
+    }
+
+    static final class PooledContext {
+
+        private final Context context;
+        private final List<Source> dotSources;
+        private final long created = System.currentTimeMillis();
+
+        private PooledContext(final Context context, final List<Source> dotSources) {
+            this.context    = context;
+            this.dotSources = dotSources;
+        }
+
+        Context getContext() {
+            return context;
+        }
+
+        private boolean canBeReused(final List<Source> currentDotSources, final long maxAgeMillis) {
+            return this.dotSources == currentDotSources && System.currentTimeMillis() - this.created < maxAgeMillis;
+        }
+
+        private void close() {
+            Try.run(this.context::close).onFailure(e -> Logger.debug(JsContextPool.class,
+                    () -> "Could not close a js context: " + e.getMessage()));
+        }
+    }
+}
@@ -34,10 +34,14 @@ import com.oracle.truffle.js.runtime.builtins.JSPromise;
 import com.oracle.truffle.js.runtime.builtins.JSPromiseObject;
 import io.vavr.Lazy;
 import io.vavr.control.Try;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.velocity.tools.view.context.ChainedContext;
 import org.apache.velocity.tools.view.context.ViewContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
@@ -51,10 +55,15 @@ import java.io.StringReader;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,6 +71,15 @@ import static com.dotmarketing.util.VelocityUtil.getBasicContext;
 
 /**
  * Js script engine implementation
+ * <p>
+ * With {@code JS_ENGINE_SHARED} (off by default) all the contexts are created on a shared GraalJS
+ * {@link Engine}, so the code parsed and compiled by Graal is reused across requests instead of being
+ * thrown away with each context. The shared engine is closed by {@link #shutdown()}. On top of that,
+ * {@code JS_ENGINE_CONTEXT_POOL_SIZE} turns on a pool of contexts with the dot functions and modules
+ * already evaluated, it needs the shared engine, see {@link JsContextPool}. Pooled
+ * contexts are reused by several requests, so globals defined by a script (i.e. a top level
+ * {@code var}) are visible to the next script run on the same context, keep it off if the scripts
+ * rely on a clean global scope.
  * @author jsanca
  */
 public class JsEngine implements ScriptEngine {
@@ -76,6 +94,30 @@ public class JsEngine implements ScriptEngine {
 
     private final Lazy<Boolean> allowAllHostAccess = Lazy.of(()-> Config.getBooleanProperty("ALLOW_ALL_HOST_ACCESS", false));
 
+    private final Lazy<Engine> sharedEngine = Lazy.of(()-> Config.getBooleanProperty("JS_ENGINE_SHARED", false)?
+            Engine.newBuilder()
+                    .out(new ConsumerOutputStream(msg->Logger.debug(JsEngine.class, msg)))
+                    .err(new ConsumerOutputStream(msg->Logger.debug(JsEngine.class, msg)))
+                    .build(): null);
+
+    private final Lazy<JsContextPool> contextPool = Lazy.of(()-> {
+        final int poolSize = Config.getIntProperty("JS_ENGINE_CONTEXT_POOL_SIZE", 0);
+        return poolSize > 0 && null != this.sharedEngine.get()?
+                new JsContextPool(this::buildContext, poolSize,
+                        TimeUnit.SECONDS.toMillis(Config.getLongProperty("JS_ENGINE_CONTEXT_MAX_AGE_SECONDS", 60))): null;
+    });
+
+    // sources are kept by name and content (user scripts) or path and modification date (dot files),
+    // Graal reuses the code already parsed for the same Source on a shared engine
+    private static final Cache<String, Source> userSources = Caffeine.newBuilder()
+            .maximumSize(Config.getIntProperty("JS_ENGINE_SOURCE_CACHE_SIZE", 1000)).build();
+    private static final Cache<String, Source> fileSources = Caffeine.newBuilder()
+            .maximumSize(Config.getIntProperty("JS_ENGINE_SOURCE_CACHE_SIZE", 1000)).build();
+
+    // bounded, the file names come from the requests
+    private final Cache<String, ScriptStats> scriptStats = Caffeine.newBuilder()
+            .maximumSize(Config.getIntProperty("JS_ENGINE_SCRIPT_STATS_SIZE", 1000)).build();
+
     public JsEngine () {
         try {
             this.addJsViewTool(UserJsViewTool.class);
@@ -141,6 +183,11 @@ public class JsEngine implements ScriptEngine {
                 .err(new ConsumerOutputStream(msg->Logger.debug(JsEngine.class, msg)))
                 .fileSystem(jsFileSystem);
 
+                final Engine engine = this.sharedEngine.get();
+                if (null != engine) {
+                    builder.engine(engine);
+                }
+
                 final boolean allowAllHostAccess = this.allowAllHostAccess.get();
                 if (allowAllHostAccess) {
                     builder.allowHostAccess(HostAccess.ALL);
@@ -157,36 +204,165 @@ public class JsEngine implements ScriptEngine {
                        final Map<String, Object> contextParams) {
 
         final DotJSON dotJSON = (DotJSON)contextParams.computeIfAbsent(DOT_JSON, k -> new DotJSON());
-        try (Context context = buildContext()) {
+        final String fileName  = contextParams.getOrDefault("dot:jsfilename", "sample.js").toString();
+        final long startTime   = System.nanoTime();
+        try {
 
-            final Object fileName   = contextParams.getOrDefault("dot:jsfilename", "sample.js");
-            final Source userSource = Source.newBuilder(ENGINE_JS, scriptReader, fileName.toString()).build();
+            final Source userSource = toUserSource(fileName, scriptReader);
             final List<Source> dotSources = getDotSources();
-            final Value bindings = context.getBindings(ENGINE_JS);
-            contextParams.entrySet().forEach(entry -> bindings.putMember(entry.getKey(), entry.getValue()));
-            this.addTools(request, response, bindings);
-
             final JsRequest jsRequest   = new JsRequest(request, contextParams);
             final JsResponse jsResponse = new JsResponse(response);
-            bindings.putMember(DOT_JSON, dotJSON);
-            bindings.putMember("request",  jsRequest);
-            bindings.putMember("response", jsResponse);
-
-            dotSources.stream().forEach(context::eval);
-            Value eval = context.eval(userSource);
-            if (eval.canExecute()) {
-                eval = contextParams.containsKey("dot:arguments")?
-                        eval.execute(buildArgs(jsRequest, jsResponse, (Object[])contextParams.get("dot:arguments"))):
-                        eval.execute(buildArgs(jsRequest, jsResponse, null));
-            }
+            final JsContextPool pool = this.contextPool.get();
+            if (null == pool) {
 
-            checkRejected (eval);
+                try (Context context = buildContext()) {
 
-            return asValue(eval, dotJSON);
+                    this.bind(request, response, jsRequest, jsResponse, contextParams, dotJSON, context.getBindings(ENGINE_JS));
+                    dotSources.stream().forEach(context::eval);
+                    return this.run(context, userSource, jsRequest, jsResponse, contextParams, dotJSON);
+                }
+            }
+
+            final JsContextPool.PooledContext pooledContext = pool.borrow(dotSources);
+            final Value bindings = pooledContext.getContext().getBindings(ENGINE_JS);
+            Set<String> boundNames = Set.of();
+            boolean reusable = false;
+            try {
+
+                boundNames = this.bind(request, response, jsRequest, jsResponse, contextParams, dotJSON, bindings);
+                final Object result = this.run(pooledContext.getContext(), userSource, jsRequest, jsResponse, contextParams, dotJSON);
+                reusable = true;
+                return result;
+            } finally {
+
+                final Set<String> names = boundNames;
+                reusable = reusable && Try.run(()-> names.forEach(bindings::removeMember)).isSuccess();
+                pool.release(pooledContext, reusable);
+            }
         } catch (final IOException e) {
 
             Logger.error(this, e.getMessage(), e);
             throw new JsEngineException(e);
+        } finally {
+
+            this.recordScriptTime(fileName, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Adds the context params, the tools, the dotJSON, request and response to the bindings
+     * @return the names of the members added
+     */
+    private Set<String> bind(final HttpServletRequest request,
+                             final HttpServletResponse response,
+                             final JsRequest jsRequest,
+                             final JsResponse jsResponse,
+                             final Map<String, Object> contextParams,
+                             final DotJSON dotJSON,
+                             final Value bindings) {
+
+        final Set<String> boundNames = new LinkedHashSet<>(contextParams.keySet());
+        contextParams.entrySet().forEach(entry -> bindings.putMember(entry.getKey(), entry.getValue()));
+        boundNames.addAll(this.addTools(request, response, bindings));
+
+        bindings.putMember(DOT_JSON, dotJSON);
+        bindings.putMember("request",  jsRequest);
+        bindings.putMember("response", jsResponse);
+        boundNames.add(DOT_JSON);
+        boundNames.add("request");
+        boundNames.add("response");
+        return boundNames;
+    }
+
+    private Object run(final Context context,
+                       final Source userSource,
+                       final JsRequest jsRequest,
+                       final JsResponse jsResponse,
+                       final Map<String, Object> contextParams,
+                       final DotJSON dotJSON) {
+
+        Value eval = context.eval(userSource);
+        if (eval.canExecute()) {
+            eval = contextParams.containsKey("dot:arguments")?
+                    eval.execute(buildArgs(jsRequest, jsResponse, (Object[])contextParams.get("dot:arguments"))):
+                    eval.execute(buildArgs(jsRequest, jsResponse, null));
+        }
+
+        checkRejected (eval);
+
+        return asValue(eval, dotJSON);
+    }
+
+    /**
+     * Returns the Source for a user script, the same Source instance is reused while the script
+     * does not change, so the code parsed for it by the shared engine can be reused as well
+     */
+    private static Source toUserSource(final String fileName, final Reader scriptReader) throws IOException {
+
+        final String script = IOUtils.toString(scriptReader);
+        final Source cachedSource = userSources.getIfPresent(fileName);
+        if (null != cachedSource && script.equals(cachedSource.getCharacters().toString())) {
+
+            return cachedSource;
+        }
+
+        final Source source = Source.newBuilder(ENGINE_JS, script, fileName).buildLiteral();
+        userSources.put(fileName, source);
+        return source;
+    }
+
+    private void recordScriptTime(final String fileName, final long nanos) {
+
+        this.scriptStats.get(fileName, key -> new ScriptStats()).record(nanos);
+        Logger.debug(this, ()-> "Js script: " + fileName + " took: " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+    }
+
+    /**
+     * Returns the number of executions, total and max time in milliseconds of the scripts run by this engine,
+     * up to {@code JS_ENGINE_SCRIPT_STATS_SIZE} scripts
+     * @return Map script name -> stats
+     */
+    public Map<String, Map<String, Long>> getScriptStats() {
+
+        final Map<String, Map<String, Long>> stats = new HashMap<>();
+        this.scriptStats.asMap().forEach((fileName, scriptStat) -> stats.put(fileName, scriptStat.toMap()));
+        return stats;
+    }
+
+    /**
+     * Closes the pooled contexts and the shared engine, if they were created
+     */
+    public void shutdown() {
+
+        if (this.contextPool.isEvaluated() && null != this.contextPool.get()) {
+            this.contextPool.get().clear();
+        }
+
+        if (this.sharedEngine.isEvaluated() && null != this.sharedEngine.get()) {
+            Try.run(()-> this.sharedEngine.get().close()).onFailure(e -> Logger.warn(JsEngine.class,
+                    "Could not close the shared js engine: " + e.getMessage()));
+        }
+    }
+
+    private static final class ScriptStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        private void record(final long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+        }
+
+        private Map<String, Long> toMap() {
+            final long executions = this.count.sum();
+            final long totalMillis = TimeUnit.NANOSECONDS.toMillis(this.totalNanos.sum());
+            return Map.of("count", executions,
+                    "totalMillis", totalMillis,
+                    "averageMillis", executions > 0? totalMillis / executions: 0,
+                    "maxMillis", TimeUnit.NANOSECONDS.toMillis(this.maxNanos.get()));
         }
     }
 
@@ -373,7 +549,12 @@ public class JsEngine implements ScriptEngine {
      */
     public static Source toSource (final String absolutePath, final File file) {
 
-        Source source = null;
+        final String sourceKey = absolutePath + ":" + file.lastModified();
+        Source source = fileSources.getIfPresent(sourceKey);
+        if (Objects.nonNull(source)) {
+            return source;
+        }
+
         final String sourceContent = toString(absolutePath, file);
 
         if (Objects.nonNull(sourceContent)) {
@@ -381,6 +562,7 @@ public class JsEngine implements ScriptEngine {
             final StringReader stringReader  = new StringReader(sourceContent);
             source = Try.of(() ->
                     Source.newBuilder(ENGINE_JS, stringReader, absolutePath).build()).getOrElseThrow(JsEngineException::new);
+            fileSources.put(sourceKey, source);
         }
 
         return source;
@@ -394,7 +576,12 @@ public class JsEngine implements ScriptEngine {
      */
     public static Source toModuleSource (final String absolutePath, final String modulePath, final File file) {
 
-        Source source = null;
+        final String sourceKey = absolutePath + ":" + file.lastModified() + ":" + modulePath;
+        Source source = fileSources.getIfPresent(sourceKey);
+        if (Objects.nonNull(source)) {
+            return source;
+        }
+
         final String sourceContent = toString(absolutePath, file);
 
         if (Objects.nonNull(sourceContent)) {
@@ -404,6 +591,7 @@ public class JsEngine implements ScriptEngine {
                     Source.newBuilder(ENGINE_JS, stringReader, modulePath)
                             .mimeType("application/javascript+module")
                             .build()).getOrElseThrow(JsEngineException::new);
+            fileSources.put(sourceKey, source);
         }
 
         return source;
@@ -420,10 +608,11 @@ public class JsEngine implements ScriptEngine {
                 CollectionsUtils.concat(defaultArgsArray, objects): defaultArgsArray;
     }
 
-    private void addTools(final HttpServletRequest request,
-                          final HttpServletResponse response,
-                          final Value bindings) {
+    private Set<String> addTools(final HttpServletRequest request,
+                                 final HttpServletResponse response,
+                                 final Value bindings) {
 
+        final Set<String> toolNames = new LinkedHashSet<>();
         this.jsRequestViewToolMap.entrySet().forEach(entry -> {
 
                 try {
@@ -433,6 +622,7 @@ public class JsEngine implements ScriptEngine {
                         final JsViewTool jsViewTool = (JsViewTool)instance;
                         initJsViewTool(request, response, jsViewTool);
                         bindings.putMember(jsViewTool.getName(), instance);
+                        toolNames.add(jsViewTool.getName());
                     }
                 } catch (final InstantiationException | IllegalAccessException | NoSuchMethodException |
                                InvocationTargetException e) {
@@ -445,7 +635,10 @@ public class JsEngine implements ScriptEngine {
 
             final JsViewTool instance = entry.getValue();
             bindings.putMember(instance.getName(), instance);
+            toolNames.add(instance.getName());
         });
+
+        return toolNames;
     }
 
     private void initJsViewTool(final HttpServletRequest request,
@@ -8,6 +8,8 @@ import com.dotcms.repackage.com.google.common.collect.ImmutableSet;
 import com.dotmarketing.business.Cachable;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.DotCacheAdministrator;
+import com.dotmarketing.business.DotCacheAdministrator.CacheLoader;
+import com.dotmarketing.business.SingleFlight;
 import com.dotmarketing.util.Logger;
 import java.util.HashSet;
 import java.util.Map;
@@ -32,6 +34,9 @@ public class DotResourceCache implements ResourceCache, Cachable {
 
     private DotCacheAdministrator cache;
 
+    // containers share a single cache entry for all their paths, so they are loaded per path here
+    private final SingleFlight containerFlight = new SingleFlight();
+
     private String primaryGroup = "VelocityCache";
     private String macroCacheGroup = "VelocityMacroCache";
     // region's name for the cache
@@ -100,6 +105,27 @@ public class DotResourceCache implements ResourceCache, Cachable {
 
     }
 
+    /**
+     * Returns the cached resource, loading and caching it on a miss. Concurrent misses of the same
+     * resource, i.e. right after it was invalidated, share a single load and parse.
+     */
+    public <E extends Exception> Resource getOrLoad(final Object resourceKey, final CacheLoader<Resource, E> loader)
+            throws E {
+
+        final VelocityResourceKey key = new VelocityResourceKey(resourceKey);
+
+        if (key.type == VelocityType.CONTAINER) {
+            final Resource cached = get(resourceKey);
+            return cached != null ? cached
+                    : containerFlight.load(key.path, loader, resource -> put(resourceKey, resource));
+        }
+        // the global macro libraries are never cached, see put
+        if (ignoreGlobalVM.contains(key.path) || ignoreGlobalVM.contains(key.path.substring(1))) {
+            return loader.load();
+        }
+        return cache.getOrLoad(key.cacheKey, primaryGroup, loader);
+    }
+
     @Override
     public void initialize(RuntimeServices rs) {
         cache = CacheLocator.getCacheAdministrator();
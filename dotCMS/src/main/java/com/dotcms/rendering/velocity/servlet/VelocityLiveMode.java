@@ -11,6 +11,7 @@ import com.dotcms.visitor.domain.Visitor;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Identifier;
 import com.dotmarketing.business.APILocator;
+import com.dotmarketing.business.BlockPageCacheEntry;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.PageCacheParameters;
 import com.dotmarketing.business.web.WebAPILocator;
@@ -18,6 +19,7 @@ import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotSecurityException;
 import com.dotmarketing.factories.ClickstreamFactory;
 import com.dotmarketing.filters.CMSUrlUtil;
+import com.dotmarketing.filters.compression.GZIPResponseStream;
 import com.dotmarketing.portlets.htmlpageasset.model.HTMLPageAsset;
 import com.dotmarketing.portlets.htmlpageasset.model.IHTMLPage;
 import com.dotmarketing.portlets.rules.business.RulesEngine;
@@ -33,6 +35,7 @@ import org.apache.velocity.context.Context;
 import javax.servlet.RequestDispatcher;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 import javax.servlet.http.HttpSession;
 import static com.dotmarketing.filters.Constants.VANITY_URL_OBJECT;
 import java.io.*;
@@ -67,11 +70,15 @@ public class VelocityLiveMode extends VelocityModeHandler {
 
     @Override
     public final void serve() throws DotDataException, IOException, DotSecurityException {
-        serve(response.getOutputStream());
+        serve(response.getOutputStream(), true);
     }
 
     @Override
     public final void serve(final OutputStream out) throws DotDataException, IOException, DotSecurityException {
+        serve(out, false);
+    }
+
+    private void serve(final OutputStream out, final boolean toResponse) throws DotDataException, IOException, DotSecurityException {
 
         LicenseUtil.startLiveMode();
         try {
@@ -174,44 +181,91 @@ public class VelocityLiveMode extends VelocityModeHandler {
             
             if (shouldCache) {
 
-                final String cachedPage = CacheLocator.getBlockPageCache().get(htmlPage, cacheParameters);
+                // concurrent requests of the same uncached page wait for a single render
+                final boolean[] rendered = {false};
+                final BlockPageCacheEntry cachedPage = CacheLocator.getBlockPageCache().getOrLoad(htmlPage, cacheParameters, () -> {
+                    rendered[0] = true;
+                    try (final Writer tmpOut = stringWriterLocal.get()) {
+                        render(context, tmpOut);
+                        final String trimmedPage = tmpOut.toString().trim();
+                        if (response.getStatus() == 200) {
+                            return trimmedPage;
+                        }
+                        // not cached nor shared with the waiting requests, they render it on their own
+                        out.write(trimmedPage.getBytes());
+                        return null;
+                    }
+                });
                 if (cachedPage != null) {
                     // have cached response and are not refreshing, send it
-                    out.write(cachedPage.getBytes());
+                    if (toResponse) {
+                        writeCachedPage(cachedPage, out);
+                    } else {
+                        out.write(cachedPage.getBytes());
+                    }
+                    return;
+                }
+                if (rendered[0]) {
                     return;
                 }
             }
             
-            try (final Writer tmpOut = shouldCache ? stringWriterLocal.get() : new BufferedWriter(new OutputStreamWriter(out))) {
+            try (final Writer tmpOut = new BufferedWriter(new OutputStreamWriter(out))) {
+                render(context, tmpOut);
+            }
+        } finally {
+            stringWriterLocal.get().getBuffer().setLength(0);
+            LicenseUtil.stopLiveMode();
+        }
+    }
 
-                if (ContentSecurityPolicyUtil.isConfig()) {
-                    ContentSecurityPolicyUtil.init(request);
-                    ContentSecurityPolicyUtil.addHeader(response);
-                }
 
-                HttpServletRequestThreadLocal.INSTANCE.setRequest(request);
-                HttpServletResponseThreadLocal.INSTANCE.setResponse(response);
 
-                this.getTemplate(htmlPage, mode).merge(context, tmpOut);
+    /**
+     * Writes a cached page to the response. Conditional requests are answered with a 304, and the
+     * gzipped copy of the page is sent as is when the client accepts it.
+     */
+    private void writeCachedPage(final BlockPageCacheEntry cachedPage, final OutputStream out) throws IOException {
 
-                if (shouldCache) {
-                    final String trimmedPage = tmpOut.toString().trim();
-                    out.write(trimmedPage.getBytes());
+        final String acceptEncoding = request.getHeader("Accept-Encoding");
+        // the GZIPFilter only wraps the response when the client accepts gzip, any other wrapper
+        // could be rewriting the body so the gzipped copy is only written to the bare response
+        final boolean gzip = cachedPage.hasGzippedBytes() && !response.containsHeader("Content-Encoding")
+                && (out instanceof GZIPResponseStream
+                    || (!(response instanceof HttpServletResponseWrapper) && null != acceptEncoding && acceptEncoding.contains("gzip")));
 
-                    if(response.getStatus() == 200) {
-                        CacheLocator.getBlockPageCache()
-                                .add(htmlPage, trimmedPage, cacheParameters);
+        response.setHeader("ETag", cachedPage.getETag(gzip));
+        if (cachedPage.hasGzippedBytes()) {
+            response.addHeader("Vary", "Accept-Encoding");
+        }
+        if (response.getStatus() == HttpServletResponse.SC_OK && cachedPage.matches(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
 
-                    }
-                }
-            }
-        } finally {
-            stringWriterLocal.get().getBuffer().setLength(0);
-            LicenseUtil.stopLiveMode();
+        if (!gzip) {
+            out.write(cachedPage.getBytes());
+        } else if (out instanceof GZIPResponseStream) {
+            ((GZIPResponseStream) out).writeCompressed(cachedPage.getGzippedBytes());
+        } else {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setContentLength(cachedPage.getGzippedBytes().length);
+            out.write(cachedPage.getGzippedBytes());
         }
     }
 
+    private void render(final Context context, final Writer writer) {
+
+        if (ContentSecurityPolicyUtil.isConfig()) {
+            ContentSecurityPolicyUtil.init(request);
+            ContentSecurityPolicyUtil.addHeader(response);
+        }
+
+        HttpServletRequestThreadLocal.INSTANCE.setRequest(request);
+        HttpServletResponseThreadLocal.INSTANCE.setResponse(response);
 
+        this.getTemplate(htmlPage, mode).merge(context, writer);
+    }
 
     User getUser() {
         User user = null;
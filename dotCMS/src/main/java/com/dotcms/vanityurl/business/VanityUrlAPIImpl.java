@@ -4,11 +4,11 @@ import com.dotcms.api.web.HttpServletRequestThreadLocal;
 import com.dotcms.business.CloseDBIfOpened;
 import com.dotcms.contenttype.model.type.VanityUrlContentType;
 import com.dotcms.http.CircuitBreakerUrl;
-import com.dotcms.regex.MatcherTimeoutFactory;
 import com.dotcms.repackage.com.google.common.annotations.VisibleForTesting;
 import com.dotcms.vanityurl.cache.VanityUrlCache;
 import com.dotcms.vanityurl.filters.VanityUrlRequestWrapper;
 import com.dotcms.vanityurl.model.CachedVanityUrl;
+import com.dotcms.vanityurl.model.CompiledVanityUrls;
 import com.dotcms.vanityurl.model.DefaultVanityUrl;
 import com.dotcms.vanityurl.model.VanityUrl;
 import com.dotcms.vanityurl.model.VanityUrlResult;
@@ -192,18 +192,27 @@ public class VanityUrlAPIImpl implements VanityUrlAPI {
 
   private List<CachedVanityUrl> load(final Host site, final Language language) {
 
-    List<CachedVanityUrl> cachedVanities = cache.getSiteMappings(site, language);
-    if(cachedVanities == null) {
+    return loadCompiled(site, language).getVanityUrls();
+  }
+
+  private CompiledVanityUrls loadCompiled(final Host site, final Language language) {
+
+    CompiledVanityUrls compiledVanities = cache.getCompiledSiteMappings(site, language);
+    if(compiledVanities == null) {
       synchronized (VanityUrlAPI.class) {
-        cachedVanities = cache.getSiteMappings(site, language);
-        if(cachedVanities==null) {
-          cachedVanities = findInDb(site, language);
+        compiledVanities = cache.getCompiledSiteMappings(site, language);
+        if(compiledVanities==null) {
+          final List<CachedVanityUrl> cachedVanities = findInDb(site, language);
           cache.putSiteMappings(site, language, cachedVanities);
+          compiledVanities = cache.getCompiledSiteMappings(site, language);
+          if(compiledVanities==null) {
+            compiledVanities = new CompiledVanityUrls(cachedVanities);
+          }
         }
       }
     }
 
-    return cachedVanities;
+    return compiledVanities;
   }
 
   @CloseDBIfOpened
@@ -218,21 +227,17 @@ public class VanityUrlAPIImpl implements VanityUrlAPI {
         return shortCircuit;
     }
 
+    final CompiledVanityUrls compiledVanities = loadCompiled(site, language);
+
     // tries specific site, language and url
-    Optional<CachedVanityUrl> matched = load(site, language).stream()
-            .filter(cachedVanityUrl ->
-                    cachedVanityUrl.url.equalsIgnoreCase(url)).findFirst();
+    Optional<CachedVanityUrl> matched = compiledVanities.findLiteral(url);
 
-    // tries specific site, language and pattern
+    // tries specific site, language and pattern, only the patterns whose literal prefix matches the url are evaluated
     if(matched.isEmpty()) {
         
         try {
         
-      matched = load(site, language)
-                      .stream()
-                      .filter(cachedVanityUrl ->
-                      Try.of(()-> MatcherTimeoutFactory.matcher(cachedVanityUrl.pattern, url).matches()).getOrElseThrow(DotRuntimeException::new))
-                      .findFirst();
+      matched = compiledVanities.findPattern(url);
         }
         catch(Exception e) {
             Logger.warnAndDebug(this.getClass(), e);
@@ -4,6 +4,7 @@ package com.dotcms.vanityurl.cache;
 import java.util.List;
 import java.util.Optional;
 import com.dotcms.vanityurl.model.CachedVanityUrl;
+import com.dotcms.vanityurl.model.CompiledVanityUrls;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.business.Cachable;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
@@ -42,6 +43,16 @@ public abstract class VanityUrlCache implements Cachable {
      */
     public abstract List<CachedVanityUrl> getSiteMappings(final Host host, final Language lang);
 
+    /**
+     * Get the compiled resolver for the Vanity URLs of the current host Id and language Id key. The
+     * resolver is built once, when the Site mappings are put in the cache.
+     *
+     * @param host The Site of the Vanity URLs
+     * @param lang The Language of the Vanity URLs
+     * @return the {@link CompiledVanityUrls} or null if the Site mappings are not in cache
+     */
+    public abstract CompiledVanityUrls getCompiledSiteMappings(final Host host, final Language lang);
+
 
     /**
      * puts all a hosts vanity urls into cache at once
@@ -8,6 +8,7 @@ import com.dotmarketing.util.UtilMethods;
 import java.util.List;
 import java.util.Optional;
 import com.dotcms.vanityurl.model.CachedVanityUrl;
+import com.dotcms.vanityurl.model.CompiledVanityUrls;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.CacheLocator;
@@ -114,17 +115,30 @@ public class VanityUrlCacheImpl extends VanityUrlCache {
         if (host == null || host.getIdentifier() == null || lang == null || vanityURLs == null) {
             return;
         }
-        cache.put(key(host, lang), vanityURLs, VANITY_URL_SITE_GROUP);
+        cache.put(key(host, lang), new CompiledVanityUrls(vanityURLs), VANITY_URL_SITE_GROUP);
     }
 
     @Override
     public List<CachedVanityUrl> getSiteMappings(final Host host, final Language lang) {
+        final CompiledVanityUrls compiledVanityUrls = getCompiledSiteMappings(host, lang);
+
+        return compiledVanityUrls != null ? compiledVanityUrls.getVanityUrls() : null;
+
+    }
+
+    @Override
+    public CompiledVanityUrls getCompiledSiteMappings(final Host host, final Language lang) {
         if (host == null || lang == null || host.getIdentifier() == null) {
             return null;
         }
         final String key = key(host, lang);
 
-        return (List<CachedVanityUrl>) cache.getNoThrow(key, VANITY_URL_SITE_GROUP);
+        final Object cached = cache.getNoThrow(key, VANITY_URL_SITE_GROUP);
+        if (cached instanceof List) {
+            // entries stored by previous versions in a persistent cache tier
+            return new CompiledVanityUrls((List<CachedVanityUrl>) cached);
+        }
+        return (CompiledVanityUrls) cached;
 
     }
 
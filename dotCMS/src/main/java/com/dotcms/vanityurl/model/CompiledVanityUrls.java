@@ -0,0 +1,196 @@
+package com.dotcms.vanityurl.model;
+
+import com.dotcms.regex.MatcherTimeoutFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiled, read-only view over all the {@link CachedVanityUrl}s of a Site and Language. It is built
+ * once when the Site mappings are put in the cache and replaces the two linear scans that
+ * {@code VanityUrlAPIImpl#resolveVanityUrl} used to do on every cache miss:
+ * <ul>
+ *     <li>Exact URLs are resolved through a case-insensitive hash map.</li>
+ *     <li>Patterns are indexed in a prefix trie by their literal (non-regex) prefix, so only the
+ *     rules whose prefix matches the incoming URL are evaluated as regular expressions.</li>
+ * </ul>
+ * The precedence order is the same as the one of the original list: for both lookups the first
+ * Vanity URL in the list wins, and every regex is still evaluated through the
+ * {@link MatcherTimeoutFactory} so the timeout protection is kept.
+ */
+public class CompiledVanityUrls implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+    private static final String OPTIONAL_QUANTIFIERS = "?*{";
+
+    private final List<CachedVanityUrl> vanityUrls;
+    private final Map<String, CachedVanityUrl> literals;
+    private final PrefixNode patterns;
+
+    /**
+     * Compiles the given Vanity URLs. The list is expected to be already sorted by precedence.
+     *
+     * @param vanityUrls The sorted Vanity URLs of a Site and Language.
+     */
+    public CompiledVanityUrls(final List<CachedVanityUrl> vanityUrls) {
+        this.vanityUrls = List.copyOf(vanityUrls);
+        this.literals = new HashMap<>();
+        this.patterns = new PrefixNode();
+        for (int i = 0; i < this.vanityUrls.size(); i++) {
+            final CachedVanityUrl vanityUrl = this.vanityUrls.get(i);
+            if (null != vanityUrl.url) {
+                this.literals.putIfAbsent(fold(vanityUrl.url), vanityUrl);
+            }
+            this.patterns.add(literalPrefix(vanityUrl.pattern.pattern()), 0, i);
+        }
+        this.patterns.compact();
+    }
+
+    /**
+     * Returns the Vanity URLs this resolver was compiled from, in precedence order.
+     *
+     * @return The list of Vanity URLs.
+     */
+    public List<CachedVanityUrl> getVanityUrls() {
+        return vanityUrls;
+    }
+
+    /**
+     * Returns the first Vanity URL whose URI is equal, ignoring case, to the specified URL.
+     *
+     * @param url The incoming URL.
+     *
+     * @return The matching Vanity URL, or an empty Optional.
+     */
+    public Optional<CachedVanityUrl> findLiteral(final String url) {
+        return null == url ? Optional.empty() : Optional.ofNullable(this.literals.get(fold(url)));
+    }
+
+    /**
+     * Returns the first Vanity URL whose pattern matches the specified URL. Only the Vanity URLs
+     * whose literal prefix is a prefix of the URL are evaluated.
+     *
+     * @param url The incoming URL.
+     *
+     * @return The matching Vanity URL, or an empty Optional.
+     *
+     * @throws MatcherTimeoutFactory.RegExpTimeoutException If a pattern takes too long to evaluate.
+     */
+    public Optional<CachedVanityUrl> findPattern(final String url) {
+        if (null == url) {
+            return Optional.empty();
+        }
+        for (final int index : this.candidates(url)) {
+            final CachedVanityUrl vanityUrl = this.vanityUrls.get(index);
+            if (MatcherTimeoutFactory.matcher(vanityUrl.pattern, url).matches()) {
+                return Optional.of(vanityUrl);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the index of every Vanity URL that may match the given URL, sorted in precedence
+     * order.
+     *
+     * @param url The incoming URL.
+     *
+     * @return The sorted candidate indexes.
+     */
+    int[] candidates(final String url) {
+        final String folded = fold(url);
+        int[] candidates = new int[0];
+        int count = 0;
+        PrefixNode node = this.patterns;
+        int position = 0;
+        while (null != node) {
+            if (node.rules.length > 0) {
+                if (count + node.rules.length > candidates.length) {
+                    candidates = Arrays.copyOf(candidates, Math.max(16, (count + node.rules.length) * 2));
+                }
+                System.arraycopy(node.rules, 0, candidates, count, node.rules.length);
+                count += node.rules.length;
+            }
+            node = position < folded.length() ? node.child(folded.charAt(position++)) : null;
+        }
+        final int[] result = Arrays.copyOf(candidates, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the part of a regex that any matching input must start with. The prefix is folded the
+     * same way as the incoming URL. Patterns with alternations have no reliable prefix, so an empty
+     * one is returned and they are always evaluated.
+     *
+     * @param regex The Vanity URL pattern.
+     *
+     * @return The literal prefix of the pattern.
+     */
+    static String literalPrefix(final String regex) {
+        if (regex.indexOf('|') >= 0) {
+            return "";
+        }
+        int end = 0;
+        while (end < regex.length() && REGEX_META_CHARS.indexOf(regex.charAt(end)) < 0) {
+            end++;
+        }
+        // a quantifier that allows zero occurrences makes the previous character optional
+        if (end > 0 && end < regex.length() && OPTIONAL_QUANTIFIERS.indexOf(regex.charAt(end)) >= 0) {
+            end--;
+        }
+        return fold(regex.substring(0, end));
+    }
+
+    /**
+     * Case folds a String so two Strings are {@link String#equalsIgnoreCase(String)} equal when
+     * their folded values are equal.
+     */
+    static String fold(final String value) {
+        final StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            builder.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Node of the literal prefix trie. Each node keeps the indexes of the rules whose literal prefix
+     * ends on it.
+     */
+    private static class PrefixNode implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+        private List<Integer> pending = new ArrayList<>();
+        private int[] rules = new int[0];
+
+        void add(final String prefix, final int position, final int rule) {
+            if (position == prefix.length()) {
+                this.pending.add(rule);
+                return;
+            }
+            this.children.computeIfAbsent(prefix.charAt(position), key -> new PrefixNode())
+                    .add(prefix, position + 1, rule);
+        }
+
+        PrefixNode child(final char character) {
+            return this.children.get(character);
+        }
+
+        void compact() {
+            this.rules = this.pending.stream().mapToInt(Integer::intValue).toArray();
+            this.pending = null;
+            this.children.values().forEach(PrefixNode::compact);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.dotmarketing.business;
 
+import com.dotmarketing.business.DotCacheAdministrator.CacheLoader;
 import com.dotmarketing.portlets.htmlpageasset.model.IHTMLPage;
 
 /**
@@ -48,6 +49,23 @@ public abstract class BlockPageCache implements Cachable {
 	abstract public String get(IHTMLPage page,
 			PageCacheParameters pageChacheParams);
 
+	/**
+	 * Retrieves a page from the cache, rendering it with the given loader
+	 * when it is not there. Concurrent requests of the same uncached page
+	 * wait for a single render instead of rendering it once each. The page is
+	 * returned already encoded, see {@link BlockPageCacheEntry}.
+	 * 
+	 * @param page
+	 *            - The {@link IHTMLPage} object.
+	 * @param pageChacheParams
+	 *            - Values used to retrieve a specific page from the cache.
+	 * @param loader
+	 *            - Renders the page, a null result is not cached.
+	 * @return
+	 */
+	abstract public <E extends Exception> BlockPageCacheEntry getOrLoad(IHTMLPage page,
+			PageCacheParameters pageChacheParams, CacheLoader<String, E> loader) throws E;
+
 	/**
 	 * Removes a page from the cache, along with all of its versions.
 	 * 
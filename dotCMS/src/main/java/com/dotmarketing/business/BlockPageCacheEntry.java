@@ -0,0 +1,135 @@
+package com.dotmarketing.business;
+
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.Config;
+import com.google.common.hash.Hashing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable page stored by the {@link BlockPageCache}. The page is encoded once, when it is
+ * rendered, so every hit can write the bytes straight to the response:
+ * <ul>
+ *     <li>the UTF-8 bytes of the page</li>
+ *     <li>a gzipped copy, only for pages bigger than {@code PAGE_CACHE_GZIP_MIN_BYTES} and when
+ *     {@code PAGE_CACHE_GZIP_ENABLED} is on</li>
+ *     <li>a strong ETag computed from the content, so conditional requests can be answered with a 304</li>
+ * </ul>
+ */
+public final class BlockPageCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] bytes;
+    private final byte[] gzippedBytes;
+    private final String eTag;
+    private final long created;
+
+    private BlockPageCacheEntry(final byte[] bytes, final byte[] gzippedBytes, final String eTag) {
+        this.bytes        = bytes;
+        this.gzippedBytes = gzippedBytes;
+        this.eTag         = eTag;
+        this.created      = System.currentTimeMillis();
+    }
+
+    /**
+     * Encodes a rendered page
+     * @param pageContent String the page content
+     * @return BlockPageCacheEntry
+     */
+    public static BlockPageCacheEntry of(final String pageContent) {
+        return of(pageContent, Config.getBooleanProperty("PAGE_CACHE_GZIP_ENABLED", true)
+                ? Config.getIntProperty("PAGE_CACHE_GZIP_MIN_BYTES", 1024) : -1);
+    }
+
+    /**
+     * Encodes a rendered page
+     * @param pageContent String the page content
+     * @param gzipMinBytes pages smaller than this are not gzipped, -1 to never gzip them
+     * @return BlockPageCacheEntry
+     */
+    static BlockPageCacheEntry of(final String pageContent, final int gzipMinBytes) {
+
+        final byte[] bytes = pageContent.getBytes(StandardCharsets.UTF_8);
+        final byte[] gzippedBytes = gzipMinBytes >= 0 && bytes.length >= gzipMinBytes ? gzip(bytes) : null;
+        final String eTag = "\"" + Hashing.murmur3_128().hashBytes(bytes) + "\"";
+        return new BlockPageCacheEntry(bytes, gzippedBytes, eTag);
+    }
+
+    private static byte[] gzip(final byte[] bytes) {
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new DotRuntimeException(e);
+        }
+
+        // not worth it if it does not save anything
+        return out.size() < bytes.length ? out.toByteArray() : null;
+    }
+
+    /**
+     * The UTF-8 bytes of the page, they must not be modified
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * The gzipped bytes of the page, null if there is not a gzipped copy. They must not be modified
+     */
+    public byte[] getGzippedBytes() {
+        return gzippedBytes;
+    }
+
+    public boolean hasGzippedBytes() {
+        return null != gzippedBytes;
+    }
+
+    /**
+     * Strong ETag of the page, the gzipped copy is a different representation so it gets its own ETag
+     * @param gzipped true for the ETag of the gzipped copy
+     * @return String quoted ETag
+     */
+    public String getETag(final boolean gzipped) {
+        return gzipped ? eTag.substring(0, eTag.length() - 1) + "-gzip\"" : eTag;
+    }
+
+    /**
+     * Checks an If-None-Match header against the ETags of this page, the comparison is weak as the
+     * spec says for If-None-Match, so {@code W/} prefixes are ignored
+     * @param ifNoneMatch String the header value, can be null
+     * @return true if the client already has this page
+     */
+    public boolean matches(final String ifNoneMatch) {
+
+        if (null == ifNoneMatch) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || getETag(false).equals(tag) || getETag(true).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,12 +1,11 @@
 package com.dotmarketing.business;
 
-import java.io.Serializable;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import com.dotcms.concurrent.Debouncer;
 import com.dotcms.enterprise.LicenseUtil;
 import com.dotcms.enterprise.license.LicenseLevel;
+import com.dotmarketing.business.DotCacheAdministrator.CacheLoader;
 import com.dotmarketing.portlets.htmlpageasset.model.IHTMLPage;
 import com.dotmarketing.util.Logger;
 
@@ -79,13 +78,12 @@ public class BlockPageCacheImpl extends BlockPageCache {
         }
         
         final String key = pageChacheParams.getKey();
-        Map<String,Serializable> cacheMap = Map.of(BlockDirectiveCache.PAGE_CONTENT_KEY, pageContent);
-        final BlockDirectiveCacheObject cto = new BlockDirectiveCacheObject(cacheMap, (int) page.getCacheTTL());
+        final BlockPageCacheEntry entry = BlockPageCacheEntry.of(pageContent);
 
 
         debounceAdd.debounce(key, () -> 
 
-            this.cache.put(key, cto, primaryCacheGroup)
+            this.cache.put(key, entry, primaryCacheGroup)
 
 
         , 1, TimeUnit.SECONDS);
@@ -103,20 +101,52 @@ public class BlockPageCacheImpl extends BlockPageCache {
 
         // Lookup the cached versions of the page based on inode and moddate
 
-        BlockDirectiveCacheObject bdco = (BlockDirectiveCacheObject) this.cache.getNoThrow(key, primaryCacheGroup);
-        if (bdco == null) {
+        final Object cached = this.cache.getNoThrow(key, primaryCacheGroup);
+        if (!(cached instanceof BlockPageCacheEntry)) {
             return null;
         }
-        
+        final BlockPageCacheEntry entry = (BlockPageCacheEntry) cached;
+
         // if we are not expired, return
-        if (bdco.getCreated() + ((int) page.getCacheTTL() * 1000) > System.currentTimeMillis()) {
-            return (String) bdco.getMap().getOrDefault(BlockDirectiveCache.PAGE_CONTENT_KEY,"");
+        if (entry.getCreated() + ((int) page.getCacheTTL() * 1000) > System.currentTimeMillis()) {
+            return entry.toString();
         }
 
         remove(page);
         return null;
     }
 
+    @Override
+    public <E extends Exception> BlockPageCacheEntry getOrLoad(final IHTMLPage page, final PageCacheParameters pageChacheParams,
+            final CacheLoader<String, E> loader) throws E {
+        // the loader writes the page to the response itself when it can not be cached, so it must not
+        // run twice for the same request
+        final boolean[] loaded = {false};
+        final CacheLoader<BlockPageCacheEntry, E> entryLoader = () -> {
+            loaded[0] = true;
+            final String pageContent = loader.load();
+            return pageContent == null ? null : BlockPageCacheEntry.of(pageContent);
+        };
+        if (!canCache || page == null || pageChacheParams == null ) {
+            return entryLoader.load();
+        }
+
+        final String key = pageChacheParams.getKey();
+        final long ttlMillis = page.getCacheTTL() * 1000L;
+        final CacheLoader<Object, E> objectLoader = entryLoader::load;
+        final Object cached = this.cache.getOrLoad(key, primaryCacheGroup, ttlMillis, objectLoader);
+        // entries put without going through getOrLoad are not refreshed by the administrator,
+        // and entries of an older version of this cache are not usable anymore
+        if (cached != null && (!(cached instanceof BlockPageCacheEntry)
+                || ((BlockPageCacheEntry) cached).getCreated() + ttlMillis <= System.currentTimeMillis())) {
+            this.cache.remove(key, primaryCacheGroup);
+            final Object reloaded = this.cache.getOrLoad(key, primaryCacheGroup, ttlMillis, objectLoader);
+            return reloaded instanceof BlockPageCacheEntry ? (BlockPageCacheEntry) reloaded
+                    : loaded[0] ? null : entryLoader.load();
+        }
+        return (BlockPageCacheEntry) cached;
+    }
+
 	@Override
 	public void remove(IHTMLPage page) {
 		try {
@@ -8,6 +8,7 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import com.dotcms.business.WrapInTransaction;
 import com.dotcms.cluster.bean.Server;
 import com.dotcms.cluster.bean.ServerPort;
@@ -23,6 +24,8 @@ import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
 import com.dotmarketing.util.WebKeys;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * Cache administrator that uses the CacheProviders infrastructure (Cache chains)
@@ -44,6 +47,18 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
     public static final String VALIDATE_SEPARATOR = "_";
     public static final String DUMMY_TEXT_TO_SEND = "DUMMY MSG TO TEST SEND";
 
+    private static final String FLIGHT_KEY_SEPARATOR = ":";
+
+    // concurrent misses of the same key in this node are loaded only once
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    // XFetch style probabilistic early refresh of the entries loaded with a ttl, off by default
+    private final boolean earlyRefresh = Config.getBooleanProperty("cache.early.refresh.enabled", false);
+    private final double earlyRefreshBeta = Config.getFloatProperty("cache.early.refresh.beta", 1.0f);
+    private final Cache<String, LoadStamp> loadStamps = Caffeine.newBuilder()
+            .maximumSize(Config.getIntProperty("cache.early.refresh.max.entries", 100000))
+            .build();
+
     public CacheTransport getTransport() {
         return cacheTransportStrat.get();
     }
@@ -244,6 +259,8 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
 
     public void flushAlLocalOnly(boolean ignoreDistributed) {
 
+        singleFlight.cancelAll();
+        loadStamps.invalidateAll();
         // Invalidates all the Cache
         cacheProviderAPI.removeAll(ignoreDistributed);
     }
@@ -256,6 +273,8 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
 
         group = group.toLowerCase();
 
+        final String groupPrefix = group + FLIGHT_KEY_SEPARATOR;
+        singleFlight.cancelIf(flightKey -> flightKey.startsWith(groupPrefix));
         // Invalidates the Cache for the given group
         cacheProviderAPI.remove(group, ignoreDistributed);
     }
@@ -292,6 +311,80 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
         cacheProviderAPI.put(group, key, content);
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see com.dotmarketing.business.DotCacheAdministrator#getOrLoad(java.lang.String, java.lang.String, long,
+     * com.dotmarketing.business.DotCacheAdministrator.CacheLoader)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T getOrLoad(final String key, final String group, final long ttlMillis,
+                    final CacheLoader<T, E> loader) throws E {
+
+        if (key == null || group == null) {
+            return loader.load();
+        }
+
+        final String flightKey = flightKey(key, group);
+        final T cached = (T) getNoThrow(key, group);
+        if (cached == null) {
+            return load(key, group, flightKey, ttlMillis, loader, true);
+        }
+
+        final LoadStamp stamp = ttlMillis > 0 ? loadStamps.getIfPresent(flightKey) : null;
+        if (stamp == null) {
+            return cached;
+        }
+
+        final long now = System.currentTimeMillis();
+        final long expiresAt = stamp.loadedAt + ttlMillis;
+        if (now >= expiresAt) {
+            return load(key, group, flightKey, ttlMillis, loader, false);
+        }
+
+        // the closer to expire and the slower to load, the more likely a request refreshes the entry
+        // ahead of time, while everybody else keeps getting the cached one
+        if (earlyRefresh && !singleFlight.isLoading(flightKey)
+                        && now - stamp.loadMillis * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble())
+                        >= expiresAt) {
+            Logger.debug(this, () -> "Refreshing cache entry " + flightKey + " ahead of its expiration");
+            return load(key, group, flightKey, ttlMillis, loader, false);
+        }
+        return cached;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T load(final String key, final String group, final String flightKey,
+                    final long ttlMillis, final CacheLoader<T, E> loader, final boolean recheck) throws E {
+
+        final boolean[] fromCache = {false};
+        return singleFlight.load(flightKey, () -> {
+            // another thread may have loaded it between our miss and now
+            if (recheck) {
+                final T cached = (T) getNoThrow(key, group);
+                if (cached != null) {
+                    fromCache[0] = true;
+                    return cached;
+                }
+            }
+            final long start = System.currentTimeMillis();
+            final T value = loader.load();
+            if (value != null && ttlMillis > 0) {
+                loadStamps.put(flightKey, new LoadStamp(start, System.currentTimeMillis() - start));
+            }
+            return value;
+        }, value -> {
+            if (!fromCache[0]) {
+                put(key, value, group);
+            }
+        });
+    }
+
+    private static String flightKey(final String key, final String group) {
+        return group.toLowerCase() + FLIGHT_KEY_SEPARATOR + key.toLowerCase();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -330,6 +423,7 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
         }
 
         // Invalidates from Cache a key from a given group
+        singleFlight.cancel(flightKey(key, group));
         cacheProviderAPI.remove(group, key, ignoreDistributed);
 
     }
@@ -429,4 +523,18 @@ public class ChainableCacheAdministratorImpl implements DotCacheAdministrator {
         return this;
     }
 
+    /**
+     * When an entry loaded with a ttl was loaded and how long it took to load it
+     */
+    private static final class LoadStamp {
+
+        final long loadedAt;
+        final long loadMillis;
+
+        LoadStamp(final long loadedAt, final long loadMillis) {
+            this.loadedAt = loadedAt;
+            this.loadMillis = loadMillis;
+        }
+    }
+
 }
@@ -132,6 +132,16 @@ class CommitListenerCacheWrapper implements DotCacheAdministrator {
         }
     }
 
+    // values loaded in a transaction go through our own put so they are removed on rollback
+    @Override
+    public <T, E extends Exception> T getOrLoad(final String key, final String group, final long ttlMillis,
+            final CacheLoader<T, E> loader) throws E {
+        if (DbConnectionFactory.inTransaction()) {
+            return DotCacheAdministrator.super.getOrLoad(key, group, ttlMillis, loader);
+        }
+        return dotcache.getOrLoad(key, group, ttlMillis, loader);
+    }
+
     @Override
     public void remove(final String key, final String group) {
         if (DbConnectionFactory.inTransaction()) {
@@ -85,6 +85,44 @@ public interface DotCacheAdministrator  {
 	 */
 	void put ( String key, Object content, String group );
 
+	/**
+	 * Gets an object from the cache, loading and putting it in the cache when it is not there.
+	 * Implementations may collapse concurrent misses of the same key into a single load.
+	 * Null values returned by the loader are not cached.
+	 * @param key
+	 * @param group
+	 * @param loader loads the object on a miss
+	 * @return
+	 * @throws E the exception thrown by the loader
+	 */
+	default <T, E extends Exception> T getOrLoad ( String key, String group, CacheLoader<T, E> loader ) throws E {
+		return getOrLoad(key, group, -1, loader);
+	}
+
+	/**
+	 * Same as {@link #getOrLoad(String, String, CacheLoader)} for objects that are only valid for
+	 * the given time after being loaded. Implementations may reload the object when it is about
+	 * to expire, before every request misses it at once.
+	 * @param key
+	 * @param group
+	 * @param ttlMillis time the object is valid for after being loaded, -1 if it does not expire
+	 * @param loader loads the object on a miss
+	 * @return
+	 * @throws E the exception thrown by the loader
+	 */
+	@SuppressWarnings("unchecked")
+	default <T, E extends Exception> T getOrLoad ( String key, String group, long ttlMillis, CacheLoader<T, E> loader ) throws E {
+		final Object cached = getNoThrow(key, group);
+		if (cached != null) {
+			return (T) cached;
+		}
+		final T value = loader.load();
+		if (value != null) {
+			put(key, value, group);
+		}
+		return value;
+	}
+
 	/**
 	 * Remove an object from the cache.  
 	 * This will create journal entries for other servers in a clustered environment. 
@@ -119,5 +157,13 @@ public interface DotCacheAdministrator  {
 	 */
 	CacheTransport getTransport ();
 
+	/**
+	 * Loads an object that is not in the cache
+	 */
+	@FunctionalInterface
+	interface CacheLoader<T, E extends Exception> {
+		T load () throws E;
+	}
+
 
 }
\ No newline at end of file
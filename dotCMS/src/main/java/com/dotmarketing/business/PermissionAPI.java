@@ -639,13 +639,15 @@ public interface PermissionAPI {
 	/**
 	 * Filters the given list of permissionables that meet the required permission mask using the contentlet's content
 	 * type to evaluate its permisisions when contentlet is new.
+	 * The given list is not changed, the permissionables the user is allowed to see are returned in a new list, in
+	 * the same order. Only for CMS administrators the given list is returned as is.
 	 *
 	 * @param <P> The type of permissionable given to the method
 	 * @param permissionables
 	 * @param requiredPermission
 	 * @param respectFrontendRoles
 	 * @param user
-	 * @return
+	 * @return the permissionables that meet the required permission
 	 * @throws DotDataException
 	 * @throws DotSecurityException
 	 * @since 1.6
@@ -659,13 +661,15 @@ public interface PermissionAPI {
 		throws DotDataException, DotSecurityException;
 
 	/**
-	 * Filters the given list of permissionables that meet the required permission mask
+	 * Filters the given list of permissionables that meet the required permission mask.
+	 * The given list is not changed, the permissionables the user is allowed to see are returned in a new list, in
+	 * the same order. Only for CMS administrators the given list is returned as is.
 	 * @param <P> The type of permissionable given to the method
 	 * @param permissionables
 	 * @param requiredPermission
 	 * @param respectFrontendRoles
 	 * @param user
-	 * @return
+	 * @return the permissionables that meet the required permission
 	 * @throws DotDataException
 	 * @throws DotSecurityException
 	 * @since 1.6
@@ -10,6 +10,7 @@ import com.dotcms.contenttype.model.field.HostFolderField;
 import com.dotcms.contenttype.model.type.ContentType;
 import com.dotcms.repackage.com.google.common.annotations.VisibleForTesting;
 import com.dotmarketing.beans.*;
+import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.exception.DotRuntimeException;
 import com.dotmarketing.exception.DotSecurityException;
@@ -286,9 +287,18 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 			final boolean respectFrontendRoles,
 			final Contentlet contentlet) throws DotDataException {
 
+		final User user = (userIn==null || userIn.getUserId()==null) ? APILocator.getUserAPI().getAnonymousUser() : userIn;
+		return doesUserHavePermission(permissionable, permissionType, user, respectFrontendRoles, contentlet,
+				(permissions, type) -> doUserRolesHavePermission(user, respectFrontendRoles, permissions, type));
+	}
 
+	private boolean doesUserHavePermission(final Permissionable permissionable,
+			final int permissionType,
+			@NotNull final User user,
+			final boolean respectFrontendRoles,
+			final Contentlet contentlet,
+			final RolePermissionCheck rolePermissionCheck) throws DotDataException {
 
-		final User user = (userIn==null || userIn.getUserId()==null) ? APILocator.getUserAPI().getAnonymousUser() : userIn;
 		if (user.getUserId().equals(APILocator.systemUser().getUserId()) || user.isAdmin()){
 			return true;
 		}
@@ -314,7 +324,7 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 			return cachedPermission.get();
 		}
 
-		boolean hasPermission = doesUserHavePermissionInternal(permissionable, permissionType, user, respectFrontendRoles, contentlet);
+		boolean hasPermission = doesUserHavePermissionInternal(permissionable, permissionType, user, respectFrontendRoles, contentlet, rolePermissionCheck);
 
 		CacheLocator.getPermissionCache().putUserHavePermission(permissionable, String.valueOf(permissionType), user, respectFrontendRoles, contentlet, hasPermission);
 		return hasPermission;
@@ -335,6 +345,17 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 										  final Contentlet contentlet) throws DotDataException {
 
 		final User user = (userIn==null || userIn.getUserId()==null) ? APILocator.getUserAPI().getAnonymousUser() : userIn;
+		return doesUserHavePermissionInternal(permissionable, permissionType, user, respectFrontendRoles, contentlet,
+				(permissions, type) -> doUserRolesHavePermission(user, respectFrontendRoles, permissions, type));
+	}
+
+	private boolean doesUserHavePermissionInternal(final Permissionable permissionable,
+			final int permissionType,
+			@NotNull final User user,
+			final boolean respectFrontendRoles,
+			final Contentlet contentlet,
+			final RolePermissionCheck rolePermissionCheck) throws DotDataException {
+
 		if (user.getUserId().equals(APILocator.systemUser().getUserId())){
 			return true;
 		}
@@ -378,7 +399,8 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 			return true;
 		}
 
-		final List<Permission> perms = getPermissions(permissionable, true)
+		final List<Permission> permissions = getPermissions(permissionable, true);
+		final List<Permission> perms = permissions
 				.stream()
 				.filter(p-> p.matchesPermission(expecterPermissionType))
 				.collect(Collectors.toList());
@@ -420,9 +442,7 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 			return false;
 		}
 
-		final Set<String> userRoleIds = filterUserRoles(user, respectFrontendRoles).stream().map(Role::getId).collect(Collectors.toSet());
-
-		return doRolesHavePermission(userRoleIds, getPermissions(permissionable, true), expecterPermissionType);
+		return rolePermissionCheck.check(permissions, expecterPermissionType);
 
 
 
@@ -1265,24 +1285,42 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 			return permissionables;
 		}
 
-		Permissionable permissionable;
-		int i = 0;
+		final User resolvedUser = (user==null || user.getUserId()==null) ? APILocator.getUserAPI().getAnonymousUser() : user;
+		if (permissionables.size() > 1) {
+			// one query for all the permissions not cached yet instead of one per permissionable
+			permissionFactory.preloadPermissions(permissionables);
+		}
+
+		// permissionables sharing the same permission reference share the role check
+		final Map<String, Boolean> checkedReferences = new HashMap<>();
+		final RolePermissionCheck groupedCheck = (permissions, type) -> {
+			final Optional<String> reference = permissionReference(permissions);
+			if (reference.isEmpty()) {
+				return doUserRolesHavePermission(resolvedUser, respectFrontendRoles, permissions, type);
+			}
+			final String checkKey = reference.get() + ":" + type;
+			Boolean hasPermission = checkedReferences.get(checkKey);
+			if (hasPermission == null) {
+				hasPermission = doUserRolesHavePermission(resolvedUser, respectFrontendRoles, permissions, type);
+				checkedReferences.put(checkKey, hasPermission);
+			}
+			return hasPermission;
+		};
 
-		while (i < permissionables.size()) {
-			permissionable = permissionables.get(i);
-			if (!doesUserHavePermission(
+		final List<P> filtered = new ArrayList<>(permissionables.size());
+		for (final P permissionable : permissionables) {
+			if (doesUserHavePermission(
 				permissionable,
 				requiredTypePermission,
-				user,
+				resolvedUser,
 				respectFrontendRoles,
-				contentlet)) {
-				permissionables.remove(i);
-			} else {
-				++i;
+				contentlet,
+				groupedCheck)) {
+				filtered.add(permissionable);
 			}
 		}
 
-		return permissionables;
+		return filtered;
 	}
 
     @CloseDBIfOpened
@@ -1894,6 +1932,74 @@ public class PermissionBitAPIImpl implements PermissionAPI {
 		return permissionFactory.isInheritingPermissions(permissionable);
 	}
 
+	/**
+	 * Checks the role based part of a permission check. The result only depends on the roles of the
+	 * user and on the permissions, which are the ones of the permission reference the permissionable
+	 * inherits from (or its own ones), so it is cached by that reference and the fingerprint of the
+	 * user's roles. It is shared by every user with the same roles, i.e. the thousands of front end
+	 * users that have the same couple of roles, and by every permissionable with the same reference.
+	 * The role every user has of their own is left out of the fingerprint and checked on its own, see
+	 * {@link UserRoleSet}. The entries of a reference are removed with its cached permissions, see
+	 * {@link PermissionCache#remove(String)}.
+	 */
+	private boolean doUserRolesHavePermission(final User user, final boolean respectFrontendRoles,
+			final List<Permission> permissions, final int permissionType) throws DotDataException {
+
+		final PermissionCache permissionCache = CacheLocator.getPermissionCache();
+		// permissions and roles read in a transaction may be rolled back
+		final boolean cacheable = !DbConnectionFactory.inTransaction();
+
+		Optional<UserRoleSet> roleSet = permissionCache.getUserRoleSet(user.getUserId(), respectFrontendRoles);
+		if (roleSet.isEmpty()) {
+			roleSet = Optional.of(UserRoleSet.of(filterUserRoles(user, respectFrontendRoles)));
+			if (cacheable) {
+				permissionCache.putUserRoleSet(user.getUserId(), respectFrontendRoles, roleSet.get());
+			}
+		}
+
+		if (doRolesHavePermission(roleSet.get().getUserRoleIds(), permissions, permissionType)) {
+			return true;
+		}
+
+		final Optional<String> reference = permissionReference(permissions);
+		if (!cacheable || reference.isEmpty()) {
+			return doRolesHavePermission(roleSet.get().getSharedRoleIds(), permissions, permissionType);
+		}
+
+		final String referenceId = permissions.get(0).getInode();
+		final String checkKey = permissions.get(0).getType() + ":" + permissionType;
+		final Optional<Boolean> cached = permissionCache.doesRoleSetHavePermission(referenceId, checkKey,
+				roleSet.get().getFingerprint());
+		if (cached.isPresent()) {
+			return cached.get();
+		}
+
+		final boolean hasPermission = doRolesHavePermission(roleSet.get().getSharedRoleIds(), permissions, permissionType);
+		permissionCache.putRoleSetHavePermission(referenceId, checkKey, roleSet.get().getFingerprint(), hasPermission);
+		return hasPermission;
+	}
+
+	/**
+	 * Returns the permission reference the permissions come from: the id of the permissionable they
+	 * are set on and their type, e.g. the folder a contentlet inherits its permissions from and the
+	 * contentlet class. Empty if there are no permissions or they come from more than one reference.
+	 */
+	private Optional<String> permissionReference(final List<Permission> permissions) {
+		final Set<String> references = permissions.stream()
+				.map(permission -> permission.getInode() + ":" + permission.getType())
+				.collect(Collectors.toSet());
+		return references.size() == 1 ? Optional.of(references.iterator().next()) : Optional.empty();
+	}
+
+	/**
+	 * Role based part of a permission check, it gets the permissions of the permissionable and the
+	 * permission type to check.
+	 */
+	@FunctionalInterface
+	private interface RolePermissionCheck {
+		boolean check(List<Permission> permissions, int permissionType) throws DotDataException;
+	}
+
 	/**
 	 * Retrieves a filtered list of roles by removing front-end roles when unnecessary.
 	 **/
@@ -62,6 +62,7 @@ import com.dotmarketing.util.Logger;
 import com.dotmarketing.util.UtilMethods;
 import com.liferay.portal.model.User;
 import com.liferay.util.StringPool;
+import com.google.common.collect.Lists;
 import com.rainerhahnekamp.sneakythrow.Sneaky;
 import io.vavr.Lazy;
 import io.vavr.Tuple;
@@ -116,6 +117,24 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
         "    on (inode_id = reference_id and permission.permission_type = permission_reference.permission_type) "+
         "    where asset_id = ?";
 
+	/*
+	 * Same as LOAD_PERMISSION_SQL for many permissionables at once, the asset_id column tells which
+	 * permissionable each permission belongs to
+	 *
+	 * Parameters
+	 * 1. The list of permisionable ids
+	 * 2. The list of permisionable ids
+	 */
+	private static final String PRELOAD_PERMISSIONS_SQL =
+		" select id, permission_type, inode_id, roleid, permission, inode_id as asset_id from permission where inode_id in (%s) "+
+		" union all "+
+		" select permission.id, permission.permission_type, permission.inode_id, permission.roleid, permission.permission, permission_reference.asset_id "+
+		"    from permission join permission_reference "+
+		"    on (inode_id = reference_id and permission.permission_type = permission_reference.permission_type) "+
+		"    where asset_id in (%s)";
+
+	private static final int PRELOAD_PERMISSIONS_BATCH_SIZE = Config.getIntProperty("PERMISSION_PRELOAD_BATCH_SIZE", 500);
+
 	/*
 	 * To load permission references objects based on the reference they are pointing to
 	 * Parameters
@@ -1502,6 +1521,36 @@ public class PermissionBitFactoryImpl extends PermissionFactory {
 
 	}
 
+	@CloseDBIfOpened
+	@Override
+	void preloadPermissions(final List<? extends Permissionable> permissionables) throws DotDataException {
+
+		final Set<String> missing = new LinkedHashSet<>();
+		for (final Permissionable permissionable : permissionables) {
+			final String permissionId = permissionable.getPermissionId();
+			if (UtilMethods.isSet(permissionId) && permissionCache.getPermissionsFromCache(permissionId) == null) {
+				missing.add(permissionId);
+			}
+		}
+
+		for (final List<String> batch : Lists.partition(new ArrayList<>(missing), PRELOAD_PERMISSIONS_BATCH_SIZE)) {
+			final String parameters = String.join(",", Collections.nCopies(batch.size(), "?"));
+			final DotConnect dotConnect = new DotConnect().setSQL(String.format(PRELOAD_PERMISSIONS_SQL, parameters, parameters));
+			batch.forEach(dotConnect::addParam);
+			batch.forEach(dotConnect::addParam);
+
+			final Map<String, List<Permission>> loaded = new HashMap<>();
+			dotConnect.forEachRow(row -> {
+				final Permission permission = new Permission(row.getString("permission_type"),
+						row.getString("inode_id"), row.getString("roleid"), row.getInt("permission"), true);
+				permission.setId(row.getLong("id"));
+				loaded.computeIfAbsent(row.getString("asset_id"), key -> new ArrayList<>()).add(permission);
+			});
+			loaded.forEach(permissionCache::addToPermissionCache);
+			Logger.debug(this, () -> "Preloaded the permissions of " + loaded.size() + " of " + batch.size() + " permissionables");
+		}
+	}
+
 	@Override
 	public void removePermissionsByRole(String roleId) {
 
@@ -38,5 +38,39 @@ public abstract class PermissionCache implements Cachable{
 
 	public abstract void flushShortTermCache() ;
 
+	/**
+	 * Returns the roles of the given user, as stored by
+	 * {@link #putUserRoleSet(String, boolean, UserRoleSet)}.
+	 */
+	public abstract Optional<UserRoleSet> getUserRoleSet(String userId, boolean respectFrontendRoles);
+
+	public abstract void putUserRoleSet(String userId, boolean respectFrontendRoles, UserRoleSet roleSet);
+
+	/**
+	 * Removes the role sets of the given user, i.e. when the roles of the user change.
+	 */
+	public abstract void removeUserRoleSet(String userId);
+
+	/**
+	 * Returns whether any role of a role set has the required permission given the permissions of a
+	 * permission reference. These entries are shared by every user with the same set of roles and
+	 * every permissionable with the same reference, and they are removed together with the
+	 * permissions of the reference, see {@link #remove(String)}.
+	 *
+	 * @param referenceId        id of the permissionable the permissions are set on
+	 * @param checkKey           type of the permissions and required permission type
+	 * @param roleSetFingerprint fingerprint of the shared roles of the user, see {@link UserRoleSet}
+	 */
+	public abstract Optional<Boolean> doesRoleSetHavePermission(String referenceId, String checkKey,
+			String roleSetFingerprint);
+
+	public abstract void putRoleSetHavePermission(String referenceId, String checkKey,
+			String roleSetFingerprint, boolean hasPermission);
+
+	/**
+	 * Flushes the role sets of the users and the permission checks shared by them.
+	 */
+	public abstract void flushRoleSetCache();
+
 
 }
@@ -12,6 +12,8 @@ import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.util.UtilMethods;
 import com.liferay.portal.model.User;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.dotmarketing.beans.Permission;
 import com.dotmarketing.util.Logger;
@@ -30,8 +32,10 @@ public class PermissionCacheImpl extends PermissionCache {
 
 	private final String primaryGroup = "PermissionCache";
 	private final String shortLivedGroup = "PermissionShortLived";
+	private final String roleSetGroup = "PermissionRoleSetCache";
+	private final String userRoleSetGroup = "PermissionUserRoleSetCache";
 	// region's name for the cache
-    private final String[] groupNames = {primaryGroup,shortLivedGroup};
+    private final String[] groupNames = {primaryGroup,shortLivedGroup,roleSetGroup,userRoleSetGroup};
 
 	protected PermissionCacheImpl() {
         cache = CacheLocator.getCacheAdministrator();
@@ -72,15 +76,16 @@ public class PermissionCacheImpl extends PermissionCache {
     public void clearCache() {
         // clear the cache
         cache.flushGroup(primaryGroup);
+        flushRoleSetCache();
     }
 
     /* (non-Javadoc)
 	 * @see com.dotmarketing.business.PermissionCache#remove(java.lang.String)
 	 */
     protected void remove(String key){
-    	key = primaryGroup + key;
     	try{
-	        cache.remove(key,primaryGroup);
+	        cache.remove(primaryGroup + key,primaryGroup);
+	        cache.remove(key,roleSetGroup);
     	}catch (Exception e) {
 			Logger.debug(this,e.getMessage(), e);
 		}
@@ -159,4 +164,54 @@ public class PermissionCacheImpl extends PermissionCache {
 	public void flushShortTermCache() {
 		cache.flushGroup(shortLivedGroup);
 	}
+
+	@Override
+	public Optional<UserRoleSet> getUserRoleSet(final String userId, final boolean respectFrontendRoles) {
+		return Optional.ofNullable((UserRoleSet) cache.getNoThrow(userId + respectFrontendRoles, userRoleSetGroup));
+	}
+
+	@Override
+	public void putUserRoleSet(final String userId, final boolean respectFrontendRoles,
+			final UserRoleSet roleSet) {
+		cache.put(userId + respectFrontendRoles, roleSet, userRoleSetGroup);
+	}
+
+	@Override
+	public void removeUserRoleSet(final String userId) {
+		cache.remove(userId + true, userRoleSetGroup);
+		cache.remove(userId + false, userRoleSetGroup);
+	}
+
+	@Override
+	public Optional<Boolean> doesRoleSetHavePermission(final String referenceId, final String checkKey,
+			final String roleSetFingerprint) {
+		final Map<String, Boolean> checks = getRoleSetChecks(referenceId);
+		return null == checks ? Optional.empty()
+				: Optional.ofNullable(checks.get(roleSetCheckKey(checkKey, roleSetFingerprint)));
+	}
+
+	@Override
+	public void putRoleSetHavePermission(final String referenceId, final String checkKey,
+			final String roleSetFingerprint, final boolean hasPermission) {
+		// one map per reference, created once per node and updated in place so concurrent puts do
+		// not drop each other's checks. A cache that keeps a serialized copy of it only misses them
+		final Map<String, Boolean> checks = cache.getOrLoad(referenceId, roleSetGroup,
+				() -> new ConcurrentHashMap<String, Boolean>());
+		checks.put(roleSetCheckKey(checkKey, roleSetFingerprint), hasPermission);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Boolean> getRoleSetChecks(final String referenceId) {
+		return (Map<String, Boolean>) cache.getNoThrow(referenceId, roleSetGroup);
+	}
+
+	private String roleSetCheckKey(final String checkKey, final String roleSetFingerprint) {
+		return checkKey + ":" + roleSetFingerprint;
+	}
+
+	@Override
+	public void flushRoleSetCache() {
+		cache.flushGroup(userRoleSetGroup);
+		cache.flushGroup(roleSetGroup);
+	}
 }
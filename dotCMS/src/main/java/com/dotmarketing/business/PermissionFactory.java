@@ -158,6 +158,17 @@ public abstract class PermissionFactory {
 	abstract protected Map<Permissionable, List<Permission>> getPermissions(List<Permissionable> permissionables, boolean bitPermission) 
 		throws DotDataException, DotSecurityException;
 
+	/**
+	 * Loads into the cache, in as few queries as possible, the individual or referenced permissions of
+	 * the given permissionables that are not cached yet. Permissionables without permissions nor a
+	 * permission reference are left out, they are resolved the usual way when their permissions are
+	 * requested.
+	 *
+	 * @param permissionables the permissionables whose permissions are about to be checked
+	 * @throws DotDataException
+	 */
+	abstract void preloadPermissions(List<? extends Permissionable> permissionables) throws DotDataException;
+
 	/**
 	 * This method returns a list of all the permission the permissionable have associated, this
 	 * method looks for permission associated directly to the asset if none then it looks
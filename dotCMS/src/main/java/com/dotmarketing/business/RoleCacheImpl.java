@@ -96,6 +96,7 @@ public class RoleCacheImpl extends RoleCache {
 		cache.flushGroup(keyGroup);
 		cache.flushGroup(layoutGroup);
 		cache.flushGroup(rootRolesGroup);
+		CacheLocator.getPermissionCache().flushRoleSetCache();
 	}
 
 	/* (non-Javadoc)
@@ -107,6 +108,8 @@ public class RoleCacheImpl extends RoleCache {
 			cache.remove(userGroup + key,userGroup);
 			cache.remove(keyGroup + key,keyGroup);
 			cache.flushGroup(rootRolesGroup);
+			// the key can be a user id, its role set may have changed
+			CacheLocator.getPermissionCache().removeUserRoleSet(key);
 		}catch (Exception e) {
 			Logger.debug(this, "Cache not able to be removed", e);
 		}
@@ -122,6 +125,7 @@ public class RoleCacheImpl extends RoleCache {
 	protected void clearRoleCache() {
 		cache.flushGroup(primaryGroup);
 		cache.flushGroup(keyGroup);
+		CacheLocator.getPermissionCache().flushRoleSetCache();
 	}
 
 	@Override
@@ -132,6 +136,7 @@ public class RoleCacheImpl extends RoleCache {
 	@Override
 	protected void clearUserRoleCache() {
 		cache.flushGroup(userGroup);
+		CacheLocator.getPermissionCache().flushRoleSetCache();
 	}
 
 	@Override
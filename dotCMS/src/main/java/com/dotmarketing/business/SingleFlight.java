@@ -0,0 +1,154 @@
+package com.dotmarketing.business;
+
+import com.dotmarketing.business.DotCacheAdministrator.CacheLoader;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Collapses concurrent loads of the same key into a single one. The first thread that asks for a
+ * key runs the loader, every other thread asking for the same key while that load is running waits
+ * for it and gets the same result, so a hot entry that has just been flushed is rebuilt once per
+ * node instead of once per request.
+ * <p>
+ * A running load can be cancelled, i.e. because the key was invalidated while it was being
+ * loaded. The threads already waiting still get the loaded value, but it is not handed to the
+ * {@code onLoaded} callback, so a value read before the invalidation does not end up in the cache.
+ * <p>
+ * A thread that is already running a load, i.e. a loader asking for another key, never waits: it
+ * loads the value on its own when the key is being loaded by someone else. Otherwise two loaders
+ * asking for each other's key would wait for one another.
+ * <p>
+ * Waiting threads give up after {@code cache.singleflight.wait.millis} (30 seconds by default) and
+ * load the value on their own, the same happens if the load they were waiting for fails.
+ */
+public class SingleFlight {
+
+    // how many loads the current thread is running, nested loads included
+    private static final ThreadLocal<int[]> runningLoads = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final long waitMillis;
+
+    public SingleFlight() {
+        this(Config.getLongProperty("cache.singleflight.wait.millis", 30000));
+    }
+
+    SingleFlight(final long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Loads the value of the given key, or waits for the load already running for it.
+     *
+     * @param key      The key of the value.
+     * @param loader   Loads the value, only called by the thread leading the load.
+     * @param onLoaded Called with the loaded value by the thread leading the load, unless the load
+     *                 was cancelled or the value is null. Usually puts the value in the cache.
+     * @return The loaded value.
+     * @throws E The exception thrown by the loader.
+     */
+    public <T, E extends Exception> T load(final String key, final CacheLoader<T, E> loader,
+            final Consumer<T> onLoaded) throws E {
+
+        final Flight flight = new Flight();
+        final Flight running = flights.putIfAbsent(key, flight);
+        if (null != running) {
+            // a loader is asking for a key, its own or one that may be waiting for it, so it can
+            // not wait
+            if (isRunningLoad()) {
+                return loader.load();
+            }
+            return await(key, running, loader);
+        }
+
+        try {
+            final T value = leadLoad(loader);
+            if (flights.remove(key, flight) && null != value) {
+                onLoaded.accept(value);
+            }
+            flight.result.complete(value);
+            return value;
+        } catch (final Throwable e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <T, E extends Exception> T leadLoad(final CacheLoader<T, E> loader) throws E {
+        final int[] loads = runningLoads.get();
+        loads[0]++;
+        try {
+            return loader.load();
+        } finally {
+            if (--loads[0] == 0) {
+                runningLoads.remove();
+            }
+        }
+    }
+
+    private static boolean isRunningLoad() {
+        final int[] loads = runningLoads.get();
+        if (loads[0] == 0) {
+            runningLoads.remove();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if a load of the given key is running.
+     */
+    public boolean isLoading(final String key) {
+        return flights.containsKey(key);
+    }
+
+    /**
+     * Cancels the running load of the given key, if any.
+     */
+    public void cancel(final String key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Cancels the running loads of all the keys matching the given filter.
+     */
+    public void cancelIf(final Predicate<String> filter) {
+        flights.keySet().removeIf(filter);
+    }
+
+    /**
+     * Cancels all the running loads.
+     */
+    public void cancelAll() {
+        flights.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T await(final String key, final Flight running,
+            final CacheLoader<T, E> loader) throws E {
+        try {
+            return (T) running.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            Logger.warn(this.getClass(), "Timed out waiting for the load of " + key + ", loading it again");
+        } catch (final ExecutionException e) {
+            Logger.debug(this.getClass(), () -> "The load of " + key + " failed, loading it again: "
+                    + e.getCause().getMessage());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return loader.load();
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.dotmarketing.business;
+
+import com.google.common.hash.Hashing;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The roles of a user, as used by the permission checks shared between users. Every user has a role
+ * of their own, so it is kept apart from the rest: the fingerprint of the shared roles is the same
+ * for every user with the same roles, while the user's own role is checked on its own.
+ */
+public final class UserRoleSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String fingerprint;
+    private final Set<String> sharedRoleIds;
+    private final Set<String> userRoleIds;
+
+    private UserRoleSet(final Set<String> sharedRoleIds, final Set<String> userRoleIds) {
+        this.sharedRoleIds = sharedRoleIds;
+        this.userRoleIds = userRoleIds;
+        this.fingerprint = Hashing.sha256()
+                .hashString(String.join(",", sharedRoleIds), StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Splits the given roles into the ones of the user and the ones that can be shared.
+     *
+     * @param roles roles of the user
+     * @return UserRoleSet
+     */
+    public static UserRoleSet of(final Collection<Role> roles) {
+        return new UserRoleSet(
+                roles.stream().filter(role -> !role.isUser()).map(Role::getId)
+                        .collect(Collectors.toCollection(TreeSet::new)),
+                roles.stream().filter(Role::isUser).map(Role::getId)
+                        .collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    /**
+     * Order independent fingerprint of the shared roles.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Set<String> getSharedRoleIds() {
+        return sharedRoleIds;
+    }
+
+    public Set<String> getUserRoleIds() {
+        return userRoleIds;
+    }
+
+}
@@ -22,6 +22,8 @@ public class CacheStats {
   public final static String REGION_MEM_PER_OBJECT_PRETTY="cache.stats.region.mem.per.object";
   public final static String REGION_AVG_LOAD_TIME="cache.stats.region.load.time.avg";
   public final static String REGION_EVICTIONS="cache.stats.region.evictions";
+  public final static String REGION_SERIALIZE_TIME_AVG="cache.stats.region.serialize.time.avg";
+  public final static String REGION_DESERIALIZE_TIME_AVG="cache.stats.region.deserialize.time.avg";
 
     Map<String, String> stats = new LinkedHashMap<>();
 
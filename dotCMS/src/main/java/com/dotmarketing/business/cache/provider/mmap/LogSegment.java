@@ -0,0 +1,204 @@
+package com.dotmarketing.business.cache.provider.mmap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append only segment file of the {@link MappedLogCache}, fully mapped in memory. Every record is
+ * laid out as:
+ * <pre>
+ * [int group length][int key length][int value length][group bytes][key bytes][value bytes]
+ * </pre>
+ * Records are never updated in place, a new put appends a new record and the old one becomes
+ * garbage until the segment is compacted or dropped. The mapped buffer itself is never moved, only
+ * duplicates of it are used, so it can be read from any thread; appends are serialized by the
+ * cache.
+ * <p>
+ * A deleted segment is not read anymore, its mapping is released when the buffer is collected. It
+ * is never unmapped explicitly: a reader still copying from it would crash the JVM.
+ */
+class LogSegment {
+
+    static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final int id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final AtomicLong liveBytes = new AtomicLong();
+    private volatile boolean deleted = false;
+    // only moved by the appending thread, final once the segment is sealed
+    private volatile int writePosition = 0;
+    private volatile boolean sealed = false;
+
+    private LogSegment(final int id, final File file, final MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates and maps a new segment file of the given size.
+     */
+    static LogSegment create(final File directory, final int id, final int size) throws IOException {
+        final File file = new File(directory, "segment-" + id + ".log");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+                FileChannel channel = randomAccessFile.getChannel()) {
+            randomAccessFile.setLength(size);
+            // the mapping stays valid after the channel is closed
+            return new LogSegment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /**
+     * Size of the record needed to store the given group, key and value.
+     */
+    static int recordSize(final byte[] group, final byte[] key, final int valueLength) {
+        return HEADER_SIZE + group.length + key.length + valueLength;
+    }
+
+    /**
+     * Appends a record, must only be called by one thread at a time.
+     *
+     * @return The location of the new record, or null if it does not fit in this segment.
+     */
+    Location append(final byte[] group, final byte[] key, final byte[] value) {
+        final int recordSize = recordSize(group, key, value.length);
+        final int offset = writePosition;
+        if (sealed || offset + recordSize > buffer.capacity()) {
+            return null;
+        }
+        final ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.putInt(group.length).putInt(key.length).putInt(value.length);
+        target.put(group).put(key).put(value);
+        writePosition = offset + recordSize;
+        liveBytes.addAndGet(recordSize);
+        return new Location(this, offset, offset + HEADER_SIZE + group.length + key.length, value.length);
+    }
+
+    /**
+     * Returns a copy of the value stored at the given location.
+     *
+     * @return The value, or null if the segment was deleted.
+     */
+    byte[] read(final Location location) {
+        if (deleted) {
+            return null;
+        }
+        final byte[] value = new byte[location.valueLength];
+        final ByteBuffer source = buffer.duplicate();
+        source.position(location.valueOffset);
+        source.get(value);
+        return value;
+    }
+
+    /**
+     * Visits every record of the segment, live or not, in the order they were appended. Nothing is
+     * visited if the segment was deleted.
+     */
+    void forEachRecord(final RecordVisitor visitor) {
+        if (deleted) {
+            return;
+        }
+        final ByteBuffer source = buffer.duplicate();
+        final int end = writePosition;
+        int offset = 0;
+        while (offset < end) {
+            source.position(offset);
+            final int groupLength = source.getInt();
+            final int keyLength = source.getInt();
+            final int valueLength = source.getInt();
+            final byte[] group = new byte[groupLength];
+            final byte[] key = new byte[keyLength];
+            source.get(group).get(key);
+            final int valueOffset = offset + HEADER_SIZE + groupLength + keyLength;
+            visitor.visit(new String(group, StandardCharsets.UTF_8), new String(key, StandardCharsets.UTF_8),
+                    new Location(this, offset, valueOffset, valueLength));
+            offset = valueOffset + valueLength;
+        }
+    }
+
+    /**
+     * Stops accepting appends.
+     */
+    void seal() {
+        sealed = true;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int usedBytes() {
+        return writePosition;
+    }
+
+    long liveBytes() {
+        return liveBytes.get();
+    }
+
+    /**
+     * Records that the record at the given location is no longer referenced by the index.
+     */
+    void release(final Location location) {
+        liveBytes.addAndGet(-location.recordSize());
+    }
+
+    /**
+     * Deletes the file of the segment, reads of a deleted segment return nothing. The mapping is
+     * released when the segment is collected.
+     */
+    void delete() {
+        sealed = true;
+        deleted = true;
+        if (!file.delete() && file.exists()) {
+            file.deleteOnExit();
+        }
+    }
+
+    boolean isDeleted() {
+        return deleted;
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(String group, String key, Location location);
+    }
+
+    /**
+     * Where a value is stored, this is what the in-memory index keeps for each key.
+     */
+    static final class Location {
+
+        final LogSegment segment;
+        final int offset;
+        final int valueOffset;
+        final int valueLength;
+
+        private Location(final LogSegment segment, final int offset, final int valueOffset, final int valueLength) {
+            this.segment = segment;
+            this.offset = offset;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+        }
+
+        int recordSize() {
+            return valueOffset + valueLength - offset;
+        }
+    }
+
+}
@@ -0,0 +1,437 @@
+package com.dotmarketing.business.cache.provider.mmap;
+
+import com.dotmarketing.business.DotStateException;
+import com.dotmarketing.business.cache.provider.CacheProvider;
+import com.dotmarketing.business.cache.provider.CacheProviderStats;
+import com.dotmarketing.business.cache.provider.CacheStats;
+import com.dotmarketing.business.cache.provider.mmap.LogSegment.Location;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.ConfigUtils;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UtilMethods;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Disk cache provider, alternative to the {@link com.dotmarketing.business.cache.provider.h22.H22Cache},
+ * that stores the serialized values in memory-mapped, append-only segment files instead of
+ * embedded H2 databases.
+ * <ul>
+ *     <li>An in-memory index keeps, per group and key, where the value lives. A get is an index
+ *     lookup plus a copy from the mapped segment, with no SQL involved.</li>
+ *     <li>A put appends a record to the active segment, a remove only drops the key from the index
+ *     and removing a whole group drops the group from the index.</li>
+ *     <li>A background thread compacts the sealed segments whose live data falls below
+ *     {@code cache.mmap.compaction.threshold}, copying their live records to the active segment.
+ *     When {@code cache.mmap.max.segments} is reached the oldest segment is dropped with all its
+ *     entries.</li>
+ * </ul>
+ * Just like the H22Cache by default, the stored values are not reused after a restart, the
+ * segments are deleted when the provider starts.
+ * <p>
+ * i.e. cache.contentletcache.chain=com.dotmarketing.business.cache.provider.caffine.CaffineCache,com.dotmarketing.business.cache.provider.mmap.MappedLogCache
+ */
+public class MappedLogCache extends CacheProvider {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int segmentSize;
+    private final int maxSegments;
+    private final float compactionThreshold = Config.getFloatProperty("cache.mmap.compaction.threshold", 0.5F);
+    private final int compactionSeconds = Config.getIntProperty("cache.mmap.compaction.seconds", 60);
+
+    private final transient Map<String, Map<String, Location>> index = new ConcurrentHashMap<>();
+    private final transient Map<String, GroupStats> stats = new ConcurrentHashMap<>();
+    // guarded by appendLock
+    private final transient Deque<LogSegment> segments = new ArrayDeque<>();
+    private final transient Object appendLock = new Object();
+    private transient LogSegment active;
+    private int nextSegmentId = 0;
+    private transient ScheduledExecutorService compactionExecutor;
+
+    private final File directory;
+    private Boolean isInitialized = false;
+
+    public MappedLogCache(final String directory) {
+        this(directory, Config.getIntProperty("cache.mmap.segment.bytes", 64 * 1024 * 1024),
+                Config.getIntProperty("cache.mmap.max.segments", 16));
+    }
+
+    MappedLogCache(final String directory, final int segmentSize, final int maxSegments) {
+        this.directory = new File(directory);
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(2, maxSegments);
+    }
+
+    public MappedLogCache() {
+        this(ConfigUtils.getDynamicContentPath() + File.separator + "mmapcache");
+    }
+
+    @Override
+    public String getName() {
+        return "Mapped Log Cache";
+    }
+
+    @Override
+    public String getKey() {
+        return "MappedLogCache";
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+
+    @Override
+    public void init() throws Exception {
+        directory.mkdirs();
+        final File[] oldSegments = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        if (null != oldSegments) {
+            for (final File oldSegment : oldSegments) {
+                oldSegment.delete();
+            }
+        }
+        synchronized (appendLock) {
+            active = newSegment();
+        }
+        compactionExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("MMAP-CACHE-COMPACTION-%d").build());
+        compactionExecutor.scheduleWithFixedDelay(this::compact, compactionSeconds, compactionSeconds,
+                TimeUnit.SECONDS);
+        isInitialized = true;
+    }
+
+    @Override
+    public boolean isInitialized() throws Exception {
+        return isInitialized;
+    }
+
+    @Override
+    public void put(final String group, final String key, final Object content) {
+        final String groupName = normalize(group);
+        if (ONLY_MEMORY_GROUP.equals(groupName) || !(content instanceof Serializable) || null == key) {
+            return;
+        }
+        final GroupStats groupStats = groupStats(groupName);
+        final long start = System.nanoTime();
+        final byte[] value;
+        try {
+            value = serialize((Serializable) content);
+        } catch (IOException e) {
+            Logger.debug(this, () -> "Unable to serialize " + groupName + ":" + key + ", " + e.getMessage());
+            remove(groupName, key);
+            return;
+        }
+        final byte[] groupBytes = groupName.getBytes(StandardCharsets.UTF_8);
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final Location location;
+        final Location old;
+        // the index is updated under the append lock, so the last record appended for a key always wins
+        synchronized (appendLock) {
+            location = append(groupBytes, keyBytes, value);
+            old = null == location ? null : index.computeIfAbsent(groupName, name -> new ConcurrentHashMap<>())
+                    .put(key, location);
+        }
+        if (null == location) {
+            remove(groupName, key);
+            return;
+        }
+        release(groupStats, old);
+        groupStats.bytes.addAndGet(location.recordSize());
+        groupStats.writes.increment();
+        groupStats.writeNanos.add(System.nanoTime() - start);
+    }
+
+    @Override
+    public Object get(final String group, final String key) {
+        final String groupName = normalize(group);
+        final Map<String, Location> entries = index.get(groupName);
+        final Location location = null == entries || null == key ? null : entries.get(key);
+        final GroupStats groupStats = groupStats(groupName);
+        if (null == location) {
+            groupStats.misses.increment();
+            return null;
+        }
+        final long start = System.nanoTime();
+        try {
+            final byte[] data = location.segment.read(location);
+            if (null == data) {
+                // the segment was dropped while the location was being read
+                groupStats.misses.increment();
+                return null;
+            }
+            final Object value = deserialize(data);
+            groupStats.hits.increment();
+            return value;
+        } catch (IOException | ClassNotFoundException e) {
+            Logger.debug(this, () -> "Unable to deserialize " + groupName + ":" + key + ", " + e.getMessage());
+            remove(groupName, key);
+            groupStats.misses.increment();
+            return null;
+        } finally {
+            groupStats.readNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void remove(final String group, final String key) {
+        final String groupName = normalize(group);
+        final Map<String, Location> entries = index.get(groupName);
+        if (null != entries && null != key) {
+            release(groupStats(groupName), entries.remove(key));
+        }
+    }
+
+    @Override
+    public void remove(final String group) {
+        final String groupName = normalize(group);
+        final Map<String, Location> entries = index.remove(groupName);
+        if (null != entries) {
+            entries.values().forEach(location -> location.segment.release(location));
+        }
+        stats.remove(groupName);
+    }
+
+    @Override
+    public void removeAll() {
+        Logger.info(this, "Start Full Cache Flush in " + getName());
+        synchronized (appendLock) {
+            index.clear();
+            stats.clear();
+            segments.forEach(LogSegment::delete);
+            segments.clear();
+            try {
+                active = newSegment();
+            } catch (IOException e) {
+                active = null;
+                Logger.error(this, "Unable to create a new cache segment in " + directory + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getKeys(final String group) {
+        final Map<String, Location> entries = index.get(normalize(group));
+        return null == entries ? new HashSet<>() : entries.keySet();
+    }
+
+    @Override
+    public Set<String> getGroups() {
+        return index.keySet();
+    }
+
+    @Override
+    public CacheProviderStats getStats() {
+        final CacheStats providerStats = new CacheStats();
+        final CacheProviderStats ret = new CacheProviderStats(providerStats, getName());
+        final NumberFormat nf = DecimalFormat.getInstance();
+        final DecimalFormat pf = new DecimalFormat("##.##%");
+
+        for (final String group : new HashSet<>(getGroups())) {
+            final GroupStats groupStats = groupStats(group);
+            final long size = getKeys(group).size();
+            final long bytes = groupStats.bytes.get();
+            final long hits = groupStats.hits.sum();
+            final long loads = hits + groupStats.misses.sum();
+            final long writes = groupStats.writes.sum();
+            final long perObject = size > 0 ? bytes / size : 0;
+
+            final CacheStats stats = new CacheStats();
+            stats.addStat(CacheStats.REGION, group);
+            stats.addStat(CacheStats.REGION_SIZE, nf.format(size));
+            stats.addStat(CacheStats.REGION_LOAD, nf.format(loads));
+            stats.addStat(CacheStats.REGION_HITS, nf.format(hits));
+            stats.addStat(CacheStats.REGION_HIT_RATE, pf.format(loads > 0 ? (double) hits / loads : 0));
+            stats.addStat(CacheStats.REGION_MEM_TOTAL_PRETTY, UtilMethods.prettyByteify(bytes));
+            stats.addStat(CacheStats.REGION_MEM_PER_OBJECT, UtilMethods.prettyByteify(perObject));
+            stats.addStat(CacheStats.REGION_SERIALIZE_TIME_AVG,
+                    nf.format(writes > 0 ? groupStats.writeNanos.sum() / writes / 1000 : 0) + " µs");
+            stats.addStat(CacheStats.REGION_DESERIALIZE_TIME_AVG,
+                    nf.format(hits > 0 ? groupStats.readNanos.sum() / hits / 1000 : 0) + " µs");
+            ret.addStatRecord(stats);
+        }
+        return ret;
+    }
+
+    @Override
+    public void shutdown() {
+        Logger.info(this.getClass(), "===== Calling shutdown [" + getName() + "].");
+        isInitialized = false;
+        if (null != compactionExecutor) {
+            compactionExecutor.shutdownNow();
+        }
+        synchronized (appendLock) {
+            index.clear();
+            segments.forEach(LogSegment::delete);
+            segments.clear();
+            active = null;
+        }
+    }
+
+    /**
+     * Copies the live records of the sealed segments that are mostly garbage to the active segment
+     * and deletes them.
+     */
+    void compact() {
+        final List<LogSegment> candidates = new ArrayList<>();
+        synchronized (appendLock) {
+            for (final LogSegment segment : segments) {
+                if (segment.isSealed() && segment.liveBytes() < segment.usedBytes() * compactionThreshold) {
+                    candidates.add(segment);
+                }
+            }
+        }
+        for (final LogSegment segment : candidates) {
+            try {
+                compact(segment);
+            } catch (Exception e) {
+                Logger.warn(this, "Unable to compact cache segment " + segment.getId() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private void compact(final LogSegment segment) {
+        final long start = System.currentTimeMillis();
+        segment.forEachRecord((group, key, location) -> {
+            final Map<String, Location> entries = index.get(group);
+            final Location current = null == entries ? null : entries.get(key);
+            if (null == current || current.segment != segment || current.offset != location.offset) {
+                // garbage, overwritten or removed after this record was appended
+                return;
+            }
+            final Location moved = append(group.getBytes(StandardCharsets.UTF_8),
+                    key.getBytes(StandardCharsets.UTF_8), segment.read(location));
+            if (null == moved) {
+                return;
+            }
+            if (entries.replace(key, current, moved)) {
+                segment.release(current);
+            } else {
+                // changed while being copied, the copy is garbage
+                moved.segment.release(moved);
+            }
+        });
+        synchronized (appendLock) {
+            if (segments.remove(segment)) {
+                // entries the compaction was unable to move go away with the segment
+                dropEntries(segment);
+                segment.delete();
+            }
+        }
+        Logger.debug(this, () -> "Compacted cache segment " + segment.getId() + " in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private Location append(final byte[] group, final byte[] key, final byte[] value) {
+        if (LogSegment.recordSize(group, key, value.length) > segmentSize) {
+            return null;
+        }
+        synchronized (appendLock) {
+            if (null == active) {
+                return null;
+            }
+            Location location = active.append(group, key, value);
+            if (null == location) {
+                active.seal();
+                try {
+                    if (segments.size() >= maxSegments) {
+                        final LogSegment oldest = segments.removeFirst();
+                        dropEntries(oldest);
+                        oldest.delete();
+                    }
+                    active = newSegment();
+                } catch (IOException e) {
+                    Logger.error(this, "Unable to create a new cache segment in " + directory + ": " + e.getMessage(), e);
+                    active = null;
+                    return null;
+                }
+                location = active.append(group, key, value);
+            }
+            return location;
+        }
+    }
+
+    /**
+     * Removes from the index every entry that still points to the given segment, before it is
+     * deleted.
+     */
+    private void dropEntries(final LogSegment segment) {
+        segment.forEachRecord((group, key, location) -> {
+            final Map<String, Location> entries = index.get(group);
+            final Location current = null == entries ? null : entries.get(key);
+            if (null != current && current.segment == segment && entries.remove(key, current)) {
+                release(groupStats(group), current);
+            }
+        });
+    }
+
+    private LogSegment newSegment() throws IOException {
+        final LogSegment segment = LogSegment.create(directory, nextSegmentId++, segmentSize);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void release(final GroupStats groupStats, final Location location) {
+        if (null != location) {
+            location.segment.release(location);
+            groupStats.bytes.addAndGet(-location.recordSize());
+        }
+    }
+
+    private GroupStats groupStats(final String group) {
+        return stats.computeIfAbsent(group, name -> new GroupStats());
+    }
+
+    private static String normalize(final String group) {
+        if (group == null) {
+            throw new DotStateException("Null cache region passed in");
+        }
+        return group.toLowerCase();
+    }
+
+    private static byte[] serialize(final Serializable content) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return input.readObject();
+        }
+    }
+
+    private static final class GroupStats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder writes = new LongAdder();
+        final LongAdder writeNanos = new LongAdder();
+        final LongAdder readNanos = new LongAdder();
+        final AtomicLong bytes = new AtomicLong();
+    }
+
+}
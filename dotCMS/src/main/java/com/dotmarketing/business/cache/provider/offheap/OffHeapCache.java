@@ -0,0 +1,236 @@
+package com.dotmarketing.business.cache.provider.offheap;
+
+import com.dotcms.cache.Expirable;
+import com.dotcms.enterprise.cache.provider.CacheProviderAPI;
+import com.dotmarketing.business.DotStateException;
+import com.dotmarketing.business.cache.provider.CacheProvider;
+import com.dotmarketing.business.cache.provider.CacheProviderStats;
+import com.dotmarketing.business.cache.provider.CacheStats;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+import com.dotmarketing.util.UtilMethods;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Off-heap second tier for the in-memory {@link com.dotmarketing.business.cache.provider.caffine.CaffineCache}.
+ * Values are serialized and stored in direct memory pages outside of the Java heap, so big regions
+ * can be kept in memory without making the heap, and the GC pauses, grow with them.
+ * <p>
+ * It is meant to sit after the Caffeine provider in a region chain, i.e.:
+ * <p>
+ * cache.contentletcache.chain=com.dotmarketing.business.cache.provider.caffine.CaffineCache,com.dotmarketing.business.cache.provider.offheap.OffHeapCache
+ * <p>
+ * Every region gets its own byte budget, {@code cache.<region>.offheap.bytes}, falling back to
+ * {@code cache.default.offheap.bytes} (64MB). Keep in mind the sum of the budgets of the regions
+ * using this provider must fit in the JVM {@code -XX:MaxDirectMemorySize}. Values bigger than
+ * {@code cache.offheap.page.bytes} (1MB), values that are not {@link Serializable} and values with
+ * their own TTL are not stored.
+ */
+public class OffHeapCache extends CacheProvider {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String DEFAULT_CACHE = CacheProviderAPI.DEFAULT_CACHE;
+
+    private final ConcurrentHashMap<String, OffHeapRegion> regions = new ConcurrentHashMap<>();
+
+    private Boolean isInitialized = false;
+
+    @Override
+    public String getName() {
+        return "Off-Heap Cache";
+    }
+
+    @Override
+    public String getKey() {
+        return "OffHeapCache";
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+
+    @Override
+    public void init() {
+        isInitialized = true;
+    }
+
+    @Override
+    public boolean isInitialized() throws Exception {
+        return isInitialized;
+    }
+
+    @Override
+    public void put(final String group, final String key, final Object content) {
+        if (exclude(group, content)) {
+            return;
+        }
+        final OffHeapRegion region = getRegion(group);
+        final long start = System.nanoTime();
+        final byte[] data;
+        try {
+            data = serialize((Serializable) content);
+        } catch (IOException e) {
+            Logger.debug(this, () -> "Unable to serialize " + group + ":" + key + ", " + e.getMessage());
+            region.remove(key);
+            region.rejected.increment();
+            return;
+        } finally {
+            region.serializeNanos.add(System.nanoTime() - start);
+        }
+        region.put(key, data);
+    }
+
+    @Override
+    public Object get(final String group, final String key) {
+        final OffHeapRegion region = getRegion(group);
+        final byte[] data = region.get(key);
+        if (null == data) {
+            return null;
+        }
+        final long start = System.nanoTime();
+        try {
+            return deserialize(data);
+        } catch (IOException | ClassNotFoundException e) {
+            // i.e. the class changed after a plugin was redeployed, just drop the entry
+            Logger.debug(this, () -> "Unable to deserialize " + group + ":" + key + ", " + e.getMessage());
+            region.remove(key);
+            return null;
+        } finally {
+            region.deserializeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void remove(final String group, final String key) {
+        getRegion(group).remove(key);
+    }
+
+    @Override
+    public void remove(final String group) {
+        final OffHeapRegion region = regions.remove(normalize(group));
+        if (null != region) {
+            region.removeAll();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        for (final String group : new HashSet<>(getGroups())) {
+            remove(group);
+        }
+    }
+
+    @Override
+    public Set<String> getKeys(final String group) {
+        return getRegion(group).getKeys();
+    }
+
+    @Override
+    public Set<String> getGroups() {
+        return regions.keySet();
+    }
+
+    @Override
+    public CacheProviderStats getStats() {
+
+        final CacheStats providerStats = new CacheStats();
+        final CacheProviderStats ret = new CacheProviderStats(providerStats, getName());
+        final NumberFormat nf = DecimalFormat.getInstance();
+        final DecimalFormat pf = new DecimalFormat("##.##%");
+
+        for (final OffHeapRegion region : regions.values()) {
+            final CacheStats stats = new CacheStats();
+            final long hits = region.hits.sum();
+            final long loads = hits + region.misses.sum();
+            final long puts = region.puts.sum();
+            final long size = region.size();
+            final long usedBytes = region.usedBytes();
+            final long perObject = size > 0 ? usedBytes / size : 0;
+
+            stats.addStat(CacheStats.REGION, region.getName());
+            stats.addStat(CacheStats.REGION_CONFIGURED_SIZE, "bytes:" + UtilMethods.prettyByteify(region.getBudget())
+                    + " / allocated:" + UtilMethods.prettyByteify(region.allocatedBytes()));
+            stats.addStat(CacheStats.REGION_SIZE, nf.format(size));
+            stats.addStat(CacheStats.REGION_LOAD, nf.format(loads));
+            stats.addStat(CacheStats.REGION_HITS, nf.format(hits));
+            stats.addStat(CacheStats.REGION_HIT_RATE, pf.format(loads > 0 ? (double) hits / loads : 0));
+            stats.addStat(CacheStats.REGION_EVICTIONS, nf.format(region.evictions.sum()));
+            stats.addStat(CacheStats.REGION_MEM_PER_OBJECT,
+                    "<div class='hideSizer'>" + String.format("%010d", perObject) + "</div>"
+                            + UtilMethods.prettyByteify(perObject));
+            stats.addStat(CacheStats.REGION_MEM_TOTAL_PRETTY,
+                    "<div class='hideSizer'>" + String.format("%010d", usedBytes) + "</div>"
+                            + UtilMethods.prettyByteify(usedBytes));
+            stats.addStat(CacheStats.REGION_SERIALIZE_TIME_AVG,
+                    nf.format(puts > 0 ? region.serializeNanos.sum() / puts / 1000 : 0) + " µs");
+            stats.addStat(CacheStats.REGION_DESERIALIZE_TIME_AVG,
+                    nf.format(hits > 0 ? region.deserializeNanos.sum() / hits / 1000 : 0) + " µs");
+            ret.addStatRecord(stats);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void shutdown() {
+        Logger.info(this.getClass(), "===== Calling shutdown [" + getName() + "].");
+        removeAll();
+        isInitialized = false;
+    }
+
+    /**
+     * Content that must live only in memory, can not be serialized or expires on its own is not
+     * stored off heap.
+     */
+    private boolean exclude(final String group, final Object content) {
+        return ONLY_MEMORY_GROUP.equals(normalize(group))
+                || !(content instanceof Serializable)
+                || (content instanceof Expirable && ((Expirable) content).getTtl() > 0);
+    }
+
+    private OffHeapRegion getRegion(final String group) {
+        if (group == null) {
+            throw new DotStateException("Null cache region passed in");
+        }
+        return regions.computeIfAbsent(normalize(group), this::createRegion);
+    }
+
+    private OffHeapRegion createRegion(final String name) {
+        final long budget = Config.getLongProperty("cache." + name + ".offheap.bytes",
+                Config.getLongProperty("cache." + DEFAULT_CACHE + ".offheap.bytes", 64L * 1024 * 1024));
+        final int pageSize = Config.getIntProperty("cache.offheap.page.bytes", 1024 * 1024);
+        Logger.debug(this.getClass(), () -> "***\t Building Off-Heap Cache : " + name + ", bytes:" + budget);
+        return new OffHeapRegion(name, budget, pageSize);
+    }
+
+    private static String normalize(final String group) {
+        return group.toLowerCase();
+    }
+
+    private static byte[] serialize(final Serializable content) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return input.readObject();
+        }
+    }
+
+}
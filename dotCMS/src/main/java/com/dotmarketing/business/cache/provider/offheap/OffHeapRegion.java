@@ -0,0 +1,191 @@
+package com.dotmarketing.business.cache.provider.offheap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A cache region of the {@link OffHeapCache}. The serialized values live in the direct memory
+ * pages of a {@link SlabAllocator}, only the keys and a small handle per entry stay on the heap.
+ * <p>
+ * The handles are kept in a Caffeine cache weighted by the bytes of their slots and bounded by the
+ * byte budget of the region, so the eviction policy is Caffeine's W-TinyLFU. Evicted, replaced and
+ * invalidated entries give their slot back to the allocator right away.
+ */
+class OffHeapRegion {
+
+    private static final int EVICT_ON_FULL = 16;
+
+    private final String name;
+    private final long budget;
+    private final SlabAllocator allocator;
+    private final Cache<String, Entry> entries;
+
+    // allocate/release change the allocator, reads must not see a slot released while copying it
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder puts = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder serializeNanos = new LongAdder();
+    final LongAdder deserializeNanos = new LongAdder();
+
+    OffHeapRegion(final String name, final long budget, final int pageSize) {
+        this.name = name;
+        this.budget = budget;
+        this.allocator = new SlabAllocator(pageSize, budget);
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(budget)
+                .weigher((String key, Entry entry) -> entry.slot.size())
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                    if (null != entry) {
+                        release(entry);
+                    }
+                })
+                // release the slots in the calling thread so the budget is never exceeded
+                .executor(Runnable::run)
+                .build();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Stores the given serialized value.
+     *
+     * @return false if the value could not be stored, because it is too big or because there is no
+     * memory left in the region.
+     */
+    boolean put(final String key, final byte[] data) {
+        SlabAllocator.Slot slot = allocate(data.length);
+        if (null == slot && data.length <= allocator.maxValueSize()) {
+            // the pages are all taken, make room evicting the coldest entries and try once more
+            entries.policy().eviction().ifPresent(eviction -> eviction.coldest(EVICT_ON_FULL)
+                    .keySet().forEach(entries::invalidate));
+            slot = allocate(data.length);
+        }
+        if (null == slot) {
+            // do not keep a stale value around
+            entries.invalidate(key);
+            rejected.increment();
+            return false;
+        }
+        // nobody else can see the slot yet, no need to hold the lock
+        slot.write(data);
+        entries.put(key, new Entry(slot));
+        puts.increment();
+        return true;
+    }
+
+    /**
+     * Returns a copy of the serialized value stored for the given key, or null.
+     */
+    byte[] get(final String key) {
+        final Entry entry = entries.getIfPresent(key);
+        byte[] data = null;
+        if (null != entry) {
+            lock.readLock().lock();
+            try {
+                if (!entry.released) {
+                    data = entry.slot.read();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        if (null == data) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return data;
+    }
+
+    private SlabAllocator.Slot allocate(final int length) {
+        lock.writeLock().lock();
+        try {
+            return allocator.allocate(length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(final String key) {
+        entries.invalidate(key);
+    }
+
+    void removeAll() {
+        entries.invalidateAll();
+    }
+
+    Set<String> getKeys() {
+        return entries.asMap().keySet();
+    }
+
+    long size() {
+        return entries.estimatedSize();
+    }
+
+    long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return allocator.usedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return allocator.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int maxValueSize() {
+        return allocator.maxValueSize();
+    }
+
+    private void release(final Entry entry) {
+        lock.writeLock().lock();
+        try {
+            if (!entry.released) {
+                entry.released = true;
+                allocator.release(entry.slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * On heap handle of an off heap value.
+     */
+    private static final class Entry {
+
+        private final SlabAllocator.Slot slot;
+        // only changed and read under the region lock
+        private boolean released = false;
+
+        private Entry(final SlabAllocator.Slot slot) {
+            this.slot = slot;
+        }
+    }
+
+}
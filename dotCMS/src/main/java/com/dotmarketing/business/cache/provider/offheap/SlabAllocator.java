@@ -0,0 +1,231 @@
+package com.dotmarketing.business.cache.provider.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Slab allocator over direct (off-heap) {@link ByteBuffer} pages. Every page is carved into slots
+ * of a single size class, size classes grow by a 1.25 factor from {@link #MIN_SLOT_SIZE} up to the
+ * page size, so the memory wasted by a value is at most a quarter of its slot.
+ * <p>
+ * Pages are only allocated while the byte budget allows it. When all the slots of a page are
+ * released the page goes back to a pool of empty pages that any size class can reuse, which keeps
+ * a region from being stuck with pages of size classes it no longer needs.
+ * <p>
+ * This class is not thread safe, {@link OffHeapRegion} guards it with its lock.
+ */
+class SlabAllocator {
+
+    static final int MIN_SLOT_SIZE = 64;
+
+    private final int pageSize;
+    private final long budget;
+    private final int[] slotSizes;
+    private final List<Deque<Page>> pagesWithFreeSlots;
+    private final Deque<Page> emptyPages = new ArrayDeque<>();
+    private long allocatedPages = 0;
+    private long usedBytes = 0;
+
+    SlabAllocator(final int pageSize, final long budget) {
+        this.pageSize = Math.max(MIN_SLOT_SIZE, pageSize);
+        this.budget = budget;
+        final List<Integer> sizes = new ArrayList<>();
+        int size = MIN_SLOT_SIZE;
+        while (size < this.pageSize) {
+            sizes.add(size);
+            // keep the slots 8 bytes aligned
+            size = ((int) Math.min(this.pageSize, size * 1.25d) + 7) & ~7;
+        }
+        sizes.add(this.pageSize);
+        this.slotSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+        this.pagesWithFreeSlots = new ArrayList<>(slotSizes.length);
+        for (int i = 0; i < slotSizes.length; i++) {
+            pagesWithFreeSlots.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Returns the biggest value, in bytes, this allocator can hold.
+     */
+    int maxValueSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns the size of the slot a value of the given length would use.
+     */
+    int slotSize(final int length) {
+        return slotSizes[sizeClass(length)];
+    }
+
+    /**
+     * Allocates a slot big enough for the given number of bytes.
+     *
+     * @param length Length of the value to store.
+     * @return The slot, or null if the value is too big or the budget is exhausted.
+     */
+    Slot allocate(final int length) {
+        if (length > pageSize) {
+            return null;
+        }
+        final int sizeClass = sizeClass(length);
+        final Deque<Page> pages = pagesWithFreeSlots.get(sizeClass);
+        Page page = pages.peekFirst();
+        if (null == page) {
+            page = newPage(slotSizes[sizeClass]);
+            if (null == page) {
+                return null;
+            }
+            pages.addFirst(page);
+        }
+        final int offset = page.take();
+        if (page.isFull()) {
+            pages.removeFirst();
+        }
+        usedBytes += page.slotSize;
+        return new Slot(page, offset, length);
+    }
+
+    /**
+     * Gives back the given slot, it must not be read after this call.
+     */
+    void release(final Slot slot) {
+        final Page page = slot.page;
+        final boolean wasFull = page.isFull();
+        page.give(slot.offset);
+        usedBytes -= page.slotSize;
+        final Deque<Page> pages = pagesWithFreeSlots.get(sizeClass(page.slotSize));
+        if (page.isEmpty()) {
+            if (!wasFull) {
+                pages.remove(page);
+            }
+            emptyPages.push(page);
+        } else if (wasFull) {
+            pages.addLast(page);
+        }
+    }
+
+    /**
+     * Bytes of the slots in use.
+     */
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Bytes of the pages allocated so far, in use or not.
+     */
+    long allocatedBytes() {
+        return allocatedPages * pageSize;
+    }
+
+    private Page newPage(final int slotSize) {
+        final Page empty = emptyPages.poll();
+        if (null != empty) {
+            return empty.reset(slotSize);
+        }
+        if ((allocatedPages + 1) * pageSize > budget) {
+            return null;
+        }
+        allocatedPages++;
+        return new Page(ByteBuffer.allocateDirect(pageSize)).reset(slotSize);
+    }
+
+    private int sizeClass(final int length) {
+        int low = 0;
+        int high = slotSizes.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (slotSizes[middle] < length) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A direct buffer split in slots of the same size.
+     */
+    static final class Page {
+
+        private final ByteBuffer buffer;
+        private int slotSize;
+        private int[] freeSlots;
+        private int freeCount;
+
+        private Page(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private Page reset(final int slotSize) {
+            this.slotSize = slotSize;
+            this.freeCount = buffer.capacity() / slotSize;
+            this.freeSlots = new int[freeCount];
+            for (int i = 0; i < freeCount; i++) {
+                // hand out the first slots first
+                freeSlots[i] = (freeCount - 1 - i) * slotSize;
+            }
+            return this;
+        }
+
+        private int take() {
+            return freeSlots[--freeCount];
+        }
+
+        private void give(final int offset) {
+            freeSlots[freeCount++] = offset;
+        }
+
+        private boolean isFull() {
+            return freeCount == 0;
+        }
+
+        private boolean isEmpty() {
+            return freeCount == freeSlots.length;
+        }
+    }
+
+    /**
+     * A value stored in a page.
+     */
+    static final class Slot {
+
+        private final Page page;
+        private final int offset;
+        private final int length;
+
+        private Slot(final Page page, final int offset, final int length) {
+            this.page = page;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        int length() {
+            return length;
+        }
+
+        int size() {
+            return page.slotSize;
+        }
+
+        void write(final byte[] data) {
+            final ByteBuffer target = page.buffer.duplicate();
+            target.position(offset);
+            target.put(data, 0, length);
+        }
+
+        byte[] read() {
+            final byte[] data = new byte[length];
+            final ByteBuffer source = page.buffer.duplicate();
+            source.position(offset);
+            source.get(data);
+            return data;
+        }
+    }
+
+}
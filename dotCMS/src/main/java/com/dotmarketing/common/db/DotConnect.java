@@ -36,7 +36,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TimeZone;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Description of the Class
@@ -65,6 +70,8 @@ public class DotConnect {
 
     int startRow = 0;
 
+    int fetchSize = Config.getIntProperty("DOTCONNECT_STREAM_FETCH_SIZE", 500);
+
     boolean forceQuery = false;
 
     private static final Map<Class<?>, StatementObjectSetter> statementSetterHandlerMap = customStatementObjectSetterMap();
@@ -485,6 +492,22 @@ public class DotConnect {
         return startRow;
     }
 
+    /**
+     * Sets the number of rows the JDBC driver fetches from the database at a time when the results
+     * are streamed through {@link #streamObjectResults()} or {@link #forEachRow(RowVisitor)}.
+     *
+     * @param fetchSize The JDBC fetch size
+     * @return DotConnect
+     */
+    public DotConnect setFetchSize(final int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
     public DotConnect addObject(Object x) {
         Logger.debug(this, "db.addParam " + paramList.size() + " (Object): " + x);
         paramList.add(paramList.size(), x);
@@ -1024,6 +1047,125 @@ public class DotConnect {
         return (objectResults != null) ? objectResults : new ArrayList<Map<String, Object>>();
     }
 
+    /**
+     * Streams the results of the query instead of loading all of them in memory. Rows are read from
+     * the database {@link #getFetchSize()} at a time, and every element of the stream is the same
+     * {@link Row} instance pointing to the current row of the live ResultSet, so use
+     * {@link Row#toMap()} if a row has to be kept. {@link #setStartRow(int)} and
+     * {@link #setMaxRows(int)} are honored.
+     * <p>
+     * The PostgreSQL driver only reads the rows through a cursor when autocommit is off. So, unless a
+     * transaction is already open, the query runs on a dedicated read-only connection instead of the
+     * one of the current thread, and the work done while the rows are read is not affected by it.
+     * Inside a transaction the connection of the transaction is used.
+     * </p>
+     * <p>
+     * The stream must be closed, usually with a try-with-resources block: closing it releases the
+     * ResultSet and the statement, and the database connection if it was opened by this call.
+     * </p>
+     *
+     * @return The {@link Stream} of rows.
+     * @throws DotDataException The query could not be executed.
+     */
+    public Stream<Row> streamObjectResults() throws DotDataException {
+        gotResult = true;
+        final boolean dedicatedConnection = fetchSize > 0 && DbConnectionFactory.isPostgres()
+                && !DbConnectionFactory.inTransaction();
+        final boolean connectionExisted = dedicatedConnection || DbConnectionFactory.connectionExists();
+        Connection conn = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            if (dedicatedConnection) {
+                conn = DbConnectionFactory.getDataSource().getConnection();
+                conn.setAutoCommit(false);
+                conn.setReadOnly(true);
+            } else {
+                conn = DbConnectionFactory.getConnection();
+            }
+            statement = conn.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (maxRows > 0) {
+                statement.setMaxRows(startRow + maxRows);
+            }
+            setParams(statement, paramList.toArray());
+            resultSet = statement.executeQuery();
+            for (int i = 0; i < startRow && resultSet.next(); i++) {
+                // move to the starter row
+            }
+
+            final ResultSet rs = resultSet;
+            final Row row = new Row(rs);
+            final Iterator<Row> iterator = new Iterator<>() {
+
+                private Boolean hasNext = null;
+
+                @Override
+                public boolean hasNext() {
+                    if (hasNext == null) {
+                        hasNext = Try.of(rs::next).getOrElseThrow(e -> new DotRuntimeException(e.getMessage(), e));
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public Row next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    hasNext = null;
+                    row.next();
+                    return row;
+                }
+            };
+
+            final Connection connection = conn;
+            final PreparedStatement stmt = statement;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> closeStream(connection, stmt, rs, dedicatedConnection, connectionExisted));
+        } catch (SQLException e) {
+            closeStream(conn, statement, resultSet, dedicatedConnection, connectionExisted);
+            throw new DotDataException(e.getMessage() + toString(), e);
+        }
+    }
+
+    /**
+     * Calls the visitor for every row of the results, streaming them from the database instead of
+     * loading all of them in memory. See {@link #streamObjectResults()}.
+     *
+     * @param visitor {@link RowVisitor}
+     * @return The number of visited rows.
+     * @throws DotDataException The query could not be executed, or the visitor failed.
+     */
+    public int forEachRow(final RowVisitor visitor) throws DotDataException {
+        int count = 0;
+        try (Stream<Row> rows = streamObjectResults()) {
+            final Iterator<Row> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                visitor.visit(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void closeStream(final Connection conn, final Statement statement, final ResultSet resultSet,
+            final boolean dedicatedConnection, final boolean connectionExisted) {
+        CloseUtils.closeQuietly(resultSet, statement);
+        if (dedicatedConnection && conn != null) {
+            // nothing was written, the read-only transaction is just ended
+            Try.run(conn::rollback).onFailure(e -> Logger.warnAndDebug(DotConnect.class,
+                    "Unable to end the streaming transaction: " + e.getMessage(), e));
+            CloseUtils.closeQuietly(conn);
+        }
+        if (!connectionExisted) {
+            DbConnectionFactory.closeSilently();
+        }
+    }
+
     /**
      * Returns the number of records that exist in the specified table. This method is useful given that
      * different databases return the count value as different Java objects (e.g., {@code BigDecimal}
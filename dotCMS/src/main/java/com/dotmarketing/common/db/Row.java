@@ -0,0 +1,141 @@
+package com.dotmarketing.common.db;
+
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotRuntimeException;
+
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flyweight view over the current row of a live {@link ResultSet}, returned by
+ * {@link DotConnect#streamObjectResults()} and {@link DotConnect#forEachRow(RowVisitor)}. The same
+ * instance is reused for every row, so it must not be kept once the next row is read: use
+ * {@link #toMap()} to get a detached copy of the values.
+ * <p>
+ * Values are read the same way {@link DotConnect#fromResultSet(ResultSet)} does, so
+ * {@link #toMap()} returns the same map {@link DotConnect#loadObjectResults()} would return for
+ * the row, including the {@code rownumber} and {@code oddoreven} entries.
+ * </p>
+ */
+public class Row {
+
+    private final ResultSet resultSet;
+    private final String[] columns;
+    private int rowNumber = -1;
+
+    Row(final ResultSet resultSet) throws SQLException {
+        this.resultSet = resultSet;
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        this.columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < this.columns.length; i++) {
+            this.columns[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+        }
+    }
+
+    void next() {
+        this.rowNumber++;
+    }
+
+    /**
+     * Returns the position of the row in the results, starting at 0.
+     *
+     * @return The row number.
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Returns the lower case labels of the columns in the results.
+     *
+     * @return The column labels.
+     */
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Returns the value of a column, Clobs are returned as String.
+     *
+     * @param column The column label.
+     *
+     * @return The value of the column, may be null.
+     */
+    public Object get(final String column) {
+        try {
+            final Object value = resultSet.getObject(column);
+            if (value instanceof Clob) {
+                return resultSet.getString(column);
+            }
+            if (DbConnectionFactory.isMsSql() && value instanceof microsoft.sql.DateTimeOffset) {
+                return ((microsoft.sql.DateTimeOffset) value).getTimestamp();
+            }
+            return value;
+        } catch (SQLException e) {
+            throw new DotRuntimeException(String.format("Unable to read column '%s': %s", column, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns the value of a column as String.
+     *
+     * @param column The column label.
+     *
+     * @return The value of the column, may be null.
+     */
+    public String getString(final String column) {
+        try {
+            return resultSet.getString(column);
+        } catch (SQLException e) {
+            throw new DotRuntimeException(String.format("Unable to read column '%s': %s", column, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns the value of a numeric column as long, 0 if the value is null.
+     *
+     * @param column The column label.
+     *
+     * @return The value of the column.
+     */
+    public long getLong(final String column) {
+        final Object value = get(column);
+        return value instanceof Number ? ((Number) value).longValue()
+                : value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    /**
+     * Returns the value of a numeric column as int, 0 if the value is null.
+     *
+     * @param column The column label.
+     *
+     * @return The value of the column.
+     */
+    public int getInt(final String column) {
+        return (int) getLong(column);
+    }
+
+    /**
+     * Returns a detached copy of the current row.
+     *
+     * @return The column values, keyed by lower case column label.
+     */
+    public Map<String, Object> toMap() {
+        final Map<String, Object> map = new HashMap<>();
+        for (final String column : columns) {
+            try {
+                map.put(column, get(column));
+            } catch (DotRuntimeException e) {
+                map.put(column, null);
+            }
+        }
+        map.put("rownumber", rowNumber);
+        map.put("oddoreven", rowNumber % 2);
+        return map;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.dotmarketing.common.db;
+
+import com.dotmarketing.exception.DotDataException;
+
+/**
+ * Callback invoked by {@link DotConnect#forEachRow(RowVisitor)} for every row of the results.
+ * The {@link Row} is a view over the live ResultSet, so it is only valid during the call.
+ */
+@FunctionalInterface
+public interface RowVisitor {
+
+    /**
+     * Visits the current row.
+     *
+     * @param row {@link Row}
+     * @throws DotDataException
+     */
+    void visit(final Row row) throws DotDataException;
+}
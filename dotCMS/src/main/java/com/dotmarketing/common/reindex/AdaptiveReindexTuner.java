@@ -0,0 +1,179 @@
+package com.dotmarketing.common.reindex;
+
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the tuning and the timings of the adaptive mode of the {@link ReindexThread}. When the
+ * {@code REINDEX_THREAD_ADAPTIVE_MODE} property is enabled, the Reindex Thread overlaps the
+ * fetching of the next batch of records from the {@code dist_reindex_journal} table with the
+ * loading/mapping of the current batch, while the bulk requests are in flight in Elasticsearch.
+ * <p>
+ * The size of the batches and the number of concurrent bulk requests are tuned after every bulk
+ * request based on how long it took and on whether Elasticsearch rejected any of its items:
+ * <ul>
+ *     <li>Any rejection halves the batch size and removes one concurrent request.</li>
+ *     <li>A bulk request slower than the target latency shrinks the batch size by a quarter.</li>
+ *     <li>A bulk request faster than half the target latency grows the batch size by a quarter,
+ *     and when the batch size is already at its maximum, adds one concurrent request.</li>
+ * </ul>
+ * </p>
+ */
+public class AdaptiveReindexTuner {
+
+    public static final boolean ADAPTIVE_MODE =
+            Config.getBooleanProperty("REINDEX_THREAD_ADAPTIVE_MODE", false);
+
+    private final int minBulkActions;
+    private final int maxBulkActions;
+    private final int maxConcurrentRequests;
+    private final long targetLatencyMillis;
+
+    private final AtomicInteger bulkActions;
+    private final AtomicInteger concurrentRequests;
+
+    private final AtomicLong fetchNanos = new AtomicLong();
+    private final AtomicLong appendNanos = new AtomicLong();
+    private final AtomicLong bulkNanos = new AtomicLong();
+    private final AtomicLong batchesFetched = new AtomicLong();
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong documentsIndexed = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong startedAt = new AtomicLong(System.currentTimeMillis());
+
+    public AdaptiveReindexTuner() {
+        this(Config.getIntProperty("REINDEX_THREAD_ADAPTIVE_MIN_BULK_ACTIONS", 10),
+                Config.getIntProperty("REINDEX_THREAD_ADAPTIVE_MAX_BULK_ACTIONS", 1000),
+                Config.getIntProperty("REINDEX_THREAD_ADAPTIVE_MAX_CONCURRENT_REQUESTS", 4),
+                Config.getLongProperty("REINDEX_THREAD_ADAPTIVE_TARGET_LATENCY_MS", 1000));
+    }
+
+    AdaptiveReindexTuner(final int minBulkActions, final int maxBulkActions,
+            final int maxConcurrentRequests, final long targetLatencyMillis) {
+        this.minBulkActions = Math.max(1, minBulkActions);
+        this.maxBulkActions = Math.max(this.minBulkActions, maxBulkActions);
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.bulkActions = new AtomicInteger(Math.max(this.minBulkActions,
+                Math.min(this.maxBulkActions, ReindexThread.ELASTICSEARCH_BULK_ACTIONS)));
+        this.concurrentRequests = new AtomicInteger(Math.max(1,
+                Math.min(this.maxConcurrentRequests, ReindexThread.ELASTICSEARCH_CONCURRENT_REQUESTS)));
+    }
+
+    /**
+     * Number of actions each bulk request should carry, which is also the number of records
+     * fetched from the reindex queue on each iteration.
+     */
+    public int bulkActions() {
+        return bulkActions.get();
+    }
+
+    /**
+     * Number of bulk requests that can be in flight at the same time.
+     */
+    public int concurrentRequests() {
+        return concurrentRequests.get();
+    }
+
+    /**
+     * Returns true if the given settings, the ones a BulkProcessor was built with, are far enough
+     * from the current ones to be worth rebuilding the BulkProcessor: the concurrency changed or
+     * the number of actions is off by half or more.
+     */
+    public boolean isOutdated(final int bulkActions, final int concurrentRequests) {
+        return concurrentRequests != concurrentRequests()
+                || Math.abs(bulkActions - bulkActions()) * 2 >= bulkActions;
+    }
+
+    /**
+     * Tunes the settings once a bulk request is done.
+     *
+     * @param latencyMillis How long the bulk request took.
+     * @param actions       Number of actions in the bulk request.
+     * @param rejected      Number of actions rejected by Elasticsearch.
+     */
+    public void onBulkCompleted(final long latencyMillis, final int actions, final int rejected) {
+        bulkRequests.incrementAndGet();
+        bulkNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        documentsIndexed.addAndGet(actions - rejected);
+
+        if (rejected > 0) {
+            rejections.addAndGet(rejected);
+            shrink(2);
+            concurrentRequests.updateAndGet(current -> Math.max(1, current - 1));
+        } else if (latencyMillis > targetLatencyMillis) {
+            shrink(4);
+        } else if (latencyMillis * 2 < targetLatencyMillis) {
+            if (bulkActions() >= maxBulkActions) {
+                concurrentRequests.updateAndGet(current -> Math.min(maxConcurrentRequests, current + 1));
+            }
+            bulkActions.updateAndGet(current -> Math.min(maxBulkActions, current + Math.max(1, current / 4)));
+        }
+        Logger.debug(this, () -> "Bulk took " + latencyMillis + "ms for " + actions
+                + " actions, next bulkActions: " + bulkActions() + ", concurrentRequests: "
+                + concurrentRequests());
+    }
+
+    /**
+     * Tunes the settings when a whole bulk request failed.
+     */
+    public void onBulkFailed(final long latencyMillis, final int actions) {
+        onBulkCompleted(latencyMillis, actions, actions);
+    }
+
+    private void shrink(final int divisor) {
+        bulkActions.updateAndGet(current -> Math.max(minBulkActions, current - Math.max(1, current / divisor)));
+    }
+
+    void recordFetch(final long nanos, final int records) {
+        fetchNanos.addAndGet(nanos);
+        if (records > 0) {
+            batchesFetched.incrementAndGet();
+        }
+    }
+
+    void recordAppend(final long nanos) {
+        appendNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Resets the timings, usually when a new full reindex starts.
+     */
+    public void resetStats() {
+        fetchNanos.set(0);
+        appendNanos.set(0);
+        bulkNanos.set(0);
+        batchesFetched.set(0);
+        bulkRequests.set(0);
+        documentsIndexed.set(0);
+        rejections.set(0);
+        startedAt.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the current settings, the stage timings and the throughput of the Reindex Thread.
+     */
+    public Map<String, Object> getStats() {
+        final Map<String, Object> stats = new HashMap<>();
+        final long elapsedMillis = Math.max(1, System.currentTimeMillis() - startedAt.get());
+        stats.put("adaptiveMode", ADAPTIVE_MODE);
+        stats.put("bulkActions", bulkActions());
+        stats.put("concurrentRequests", concurrentRequests());
+        stats.put("batchesFetched", batchesFetched.get());
+        stats.put("bulkRequests", bulkRequests.get());
+        stats.put("documentsIndexed", documentsIndexed.get());
+        stats.put("rejections", rejections.get());
+        stats.put("fetchMillis", TimeUnit.NANOSECONDS.toMillis(fetchNanos.get()));
+        stats.put("appendMillis", TimeUnit.NANOSECONDS.toMillis(appendNanos.get()));
+        stats.put("bulkMillis", TimeUnit.NANOSECONDS.toMillis(bulkNanos.get()));
+        stats.put("documentsPerSecond", documentsIndexed.get() * 1000 / elapsedMillis);
+        return stats;
+    }
+
+}
@@ -81,8 +81,8 @@ class BulkActionListener implements ActionListener<BulkResponse> {
         }
         handleSuccess(successful);
         
-        //Delete query cache when a new content has been reindexed
-        CacheLocator.getESQueryCache().clearCache();
+        //Invalidate the cached queries that could include the reindexed content
+        CacheLocator.getESQueryCache().invalidateIdentifiers(workingRecords.keySet());
 
     }
 
@@ -13,15 +13,17 @@ import com.liferay.util.StringPool;
 import io.vavr.control.Try;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
 
 
 /**
@@ -36,14 +38,31 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
 
     private long contentletsIndexed;
 
+    private final AdaptiveReindexTuner tuner;
+
+    private final Map<Long, Long> bulkStartTimes = new ConcurrentHashMap<>();
+
     BulkProcessorListener () {
-        this.workingRecords = new HashMap<>();
+        this(null);
+    }
+
+    BulkProcessorListener (final AdaptiveReindexTuner tuner) {
+        this.workingRecords = new ConcurrentHashMap<>();
+        this.tuner = tuner;
     }
 
     public long getContentletsIndexed(){
         return contentletsIndexed;
     }
 
+    /**
+     * Returns the {@link AdaptiveReindexTuner} used to size the bulk requests, null when the
+     * Reindex Thread is not running in adaptive mode.
+     */
+    public AdaptiveReindexTuner getTuner() {
+        return tuner;
+    }
+
     @Override
     public void beforeBulk(final long executionId, final BulkRequest request) {
       
@@ -56,6 +75,7 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
         Logger.info(this.getClass(), "BulkRequests created : " + request.numberOfActions());
         
         contentletsIndexed += request.numberOfActions();
+        bulkStartTimes.put(executionId, System.currentTimeMillis());
         final Optional<String> duration = APILocator.getContentletIndexAPI().reindexTimeElapsed();
         if (duration.isPresent()) {
             Logger.info(this,        "Full Reindex Elapsed : " + duration.get() + "");
@@ -68,9 +88,13 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
         Logger.debug(this.getClass(), "Bulk process completed");
         final List<ReindexEntry> successful = new ArrayList<>();
         float totalResponses=0;
+        int rejected=0;
         for (BulkItemResponse bulkItemResponse : response) {
             DocWriteResponse itemResponse = bulkItemResponse.getResponse();
             totalResponses++;
+            if (bulkItemResponse.isFailed() && bulkItemResponse.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS) {
+                rejected++;
+            }
             String id;
             if (bulkItemResponse.isFailed() || itemResponse == null) {
 
@@ -97,6 +121,9 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
             }
         }
         handleSuccess(successful);
+        if (tuner != null) {
+            tuner.onBulkCompleted(bulkLatency(executionId), request.numberOfActions(), rejected);
+        }
         // 50% failure rate forces a rebuild of the BulkProcessor
         if(totalResponses==0 || (successful.size() / totalResponses < .5)) {
           ReindexThread.rebuildBulkIndexer();
@@ -120,15 +147,24 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
     public void afterBulk(final long executionId, final BulkRequest request, final Throwable failure) {
         Logger.error(ReindexThread.class, "Bulk  process failed entirely:" + failure.getMessage(),
                 failure);
+        if (tuner != null) {
+            tuner.onBulkFailed(bulkLatency(executionId), request.numberOfActions());
+        }
         workingRecords.values().forEach(idx -> handleFailure(idx, failure.getMessage()));
     }
 
+    private long bulkLatency(final long executionId) {
+        final Long startTime = bulkStartTimes.remove(executionId);
+        return startTime == null ? 0 : System.currentTimeMillis() - startTime;
+    }
+
     private void handleSuccess(final List<ReindexEntry> successful) {
 
         try {
             if (!successful.isEmpty()) {
                 APILocator.getReindexQueueAPI().deleteReindexEntry(successful);
-                CacheLocator.getESQueryCache().clearCache();
+                CacheLocator.getESQueryCache().invalidateIdentifiers(
+                        successful.stream().map(ReindexEntry::getIdentToIndex).collect(Collectors.toSet()));
             }
         } catch (DotDataException e) {
             Logger.warnAndDebug(this.getClass(), "unable to delete indexjournal:" + e.getMessage(), e);
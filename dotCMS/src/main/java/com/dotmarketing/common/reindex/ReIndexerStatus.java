@@ -93,6 +93,15 @@ public class ReIndexerStatus implements Serializable {
             theMap.put("newIndexPath", getNewIndexPath());
             theMap.put("reindexTimeElapsed", indexAPI.reindexTimeElapsed().orElse(null));
         }
+        theMap.put("reindexPipeline", getPipelineStats());
         return theMap;
     }
+
+    /**
+     * Returns the throughput and the stage timings (queue fetch, contentlet load/mapping and ES
+     * bulk requests) of the {@link ReindexThread}, see {@link AdaptiveReindexTuner#getStats()}.
+     */
+    public Map<String, Object> getPipelineStats() {
+        return ReindexThread.getInstance().getTuner().getStats();
+    }
 }
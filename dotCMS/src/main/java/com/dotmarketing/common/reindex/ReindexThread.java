@@ -28,6 +28,7 @@ import org.elasticsearch.action.bulk.BulkProcessor;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -124,6 +125,8 @@ public class ReindexThread {
 
     private final static AtomicBoolean rebuildBulkIndexer = new AtomicBoolean(false);
 
+    private final AdaptiveReindexTuner tuner = new AdaptiveReindexTuner();
+
     public static void rebuildBulkIndexer() {
         Logger.warn(ReindexThread.class, "--- ReindexThread BulkProcessor needs to be Rebuilt");
         ReindexThread.rebuildBulkIndexer.set(true);
@@ -156,7 +159,11 @@ public class ReindexThread {
 
         while (state.get() != ThreadState.STOPPED) {
             try {
-                runReindexLoop();
+                if (AdaptiveReindexTuner.ADAPTIVE_MODE) {
+                    runAdaptiveReindexLoop();
+                } else {
+                    runReindexLoop();
+                }
             } catch (Exception e) {
                 Logger.error(this.getClass(), e.getMessage(), e);
             }
@@ -171,6 +178,14 @@ public class ReindexThread {
         return contentletsIndexed;
     }
 
+    /**
+     * Returns the {@link AdaptiveReindexTuner} that keeps the batch sizes and the stage timings of
+     * this thread.
+     */
+    public AdaptiveReindexTuner getTuner() {
+        return tuner;
+    }
+
 
     private BulkProcessor closeBulkProcessor(final BulkProcessor bulkProcessor)
             throws InterruptedException {
@@ -249,6 +264,95 @@ public class ReindexThread {
     }
 
 
+    /**
+     * Adaptive version of {@link #runReindexLoop()}, enabled through the
+     * {@code REINDEX_THREAD_ADAPTIVE_MODE} property. The next batch of records is fetched from the
+     * {@code dist_reindex_journal} table in the background while the current batch is loaded,
+     * mapped and appended to the BulkProcessor, whose bulk requests are sent asynchronously. The
+     * number of records per batch and of concurrent bulk requests are tuned by the
+     * {@link AdaptiveReindexTuner} based on the Elasticsearch bulk latency and rejections.
+     */
+    private void runAdaptiveReindexLoop() {
+        BulkProcessor bulkProcessor = null;
+        BulkProcessorListener bulkProcessorListener = null;
+        int builtBulkActions = 0;
+        int builtConcurrentRequests = 0;
+        Future<Map<String, ReindexEntry>> nextRecords = null;
+        boolean idle = true;
+        final DotSubmitter prefetchSubmitter = DotConcurrentFactory.getInstance()
+                .getSubmitter("ReindexThreadPrefetchSubmitter",
+                        new DotConcurrentFactory.SubmitterConfigBuilder()
+                                .poolSize(1)
+                                .maxPoolSize(1)
+                                .queueCapacity(1)
+                                .build()
+                );
+        while (state.get() != ThreadState.STOPPED) {
+            try {
+
+                final Map<String, ReindexEntry> workingRecords =
+                        nextRecords != null ? nextRecords.get() : fetchRecordsToReindex();
+                nextRecords = null;
+
+                if (workingRecords.isEmpty()) {
+                    bulkProcessor = finalizeReIndex(bulkProcessor);
+                    idle = true;
+                } else if (idle) {
+                    // throughput is measured from the moment the queue has records again
+                    tuner.resetStats();
+                    idle = false;
+                }
+
+                if (!workingRecords.isEmpty() && !ElasticReadOnlyCommand.getInstance()
+                        .isIndexOrClusterReadOnly()) {
+                    Logger.debug(this,
+                            "Found  " + workingRecords.size() + " index items to process");
+
+                    // fetches the next batch while this one is processed
+                    nextRecords = prefetchSubmitter.submit(this::fetchRecordsToReindex);
+
+                    if (bulkProcessor == null || rebuildBulkIndexer.get()
+                            || tuner.isOutdated(builtBulkActions, builtConcurrentRequests)) {
+                        closeBulkProcessor(bulkProcessor);
+                        bulkProcessorListener = new BulkProcessorListener(tuner);
+                        builtBulkActions = tuner.bulkActions();
+                        builtConcurrentRequests = tuner.concurrentRequests();
+                        bulkProcessor = indexAPI.createBulkProcessor(bulkProcessorListener);
+                    }
+                    bulkProcessorListener.workingRecords.putAll(workingRecords);
+                    final long appendStart = System.nanoTime();
+                    indexAPI.appendToBulkProcessor(bulkProcessor, workingRecords.values());
+                    tuner.recordAppend(System.nanoTime() - appendStart);
+                    contentletsIndexed += bulkProcessorListener.getContentletsIndexed();
+                }
+            } catch (Throwable ex) {
+                Logger.error(this, "ReindexThread Exception", ex);
+                nextRecords = null;
+                ThreadUtils.sleep(SLEEP_ON_ERROR);
+            } finally {
+                DbConnectionFactory.closeSilently();
+            }
+            while (state.get() == ThreadState.PAUSED) {
+                ThreadUtils.sleep(SLEEP);
+                //Logs every 60 minutes
+                Logger.infoEvery(ReindexThread.class, "--- ReindexThread Paused",
+                        Config.getIntProperty("REINDEX_THREAD_PAUSE_IN_MINUTES", 60) * 60000);
+                Long restartTime = (Long) cache.get().get(REINDEX_THREAD_PAUSED);
+                if (restartTime == null || restartTime < System.currentTimeMillis()) {
+                    state.set(ThreadState.RUNNING);
+                }
+            }
+        }
+    }
+
+    private Map<String, ReindexEntry> fetchRecordsToReindex() throws DotDataException {
+        final long fetchStart = System.nanoTime();
+        final Map<String, ReindexEntry> records = queueApi.findContentToReindex(
+                Math.max(ReindexQueueFactory.REINDEX_RECORDS_TO_FETCH, tuner.bulkActions()));
+        tuner.recordFetch(System.nanoTime() - fetchStart, records.size());
+        return records;
+    }
+
     private boolean switchOverIfNeeded()
             throws LanguageException, DotDataException, SQLException, InterruptedException {
         if (ESReindexationProcessStatus.inFullReindexation() && queueApi.recordsInQueue() == 0) {
@@ -52,6 +52,24 @@ public class GZIPResponseStream extends ServletOutputStream {
     closed = true;
   }
 
+  /**
+   * Writes content that is already gzipped straight to the response, instead of compressing it
+   * again. Nothing else can be written to this stream afterwards.
+   */
+  public void writeCompressed(final byte[] gzippedBytes) throws IOException {
+    if (closed) {
+      throw new IOException("This output stream has already been closed");
+    }
+
+    response.addHeader("Content-Length",
+                       Integer.toString(gzippedBytes.length));
+    response.addHeader("Content-Encoding", "gzip");
+    output.write(gzippedBytes);
+    output.flush();
+    output.close();
+    closed = true;
+  }
+
   public void flush() throws IOException {
     if (closed) {
       throw new IOException("Cannot flush a closed output stream");
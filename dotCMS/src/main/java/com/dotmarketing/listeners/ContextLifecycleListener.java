@@ -3,6 +3,7 @@ package com.dotmarketing.listeners;
 import com.dotcms.business.bytebuddy.ByteBuddyFactory;
 import com.dotcms.concurrent.DotConcurrentFactory;
 import com.dotcms.enterprise.LicenseUtil;
+import com.dotcms.rendering.engine.ScriptEngineFactory;
 import com.dotcms.rest.api.v1.system.websocket.SystemEventsWebSocketEndPoint;
 import com.dotcms.util.AsciiArt;
 import com.dotmarketing.business.CacheLocator;
@@ -49,6 +50,9 @@ public class ContextLifecycleListener implements ServletContextListener {
         Try.run(() -> ReindexThread.stopThread())
                         .onFailure(e -> Logger.warn(ContextLifecycleListener.class, "Shutdown : " + e.getMessage()));
 
+        Try.run(() -> ScriptEngineFactory.getInstance().shutdown())
+                        .onFailure(e -> Logger.warn(ContextLifecycleListener.class, "Shutdown : " + e.getMessage()));
+
         Logger.info(this, "Shutdown : Finished.");
 
     }
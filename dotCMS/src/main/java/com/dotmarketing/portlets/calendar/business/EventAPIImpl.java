@@ -208,8 +208,7 @@ public class EventAPIImpl implements EventAPI {
 		Contentlet cont = new Contentlet();
 		cont = contentletAPI.find(ev.getInode(), user, respectFrontendRoles);
 		List<Contentlet> contentlets = contentletAPI.getRelatedContent(cont, rel, user, respectFrontendRoles);
-		permissionAPI.filterCollection(contentlets, PermissionAPI.PERMISSION_READ, respectFrontendRoles, user);
-		return contentlets;
+		return permissionAPI.filterCollection(contentlets, PermissionAPI.PERMISSION_READ, respectFrontendRoles, user);
 	}
 
 	@WrapInTransaction
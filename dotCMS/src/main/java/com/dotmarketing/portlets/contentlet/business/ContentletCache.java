@@ -2,6 +2,7 @@ package com.dotmarketing.portlets.contentlet.business;
 
 import com.dotcms.content.elasticsearch.business.ESContentFactoryImpl.TranslatedQuery;
 import com.dotmarketing.business.Cachable;
+import com.dotmarketing.business.DotCacheAdministrator.CacheLoader;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 
 //This interface should have default package access
@@ -11,6 +12,12 @@ public abstract class ContentletCache implements Cachable {
     public abstract Contentlet add(Contentlet content);
 	public abstract Contentlet get(String inode);
 
+	/**
+	 * Returns the cached contentlet, loading it on a miss. Concurrent misses of the same inode
+	 * share a single load.
+	 */
+	public abstract <E extends Exception> Contentlet getOrLoad(String inode, CacheLoader<Contentlet, E> loader) throws E;
+
 	public abstract void clearCache();
 
 	public abstract void remove(String key);
@@ -9,6 +9,7 @@ import com.dotmarketing.beans.Host;
 import com.dotmarketing.business.APILocator;
 import com.dotmarketing.business.CacheLocator;
 import com.dotmarketing.business.DotCacheAdministrator;
+import com.dotmarketing.business.DotCacheAdministrator.CacheLoader;
 import com.dotmarketing.business.DotCacheException;
 import com.dotmarketing.db.DbConnectionFactory;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
@@ -85,6 +86,16 @@ public class ContentletCacheImpl extends ContentletCache {
 		return content;
 	}
 
+	@Override
+	public <E extends Exception> Contentlet getOrLoad(final String inode, final CacheLoader<Contentlet, E> loader) throws E {
+
+		if(DbConnectionFactory.inTransaction()) {
+			return loader.load();
+		}
+
+		return cache.getOrLoad(primaryGroup + inode, primaryGroup, loader);
+	}
+
 	/* (non-Javadoc)
      * @see com.dotmarketing.business.PermissionCache#clearCache()
      */
@@ -145,8 +156,12 @@ public class ContentletCacheImpl extends ContentletCache {
 
 		new ShortyIdCache().remove(key);
 		
-        //Delete query cache when a new content has been reindexed
-        CacheLocator.getESQueryCache().clearCache();
+        //Invalidate the cached queries that could include the content, all of them if it is unknown
+        if (content != null) {
+            CacheLocator.getESQueryCache().invalidate(content);
+        } else {
+            CacheLocator.getESQueryCache().clearCache();
+        }
 	}
 
 	public String[] getGroups() {
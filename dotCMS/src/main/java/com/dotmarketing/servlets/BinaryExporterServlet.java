@@ -12,7 +12,6 @@ import com.google.common.collect.ImmutableMap;
 import com.liferay.portal.util.PortalUtil;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -196,7 +195,6 @@ public class BinaryExporterServlet extends HttpServlet {
 
 		ServletOutputStream out = null;
 		RandomAccessFile input = null;
-		InputStream is = null;
 		// Default to a no-shortyId value
 		try {
 			ShortyId shorty = shortyIdApi.noShorty(uuid);
@@ -564,7 +562,9 @@ public class BinaryExporterServlet extends HttpServlet {
 							resp.setHeader("Content-Range", "bytes " + r.start + "-" + r.end + "/" + r.total);
 							resp.setHeader("Content-Length", String.valueOf(r.length));
 							// Copy full range.
-							SpeedyAssetServletUtil.copy(input, out, r.start, r.length);
+							if (!SpeedyAssetServletUtil.sendFile(req, resp, data.getDataFile(), r.start, r.length)) {
+								SpeedyAssetServletUtil.copy(input, out, r.start, r.length);
+							}
 						} else if (ranges.size() == 1){
 							SpeedyAssetServletUtil.ByteRange range = ranges.get(0);
 							input = new RandomAccessFile(data.getDataFile(), "r");
@@ -578,7 +578,9 @@ public class BinaryExporterServlet extends HttpServlet {
 							resp.setHeader("Content-Range", "bytes " + range.start + "-" + range.end + "/" + range.total);
 							resp.setHeader("Content-Length", String.valueOf(range.length));
 				            resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT); // 206.
-							SpeedyAssetServletUtil.copy(input, out, range.start, range.length);
+							if (!SpeedyAssetServletUtil.sendFile(req, resp, data.getDataFile(), range.start, range.length)) {
+								SpeedyAssetServletUtil.copy(input, out, range.start, range.length);
+							}
 						}else{
 							resp.setContentType("multipart/byteranges; boundary=" + SpeedyAssetServletUtil.MULTIPART_BOUNDARY);
 							resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
@@ -610,15 +612,12 @@ public class BinaryExporterServlet extends HttpServlet {
 
 				}
 			}else{
-				is = java.nio.file.Files.newInputStream(data.getDataFile().toPath());
-	            int count = 0;
-	            byte[] buffer = new byte[4096];
-	            out = resp.getOutputStream();
-	            
-	            while((count = is.read(buffer)) > 0) {
-	            	out.write(buffer, 0, count);
-	            }
-	            
+				final long fileLen = data.getDataFile().length();
+				// let the container send the file when it can, otherwise transfer it from the file channel
+				if (!SpeedyAssetServletUtil.sendFile(req, resp, data.getDataFile(), 0, fileLen)) {
+					out = resp.getOutputStream();
+					SpeedyAssetServletUtil.copy(data.getDataFile(), out, 0, fileLen);
+				}
 			}
             
 		} catch (DotRuntimeException e) {
@@ -679,7 +678,7 @@ public class BinaryExporterServlet extends HttpServlet {
 		// close our resources no matter what
 		finally{
 			
-		  CloseUtils.closeQuietly(input, is, out);
+		  CloseUtils.closeQuietly(input, out);
 
 		}
 		
@@ -1,5 +1,15 @@
 package com.dotmarketing.servlets;
 
+import com.dotmarketing.filters.compression.GZIPResponseWrapper;
+import com.dotmarketing.util.Config;
+import com.dotmarketing.util.Logger;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
@@ -14,6 +24,15 @@ public class SpeedyAssetServletUtil {
 	
 	protected static final String MULTIPART_BOUNDARY = "MULTIPART_BYTERANGES";
 	protected static final int DEFAULT_BUFFER_SIZE = 10240; // ..bytes = 10KB.
+
+	// Request attributes of the Tomcat sendfile support, see https://tomcat.apache.org/tomcat-9.0-doc/config/http.html#Connector_Comparison
+	static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+	static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+	static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+	static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+	// Tomcat only uses sendfile for files bigger than its sendfileSize (48KB by default), smaller ones are cheaper to copy
+	private static final long SENDFILE_MIN_SIZE = Config.getLongProperty("ASSET_SENDFILE_MIN_SIZE", 48 * 1024L);
 	
 	/**
      * Returns a substring of the given string value from the given begin index to the given end
@@ -92,6 +111,71 @@ public class SpeedyAssetServletUtil {
 		}
 	}
 
+	/**
+	 * Copy the given byte range of the given file to the given output, when the container can not
+	 * send the file itself, see {@link #sendFile(ServletRequest, HttpServletResponse, File, long, long)}.
+	 * The bytes go through a heap buffer, the servlet output stream is not a channel the file could
+	 * be transferred to without copying.
+	 * @param file The file to copy the given range from.
+	 * @param output The output to copy the given range to.
+	 * @param start Start of the byte range.
+	 * @param length Length of the byte range.
+	 * @throws IOException If something fails at I/O level.
+	 */
+	protected static void copy(final File file, final OutputStream output, final long start, final long length) throws IOException {
+		try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+			copy(input, output, start, length);
+		}
+	}
+
+	/**
+	 * Hands the given byte range of the file over to the servlet container so it is written to the
+	 * socket with sendfile, without going through the JVM at all. This is only possible when the
+	 * container supports it (Tomcat NIO/NIO2/APR connectors with {@code useSendfile} enabled), when
+	 * the file is big enough and when the body is written to the client as is. Wrappers that only
+	 * touch the headers do not matter, the container sends the file once the request is done, but a
+	 * {@link GZIPResponseWrapper} in the chain or an include, whose body is captured by the caller,
+	 * need the bytes to be copied. When this method returns true, the Content-Length has been set
+	 * and nothing must be written to the response body.
+	 * @param request The current request.
+	 * @param response The current response.
+	 * @param file The file to send.
+	 * @param start Start of the byte range.
+	 * @param length Length of the byte range.
+	 * @return true if the container will send the file, false if it has to be copied to the output.
+	 */
+	protected static boolean sendFile(final ServletRequest request, final HttpServletResponse response,
+			final File file, final long start, final long length) {
+		if (!Config.getBooleanProperty("ASSET_USE_SENDFILE", true)
+				|| length < SENDFILE_MIN_SIZE
+				|| request.getDispatcherType() == DispatcherType.INCLUDE
+				|| isCompressed(response)
+				|| !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+			return false;
+		}
+		try {
+			request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getCanonicalPath());
+		} catch (IOException e) {
+			Logger.debug(SpeedyAssetServletUtil.class, "Unable to resolve the path of " + file + ": " + e.getMessage(), e);
+			return false;
+		}
+		request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+		request.setAttribute(SENDFILE_END_ATTRIBUTE, start + length);
+		response.setContentLengthLong(length);
+		return true;
+	}
+
+	private static boolean isCompressed(final ServletResponse response) {
+		ServletResponse current = response;
+		while (current instanceof ServletResponseWrapper) {
+			if (current instanceof GZIPResponseWrapper) {
+				return true;
+			}
+			current = ((ServletResponseWrapper) current).getResponse();
+		}
+		return false;
+	}
+
     
    protected static class ByteRange {
 	   long start;
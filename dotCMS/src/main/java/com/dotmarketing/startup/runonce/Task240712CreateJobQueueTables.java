@@ -0,0 +1,63 @@
+package com.dotmarketing.startup.runonce;
+
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.db.DotDatabaseMetaData;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.startup.StartupTask;
+import io.vavr.control.Try;
+
+/**
+ * Creates the {@code job} and {@code job_queue} tables used by the
+ * {@link com.dotcms.jobs.business.queue.PostgresJobQueue}
+ */
+public class Task240712CreateJobQueueTables implements StartupTask {
+
+    @Override
+    public boolean forceRun() {
+        return Try.of(() -> {
+            final DotDatabaseMetaData metaData = new DotDatabaseMetaData();
+            return !metaData.tableExists(DbConnectionFactory.getConnection(), "job")
+                    || !metaData.tableExists(DbConnectionFactory.getConnection(), "job_queue");
+        }).getOrElse(true);
+    }
+
+    @Override
+    public void executeUpgrade() throws DotDataException, DotRuntimeException {
+
+        final DotConnect dotConnect = new DotConnect();
+        Try.run(() -> {
+            dotConnect.executeStatement("CREATE TABLE IF NOT EXISTS job ("
+                    + "id varchar(255) primary key,"
+                    + "queue_name varchar(255) not null,"
+                    + "state varchar(50) not null,"
+                    + "parameters jsonb not null,"
+                    + "result varchar(50),"
+                    + "progress float default 0,"
+                    + "retry_count integer default 0,"
+                    + "last_retry_timestamp bigint default 0,"
+                    + "error_detail jsonb,"
+                    + "execution_node varchar(255),"
+                    + "lease_expires_at timestamp,"
+                    + "created_at timestamp not null,"
+                    + "updated_at timestamp not null,"
+                    + "started_at timestamp,"
+                    + "completed_at timestamp"
+                    + ")");
+            dotConnect.executeStatement("CREATE INDEX IF NOT EXISTS idx_job_queue_name_state ON job (queue_name, state)");
+            dotConnect.executeStatement("CREATE INDEX IF NOT EXISTS idx_job_lease_expires_at ON job (lease_expires_at) "
+                    + "WHERE lease_expires_at IS NOT NULL");
+
+            dotConnect.executeStatement("CREATE TABLE IF NOT EXISTS job_queue ("
+                    + "id varchar(255) primary key,"
+                    + "queue_name varchar(255) not null,"
+                    + "state varchar(50) not null,"
+                    + "created_at timestamp not null,"
+                    + "next_attempt_at timestamp"
+                    + ")");
+            dotConnect.executeStatement("CREATE INDEX IF NOT EXISTS idx_job_queue_created_at ON job_queue (created_at)");
+        }).getOrElseThrow(e -> new DotDataException(e.getMessage(), e));
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.dotmarketing.startup.runonce;
+
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.startup.StartupTask;
+
+/**
+ * Adds the {@code asset_fingerprint} column to the {@code publishing_pushed_assets} table. It keeps
+ * the fingerprint of the version of the asset that was pushed, so unchanged dependencies can be
+ * left out of the next bundles sent to the same endpoints.
+ */
+public class Task240715AddFingerprintColumnToPushedAssets implements StartupTask {
+
+    @Override
+    public boolean forceRun() {
+        return true;
+    }
+
+    @Override
+    public void executeUpgrade() throws DotDataException, DotRuntimeException {
+        final DotConnect dc = new DotConnect().setSQL(
+                "ALTER TABLE publishing_pushed_assets ADD COLUMN IF NOT EXISTS asset_fingerprint varchar(64) NULL");
+        dc.loadResult();
+    }
+
+}
@@ -247,6 +247,8 @@ import com.dotmarketing.startup.runonce.Task240306MigrateLegacyLanguageVariables
 import com.dotmarketing.startup.runonce.Task240513UpdateContentTypesSystemField;
 import com.dotmarketing.startup.runonce.Task240530AddDotAIPortletToLayout;
 import com.dotmarketing.startup.runonce.Task240606AddVariableColumnToWorkflow;
+import com.dotmarketing.startup.runonce.Task240712CreateJobQueueTables;
+import com.dotmarketing.startup.runonce.Task240715AddFingerprintColumnToPushedAssets;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -567,6 +569,8 @@ public class TaskLocatorUtil {
 		.add(Task240513UpdateContentTypesSystemField.class)
 		.add(Task240530AddDotAIPortletToLayout.class)
 		.add(Task240606AddVariableColumnToWorkflow.class)
+		.add(Task240712CreateJobQueueTables.class)
+		.add(Task240715AddFingerprintColumnToPushedAssets.class)
 		.build();
         return ret.stream().sorted(classNameComparator).collect(Collectors.toList());
 	}
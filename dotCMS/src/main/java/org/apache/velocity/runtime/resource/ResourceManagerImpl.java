@@ -20,6 +20,7 @@ package org.apache.velocity.runtime.resource;
  */
 
 import com.dotcms.api.web.HttpServletRequestThreadLocal;
+import com.dotcms.rendering.velocity.services.DotResourceCache;
 import com.dotcms.rendering.velocity.services.DotResourceLoader;
 import com.dotcms.rendering.velocity.services.VelocityType;
 import com.dotmarketing.business.APILocator;
@@ -352,13 +353,22 @@ public class ResourceManagerImpl
             try
             {
                 /*
-                 *  it's not in the cache, so load it.
-                 */    
-                resource = loadResource(resourceName, resourceType, encoding);
-
-                if (DotResourceLoader.getInstance().isCachingOn())
+                 *  it's not in the cache, so load it. Concurrent misses of the
+                 *  same resource share a single load when our cache is in use.
+                 */
+                if (DotResourceLoader.getInstance().isCachingOn() && globalCache instanceof DotResourceCache)
+                {
+                    resource = ((DotResourceCache) globalCache).getOrLoad(resourceKey,
+                            () -> loadResource(resourceName, resourceType, encoding));
+                }
+                else
                 {
-                    globalCache.put(resourceKey, resource);
+                    resource = loadResource(resourceName, resourceType, encoding);
+
+                    if (DotResourceLoader.getInstance().isCachingOn())
+                    {
+                        globalCache.put(resourceKey, resource);
+                    }
                 }
             }
             catch (ResourceNotFoundException rnfe)
@@ -2320,7 +2320,8 @@ create table publishing_pushed_assets(
 	push_date timestamptz,
 	environment_id varchar(36) NOT NULL,
 	endpoint_ids text,
-	publisher text
+	publisher text,
+	asset_fingerprint varchar(64)
 );
 
 CREATE INDEX idx_pushed_assets_1 ON publishing_pushed_assets (bundle_id);
@@ -2519,6 +2520,38 @@ create table system_table (
      value text not null
 );
 
+-- jobs processed by the job queue, and the ones waiting to be picked up by a worker
+create table job (
+     id varchar(255) primary key,
+     queue_name varchar(255) not null,
+     state varchar(50) not null,
+     parameters jsonb not null,
+     result varchar(50),
+     progress float default 0,
+     retry_count integer default 0,
+     last_retry_timestamp bigint default 0,
+     error_detail jsonb,
+     execution_node varchar(255),
+     lease_expires_at timestamp,
+     created_at timestamp not null,
+     updated_at timestamp not null,
+     started_at timestamp,
+     completed_at timestamp
+);
+
+create index idx_job_queue_name_state on job (queue_name, state);
+create index idx_job_lease_expires_at on job (lease_expires_at) where lease_expires_at is not null;
+
+create table job_queue (
+     id varchar(255) primary key,
+     queue_name varchar(255) not null,
+     state varchar(50) not null,
+     created_at timestamp not null,
+     next_attempt_at timestamp
+);
+
+create index idx_job_queue_created_at on job_queue (created_at);
+
 
 -- Set up "like 'param%'" indexes for inode and identifier
 CREATE INDEX if not exists inode_inode_leading_idx ON inode(inode  COLLATE "C");
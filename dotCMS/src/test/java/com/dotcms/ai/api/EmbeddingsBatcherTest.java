@@ -0,0 +1,156 @@
+package com.dotcms.ai.api;
+
+import com.dotcms.ai.app.AIModel;
+import com.dotcms.ai.app.AIModelType;
+import com.dotcms.ai.app.AppConfig;
+import com.dotmarketing.exception.DotRuntimeException;
+import com.dotmarketing.util.json.JSONArray;
+import com.dotmarketing.util.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EmbeddingsBatcherTest {
+
+    private static final String RATE_LIMITED_JSON =
+            "{\"error\":{\"message\":\"Rate limit reached for requests\",\"type\":\"requests\",\"code\":\"rate_limit_exceeded\"}}";
+
+    private AppConfig config;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        config = mock(AppConfig.class);
+        when(config.getEmbeddingsModel()).thenReturn(
+                AIModel.builder().withType(AIModelType.EMBEDDINGS).withModelNames("text-embedding-ada-002").build());
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Method to test: {@link EmbeddingsBatcher#pack(List, int, int)}
+     * Given scenario: inputs that exceed the max inputs and the max tokens of a batch
+     * Expected result: consecutive batches within the limits, a big input goes alone
+     */
+    @Test
+    public void test_pack() {
+        final List<List<Integer>> inputs = List.of(tokens(3), tokens(3), tokens(3), tokens(20), tokens(1), tokens(1));
+
+        final List<int[]> batches = EmbeddingsBatcher.pack(inputs, 2, 10);
+
+        assertEquals(4, batches.size());
+        assertArrayEquals(new int[]{0, 2}, batches.get(0));
+        assertArrayEquals(new int[]{2, 3}, batches.get(1));
+        assertArrayEquals(new int[]{3, 4}, batches.get(2));
+        assertArrayEquals(new int[]{4, 6}, batches.get(3));
+    }
+
+    /**
+     * Method to test: {@link EmbeddingsBatcher#embed(List, String)}
+     * Given scenario: a stub endpoint that answers the items of each request in reverse order
+     * Expected result: one request per batch and the embeddings in the order of the inputs
+     */
+    @Test
+    public void test_embed_keepsTheOrderOfTheInputs() {
+        final AtomicInteger requests = new AtomicInteger();
+        final EmbeddingsBatcher batcher = new EmbeddingsBatcher(config, 4, 1000, 0, 0, executor) {
+            @Override
+            String doRequest(final JSONObject json, final String userId) {
+                requests.incrementAndGet();
+                return stubResponse(json);
+            }
+        };
+
+        final List<List<Integer>> inputs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            inputs.add(List.of(i));
+        }
+
+        final List<List<Float>> embeddings = batcher.embed(inputs, "user");
+
+        assertEquals(3, requests.get());
+        assertEquals(10, embeddings.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(List.of((float) i), embeddings.get(i));
+        }
+    }
+
+    /**
+     * Method to test: {@link EmbeddingsBatcher#embed(List, String)}
+     * Given scenario: the stub endpoint rate limits the first two requests
+     * Expected result: the request is retried until it succeeds
+     */
+    @Test
+    public void test_embed_retriesWhenRateLimited() {
+        final AtomicInteger requests = new AtomicInteger();
+        final EmbeddingsBatcher batcher = new EmbeddingsBatcher(config, 4, 1000, 3, 1, executor) {
+            @Override
+            String doRequest(final JSONObject json, final String userId) {
+                return requests.incrementAndGet() <= 2 ? RATE_LIMITED_JSON : stubResponse(json);
+            }
+        };
+
+        final List<List<Float>> embeddings = batcher.embed(List.of(List.of(7)), "user");
+
+        assertEquals(3, requests.get());
+        assertEquals(List.of(7f), embeddings.get(0));
+    }
+
+    /**
+     * Method to test: {@link EmbeddingsBatcher#embed(List, String)}
+     * Given scenario: the stub endpoint answers with an error that is not a rate limit
+     * Expected result: the error is thrown without retrying
+     */
+    @Test(expected = DotRuntimeException.class)
+    public void test_embed_failsOnOtherErrors() {
+        final EmbeddingsBatcher batcher = new EmbeddingsBatcher(config, 4, 1000, 3, 1, executor) {
+            @Override
+            String doRequest(final JSONObject json, final String userId) {
+                return "{\"error\":{\"message\":\"Invalid model\",\"type\":\"invalid_request_error\"}}";
+            }
+        };
+
+        batcher.embed(List.of(List.of(1)), "user");
+    }
+
+    /**
+     * Answers each input with a one dimension embedding holding its first token, in reverse order
+     */
+    private static String stubResponse(final JSONObject json) {
+        final JSONArray input = json.getJSONArray("input");
+        final List<JSONObject> data = new ArrayList<>();
+        for (int i = 0; i < input.size(); i++) {
+            final Object token = input.getJSONArray(i).get(0);
+            final JSONObject item = new JSONObject();
+            item.put("index", i);
+            item.put("embedding", List.of(((Number) token).doubleValue()));
+            data.add(item);
+        }
+        Collections.reverse(data);
+
+        final JSONObject response = new JSONObject();
+        response.put("data", data);
+        return response.toString();
+    }
+
+    private static List<Integer> tokens(final int count) {
+        return Collections.nCopies(count, 1);
+    }
+
+}
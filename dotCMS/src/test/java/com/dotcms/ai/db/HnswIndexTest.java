@@ -0,0 +1,116 @@
+package com.dotcms.ai.db;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+    private static final int SIZE = 2000;
+
+    private Random random;
+    private HnswIndex index;
+
+    @Before
+    public void setUp() {
+        random = new Random(42);
+        index = new HnswIndex(DIMENSIONS, 16, 100, new Random(7));
+        for (int i = 0; i < SIZE; i++) {
+            index.add(randomVector());
+        }
+    }
+
+    /**
+     * Method to test: {@link HnswIndex#search(float[], int, int, java.util.function.IntPredicate)}
+     * Given scenario: random vectors searched with the graph and with a linear scan
+     * Expected result: the graph finds at least 90% of the 10 nearest neighbours
+     */
+    @Test
+    public void test_search_recall() {
+        int found = 0;
+        final int queries = 50;
+        for (int i = 0; i < queries; i++) {
+            final float[] query = randomVector();
+            final Set<Integer> expected = nodes(index.exactSearch(query, 10, node -> true));
+            final Set<Integer> actual = nodes(index.search(query, 10, 100, node -> true));
+            actual.retainAll(expected);
+            found += actual.size();
+        }
+
+        final double recall = found / (queries * 10d);
+        assertTrue("recall@10 was " + recall, recall >= 0.9);
+    }
+
+    /**
+     * Method to test: {@link HnswIndex#search(float[], int, int, java.util.function.IntPredicate)}
+     * Given scenario: the nearest vector to a query is removed
+     * Expected result: it is not returned anymore
+     */
+    @Test
+    public void test_search_skipsRemovedNodes() {
+        final float[] query = randomVector();
+        final int nearest = index.search(query, 1, 100, node -> true).get(0).node;
+
+        index.remove(nearest);
+
+        assertFalse(nodes(index.search(query, 10, 100, node -> true)).contains(nearest));
+        assertEquals(SIZE - 1, index.size());
+        assertEquals(1, index.removedSize());
+    }
+
+    /**
+     * Method to test: {@link HnswIndex#search(float[], int, int, java.util.function.IntPredicate)}
+     * Given scenario: a filter that only accepts the even nodes
+     * Expected result: only even nodes are returned, sorted by distance
+     */
+    @Test
+    public void test_search_acceptsOnlyFilteredNodes() {
+        final List<HnswIndex.Neighbor> neighbors = index.search(randomVector(), 10, 100, node -> node % 2 == 0);
+
+        assertEquals(10, neighbors.size());
+        for (int i = 0; i < neighbors.size(); i++) {
+            assertEquals(0, neighbors.get(i).node % 2);
+            if (i > 0) {
+                assertTrue(neighbors.get(i - 1).distance <= neighbors.get(i).distance);
+            }
+        }
+    }
+
+    /**
+     * Method to test: {@link HnswIndex#searchWithin(float[], float, java.util.function.IntPredicate)}
+     * Given scenario: a vector that was added to the index
+     * Expected result: it is found at a distance of almost zero
+     */
+    @Test
+    public void test_searchWithin_findsTheSameVector() {
+        final float[] vector = randomVector();
+        final int node = index.add(vector);
+
+        final List<HnswIndex.Neighbor> neighbors = index.searchWithin(vector, 0.0001f, n -> true);
+
+        assertEquals(1, neighbors.size());
+        assertEquals(node, neighbors.get(0).node);
+    }
+
+    private float[] randomVector() {
+        final float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static Set<Integer> nodes(final List<HnswIndex.Neighbor> neighbors) {
+        return neighbors.stream().map(neighbor -> neighbor.node).collect(Collectors.toSet());
+    }
+
+}
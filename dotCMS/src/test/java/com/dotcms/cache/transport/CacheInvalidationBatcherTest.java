@@ -0,0 +1,96 @@
+package com.dotcms.cache.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class CacheInvalidationBatcherTest {
+
+    /**
+     * Method to test: {@link CacheInvalidationBatcher#add(String)} and {@link CacheInvalidationBatcher#flush()}
+     * Given Scenario: Repeated keys, keys of a flushed group and a group over the flush threshold are queued
+     * ExpectedResult: One batch with every distinct invalidation once, and the big group flushed instead
+     */
+    @Test
+    public void test_invalidations_are_coalesced() {
+        final List<String> sent = new ArrayList<>();
+        final CacheInvalidationBatcher batcher = new CacheInvalidationBatcher(sent::add, 60000, 3, 6000);
+
+        batcher.add("key1:contentletcache");
+        batcher.add("KEY1:ContentletCache");
+        batcher.add("key2:contentletcache");
+        batcher.add("key1:flushedgroup");
+        batcher.add("0:flushedgroup");
+        batcher.add("key2:flushedgroup");
+        for (int i = 0; i < 10; i++) {
+            batcher.add("key" + i + ":biggroup");
+        }
+        assertFalse(batcher.add("not an invalidation"));
+        batcher.flush();
+
+        assertEquals(1, sent.size());
+        final CacheInvalidationBatcher.Batch batch = CacheInvalidationBatcher.decode(sent.get(0));
+        assertEquals(new HashSet<>(List.of("0:flushedgroup", "0:biggroup", "key1:contentletcache",
+                "key2:contentletcache")), new HashSet<>(batch.messages));
+        assertEquals(4, batch.messages.size());
+        assertTrue(batch.createdAt > 0);
+        assertEquals(16, batcher.getInvalidationsQueued());
+        assertEquals(12, batcher.getInvalidationsCoalesced());
+
+        batcher.flush();
+        assertEquals(1, sent.size());
+        batcher.shutdown();
+    }
+
+    /**
+     * Method to test: {@link CacheInvalidationBatcher#add(String)}
+     * Given Scenario: The whole cache is flushed in the middle of other invalidations
+     * ExpectedResult: Only the flush of the whole cache is sent
+     */
+    @Test
+    public void test_flush_all_drops_everything_else() {
+        final List<String> sent = new ArrayList<>();
+        final CacheInvalidationBatcher batcher = new CacheInvalidationBatcher(sent::add, 60000, 1000, 6000);
+
+        batcher.add("key1:group");
+        batcher.add("0:root");
+        batcher.add("0:group");
+        batcher.flush();
+
+        assertEquals(List.of("0:root"), CacheInvalidationBatcher.decode(sent.get(0)).messages);
+        batcher.shutdown();
+    }
+
+    /**
+     * Method to test: {@link CacheInvalidationBatcher#flush()}
+     * Given Scenario: More invalidations than fit in a single message
+     * ExpectedResult: They are split in several messages under the size limit that add up to all of them
+     */
+    @Test
+    public void test_big_batches_are_split() {
+        final List<String> sent = new ArrayList<>();
+        final CacheInvalidationBatcher batcher = new CacheInvalidationBatcher(sent::add, 60000, 100000, 2000);
+
+        for (int i = 0; i < 5000; i++) {
+            batcher.add(java.util.UUID.randomUUID() + ":group" + (i % 3));
+        }
+        batcher.flush();
+
+        assertTrue(sent.size() > 1);
+        final Set<String> messages = new HashSet<>();
+        for (final String message : sent) {
+            assertTrue(message.length() <= 2000);
+            messages.addAll(CacheInvalidationBatcher.decode(message).messages);
+        }
+        assertEquals(5000, messages.size());
+        assertEquals(sent.size(), batcher.getMessagesSent());
+        batcher.shutdown();
+    }
+
+}
@@ -4,6 +4,8 @@ import static com.dotcms.content.elasticsearch.business.ESIndexAPI.INDEX_OPERATI
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,10 +25,12 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import com.dotcms.contenttype.model.type.ContentType;
 import com.dotmarketing.business.DotCacheAdministrator;
 import com.dotmarketing.business.DotCacheException;
 import com.dotmarketing.business.cache.provider.CacheProviderStats;
 import com.dotmarketing.business.cache.transport.CacheTransport;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.google.common.collect.ImmutableSet;
 
 public class ESQueryCacheTest {
@@ -126,6 +130,142 @@ public class ESQueryCacheTest {
     
     
     
+    /**
+     * Method to test: {@link ESQueryCache#invalidate(String, String, long)}
+     * Given scenario: entries filtered by two content types, one is invalidated
+     * Expected result: only the entries of the invalidated content type are gone
+     */
+    @Test
+    public void test_invalidate_content_type_keeps_other_content_types() {
+
+        final SearchRequest blogRequest = getFilteredSearchRequest("contenttype", "blog");
+        final SearchRequest newsRequest = getFilteredSearchRequest("contenttype", "news");
+        cache.put(blogRequest, hits());
+        cache.put(newsRequest, hits());
+
+        cache.invalidate("Blog", "SYSTEM_HOST", 1);
+
+        assertTrue(cache.get(blogRequest).isEmpty());
+        assertTrue(cache.get(newsRequest).isPresent());
+    }
+
+    /**
+     * Method to test: {@link ESQueryCache#invalidate(String, String, long)}
+     * Given scenario: entries filtered by site and entries not filtered at all
+     * Expected result: the entries of other sites are kept, the unfiltered ones are gone
+     */
+    @Test
+    public void test_invalidate_site_and_untagged_entries() {
+
+        final SearchRequest siteRequest = getFilteredSearchRequest("conhost", "site1");
+        final SearchRequest otherSiteRequest = getFilteredSearchRequest("conhost", "site2");
+        final SearchRequest untaggedRequest = getSearchRequest();
+        cache.put(siteRequest, hits());
+        cache.put(otherSiteRequest, hits());
+        cache.put(untaggedRequest, hits());
+
+        cache.invalidate("blog", "SITE1", 0);
+
+        assertTrue(cache.get(siteRequest).isEmpty());
+        assertTrue(cache.get(otherSiteRequest).isPresent());
+        assertTrue(cache.get(untaggedRequest).isEmpty());
+
+        // an unknown site invalidates all the entries filtered by site
+        cache.invalidate("blog", null, 0);
+        assertTrue(cache.get(otherSiteRequest).isEmpty());
+    }
+
+    /**
+     * Method to test: {@link ESQueryCache#key(org.elasticsearch.action.ActionRequest)}
+     * Given scenario: a key taken before its tags are invalidated
+     * Expected result: the result put with that key is not returned afterwards
+     */
+    @Test
+    public void test_put_with_key_taken_before_invalidation_is_not_returned() {
+
+        final SearchRequest request = getFilteredSearchRequest("contenttype", "product");
+        final ESQueryCache.CacheKey key = cache.key(request);
+
+        cache.invalidateContentType("product");
+        cache.putHits(key, hits());
+
+        assertTrue(cache.get(request).isEmpty());
+        assertEquals(Set.of("contenttype:product"), cache.tags(request));
+    }
+
+    /**
+     * Method to test: {@link ESQueryCache#invalidateSiteChange(String, String)}
+     * Given scenario: entries filtered by two sites, a contentlet is moved from one to the other and
+     * then indexed in the new site
+     * Expected result: the entries of the previous site are gone after the move and again after the
+     * contentlet is indexed, even though the indexed contentlet only tells its new site
+     */
+    @Test
+    public void test_invalidate_site_change_invalidates_the_previous_site() {
+
+        final SearchRequest previousSiteRequest = getFilteredSearchRequest("conhost", "site1");
+        final SearchRequest otherSiteRequest = getFilteredSearchRequest("conhost", "site3");
+        cache.put(previousSiteRequest, hits());
+        cache.put(otherSiteRequest, hits());
+
+        cache.invalidateSiteChange("movedIdentifier", "SITE1");
+
+        assertTrue(cache.get(previousSiteRequest).isEmpty());
+        assertTrue(cache.get(otherSiteRequest).isPresent());
+
+        // a search of the previous site before the contentlet is indexed in the new one
+        cache.put(previousSiteRequest, hits());
+
+        final ContentType contentType = mock(ContentType.class);
+        when(contentType.variable()).thenReturn("blog");
+        final Contentlet contentlet = mock(Contentlet.class);
+        when(contentlet.getContentType()).thenReturn(contentType);
+        when(contentlet.getIdentifier()).thenReturn("movedIdentifier");
+        when(contentlet.getHost()).thenReturn("site2");
+        when(contentlet.getLanguageId()).thenReturn(1L);
+        cache.invalidate(contentlet);
+
+        assertTrue(cache.get(previousSiteRequest).isEmpty());
+        assertTrue(cache.get(otherSiteRequest).isPresent());
+    }
+
+    /**
+     * Method to test: {@link ESQueryCache#invalidate(java.util.Collection)}
+     * Given scenario: a batch of contentlets of the same content type, site and language
+     * Expected result: the entries of the content type are gone and each tag is invalidated once
+     * for the whole batch
+     */
+    @Test
+    public void test_invalidate_batch_invalidates_each_tag_once() {
+
+        final SearchRequest request = getFilteredSearchRequest("contenttype", "batchtype");
+        cache.put(request, hits());
+
+        final long evictionsBefore = evictions("contenttype:batchtype");
+        final long siteEvictionsBefore = evictions("site:batchsite");
+        cache.invalidate(List.of(contentlet("batchtype", "one", "batchsite"),
+                contentlet("batchtype", "two", "batchsite"), contentlet("batchtype", "three", "batchsite")));
+
+        assertTrue(cache.get(request).isEmpty());
+        assertEquals(evictionsBefore + 1, evictions("contenttype:batchtype"));
+        assertEquals(siteEvictionsBefore + 1, evictions("site:batchsite"));
+    }
+
+    private long evictions(final String tag) {
+        return cache.getTagStats().getOrDefault(tag, Map.of("evictions", 0L)).get("evictions");
+    }
+
+    private Contentlet contentlet(final String contentTypeVariable, final String identifier, final String site) {
+        final ContentType contentType = mock(ContentType.class);
+        when(contentType.variable()).thenReturn(contentTypeVariable);
+        final Contentlet contentlet = mock(Contentlet.class);
+        when(contentlet.getContentType()).thenReturn(contentType);
+        when(contentlet.getIdentifier()).thenReturn(identifier);
+        when(contentlet.getHost()).thenReturn(site);
+        when(contentlet.getLanguageId()).thenReturn(1L);
+        return contentlet;
+    }
+
     SearchHits hits() {
         Random rand = new Random(); 
         List<SearchHit> hitList = new ArrayList<>();
@@ -160,9 +300,17 @@ public class ESQueryCacheTest {
         return searchRequest;
     }
 
+    private SearchRequest getFilteredSearchRequest(final String field, final String value) {
+        final SearchRequest searchRequest = getSearchRequest();
+        searchRequest.source().query(QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termQuery(field, value))
+                .must(QueryBuilders.queryStringQuery(RandomStringUtils.randomAlphanumeric(20))));
+        return searchRequest;
+    }
+
     static DotCacheAdministrator admin = new DotCacheAdministrator() {
 
-        private Map<String, SearchHits> hitMap = new HashMap<>();
+        private Map<String, Object> hitMap = new HashMap<>();
 
         @Override
         public void shutdown() {
@@ -186,7 +334,7 @@ public class ESQueryCacheTest {
 
         @Override
         public void put(String key, Object content, String group) {
-            hitMap.put(key + group, (SearchHits) content);
+            hitMap.put(key + group, content);
 
         }
 
@@ -0,0 +1,130 @@
+package com.dotcms.content.elasticsearch.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryStringQueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.index.query.TermQueryBuilder;
+import org.junit.Test;
+
+public class LuceneQueryCompilerTest {
+
+    /**
+     * Method to test: {@link LuceneQueryCompiler#splitClauses(String)}
+     * Given scenario: a query with phrases, ranges, groups and escaped spaces
+     * Expected result: they are kept in the same clause
+     */
+    @Test
+    public void test_splitClauses_keepsPhrasesRangesAndGroupsTogether() {
+
+        final List<String> clauses = LuceneQueryCompiler.splitClauses(
+                "+title:\"hello world\" +languageid:[1 TO 3] +(a:b c:d) +path:/my\\ folder/*");
+
+        assertEquals(List.of("+title:\"hello world\"", "+languageid:[1 TO 3]", "+(a:b c:d)",
+                "+path:/my\\ folder/*"), clauses);
+    }
+
+    /**
+     * Method to test: {@link LuceneQueryCompiler#splitClauses(String)}
+     * Given scenario: queries with an unclosed phrase, range or group
+     * Expected result: they can not be split
+     */
+    @Test
+    public void test_splitClauses_unbalancedQuery_returnsNull() {
+
+        assertNull(LuceneQueryCompiler.splitClauses("+title:\"hello world"));
+        assertNull(LuceneQueryCompiler.splitClauses("+languageid:[1 TO 3"));
+        assertNull(LuceneQueryCompiler.splitClauses("+(a:b c:d"));
+        assertNull(LuceneQueryCompiler.splitClauses("+a:b)"));
+    }
+
+    /**
+     * Method to test: {@link LuceneQueryCompiler#compileQuery(String)}
+     * Given scenario: a query with required and prohibited clauses on system fields and text clauses
+     * Expected result: the system fields are term queries in filter context, the rest is a query_string
+     */
+    @Test
+    public void test_compileQuery_structuralClausesAreFilters() {
+
+        final QueryBuilder query = LuceneQueryCompiler.compileQuery(
+                "+contenttype:blog +live:true -deleted:true +languageid:1 +title:hello*");
+
+        assertTrue(query instanceof BoolQueryBuilder);
+        final BoolQueryBuilder boolQuery = (BoolQueryBuilder) query;
+
+        assertEquals(3, boolQuery.filter().size());
+        assertTerm(boolQuery.filter().get(0), "contenttype", "blog");
+        assertTerm(boolQuery.filter().get(1), "live", true);
+        assertTerm(boolQuery.filter().get(2), "languageid", 1L);
+
+        assertEquals(1, boolQuery.mustNot().size());
+        assertTerm(boolQuery.mustNot().get(0), "deleted", true);
+
+        assertEquals(1, boolQuery.must().size());
+        assertEquals("+title:hello*", ((QueryStringQueryBuilder) boolQuery.must().get(0)).queryString());
+        assertTrue(boolQuery.should().isEmpty());
+    }
+
+    /**
+     * Method to test: {@link LuceneQueryCompiler#compileQuery(String)}
+     * Given scenario: optional and prohibited text clauses next to a structural clause
+     * Expected result: the optional ones stay optional and the prohibited ones are excluded
+     */
+    @Test
+    public void test_compileQuery_optionalAndProhibitedTextClauses() {
+
+        final BoolQueryBuilder boolQuery = (BoolQueryBuilder) LuceneQueryCompiler.compileQuery(
+                "+working:true title:hello body:world -tags:\"my tag\"");
+
+        assertTerm(boolQuery.filter().get(0), "working", true);
+        assertTrue(boolQuery.must().isEmpty());
+        assertEquals("title:hello body:world", ((QueryStringQueryBuilder) boolQuery.should().get(0)).queryString());
+        assertEquals("tags:\"my tag\"", ((QueryStringQueryBuilder) boolQuery.mustNot().get(0)).queryString());
+    }
+
+    /**
+     * Method to test: {@link LuceneQueryCompiler#compileQuery(String)}
+     * Given scenario: a range on a numeric system field, open on one side
+     * Expected result: a range query with the bounds of the clause
+     */
+    @Test
+    public void test_compileQuery_longRange() {
+
+        final BoolQueryBuilder boolQuery = (BoolQueryBuilder) LuceneQueryCompiler.compileQuery(
+                "+basetype:{2 TO *]");
+
+        final RangeQueryBuilder rangeQuery = (RangeQueryBuilder) boolQuery.filter().get(0);
+        assertEquals("basetype", rangeQuery.fieldName());
+        assertEquals(2L, rangeQuery.from());
+        assertEquals(false, rangeQuery.includeLower());
+        assertNull(rangeQuery.to());
+    }
+
+    /**
+     * Method to test: {@link LuceneQueryCompiler#compileQuery(String)}
+     * Given scenario: queries with top level operators or without structural clauses
+     * Expected result: the whole query is sent as a query_string
+     */
+    @Test
+    public void test_compileQuery_notCompilableQueries_areQueryStrings() {
+
+        for (final String query : List.of("+live:true OR +working:true", "+title:hello body:world",
+                "+contenttype:blog* +live:tru", "+(live:true working:true)")) {
+
+            final QueryBuilder compiled = LuceneQueryCompiler.compileQuery(query);
+            assertTrue(query, compiled instanceof QueryStringQueryBuilder);
+            assertEquals(query, ((QueryStringQueryBuilder) compiled).queryString());
+        }
+    }
+
+    private static void assertTerm(final QueryBuilder query, final String field, final Object value) {
+        assertTrue(query instanceof TermQueryBuilder);
+        assertEquals(field, ((TermQueryBuilder) query).fieldName());
+        assertEquals(value, ((TermQueryBuilder) query).value());
+    }
+}
@@ -0,0 +1,267 @@
+package com.dotcms.enterprise.publishing.staticpublishing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.services.s3.model.Bucket;
+import com.amazonaws.services.s3.model.HeadBucketResult;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.transfer.Download;
+import com.amazonaws.services.s3.transfer.MultipleFileUpload;
+import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.model.UploadResult;
+import com.dotcms.UnitTestBase;
+import com.dotcms.enterprise.publishing.storage.Storage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class S3UploadEngineTest extends UnitTestBase {
+
+    private static final String BUCKET = "test-bucket";
+    private static final int FILES = 25;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File site;
+    private File manifestFile;
+
+    @Before
+    public void setUp() throws IOException {
+        site = temporaryFolder.newFolder("site");
+        manifestFile = new File(temporaryFolder.getRoot(), "manifest.properties");
+        for (int i = 0; i < FILES; i++) {
+            final File page = new File(site, "folder" + (i % 5) + File.separator + "page" + i + ".html");
+            page.getParentFile().mkdirs();
+            Files.write(page.toPath(), ("<html>page " + i + "</html>").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Method to test: {@link S3UploadEngine#uploadFolder(String, String, File, java.io.FileFilter)}
+     * Given Scenario: A folder is pushed twice, then again after changing one of its files
+     * ExpectedResult: The second push uploads nothing and the third one only the changed file
+     */
+    @Test
+    public void test_uploadFolder_skipsUnchangedFiles() throws Exception {
+        final InMemoryStorage storage = new InMemoryStorage(false);
+
+        assertEquals(FILES, push(storage, 10).getUploaded());
+        assertEquals(FILES, storage.objects.size());
+        assertTrue(storage.objects.containsKey("prefix/folder0/page0.html"));
+
+        final S3UploadEngine secondPush = push(storage, 10);
+        assertEquals(0, secondPush.getUploaded());
+        assertEquals(FILES, secondPush.getSkipped());
+
+        Files.write(new File(site, "folder1" + File.separator + "page1.html").toPath(),
+                "<html>changed</html>".getBytes(StandardCharsets.UTF_8));
+        final S3UploadEngine thirdPush = push(storage, 10);
+        assertEquals(1, thirdPush.getUploaded());
+        assertEquals(FILES - 1, thirdPush.getSkipped());
+    }
+
+    /**
+     * Method to test: {@link S3UploadEngine#uploadFolder(String, String, File, java.io.FileFilter)}
+     * Given Scenario: The bucket returns ETags of multipart uploads, which are not the MD5 of the files
+     * ExpectedResult: The manifest recognizes the unchanged files, and everything is uploaded again
+     * when the manifest is lost
+     */
+    @Test
+    public void test_uploadFolder_usesManifestForMultipartETags() throws Exception {
+        final InMemoryStorage storage = new InMemoryStorage(true);
+
+        assertEquals(FILES, push(storage, 10).getUploaded());
+        assertEquals(0, push(storage, 10).getUploaded());
+
+        assertTrue(manifestFile.delete());
+        assertEquals(FILES, push(storage, 10).getUploaded());
+    }
+
+    /**
+     * Method to test: {@link S3UploadEngine#upload(String, String, File)}
+     * Given Scenario: Many files are pushed with a limit of uploads in flight
+     * ExpectedResult: The limit is never exceeded
+     */
+    @Test
+    public void test_upload_boundsUploadsInFlight() throws Exception {
+        final InMemoryStorage storage = new InMemoryStorage(false);
+
+        push(storage, 3);
+
+        assertEquals(3, storage.maxInFlight.get());
+    }
+
+    private S3UploadEngine push(final InMemoryStorage storage, final int maxInFlightUploads) throws Exception {
+        final S3UploadEngine engine = new S3UploadEngine(storage, (file, metadata) -> {},
+                bucketName -> new S3UploadManifest(manifestFile), maxInFlightUploads, true);
+        engine.uploadFolder(BUCKET, "prefix", site, file -> true);
+        engine.await();
+        return engine;
+    }
+
+    /**
+     * S3 stand-in that keeps the objects in memory and lists them in small pages. Uploads are only
+     * finished when they are waited for, so the uploads in flight can be counted.
+     */
+    private static class InMemoryStorage implements Storage {
+
+        private static final int PAGE_SIZE = 4;
+
+        private final Map<String, String> objects = new TreeMap<>();
+        private final boolean multipartETags;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private InMemoryStorage(final boolean multipartETags) {
+            this.multipartETags = multipartETags;
+        }
+
+        @Override
+        public Upload uploadFile(final PutObjectRequest putObjectRequest) {
+            final String eTag;
+            try {
+                final String md5 = DigestUtils.md5Hex(Files.readAllBytes(putObjectRequest.getFile().toPath()));
+                eTag = multipartETags ? DigestUtils.md5Hex(md5) + "-2" : md5;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            final UploadResult result = new UploadResult();
+            result.setKey(putObjectRequest.getKey());
+            result.setETag(eTag);
+
+            final Upload upload = mock(Upload.class);
+            try {
+                when(upload.waitForUploadResult()).then(invocation -> {
+                    objects.put(putObjectRequest.getKey(), eTag);
+                    inFlight.decrementAndGet();
+                    return result;
+                });
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return upload;
+        }
+
+        @Override
+        public ObjectListing listObjects(final String bucketName, final String folderPath) {
+            return page(bucketName, folderPath, null);
+        }
+
+        @Override
+        public ObjectListing listNextBatchOfObjects(final ObjectListing previousListing) {
+            return page(previousListing.getBucketName(), previousListing.getPrefix(), previousListing.getNextMarker());
+        }
+
+        private ObjectListing page(final String bucketName, final String prefix, final String marker) {
+            final ObjectListing listing = new ObjectListing();
+            listing.setBucketName(bucketName);
+            listing.setPrefix(prefix);
+            for (final Map.Entry<String, String> object : objects.entrySet()) {
+                if (!object.getKey().startsWith(prefix) || (marker != null && object.getKey().compareTo(marker) <= 0)) {
+                    continue;
+                }
+                if (listing.getObjectSummaries().size() == PAGE_SIZE) {
+                    listing.setTruncated(true);
+                    break;
+                }
+                final S3ObjectSummary summary = new S3ObjectSummary();
+                summary.setBucketName(bucketName);
+                summary.setKey(object.getKey());
+                summary.setETag(object.getValue());
+                listing.getObjectSummaries().add(summary);
+                listing.setNextMarker(object.getKey());
+            }
+            return listing;
+        }
+
+        @Override
+        public boolean existsBucket(final String bucketName) {
+            return BUCKET.equals(bucketName);
+        }
+
+        @Override
+        public void createBucket(final String bucketName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createBucket(final String bucketName, final String region) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteBucket(final String bucketName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Bucket> listBuckets() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createFolder(final String bucketName, final String folderName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MultipleFileUpload uploadFolder(final String bucketName, final String folderPath, final File folder) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MultipleFileUpload uploadFolder(final String bucketName, final String folderPath, final File folder,
+                                               final ObjectMetadataProvider objectMetadataProvider) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteFolder(final String bucketName, final String folderName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Upload uploadFile(final String bucketName, final String folderName, final File file) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Download downloadFile(final String bucketName, final String filePath, final File file) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteFile(final String bucketName, final String filePath) {
+            objects.remove(filePath);
+        }
+
+        @Override
+        public HeadBucketResult headBucket(final String bucketName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void shutdownTransferManager() {
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.dotcms.publishing.output;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import com.dotcms.UnitTestBase;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class ParallelGzipOutputStreamTest extends UnitTestBase {
+
+    /**
+     * Method to test: {@link ParallelGzipOutputStream#write(byte[], int, int)}
+     * Given Scenario: Data bigger than several blocks is written in pieces of different sizes
+     * ExpectedResult: The concatenated gzip members are read back as the original data
+     */
+    @Test
+    public void test_write_isReadBackByGZIPInputStream() throws IOException {
+        final byte[] data = new byte[1_000_000];
+        final Random random = new Random(11);
+        for (int i = 0; i < data.length; i++) {
+            // compressible but not trivial data
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (final ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(compressed, 64 * 1024)) {
+            int offset = 0;
+            while (offset < data.length) {
+                final int length = Math.min(data.length - offset, 1 + random.nextInt(100_000));
+                gzip.write(data, offset, length);
+                offset += length;
+            }
+        }
+
+        try (final GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(data, IOUtils.toByteArray(input));
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.dotcms.vanityurl.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.regex.MatcherTimeoutFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class CompiledVanityUrlsTest {
+
+    private static CachedVanityUrl vanity(final String url, final int order) {
+        return new CachedVanityUrl("id" + order, url, 1, "site", "/forward" + order, 200, order);
+    }
+
+    /**
+     * Method to test: {@link CompiledVanityUrls#literalPrefix(String)}
+     * Given Scenario: Patterns with and without regex meta characters
+     * ExpectedResult: Only the part every matching input must start with is returned
+     */
+    @Test
+    public void test_literal_prefix() {
+        assertEquals("/about-us", CompiledVanityUrls.literalPrefix("/about-us"));
+        assertEquals("/blog/", CompiledVanityUrls.literalPrefix("/blog/(.*)"));
+        assertEquals("/news", CompiledVanityUrls.literalPrefix("/news(/)*"));
+        assertEquals("/new", CompiledVanityUrls.literalPrefix("/news?"));
+        assertEquals("/news", CompiledVanityUrls.literalPrefix("/news+"));
+        assertEquals("/products", CompiledVanityUrls.literalPrefix("/PRODUCTS/[0-9]+"));
+        assertEquals("", CompiledVanityUrls.literalPrefix("/a|/b"));
+        assertEquals("", CompiledVanityUrls.literalPrefix(".*"));
+        assertEquals("", CompiledVanityUrls.literalPrefix("^/start"));
+    }
+
+    /**
+     * Method to test: {@link CompiledVanityUrls#findLiteral(String)}
+     * Given Scenario: Two Vanity URLs with the same URI in different case
+     * ExpectedResult: The first one in precedence order is returned, ignoring case
+     */
+    @Test
+    public void test_find_literal_keeps_precedence() {
+        final CompiledVanityUrls compiled = new CompiledVanityUrls(
+                List.of(vanity("/Home", 0), vanity("/home", 1)));
+
+        assertEquals("id0", compiled.findLiteral("/HOME").get().vanityUrlId);
+        assertFalse(compiled.findLiteral("/homes").isPresent());
+    }
+
+    /**
+     * Method to test: {@link CompiledVanityUrls#findPattern(String)}
+     * Given Scenario: Patterns sharing prefixes plus a catch all pattern with lower precedence
+     * ExpectedResult: The first matching pattern in precedence order is returned
+     */
+    @Test
+    public void test_find_pattern_keeps_precedence() {
+        final CompiledVanityUrls compiled = new CompiledVanityUrls(List.of(
+                vanity("/blog/2020/(.*)", 0),
+                vanity("/blog/(.*)", 1),
+                vanity("/(.*)", 2),
+                vanity("/blog/2020/special", 3)));
+
+        assertEquals("id0", compiled.findPattern("/blog/2020/special").get().vanityUrlId);
+        assertEquals("id1", compiled.findPattern("/BLOG/2021/post").get().vanityUrlId);
+        assertEquals("id2", compiled.findPattern("/other").get().vanityUrlId);
+        assertFalse(compiled.findPattern("other").isPresent());
+        assertArrayEquals(new int[]{2}, compiled.candidates("/other"));
+    }
+
+    /**
+     * Method to test: {@link CompiledVanityUrls#findLiteral(String)} and
+     * {@link CompiledVanityUrls#findPattern(String)}
+     * Given Scenario: 10k Vanity URLs resolved with both the compiled resolver and a linear scan
+     * ExpectedResult: Both return the same Vanity URL for every url
+     */
+    @Test
+    public void test_compiled_resolution_matches_linear_scan() {
+        final List<CachedVanityUrl> vanityUrls = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            vanityUrls.add(i % 3 == 0
+                    ? vanity("/section" + (i % 100) + "/page" + i + "/(.*)", i)
+                    : vanity("/section" + (i % 100) + "/page" + i, i));
+        }
+        vanityUrls.add(vanity("/section1(.*)", 10000));
+        final CompiledVanityUrls compiled = new CompiledVanityUrls(vanityUrls);
+
+        final String[] urls = {"/section1/page1", "/SECTION3/page3/child", "/section1/page3", "/section1x",
+                "/section42/page9942", "/section0/page0/a/b", "/missing"};
+        for (final String url : urls) {
+            assertEquals(url, linearScan(vanityUrls, url), compiled.findLiteral(url)
+                    .or(() -> compiled.findPattern(url)));
+        }
+        assertTrue(compiled.candidates("/section1/page1").length < 200);
+    }
+
+    private static Optional<CachedVanityUrl> linearScan(final List<CachedVanityUrl> vanityUrls, final String url) {
+        final Optional<CachedVanityUrl> literal = vanityUrls.stream()
+                .filter(vanityUrl -> vanityUrl.url.equalsIgnoreCase(url)).findFirst();
+        return literal.isPresent() ? literal : vanityUrls.stream()
+                .filter(vanityUrl -> MatcherTimeoutFactory.matcher(vanityUrl.pattern, url).matches())
+                .findFirst();
+    }
+
+}
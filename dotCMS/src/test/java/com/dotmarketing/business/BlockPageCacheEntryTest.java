@@ -0,0 +1,59 @@
+package com.dotmarketing.business;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+
+public class BlockPageCacheEntryTest {
+
+    /**
+     * Method to test: {@link BlockPageCacheEntry#of(String, int)}
+     * Given Scenario: A page bigger than the gzip threshold is encoded
+     * ExpectedResult: The UTF-8 bytes and a gzipped copy that inflates back to the same bytes
+     */
+    @Test
+    public void test_page_is_encoded_once() throws IOException {
+        final String page = "<html><body>" + "<p>cached page ñ</p>".repeat(200) + "</body></html>";
+        final BlockPageCacheEntry entry = BlockPageCacheEntry.of(page, 1024);
+
+        assertArrayEquals(page.getBytes(StandardCharsets.UTF_8), entry.getBytes());
+        assertEquals(page, entry.toString());
+        assertTrue(entry.hasGzippedBytes());
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(entry.getGzippedBytes()))) {
+            assertArrayEquals(entry.getBytes(), input.readAllBytes());
+        }
+
+        assertFalse(BlockPageCacheEntry.of(page, -1).hasGzippedBytes());
+        assertNull(BlockPageCacheEntry.of("<p>small</p>", 1024).getGzippedBytes());
+    }
+
+    /**
+     * Method to test: {@link BlockPageCacheEntry#matches(String)}
+     * Given Scenario: If-None-Match headers with the ETags of the page, of another page and wildcards
+     * ExpectedResult: Only the ETags of the same content match, weak or not
+     */
+    @Test
+    public void test_etags() {
+        final BlockPageCacheEntry entry = BlockPageCacheEntry.of("<p>page</p>", 0);
+
+        assertEquals(entry.getETag(false), BlockPageCacheEntry.of("<p>page</p>", 0).getETag(false));
+        assertNotEquals(entry.getETag(false), entry.getETag(true));
+        assertNotEquals(entry.getETag(false), BlockPageCacheEntry.of("<p>other page</p>", 0).getETag(false));
+
+        assertTrue(entry.matches(entry.getETag(false)));
+        assertTrue(entry.matches("\"other\", W/" + entry.getETag(true)));
+        assertTrue(entry.matches("*"));
+        assertFalse(entry.matches(null));
+        assertFalse(entry.matches(BlockPageCacheEntry.of("<p>other page</p>", 0).getETag(false)));
+    }
+
+}
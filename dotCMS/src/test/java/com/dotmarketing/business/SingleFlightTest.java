@@ -0,0 +1,144 @@
+package com.dotmarketing.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+    /**
+     * Method to test: {@link SingleFlight#load(String, DotCacheAdministrator.CacheLoader, java.util.function.Consumer)}
+     * Given Scenario: Many threads ask for the same key while its load is running
+     * ExpectedResult: The loader and the onLoaded callback run once and every thread gets the same value
+     */
+    @Test
+    public void test_concurrent_loads_are_collapsed() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(10000);
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger puts = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.load("key", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "value";
+            }, value -> puts.incrementAndGet())));
+
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> singleFlight.load("key", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }, value -> puts.incrementAndGet())));
+            }
+            // give the followers some time to join the running load
+            Thread.sleep(200);
+            release.countDown();
+
+            for (final Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, puts.get());
+            assertFalse(singleFlight.isLoading("key"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method to test: {@link SingleFlight#cancel(String)}
+     * Given Scenario: The key is invalidated while it is being loaded
+     * ExpectedResult: The loaded value is returned but not handed to the onLoaded callback
+     */
+    @Test
+    public void test_cancelled_load_is_not_stored() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(10000);
+        final AtomicInteger puts = new AtomicInteger();
+
+        final String value = singleFlight.load("key", () -> {
+            singleFlight.cancel("key");
+            return "value";
+        }, loaded -> puts.incrementAndGet());
+
+        assertEquals("value", value);
+        assertEquals(0, puts.get());
+    }
+
+    /**
+     * Method to test: {@link SingleFlight#load(String, DotCacheAdministrator.CacheLoader, java.util.function.Consumer)}
+     * Given Scenario: The loader asks for its own key again, and later on the loader fails
+     * ExpectedResult: The nested call loads on its own instead of waiting forever, and the failure
+     * does not leave the key loading
+     */
+    @Test
+    public void test_reentrant_and_failed_loads() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(10000);
+
+        final String value = singleFlight.load("key",
+                () -> singleFlight.load("key", () -> "nested", loaded -> {}) + "-outer", loaded -> {});
+        assertEquals("nested-outer", value);
+
+        try {
+            singleFlight.load("key", () -> {
+                throw new DotCacheException("failed");
+            }, loaded -> {});
+            fail("The exception of the loader should be thrown");
+        } catch (final DotCacheException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertFalse(singleFlight.isLoading("key"));
+    }
+
+    /**
+     * Method to test: {@link SingleFlight#load(String, DotCacheAdministrator.CacheLoader, java.util.function.Consumer)}
+     * Given Scenario: Two threads are loading different keys and the loader of each one asks for the
+     * key the other one is loading
+     * ExpectedResult: Neither waits for the other, both loads finish right away instead of after the
+     * wait timeout
+     */
+    @Test
+    public void test_crossed_loads_do_not_wait_for_each_other() throws Exception {
+        final SingleFlight singleFlight = new SingleFlight(30000);
+        final CountDownLatch bothLoading = new CountDownLatch(2);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final Future<String> first = executor.submit(() -> singleFlight.load("first", () -> {
+                bothLoading.countDown();
+                bothLoading.await();
+                return singleFlight.load("second", () -> "second-nested", loaded -> {}) + "-first";
+            }, loaded -> {}));
+            final Future<String> second = executor.submit(() -> singleFlight.load("second", () -> {
+                bothLoading.countDown();
+                bothLoading.await();
+                return singleFlight.load("first", () -> "first-nested", loaded -> {}) + "-second";
+            }, loaded -> {}));
+
+            assertEquals("second-nested-first", first.get(5, TimeUnit.SECONDS));
+            assertEquals("first-nested-second", second.get(5, TimeUnit.SECONDS));
+            assertFalse(singleFlight.isLoading("first"));
+            assertFalse(singleFlight.isLoading("second"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.dotmarketing.business.cache.provider.mmap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class MappedLogCacheTest {
+
+    private static MappedLogCache newCache(final int segmentSize, final int maxSegments) throws Exception {
+        final File dir = Files.createTempDir();
+        dir.deleteOnExit();
+        final MappedLogCache cache = new MappedLogCache(dir.getAbsolutePath(), segmentSize, maxSegments);
+        cache.init();
+        return cache;
+    }
+
+    /**
+     * Method to test: {@link MappedLogCache#put(String, String, Object)}, {@link MappedLogCache#get(String, String)}
+     * and both remove methods
+     * Given Scenario: Values are put, overwritten, removed by key and removed by group
+     * ExpectedResult: The same group semantics as the other disk cache providers
+     */
+    @Test
+    public void test_basic_cache_operations() throws Exception {
+        final MappedLogCache cache = newCache(1024 * 1024, 4);
+
+        cache.put("TestGroup", "key", "content");
+        cache.put("TestGroup", "key2", "content2");
+        cache.put("OtherGroup", "key", "other");
+        cache.put("TestGroup", "notSerializable", new Object());
+
+        assertEquals("content", cache.get("testgroup", "key"));
+        assertEquals("other", cache.get("OtherGroup", "key"));
+        assertNull(cache.get("TestGroup", "notSerializable"));
+
+        cache.put("TestGroup", "key", "updated");
+        assertEquals("updated", cache.get("TestGroup", "key"));
+
+        cache.remove("TestGroup", "key");
+        assertNull(cache.get("TestGroup", "key"));
+        assertEquals("content2", cache.get("TestGroup", "key2"));
+
+        cache.remove("TestGroup");
+        assertNull(cache.get("TestGroup", "key2"));
+        assertEquals("other", cache.get("OtherGroup", "key"));
+
+        cache.removeAll();
+        assertNull(cache.get("OtherGroup", "key"));
+        assertTrue(cache.getGroups().isEmpty());
+        cache.shutdown();
+    }
+
+    /**
+     * Method to test: {@link MappedLogCache#compact()}
+     * Given Scenario: Keys overwritten many times so most of the sealed segments are garbage
+     * ExpectedResult: Compaction keeps the latest value of every key
+     */
+    @Test
+    public void test_compaction_keeps_live_values() throws Exception {
+        final MappedLogCache cache = newCache(4096, 64);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 20; i++) {
+                cache.put("group", "key" + i, "value-" + round + "-" + i);
+            }
+        }
+        cache.compact();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("value-19-" + i, cache.get("group", "key" + i));
+        }
+        assertEquals(20, cache.getKeys("group").size());
+        cache.shutdown();
+    }
+
+    /**
+     * Method to test: {@link MappedLogCache#put(String, String, Object)}
+     * Given Scenario: More data than the maximum number of segments can hold
+     * ExpectedResult: The oldest entries are dropped and the newest are kept
+     */
+    @Test
+    public void test_oldest_segment_is_dropped_when_full() throws Exception {
+        final MappedLogCache cache = newCache(4096, 2);
+
+        for (int i = 0; i < 500; i++) {
+            cache.put("group", "key" + i, "value-" + i);
+        }
+
+        assertNull(cache.get("group", "key0"));
+        assertEquals("value-499", cache.get("group", "key499"));
+        assertTrue(cache.getKeys("group").size() < 500);
+        cache.shutdown();
+    }
+
+    /**
+     * Method to test: {@link MappedLogCache#put(String, String, Object)}
+     * Given Scenario: Many threads put the same key at the same time, the last put is done alone
+     * ExpectedResult: The index points to the value of the last put, not to an older record
+     */
+    @Test
+    public void test_concurrent_puts_keep_the_last_value() throws Exception {
+        final MappedLogCache cache = newCache(64 * 1024, 16);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                final int id = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        cache.put("group", "key", "value-" + id + "-" + i);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        cache.put("group", "key", "last");
+        assertEquals("last", cache.get("group", "key"));
+        assertEquals(1, cache.getKeys("group").size());
+        cache.shutdown();
+    }
+
+    /**
+     * Method to test: {@link LogSegment#delete()}
+     * Given Scenario: A segment with a record is deleted
+     * ExpectedResult: The segment is marked as deleted, its file is gone and reads return nothing
+     */
+    @Test
+    public void test_deleted_segment_is_not_read() throws Exception {
+        final File dir = Files.createTempDir();
+        dir.deleteOnExit();
+        final LogSegment segment = LogSegment.create(dir, 0, 4096);
+        final LogSegment.Location location = segment.append("group".getBytes(StandardCharsets.UTF_8),
+                "key".getBytes(StandardCharsets.UTF_8), new byte[]{1, 2, 3});
+        assertEquals(3, segment.read(location).length);
+
+        segment.delete();
+
+        assertTrue(segment.isDeleted());
+        assertFalse(new File(dir, "segment-0.log").exists());
+        assertNull(segment.read(location));
+    }
+
+}
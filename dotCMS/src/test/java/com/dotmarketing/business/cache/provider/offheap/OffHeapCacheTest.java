@@ -0,0 +1,112 @@
+package com.dotmarketing.business.cache.provider.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.dotmarketing.business.cache.provider.CacheStats;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class OffHeapCacheTest {
+
+    /**
+     * Method to test: {@link OffHeapCache#put(String, String, Object)} and {@link OffHeapCache#get(String, String)}
+     * Given Scenario: Serializable and non serializable values are put, removed and flushed
+     * ExpectedResult: Serializable values are returned as copies until removed, the others are not cached
+     */
+    @Test
+    public void test_basic_cache_operations() {
+        final OffHeapCache cache = new OffHeapCache();
+        cache.init();
+
+        final ArrayList<String> content = new ArrayList<>(List.of("a", "b", "c"));
+        cache.put("TestGroup", "key", content);
+        cache.put("TestGroup", "notSerializable", new Object());
+
+        final Object cached = cache.get("testgroup", "key");
+        assertEquals(content, cached);
+        assertFalse(content == cached);
+        assertNull(cache.get("TestGroup", "notSerializable"));
+        assertTrue(cache.getKeys("TestGroup").contains("key"));
+
+        cache.put("TestGroup", "key", "other");
+        assertEquals("other", cache.get("TestGroup", "key"));
+
+        cache.remove("TestGroup", "key");
+        assertNull(cache.get("TestGroup", "key"));
+
+        cache.put("TestGroup", "key", content);
+        cache.remove("TestGroup");
+        assertNull(cache.get("TestGroup", "key"));
+
+        cache.put("TestGroup", "key", content);
+        cache.get("TestGroup", "key");
+        final CacheStats stats = cache.getStats().getStats().get(0);
+        assertEquals("testgroup", stats.getStatValue(CacheStats.REGION));
+        assertEquals("1", stats.getStatValue(CacheStats.REGION_HITS));
+    }
+
+    /**
+     * Method to test: {@link OffHeapRegion#put(String, byte[])}
+     * Given Scenario: Many more values than the byte budget of the region can hold
+     * ExpectedResult: The off heap memory never goes over the budget and older values make room for new ones
+     */
+    @Test
+    public void test_region_stays_within_budget() {
+        final int pageSize = 4096;
+        final OffHeapRegion region = new OffHeapRegion("test", pageSize * 4, pageSize);
+
+        for (int i = 0; i < 1000; i++) {
+            region.put("mixed" + i, value(i, 100 + i % 900));
+            assertTrue(region.allocatedBytes() <= pageSize * 4);
+            assertTrue(region.usedBytes() <= pageSize * 4);
+        }
+
+        region.removeAll();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(region.put("key" + i, value(i, 500)));
+            assertArrayEquals(value(i, 500), region.get("key" + i));
+        }
+        assertTrue(region.size() < 100);
+        assertFalse(region.put("tooBig", new byte[pageSize + 1]));
+        assertNull(region.get("tooBig"));
+
+        region.removeAll();
+        assertEquals(0, region.usedBytes());
+    }
+
+    /**
+     * Method to test: {@link SlabAllocator#allocate(int)} and {@link SlabAllocator#release(SlabAllocator.Slot)}
+     * Given Scenario: A page of a size class is emptied and a value of another size class is allocated
+     * ExpectedResult: The empty page is reused instead of going over the budget
+     */
+    @Test
+    public void test_allocator_reuses_empty_pages() {
+        final SlabAllocator allocator = new SlabAllocator(1024, 1024);
+
+        final SlabAllocator.Slot small = allocator.allocate(10);
+        assertEquals(SlabAllocator.MIN_SLOT_SIZE, small.size());
+        assertNull(allocator.allocate(1000));
+
+        allocator.release(small);
+        final SlabAllocator.Slot big = allocator.allocate(1000);
+        assertEquals(1024, big.size());
+        assertEquals(1024, allocator.allocatedBytes());
+
+        big.write(value(1, 1000));
+        assertArrayEquals(value(1, 1000), big.read());
+    }
+
+    private static byte[] value(final int seed, final int length) {
+        final byte[] value = new byte[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = (byte) (seed + i);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.dotmarketing.common.reindex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AdaptiveReindexTunerTest {
+
+    /**
+     * Method to test: {@link AdaptiveReindexTuner#onBulkCompleted(long, int, int)}
+     * Given Scenario: Fast bulk requests without rejections
+     * ExpectedResult: The batch size grows up to its maximum and then the concurrency grows
+     */
+    @Test
+    public void test_fast_bulks_grow_batch_size_and_concurrency() {
+        final AdaptiveReindexTuner tuner = new AdaptiveReindexTuner(10, 40, 3, 1000);
+        final int initialConcurrency = tuner.concurrentRequests();
+
+        for (int i = 0; i < 20; i++) {
+            tuner.onBulkCompleted(100, tuner.bulkActions(), 0);
+        }
+
+        assertEquals(40, tuner.bulkActions());
+        assertTrue(tuner.concurrentRequests() > initialConcurrency);
+        assertEquals(3, tuner.concurrentRequests());
+    }
+
+    /**
+     * Method to test: {@link AdaptiveReindexTuner#onBulkCompleted(long, int, int)}
+     * Given Scenario: Elasticsearch rejects items and bulk requests are slow
+     * ExpectedResult: The batch size and the concurrency shrink, never below their minimums
+     */
+    @Test
+    public void test_rejections_and_slow_bulks_shrink_batch_size() {
+        final AdaptiveReindexTuner tuner = new AdaptiveReindexTuner(10, 1000, 4, 1000);
+        for (int i = 0; i < 20; i++) {
+            tuner.onBulkCompleted(100, tuner.bulkActions(), 0);
+        }
+        final int grown = tuner.bulkActions();
+
+        tuner.onBulkCompleted(100, grown, 5);
+        assertTrue(tuner.bulkActions() <= grown / 2 + 1);
+
+        for (int i = 0; i < 50; i++) {
+            tuner.onBulkCompleted(5000, tuner.bulkActions(), 0);
+        }
+        assertEquals(10, tuner.bulkActions());
+
+        tuner.onBulkFailed(100, 10);
+        assertEquals(1, tuner.concurrentRequests());
+        assertEquals(15L, tuner.getStats().get("rejections"));
+    }
+
+    /**
+     * Method to test: {@link AdaptiveReindexTuner#isOutdated(int, int)}
+     * Given Scenario: Settings a BulkProcessor was built with compared to the current ones
+     * ExpectedResult: Only big changes require a new BulkProcessor
+     */
+    @Test
+    public void test_is_outdated() {
+        final AdaptiveReindexTuner tuner = new AdaptiveReindexTuner(10, 1000, 4, 1000);
+        final int bulkActions = tuner.bulkActions();
+        final int concurrency = tuner.concurrentRequests();
+
+        assertFalse(tuner.isOutdated(bulkActions, concurrency));
+        assertTrue(tuner.isOutdated(bulkActions, concurrency + 1));
+        assertTrue(tuner.isOutdated(bulkActions * 4, concurrency));
+    }
+
+}
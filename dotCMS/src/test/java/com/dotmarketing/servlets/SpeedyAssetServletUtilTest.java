@@ -0,0 +1,109 @@
+package com.dotmarketing.servlets;
+
+import com.dotcms.UnitTestBase;
+import com.dotmarketing.filters.compression.GZIPResponseWrapper;
+import java.io.File;
+import java.io.RandomAccessFile;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SpeedyAssetServletUtilTest extends UnitTestBase {
+
+    private static final long FILE_SIZE = 64 * 1024L;
+
+    private static File file;
+
+    @BeforeClass
+    public static void createFile() throws Exception {
+        file = File.createTempFile("speedy-asset", ".bin");
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength(FILE_SIZE);
+        }
+    }
+
+    @AfterClass
+    public static void deleteFile() {
+        file.delete();
+    }
+
+    /**
+     * Method to test: {@link SpeedyAssetServletUtil#sendFile}
+     * Given Scenario: The container supports sendfile and the response is wrapped by filters that
+     * only touch the headers, as it is once it went through the filter chain
+     * ExpectedResult: The file is handed over to the container
+     */
+    @Test
+    public void test_sendFile_throughHeaderOnlyWrappers() throws Exception {
+
+        final HttpServletRequest request = sendfileRequest(DispatcherType.FORWARD);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+
+        assertTrue(SpeedyAssetServletUtil.sendFile(request,
+                new HttpServletResponseWrapper(new HttpServletResponseWrapper(response)), file, 0, FILE_SIZE));
+        verify(request).setAttribute(SpeedyAssetServletUtil.SENDFILE_FILENAME_ATTRIBUTE, file.getCanonicalPath());
+        verify(response).setContentLengthLong(FILE_SIZE);
+    }
+
+    /**
+     * Method to test: {@link SpeedyAssetServletUtil#sendFile}
+     * Given Scenario: A gzip wrapper is somewhere in the wrapper chain of the response
+     * ExpectedResult: The file is not handed over, the bytes have to go through the gzip stream
+     */
+    @Test
+    public void test_sendFile_notWithGzipWrapper() {
+
+        final HttpServletRequest request = sendfileRequest(DispatcherType.REQUEST);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+
+        assertFalse(SpeedyAssetServletUtil.sendFile(request,
+                new HttpServletResponseWrapper(new GZIPResponseWrapper(response)), file, 0, FILE_SIZE));
+        verify(response, never()).setContentLengthLong(FILE_SIZE);
+    }
+
+    /**
+     * Method to test: {@link SpeedyAssetServletUtil#sendFile}
+     * Given Scenario: The asset is included in another response
+     * ExpectedResult: The file is not handed over, the caller captures the body of the include
+     */
+    @Test
+    public void test_sendFile_notOnInclude() {
+
+        assertFalse(SpeedyAssetServletUtil.sendFile(sendfileRequest(DispatcherType.INCLUDE),
+                mock(HttpServletResponse.class), file, 0, FILE_SIZE));
+    }
+
+    /**
+     * Method to test: {@link SpeedyAssetServletUtil#sendFile}
+     * Given Scenario: The connector does not support sendfile, or the range is too small for it
+     * ExpectedResult: The file is not handed over
+     */
+    @Test
+    public void test_sendFile_notWithoutSupportOrForSmallRanges() {
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+
+        assertFalse(SpeedyAssetServletUtil.sendFile(request, mock(HttpServletResponse.class), file, 0, FILE_SIZE));
+        assertFalse(SpeedyAssetServletUtil.sendFile(sendfileRequest(DispatcherType.REQUEST),
+                mock(HttpServletResponse.class), file, 0, 1024));
+    }
+
+    private static HttpServletRequest sendfileRequest(final DispatcherType dispatcherType) {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getDispatcherType()).thenReturn(dispatcherType);
+        when(request.getAttribute(SpeedyAssetServletUtil.SENDFILE_SUPPORT_ATTRIBUTE)).thenReturn(Boolean.TRUE);
+        return request;
+    }
+}
@@ -51,6 +51,7 @@ import com.dotcms.integritycheckers.ContentPageIntegrityCheckerTest;
 import com.dotcms.integritycheckers.HostIntegrityCheckerTest;
 import com.dotcms.integritycheckers.IntegrityUtilTest;
 import com.dotcms.jobs.business.api.JobQueueManagerAPITest;
+import com.dotcms.jobs.business.queue.PostgresJobQueueIntegrationTest;
 import com.dotcms.junit.MainBaseSuite;
 import com.dotcms.mail.MailAPIImplTest;
 import com.dotcms.publisher.bundle.business.BundleAPITest;
@@ -321,6 +322,9 @@ import org.junit.runners.Suite.SuiteClasses;
         Task240606AddVariableColumnToWorkflowTest.class,
         OpenAIContentPromptActionletTest.class,
         JobQueueManagerAPITest.class,
+        PostgresJobQueueIntegrationTest.class,
+        Task240712CreateJobQueueTablesTest.class,
+        Task240715AddFingerprintColumnToPushedAssetsTest.class,
         ConfigUtilsTest.class
 })
 
@@ -21,6 +21,7 @@ public class PushedAssetDataGen extends AbstractDataGen<PushedAsset> {
     private Environment environment;
     private Date pushDate;
     private Class<? extends Publisher> publisherClass;
+    private String fingerprint;
 
     public PushedAssetDataGen assetId(String assetId) {
         this.assetId = assetId;
@@ -52,6 +53,11 @@ public class PushedAssetDataGen extends AbstractDataGen<PushedAsset> {
         return this;
     }
 
+    public PushedAssetDataGen fingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
     @Override
     public PushedAsset next() {
         final PushedAsset pushedAsset = new PushedAsset();
@@ -61,6 +67,7 @@ public class PushedAssetDataGen extends AbstractDataGen<PushedAsset> {
         pushedAsset.setEndpointId(publishingEndPoint.getId());
         pushedAsset.setEnvironmentId(environment.getId());
         pushedAsset.setPublisher(publisherClass.getName());
+        pushedAsset.setFingerprint(fingerprint);
 
         if (pushDate != null) {
             pushedAsset.setPushDate(pushDate);
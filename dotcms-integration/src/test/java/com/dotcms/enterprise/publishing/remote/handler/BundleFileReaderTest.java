@@ -0,0 +1,128 @@
+package com.dotcms.enterprise.publishing.remote.handler;
+
+import com.dotcms.util.IntegrationTestInitService;
+import com.thoughtworks.xstream.XStream;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BundleFileReaderTest {
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+    }
+
+    /**
+     * Method to test: {@link BundleFileReader#read(File)}
+     * Given Scenario: The files are read in the order they were passed to the reader, with fewer read-ahead slots than files
+     * ExpectedResult: Every file returns its own object
+     */
+    @Test
+    public void test_read_inOrder_returnsTheReadAheadObjects() throws Exception {
+
+        final XStream xstream = new XStream();
+        final List<File> files = newFiles(xstream, 6);
+
+        try (final BundleFileReader reader = new BundleFileReader(xstream, files, 2)) {
+            for (int i = 0; i < files.size(); i++) {
+                assertEquals("item-" + i, reader.read(files.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Method to test: {@link BundleFileReader#read(File)}
+     * Given Scenario: A file is read out of order, and then the files are read in order again
+     * ExpectedResult: The file read out of order is read in the calling thread and every file
+     * still returns its own object
+     */
+    @Test
+    public void test_read_outOfOrder_fallsBackToTheCallingThread() throws Exception {
+
+        final XStream xstream = new XStream();
+        final List<File> files = newFiles(xstream, 4);
+
+        try (final BundleFileReader reader = new BundleFileReader(xstream, files, 2)) {
+            assertEquals("item-3", reader.read(files.get(3)));
+            assertEquals("item-0", reader.read(files.get(0)));
+            assertEquals("item-2", reader.read(files.get(2)));
+            assertEquals("item-1", reader.read(files.get(1)));
+            assertEquals("item-3", reader.read(files.get(3)));
+        }
+    }
+
+    /**
+     * Method to test: {@link BundleFileReader#close()}
+     * Given Scenario: The reader is closed while the files read ahead are still being deserialized
+     * ExpectedResult: The pending reads are cancelled
+     */
+    @Test
+    public void test_close_cancelsThePendingReads() throws Exception {
+
+        final Thread testThread = Thread.currentThread();
+        final CountDownLatch readingAhead = new CountDownLatch(2);
+        final CountDownLatch cancelled = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        // only the reads done ahead, in the pool, block until they are cancelled
+        final XStream xstream = new XStream() {
+            @Override
+            public Object fromXML(final InputStream input) {
+                if (Thread.currentThread() != testThread) {
+                    readingAhead.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        cancelled.countDown();
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return super.fromXML(input);
+            }
+        };
+        final List<File> files = newFiles(xstream, 3);
+        final File other = newFiles(xstream, 1).get(0);
+
+        try {
+            final BundleFileReader reader = new BundleFileReader(xstream, files, 2);
+            assertEquals("item-0", reader.read(other));
+            assertTrue(readingAhead.await(10, TimeUnit.SECONDS));
+
+            reader.close();
+            assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static List<File> newFiles(final XStream xstream, final int count) throws Exception {
+
+        final File folder = Files.createTempDirectory("bundle-file-reader").toFile();
+        // deleted on exit in the reverse order, the folder once its files are gone
+        folder.deleteOnExit();
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final File file = new File(folder, i + ".xml");
+            try (final OutputStream output = Files.newOutputStream(file.toPath())) {
+                xstream.toXML("item-" + i, output);
+            }
+            file.deleteOnExit();
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -710,6 +710,90 @@ public class GraphqlAPITest extends IntegrationTestBase {
 
     }
 
+    /**
+     * Method to test: {@link GraphqlAPIImpl#generateSchema(User)}
+     * Given scenario: A schema is generated, a field is added to a content type and the schema is
+     * generated twice more
+     * Expected result: The new field is in the new schemas, and the object type of a content type
+     * that did not change is a different instance in every schema
+     */
+    @Test
+    public void testGenerateSchema_WhenTypeChanged_ShouldIncludeTheChange()
+            throws DotDataException, DotSecurityException {
+
+        ContentType changedType = null;
+        ContentType unchangedType = null;
+        try {
+            changedType = createAndSaveSimpleContentType("changedTypeGraphQL" + random.nextPositive());
+            unchangedType = createAndSaveSimpleContentType("unchangedTypeGraphQL" + random.nextPositive());
+            final String fieldVarName = "newField" + random.nextPositive();
+            final GraphqlAPIImpl api = new GraphqlAPIImpl();
+
+            final GraphQLSchema schema = api.generateSchema(APILocator.systemUser());
+            assertNull(schema.getObjectType(changedType.variable()).getFieldDefinition(fieldVarName));
+
+            createField(changedType, fieldVarName, ImmutableTextField.class, false);
+
+            final GraphQLSchema changedSchema = api.generateSchema(APILocator.systemUser());
+            assertNotNull(changedSchema.getObjectType(changedType.variable()).getFieldDefinition(fieldVarName));
+            Assert.assertNotSame(schema.getObjectType(unchangedType.variable()),
+                    changedSchema.getObjectType(unchangedType.variable()));
+
+            final GraphQLSchema unchangedSchema = api.generateSchema(APILocator.systemUser());
+            assertNotNull(unchangedSchema.getObjectType(changedType.variable()).getFieldDefinition(fieldVarName));
+        } finally {
+            if (UtilMethods.isSet(changedType) && UtilMethods.isSet(changedType.id())) {
+                APILocator.getContentTypeAPI(APILocator.systemUser()).delete(changedType);
+            }
+
+            if (UtilMethods.isSet(unchangedType) && UtilMethods.isSet(unchangedType.id())) {
+                APILocator.getContentTypeAPI(APILocator.systemUser()).delete(unchangedType);
+            }
+        }
+    }
+
+    /**
+     * Method to test: {@link GraphqlAPIImpl#generateSchema(User)}
+     * Given scenario: A schema is generated, then a field is added to the child type of a
+     * relationship while the parent type does not change, and the schema is generated again
+     * Expected result: The new schema is generated and the relationship field of the parent type
+     * refers to the new object type of the child type
+     */
+    @Test
+    public void testGenerateSchema_WhenRelatedTypeChanged_ShouldReferToTheNewType()
+            throws DotDataException, DotSecurityException {
+
+        ContentType parentContentType = null;
+        ContentType childContentType = null;
+        try {
+            parentContentType = createAndSaveSimpleContentType("parentTypeGraphQL" + random.nextPositive());
+            childContentType = createAndSaveSimpleContentType("childTypeGraphQL" + random.nextPositive());
+            final Field relationshipField = createAndSaveRelationshipField("relatedTypeGraphQL",
+                    parentContentType.id(), childContentType.variable(),
+                    String.valueOf(ONE_TO_ONE.ordinal()));
+            final String fieldVarName = "newField" + random.nextPositive();
+            final GraphqlAPIImpl api = new GraphqlAPIImpl();
+
+            api.generateSchema(APILocator.systemUser());
+
+            createField(childContentType, fieldVarName, ImmutableTextField.class, false);
+
+            final GraphQLSchema schema = api.generateSchema(APILocator.systemUser());
+            final GraphQLObjectType childObjectType = schema.getObjectType(childContentType.variable());
+            assertNotNull(childObjectType.getFieldDefinition(fieldVarName));
+            Assert.assertSame(childObjectType, schema.getObjectType(parentContentType.variable())
+                    .getFieldDefinition(relationshipField.variable()).getType());
+        } finally {
+            if (UtilMethods.isSet(parentContentType) && UtilMethods.isSet(parentContentType.id())) {
+                APILocator.getContentTypeAPI(APILocator.systemUser()).delete(parentContentType);
+            }
+
+            if (UtilMethods.isSet(childContentType) && UtilMethods.isSet(childContentType.id())) {
+                APILocator.getContentTypeAPI(APILocator.systemUser()).delete(childContentType);
+            }
+        }
+    }
+
     @Test
     public void testGetSchema_GivenNoEELicense_EnterpriseTypesShouldNotBeAvailableInSchema() throws Exception{
 
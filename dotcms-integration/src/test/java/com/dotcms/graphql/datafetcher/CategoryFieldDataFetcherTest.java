@@ -64,7 +64,7 @@ public class CategoryFieldDataFetcherTest {
         Mockito.when(environment.getSource()).thenReturn(new Contentlet());
         Mockito.when(environment.getField()).thenReturn(field);
 
-        final List result = fetcher.get(environment);
+        final List result = fetcher.get(environment).join();
         assertNull(result);
     }
 
@@ -116,7 +116,7 @@ public class CategoryFieldDataFetcherTest {
         Mockito.when(environment.getSource()).thenReturn(contentletDataGen.next());
         Mockito.when(environment.getField()).thenReturn(field);
 
-        final List result = fetcher.get(environment);
+        final List result = fetcher.get(environment).join();
         assertTrue(UtilMethods.isSet(result));
         assertEquals(2, result.size());
         assertEquals(categoryChild1, result.get(0));
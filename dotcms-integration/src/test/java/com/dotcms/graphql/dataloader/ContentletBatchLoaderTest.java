@@ -0,0 +1,86 @@
+package com.dotcms.graphql.dataloader;
+
+import com.dotcms.contenttype.model.type.ContentType;
+import com.dotcms.datagen.ContentTypeDataGen;
+import com.dotcms.datagen.ContentletDataGen;
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.liferay.portal.model.User;
+import java.util.List;
+import java.util.Map;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.Try;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ContentletBatchLoaderTest {
+
+    private static User user;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+        user = APILocator.systemUser();
+    }
+
+    /**
+     * Method to test: {@link ContentletBatchLoader#load(List)}
+     * Given Scenario: Several contentlets and an identifier that does not exist are loaded in one batch
+     * ExpectedResult: Every key gets its contentlet, in the order of the keys, and the missing one gets null
+     */
+    @Test
+    public void test_load_returnsTheContentletOfEveryKey() {
+
+        final ContentType contentType = new ContentTypeDataGen().nextPersisted();
+        final Contentlet first = new ContentletDataGen(contentType).nextPersisted();
+        final Contentlet second = new ContentletDataGen(contentType).nextPersisted();
+
+        final List<Try<Contentlet>> loaded = new ContentletBatchLoader(user).load(List.of(
+                key(second), key(first),
+                new ContentletBatchLoader.Key("not-a-real-identifier", first.getLanguageId(), false)))
+                .toCompletableFuture().join();
+
+        assertEquals(3, loaded.size());
+        assertEquals(second.getInode(), loaded.get(0).get().getInode());
+        assertEquals(first.getInode(), loaded.get(1).get().getInode());
+        assertTrue(loaded.get(2).isFailure() || null == loaded.get(2).get());
+    }
+
+    /**
+     * Method to test: {@link DotDataLoaders#newRegistry(User)}
+     * Given Scenario: The same contentlets are requested several times before the loader is dispatched
+     * ExpectedResult: All of them are loaded with a single batch call and the repeated keys hit the cache of the loader
+     */
+    @Test
+    public void test_registry_loadsTheKeysOfARequestInOneBatch() {
+
+        final ContentType contentType = new ContentTypeDataGen().nextPersisted();
+        final Contentlet first = new ContentletDataGen(contentType).nextPersisted();
+        final Contentlet second = new ContentletDataGen(contentType).nextPersisted();
+
+        final DataLoaderRegistry registry = DotDataLoaders.newRegistry(user);
+        final DataLoader<ContentletBatchLoader.Key, Contentlet> loader =
+                registry.getDataLoader(DotDataLoaders.CONTENTLETS);
+        loader.load(key(first));
+        loader.load(key(second));
+        loader.load(key(first));
+        registry.dispatchAll();
+
+        assertEquals(first.getInode(), loader.load(key(first)).join().getInode());
+        final Map<String, Long> statistics = DotDataLoaders.getStatistics(registry).get(DotDataLoaders.CONTENTLETS);
+        assertEquals(Long.valueOf(1), statistics.get("batchCalls"));
+        assertEquals(Long.valueOf(2), statistics.get("batchedKeys"));
+        assertNull(DotDataLoaders.getStatistics(registry).get(DotDataLoaders.RELATED_CONTENT));
+    }
+
+    private static ContentletBatchLoader.Key key(final Contentlet contentlet) {
+        return new ContentletBatchLoader.Key(contentlet.getIdentifier(), contentlet.getLanguageId(), false);
+    }
+}
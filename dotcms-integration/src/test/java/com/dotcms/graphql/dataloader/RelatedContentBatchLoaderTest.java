@@ -0,0 +1,138 @@
+package com.dotcms.graphql.dataloader;
+
+import com.dotcms.contenttype.model.type.ContentType;
+import com.dotcms.datagen.ContentTypeDataGen;
+import com.dotcms.datagen.ContentletDataGen;
+import com.dotcms.datagen.FieldRelationshipDataGen;
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.business.CacheLocator;
+import com.dotmarketing.business.FactoryLocator;
+import com.dotmarketing.portlets.contentlet.model.Contentlet;
+import com.dotmarketing.portlets.structure.model.Relationship;
+import com.liferay.portal.model.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.dataloader.Try;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class RelatedContentBatchLoaderTest {
+
+    private static User user;
+
+    private ContentType parentType;
+    private Relationship relationship;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+        user = APILocator.systemUser();
+    }
+
+    @Before
+    public void createRelationship() {
+        parentType = new ContentTypeDataGen().nextPersisted();
+        final ContentType childType = new ContentTypeDataGen().nextPersisted();
+        relationship = new FieldRelationshipDataGen().parent(parentType).child(childType).nextPersisted();
+    }
+
+    /**
+     * Method to test: {@link RelatedContentBatchLoader#load(List)}
+     * Given Scenario: Several parents with children related through the same relationship field are loaded in one batch
+     * ExpectedResult: Every key gets the same children, in the same order, that ContentletAPI#getRelatedContent returns
+     */
+    @Test
+    public void test_load_returnsTheRelatedContentOfEveryKey() throws Exception {
+
+        final Contentlet firstParent = newParent(3);
+        final Contentlet secondParent = newParent(2);
+        final Contentlet parentWithoutChildren = newParent(0);
+
+        final List<Try<List<Contentlet>>> related = load(List.of(key(firstParent, -1, 0),
+                key(secondParent, -1, 0), key(parentWithoutChildren, -1, 0)));
+
+        assertEquals(3, related.size());
+        assertEquals(relatedIdentifiers(firstParent), identifiers(related.get(0)));
+        assertEquals(relatedIdentifiers(secondParent), identifiers(related.get(1)));
+        assertTrue(identifiers(related.get(2)).isEmpty());
+    }
+
+    /**
+     * Method to test: {@link RelatedContentBatchLoader#load(List)}
+     * Given Scenario: The related content of a parent is loaded with an offset and a limit
+     * ExpectedResult: Only the children in the page are returned, in tree order
+     */
+    @Test
+    public void test_load_appliesTheOffsetAndLimitOfTheKey() throws Exception {
+
+        final Contentlet parent = newParent(4);
+
+        final List<Try<List<Contentlet>>> related = load(List.of(key(parent, 2, 1)));
+
+        assertEquals(relatedIdentifiers(parent).subList(1, 3), identifiers(related.get(0)));
+    }
+
+    /**
+     * Method to test: {@link RelatedContentBatchLoader#load(List)}
+     * Given Scenario: The related content of a parent that is not in the relationship cache is loaded
+     * ExpectedResult: The identifiers read from the tree are kept in the relationship cache, under the
+     * field the contentlet API uses, and are the ones the relationship factory returns
+     */
+    @Test
+    public void test_load_cachesTheRelatedIdentifiers() throws Exception {
+
+        final Contentlet parent = newParent(2);
+        CacheLocator.getRelationshipCache().removeRelatedContentMap(parent.getIdentifier());
+
+        load(List.of(key(parent, -1, 0)));
+
+        final Map<String, List<String>> cached = CacheLocator.getRelationshipCache()
+                .getRelatedContentMap(parent.getIdentifier());
+        assertNotNull(cached);
+        assertEquals(relatedIdentifiers(parent), cached.get(relationship.getChildRelationName()));
+        assertEquals(relatedIdentifiers(parent), FactoryLocator.getRelationshipFactory()
+                .dbRelatedIdentifiers(relationship.getRelationTypeValue(), List.of(parent.getIdentifier()), true)
+                .get(parent.getIdentifier()));
+    }
+
+    private Contentlet newParent(final int children) throws Exception {
+
+        final Contentlet parent = new ContentletDataGen(parentType).nextPersisted();
+        final List<Contentlet> related = new ArrayList<>();
+        for (int i = 0; i < children; i++) {
+            related.add(new ContentletDataGen(relationship.getChildStructureInode()).nextPersisted());
+        }
+        if (!related.isEmpty()) {
+            APILocator.getContentletAPI().relateContent(parent, relationship, related, user, false);
+        }
+        return parent;
+    }
+
+    private RelatedContentBatchLoader.Key key(final Contentlet parent, final int limit, final int offset) {
+        return new RelatedContentBatchLoader.Key(parent.getIdentifier(), parent.getContentTypeId(),
+                parent.getLanguageId(), false, relationship, false, "", limit, offset, "");
+    }
+
+    private List<Try<List<Contentlet>>> load(final List<RelatedContentBatchLoader.Key> keys) {
+        return new RelatedContentBatchLoader(user).load(keys).toCompletableFuture().join();
+    }
+
+    private List<String> relatedIdentifiers(final Contentlet parent) throws Exception {
+        return APILocator.getContentletAPI().getRelatedContent(parent, relationship, true, user, false)
+                .stream().map(Contentlet::getIdentifier).collect(Collectors.toList());
+    }
+
+    private static List<String> identifiers(final Try<List<Contentlet>> related) {
+        assertTrue(related.isSuccess());
+        return related.get().stream().map(Contentlet::getIdentifier).collect(Collectors.toList());
+    }
+}
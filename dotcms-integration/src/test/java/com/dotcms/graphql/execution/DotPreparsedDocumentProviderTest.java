@@ -0,0 +1,163 @@
+package com.dotcms.graphql.execution;
+
+import com.dotcms.graphql.DotGraphQLContext;
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.business.APILocator;
+import com.google.common.hash.Hashing;
+import graphql.ErrorType;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.parser.Parser;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DotPreparsedDocumentProviderTest {
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+    }
+
+    /**
+     * Method to test: {@link DotPreparsedDocumentProvider#getDocument(ExecutionInput, Function)}
+     * Given Scenario: The same query is executed twice by the same user
+     * ExpectedResult: The query is parsed and validated only the first time, the second time the
+     * cached document is returned
+     */
+    @Test
+    public void test_getDocument_sameQuery_isParsedOnce() {
+
+        final DotPreparsedDocumentProvider provider = new DotPreparsedDocumentProvider();
+        final ParseAndValidate parseAndValidate = new ParseAndValidate();
+        final String query = uniqueQuery();
+
+        final PreparsedDocumentEntry first = provider.getDocument(input(query, null), parseAndValidate);
+        final PreparsedDocumentEntry second = provider.getDocument(input(query, null), parseAndValidate);
+
+        assertEquals(1, parseAndValidate.queries.size());
+        assertSame(first, second);
+    }
+
+    /**
+     * Method to test: {@link DotPreparsedDocumentProvider#getDocument(ExecutionInput, Function)}
+     * Given Scenario: An invalid query is executed twice
+     * ExpectedResult: The document with errors is not cached, the query is validated both times
+     */
+    @Test
+    public void test_getDocument_invalidQuery_isNotCached() {
+
+        final DotPreparsedDocumentProvider provider = new DotPreparsedDocumentProvider();
+        final Function<ExecutionInput, PreparsedDocumentEntry> invalid = new ParseAndValidate() {
+            @Override
+            public PreparsedDocumentEntry apply(final ExecutionInput executionInput) {
+                queries.add(executionInput.getQuery());
+                return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid")
+                        .errorType(ErrorType.ValidationError).build());
+            }
+        };
+        final String query = uniqueQuery();
+
+        assertTrue(provider.getDocument(input(query, null), invalid).hasErrors());
+        assertTrue(provider.getDocument(input(query, null), invalid).hasErrors());
+        assertEquals(2, ((ParseAndValidate) invalid).queries.size());
+    }
+
+    /**
+     * Method to test: {@link DotPreparsedDocumentProvider#getDocument(ExecutionInput, Function)}
+     * Given Scenario: Only the hash of a persisted query that was never sent is received
+     * ExpectedResult: A PersistedQueryNotFound error is returned and nothing is parsed
+     */
+    @Test
+    public void test_getDocument_unknownPersistedQuery_returnsNotFound() {
+
+        final DotPreparsedDocumentProvider provider = new DotPreparsedDocumentProvider();
+        final ParseAndValidate parseAndValidate = new ParseAndValidate();
+
+        final PreparsedDocumentEntry document = provider.getDocument(
+                input("", hash(uniqueQuery())), parseAndValidate);
+
+        assertTrue(document.hasErrors());
+        assertTrue(document.getErrors().get(0) instanceof PersistedQueryNotFound);
+        assertTrue(parseAndValidate.queries.isEmpty());
+    }
+
+    /**
+     * Method to test: {@link DotPreparsedDocumentProvider#getDocument(ExecutionInput, Function)}
+     * Given Scenario: A persisted query is sent with its text and hash, then with the hash only
+     * ExpectedResult: The hash is registered the first time and the second time the same document
+     * is returned without parsing the query again
+     */
+    @Test
+    public void test_getDocument_persistedQuery_isFoundByHash() {
+
+        final DotPreparsedDocumentProvider provider = new DotPreparsedDocumentProvider();
+        final ParseAndValidate parseAndValidate = new ParseAndValidate();
+        final String query = uniqueQuery();
+
+        final PreparsedDocumentEntry registered = provider.getDocument(input(query, hash(query)), parseAndValidate);
+        final PreparsedDocumentEntry found = provider.getDocument(input("", hash(query)), parseAndValidate);
+
+        assertFalse(found.hasErrors());
+        assertSame(registered, found);
+        assertEquals(List.of(query), parseAndValidate.queries);
+    }
+
+    /**
+     * Method to test: {@link DotPreparsedDocumentProvider#getDocument(ExecutionInput, Function)}
+     * Given Scenario: A query is sent with a hash that is not the one of its text
+     * ExpectedResult: An error is returned and the hash is not registered
+     */
+    @Test
+    public void test_getDocument_persistedQueryWithWrongHash_isRejected() {
+
+        final DotPreparsedDocumentProvider provider = new DotPreparsedDocumentProvider();
+        final ParseAndValidate parseAndValidate = new ParseAndValidate();
+        final String wrongHash = hash(uniqueQuery());
+
+        assertTrue(provider.getDocument(input(uniqueQuery(), wrongHash), parseAndValidate).hasErrors());
+        assertTrue(provider.getDocument(input("", wrongHash), parseAndValidate)
+                .getErrors().get(0) instanceof PersistedQueryNotFound);
+        assertTrue(parseAndValidate.queries.isEmpty());
+    }
+
+    private static ExecutionInput input(final String query, final String persistedQueryHash) {
+        return ExecutionInput.newExecutionInput()
+                .query(query)
+                .context(DotGraphQLContext.createServletContext().with(APILocator.systemUser()).build())
+                .extensions(null == persistedQueryHash ? Map.of()
+                        : Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", persistedQueryHash)))
+                .build();
+    }
+
+    private static String uniqueQuery() {
+        return "query { QueryMetadata { fieldCount } } # " + System.nanoTime();
+    }
+
+    private static String hash(final String query) {
+        return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    }
+
+    private static class ParseAndValidate implements Function<ExecutionInput, PreparsedDocumentEntry> {
+
+        final List<String> queries = new ArrayList<>();
+
+        @Override
+        public PreparsedDocumentEntry apply(final ExecutionInput executionInput) {
+            queries.add(executionInput.getQuery());
+            return new PreparsedDocumentEntry(new Parser().parseDocument(executionInput.getQuery()));
+        }
+    }
+}
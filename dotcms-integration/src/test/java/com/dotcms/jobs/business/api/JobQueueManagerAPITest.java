@@ -5,6 +5,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyMap;
@@ -12,6 +13,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -472,7 +474,7 @@ public class JobQueueManagerAPITest {
         verify(mockRetryStrategy, atLeast(2)).shouldRetry(any(), any());
         verify(mockRetryStrategy, atLeast(2)).nextRetryDelay(any());
         verify(mockJob, times(2)).incrementRetry();
-        verify(mockJobQueue, atLeast(2)).putJobBackInQueue(mockJob);
+        verify(mockJobQueue, atLeast(2)).putJobBackInQueue(eq(mockJob), anyLong());
         verify(mockJobQueue, atLeast(4)).updateJobStatus(any());
         verify(mockJobQueue, atLeast(3)).nextJob();
 
@@ -678,6 +680,7 @@ public class JobQueueManagerAPITest {
         // Verify the job was not retried
         verify(mockRetryStrategy, times(1)).shouldRetry(any(), any());
         verify(mockJobQueue, never()).putJobBackInQueue(any());
+        verify(mockJobQueue, never()).putJobBackInQueue(any(), anyLong());
         verify(mockJobQueue, times(1)).removeJob(mockJob.id());
 
         // Capture and verify the error details
@@ -0,0 +1,226 @@
+package com.dotcms.jobs.business.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.jobs.business.job.Job;
+import com.dotcms.jobs.business.job.JobState;
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.util.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PostgresJobQueueIntegrationTest {
+
+    private static final String QUEUE_NAME = "testQueue";
+
+    private PostgresJobQueue jobQueue;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        IntegrationTestInitService.getInstance().init();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        new DotConnect().executeStatement("DELETE FROM job_queue");
+        jobQueue = new PostgresJobQueue(DbConnectionFactory.getDataSource(), "testServer", 60000);
+    }
+
+    @After
+    public void tearDown() {
+        jobQueue.close();
+    }
+
+    /**
+     * Method to test: {@link PostgresJobQueue#addJob(String, Map)} and {@link PostgresJobQueue#nextJob()}
+     * Given Scenario: A job is added to the queue
+     * ExpectedResult: The job is claimed once with its parameters, then the queue is empty
+     */
+    @Test
+    public void test_addJob_and_nextJob() {
+
+        final String jobId = jobQueue.addJob(QUEUE_NAME, Map.of("key", "value"));
+
+        final Job job = jobQueue.nextJob();
+        assertNotNull(job);
+        assertEquals(jobId, job.id());
+        assertEquals(JobState.PENDING, job.state());
+        assertEquals("value", job.parameters().get("key"));
+        assertNull(jobQueue.nextJob());
+    }
+
+    /**
+     * Method to test: {@link PostgresJobQueue#nextJobs(int)}
+     * Given Scenario: Many workers claim batches of jobs at the same time
+     * ExpectedResult: Every job is claimed exactly once
+     */
+    @Test
+    public void test_nextJobs_claimsEveryJobOnce() throws Exception {
+
+        final int jobs = 200;
+        for (int i = 0; i < jobs; i++) {
+            jobQueue.addJob(QUEUE_NAME, Map.of("index", i));
+        }
+
+        final Set<String> claimed = ConcurrentHashMap.newKeySet();
+        final AtomicInteger duplicates = new AtomicInteger();
+        final ExecutorService workers = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(workers.submit(() -> {
+                    List<Job> batch;
+                    while (!(batch = jobQueue.nextJobs(10)).isEmpty()) {
+                        batch.forEach(job -> {
+                            if (!claimed.add(job.id())) {
+                                duplicates.incrementAndGet();
+                            }
+                        });
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        assertEquals(jobs, claimed.size());
+        assertEquals(0, duplicates.get());
+    }
+
+    /**
+     * Method to test: {@link PostgresJobQueue#requeueExpiredJobs()}
+     * Given Scenario: A job is claimed and its lease expires without heartbeats
+     * ExpectedResult: The job is put back in the queue and can be claimed again
+     */
+    @Test
+    public void test_requeueExpiredJobs() throws Exception {
+
+        final PostgresJobQueue shortLeaseQueue = new PostgresJobQueue(
+                DbConnectionFactory.getDataSource(), "testServer", 100);
+        final String jobId = shortLeaseQueue.addJob(QUEUE_NAME, Map.of());
+
+        final Job job = shortLeaseQueue.nextJob();
+        shortLeaseQueue.updateJobStatus(job.withState(JobState.RUNNING));
+        assertNull(shortLeaseQueue.nextJob());
+
+        Thread.sleep(300);
+
+        final Job requeued = shortLeaseQueue.nextJob();
+        assertNotNull(requeued);
+        assertEquals(jobId, requeued.id());
+        assertEquals(JobState.PENDING, requeued.state());
+    }
+
+    /**
+     * Method to test: {@link PostgresJobQueue#putJobBackInQueue(Job, long)}
+     * Given Scenario: A failed job is put back in the queue before its retry delay elapses
+     * ExpectedResult: The job is not claimed until the delay elapses, and no worker is woken up
+     */
+    @Test
+    public void test_putJobBackInQueue_waitsForTheRetryDelay() throws Exception {
+
+        final String jobId = jobQueue.addJob(QUEUE_NAME, Map.of());
+        final Job failed = jobQueue.nextJob().withState(JobState.FAILED).incrementRetry();
+
+        final AtomicInteger notifications = new AtomicInteger();
+        jobQueue.onJobsAvailable(notifications::incrementAndGet);
+        Thread.sleep(1000);
+        notifications.set(0);
+
+        jobQueue.putJobBackInQueue(failed, 1000);
+        assertNull(jobQueue.nextJob());
+
+        Thread.sleep(1200);
+        assertEquals(0, notifications.get());
+
+        final Job retried = jobQueue.nextJob();
+        assertNotNull(retried);
+        assertEquals(jobId, retried.id());
+        assertEquals(JobState.FAILED, retried.state());
+    }
+
+    /**
+     * Method to test: {@link PostgresJobQueue#onJobsAvailable(Runnable)}
+     * Given Scenario: A listener is registered and a job is added
+     * ExpectedResult: The listener is notified through LISTEN/NOTIFY
+     */
+    @Test
+    public void test_onJobsAvailable() throws Exception {
+
+        final CountDownLatch notified = new CountDownLatch(2);
+        jobQueue.onJobsAvailable(notified::countDown);
+        // the listener is also called once the LISTEN connection is ready
+        Thread.sleep(1000);
+
+        jobQueue.addJob(QUEUE_NAME, Map.of());
+
+        assertTrue(notified.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Measures the throughput of the queue: jobs added, claimed in batches and completed per
+     * second by a number of concurrent workers. It only asserts that every job is processed, the
+     * numbers are logged to compare changes to the queue.
+     */
+    @Test
+    public void test_throughput() throws Exception {
+
+        final int jobs = 2000;
+        for (final int workers : new int[]{1, 4, 16}) {
+            for (int i = 0; i < jobs; i++) {
+                jobQueue.addJob(QUEUE_NAME, Map.of("index", i));
+            }
+
+            final AtomicInteger processed = new AtomicInteger();
+            final ExecutorService executor = Executors.newFixedThreadPool(workers);
+            final long start = System.nanoTime();
+            try {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < workers; i++) {
+                    futures.add(executor.submit(() -> {
+                        List<Job> batch;
+                        while (!(batch = jobQueue.nextJobs(10)).isEmpty()) {
+                            batch.forEach(job -> {
+                                jobQueue.updateJobStatus(job.withState(JobState.RUNNING));
+                                jobQueue.updateJobStatus(job.markAsCompleted());
+                                processed.incrementAndGet();
+                            });
+                        }
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    future.get(5, TimeUnit.MINUTES);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            final double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+            Logger.info(this, String.format("Job queue throughput with %d workers: %.0f jobs/sec",
+                    workers, jobs / seconds));
+            assertEquals(jobs, processed.get());
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+package com.dotcms.publisher.pusher;
+
+import com.dotcms.LicenseTestUtil;
+import com.dotcms.datagen.EnvironmentDataGen;
+import com.dotcms.datagen.PushPublishingEndPointDataGen;
+import com.dotcms.publisher.bundle.bean.Bundle;
+import com.dotcms.publisher.business.EndpointDetail;
+import com.dotcms.publisher.business.PublishAuditAPI;
+import com.dotcms.publisher.business.PublishAuditHistory;
+import com.dotcms.publisher.business.PublishAuditStatus;
+import com.dotcms.publisher.endpoint.bean.PublishingEndPoint;
+import com.dotcms.publisher.environment.bean.Environment;
+import com.dotcms.publishing.PublishStatus;
+import com.dotcms.publishing.PublisherConfig.DeliveryStrategy;
+import com.dotcms.publishing.output.BundleOutput;
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.business.APILocator;
+import com.dotmarketing.util.Config;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PushPublisherStreamTest {
+
+    private static final String STREAM_BUNDLE = "PUSH_PUBLISHING_STREAM_BUNDLE";
+
+    private static Object streamBundle;
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        //Setting web app environment
+        IntegrationTestInitService.getInstance().init();
+        LicenseTestUtil.getLicense();
+
+        streamBundle = Config.getStringProperty(STREAM_BUNDLE, null);
+        Config.setProperty(STREAM_BUNDLE, true);
+    }
+
+    @AfterClass
+    public static void restore() {
+        Config.setProperty(STREAM_BUNDLE, streamBundle);
+    }
+
+    /**
+     * Method to test: {@link PushPublisher#process(PublishStatus)}
+     * Given Scenario: The bundle was streamed to two endpoints while it was generated, one of them
+     * answered 200 and the other one could not be streamed to
+     * ExpectedResult: The endpoint that answered 200 is marked as sent without sending the bundle
+     * file again, the other one gets the bundle file, which fails since nothing listens on its port
+     */
+    @Test
+    public void test_process_skipsTheEndpointsTheBundleWasStreamedTo() throws Exception {
+
+        final Environment environment = new EnvironmentDataGen().pushToAll(true).nextPersisted();
+        final PublishingEndPoint streamed = newEndpoint(environment);
+        final PublishingEndPoint notStreamed = newEndpoint(environment);
+        final StreamingPushPublisher publisher = newPublisher(environment);
+        publisher.statuses.put(streamed.getId(), 200);
+
+        final BundleOutput output = publisher.createBundleOutput();
+        output.create();
+        writeFile(output);
+        output.complete();
+        output.close();
+
+        publisher.process(new PublishStatus());
+
+        final Map<String, EndpointDetail> details = PublishAuditAPI.getInstance()
+                .getPublishAuditStatus(publisher.getBundleId()).getStatusPojo()
+                .getEndpointsMap().get(environment.getId());
+        assertEquals(PublishAuditStatus.Status.BUNDLE_SENT_SUCCESSFULLY.getCode(),
+                details.get(streamed.getId()).getStatus());
+        assertEquals(PublishAuditStatus.Status.FAILED_TO_SENT.getCode(),
+                details.get(notStreamed.getId()).getStatus());
+        assertTrue(publisher.streams.get(streamed.getId()).closed);
+    }
+
+    /**
+     * Method to test: {@link com.dotcms.publishing.output.StreamingTarGzipBundleOutput#close()}
+     * Given Scenario: The bundle output is closed before the bundle was completed, i.e. a bundler failed
+     * ExpectedResult: The streams are aborted instead of closed, so no endpoint takes the partial
+     * bundle as a complete one
+     */
+    @Test
+    public void test_close_abortsTheStreamsOfAnIncompleteBundle() throws Exception {
+
+        final Environment environment = new EnvironmentDataGen().pushToAll(true).nextPersisted();
+        final PublishingEndPoint endpoint = newEndpoint(environment);
+        final StreamingPushPublisher publisher = newPublisher(environment);
+
+        final BundleOutput output = publisher.createBundleOutput();
+        output.create();
+        writeFile(output);
+        output.close();
+
+        final StubBundleStream stream = publisher.streams.get(endpoint.getId());
+        assertTrue(stream.aborted);
+        assertFalse(stream.closed);
+    }
+
+    /**
+     * Method to test: {@link com.dotcms.publishing.output.StreamingTarGzipBundleOutput}
+     * Given Scenario: One of the endpoints stops taking the bundle while it is generated
+     * ExpectedResult: That endpoint is dropped and aborted, and the bundle keeps being streamed to
+     * the other one, which gets the whole bundle
+     */
+    @Test
+    public void test_write_dropsTheEndpointThatStopsReading() throws Exception {
+
+        final Environment environment = new EnvironmentDataGen().pushToAll(true).nextPersisted();
+        final PublishingEndPoint slow = newEndpoint(environment);
+        final PublishingEndPoint fast = newEndpoint(environment);
+        final StreamingPushPublisher publisher = newPublisher(environment);
+        publisher.slowEndpoints.add(slow.getId());
+
+        final BundleOutput output = publisher.createBundleOutput();
+        output.create();
+        writeFile(output);
+        output.complete();
+        output.close();
+
+        final StubBundleStream slowStream = publisher.streams.get(slow.getId());
+        final StubBundleStream fastStream = publisher.streams.get(fast.getId());
+        assertTrue(slowStream.aborted);
+        assertFalse(slowStream.closed);
+        assertTrue(fastStream.closed);
+        assertEquals(output.getFile().length(), fastStream.received.size());
+    }
+
+    private static PublishingEndPoint newEndpoint(final Environment environment) {
+        return new PushPublishingEndPointDataGen().environment(environment).port("999").nextPersisted();
+    }
+
+    private static StreamingPushPublisher newPublisher(final Environment environment) throws Exception {
+
+        final Bundle bundle = new Bundle("stream-test-" + System.nanoTime(), null, null,
+                APILocator.systemUser().getUserId());
+        APILocator.getBundleAPI().saveBundle(bundle);
+        APILocator.getBundleAPI().saveBundleEnvironment(bundle, environment);
+
+        final PublishAuditStatus status = new PublishAuditStatus(bundle.getId());
+        status.setStatusPojo(new PublishAuditHistory());
+        PublishAuditAPI.getInstance().insertPublishAuditStatus(status);
+
+        final PushPublisherConfig config = new PushPublisherConfig();
+        config.setId(bundle.getId());
+        config.setDeliveryStrategy(DeliveryStrategy.ALL_ENDPOINTS);
+        final StreamingPushPublisher publisher = new StreamingPushPublisher();
+        publisher.init(config);
+        return publisher;
+    }
+
+    private static void writeFile(final BundleOutput output) throws IOException {
+        try (final OutputStream file = output.addFile("/bundle.xml")) {
+            for (int i = 0; i < 1000; i++) {
+                file.write(("<item>" + i + "</item>").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Opens stub streams instead of uploading the bundle to the endpoints
+     */
+    private static class StreamingPushPublisher extends PushPublisher {
+
+        final Map<String, Integer> statuses = new HashMap<>();
+        final List<String> slowEndpoints = new ArrayList<>();
+        final Map<String, StubBundleStream> streams = new HashMap<>();
+
+        @Override
+        EndpointBundleStream newBundleStream(final PublishingEndPoint endpoint, final String contentDisposition,
+                final boolean forcePush) {
+            final StubBundleStream stream = new StubBundleStream(endpoint, statuses.get(endpoint.getId()),
+                    slowEndpoints.contains(endpoint.getId()));
+            streams.put(endpoint.getId(), stream);
+            return stream;
+        }
+
+        String getBundleId() {
+            return config.getId();
+        }
+    }
+
+    private static class StubBundleStream extends EndpointBundleStream {
+
+        private final Integer status;
+        private final boolean slow;
+        private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        private boolean closed = false;
+        private boolean aborted = false;
+
+        StubBundleStream(final PublishingEndPoint endpoint, final Integer status, final boolean slow) {
+            super(endpoint, "", false);
+            this.status = status;
+            this.slow = slow;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (slow) {
+                throw new IOException("The endpoint " + getEndpoint().getServerName() + " is not reading the bundle");
+            }
+            received.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+        }
+
+        @Override
+        Optional<Integer> getStatus() {
+            return Optional.ofNullable(status);
+        }
+    }
+}
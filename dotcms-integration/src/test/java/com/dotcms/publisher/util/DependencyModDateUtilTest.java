@@ -1,6 +1,7 @@
 package com.dotcms.publisher.util;
 
 import static com.dotcms.util.CollectionsUtils.list;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -21,6 +22,7 @@ import com.dotcms.publisher.endpoint.bean.impl.PushPublishingEndPoint;
 import com.dotcms.publisher.environment.bean.Environment;
 import com.dotcms.publisher.pusher.PushPublisher;
 import com.dotcms.publisher.pusher.PushPublisherConfig;
+import com.dotcms.publisher.util.dependencies.AssetFingerprintUtil;
 import com.dotcms.publisher.util.dependencies.DependencyModDateUtil;
 import com.dotcms.publishing.PublisherConfig.Operation;
 import com.dotcms.util.IntegrationTestInitService;
@@ -30,6 +32,7 @@ import com.dotmarketing.exception.DotDataException;
 import com.dotmarketing.portlets.contentlet.model.Contentlet;
 import com.dotmarketing.portlets.languagesmanager.business.UniqueLanguageDataGen;
 import com.dotmarketing.portlets.languagesmanager.model.Language;
+import com.dotmarketing.util.Config;
 import com.liferay.portal.model.User;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
@@ -39,6 +42,7 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Function;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -326,6 +330,106 @@ public class DependencyModDateUtilTest extends IntegrationTestBase {
         assertFalse(excludeByModDate);
     }
 
+    /**
+     * Method to Test: {@link DependencyModDateUtil#excludeByModDate(Object, PusheableAsset)}
+     * When: A contentlet pushed before its mod date, with the fingerprint of its current version
+     * Should: return true, the fingerprint says the pushed version is still the current one
+     *
+     * @throws DotDataException
+     */
+    @Test
+    public void excludeByModDateContentWithSameFingerprint() throws DotDataException {
+        final Calendar yesterday = Calendar.getInstance();
+        yesterday.add(Calendar.DATE, -1);
+
+        final boolean excludeByModDate = excludeByModDateWithFingerprint(
+                contentlet -> AssetFingerprintUtil.getFingerprint(contentlet).orElseThrow(),
+                yesterday.getTime());
+
+        assertTrue(excludeByModDate);
+    }
+
+    /**
+     * Method to Test: {@link DependencyModDateUtil#excludeByModDate(Object, PusheableAsset)}
+     * When: A contentlet pushed after its mod date, with the fingerprint of another version
+     * Should: return false, the fingerprint says the pushed version is not the current one
+     *
+     * @throws DotDataException
+     */
+    @Test
+    public void excludeByModDateContentWithDifferentFingerprint() throws DotDataException {
+        final boolean excludeByModDate = excludeByModDateWithFingerprint(
+                contentlet -> "other-version", new Date());
+
+        assertFalse(excludeByModDate);
+    }
+
+    /**
+     * Method to Test: {@link AssetFingerprintUtil#getFingerprint(Object)}
+     * When: A new version of a contentlet is saved
+     * Should: return a different fingerprint than the one of the previous version
+     *
+     * @throws Exception
+     */
+    @Test
+    public void getFingerprintChangesWithNewVersions() throws Exception {
+        final ContentType contentType = new ContentTypeDataGen().nextPersisted();
+        final Contentlet contentlet = new ContentletDataGen(contentType.id()).nextPersisted();
+
+        final String fingerprint = AssetFingerprintUtil.getFingerprint(contentlet).orElseThrow();
+        assertEquals(fingerprint, AssetFingerprintUtil.getFingerprint(contentlet).orElseThrow());
+
+        final Contentlet checkout = APILocator.getContentletAPI()
+                .checkout(contentlet.getInode(), systemUser, false);
+        final Contentlet newVersion = APILocator.getContentletAPI().checkin(checkout, systemUser, false);
+
+        assertFalse(fingerprint.equals(AssetFingerprintUtil.getFingerprint(newVersion).orElseThrow()));
+    }
+
+    private boolean excludeByModDateWithFingerprint(
+            final Function<Contentlet, String> fingerprint, final Date pushDate) throws DotDataException {
+
+        final boolean handshake = Config.getBooleanProperty("PUSH_PUBLISHING_FINGERPRINT_HANDSHAKE", false);
+        Config.setProperty("PUSH_PUBLISHING_FINGERPRINT_HANDSHAKE", false);
+
+        try {
+            final Environment environment = new EnvironmentDataGen().nextPersisted();
+            final PushPublishingEndPoint endPoint = new PushPublishingEndPointDataGen()
+                    .environment(environment)
+                    .nextPersisted();
+
+            final Bundle testBundle = createTestBundle(false, Collections.singletonList(environment));
+            final PushPublisherConfig config = createPushPublisherConfigMock(
+                    testBundle, false, false, Operation.PUBLISH);
+
+            final DependencyModDateUtil dependencyModDateUtil = new DependencyModDateUtil(config);
+
+            final ContentType contentType = new ContentTypeDataGen().nextPersisted();
+            final Contentlet contentlet = new ContentletDataGen(contentType.id()).nextPersisted();
+
+            final Bundle bundle = new BundleDataGen()
+                    .pushPublisherConfig(config)
+                    .addAssets(Arrays.asList(contentlet))
+                    .operation(Operation.PUBLISH)
+                    .nextPersisted();
+
+            new PushedAssetDataGen()
+                    .assetId(contentlet.getIdentifier())
+                    .assetType(PusheableAsset.CONTENTLET.toString())
+                    .bundle(bundle)
+                    .publishingEndPoint(endPoint)
+                    .environment(environment)
+                    .pushDate(pushDate)
+                    .publisher(PushPublisher.class)
+                    .fingerprint(fingerprint.apply(contentlet))
+                    .nextPersisted();
+
+            return dependencyModDateUtil.excludeByModDate(contentlet, PusheableAsset.CONTENTLET);
+        } finally {
+            Config.setProperty("PUSH_PUBLISHING_FINGERPRINT_HANDSHAKE", handshake);
+        }
+    }
+
     private PushPublisherConfig createPushPublisherConfigMock(Bundle testBundle,
             boolean isDownloading,
             boolean isStatic, Operation operation) {
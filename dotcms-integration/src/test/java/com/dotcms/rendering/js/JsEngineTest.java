@@ -5,7 +5,11 @@ import com.dotcms.api.vtl.model.DotJSON;
 import com.dotcms.mock.request.BaseRequest;
 import com.dotcms.mock.request.MockAttributeRequest;
 import com.dotcms.repackage.org.directwebremoting.util.FakeHttpServletResponse;
+import com.dotmarketing.util.Config;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -17,6 +21,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -271,4 +276,79 @@ public class JsEngineTest extends IntegrationTestBase {
 
         Assert.assertEquals(16, result);
     }
+
+    /**
+     * Method to test: {@link JsEngine#eval(HttpServletRequest, HttpServletResponse, Reader, Map)}
+     * Given Scenario: The shared engine is turned on and the same script is evaluated twice
+     * ExpectedResult: Both evaluations return the result of the script, the stats of the script count both and
+     * the engine can be shut down
+     */
+    @Test
+    public void testSharedEngineEval() throws Exception {
+
+        final boolean shared = Config.getBooleanProperty("JS_ENGINE_SHARED", false);
+        Config.setProperty("JS_ENGINE_SHARED", true);
+        final JsEngine sharedJsEngine = new JsEngine();
+        try {
+
+            final String fileName = "shared-engine-" + System.currentTimeMillis() + ".js";
+            for (int i = 0; i < 2; i++) {
+
+                final HttpServletRequest request = new MockAttributeRequest(new BaseRequest().request());
+                final HttpServletResponse response = new FakeHttpServletResponse();
+                final Map<String, Object> contextParams = new HashMap<>(Map.of("dot:jsfilename", fileName));
+
+                final Object result = sharedJsEngine.eval(request, response,
+                        new StringReader("var a = 1; var b = 2; a + b;"), contextParams);
+
+                Assert.assertEquals(3, ((Number) result).intValue());
+            }
+
+            Assert.assertEquals(2L, sharedJsEngine.getScriptStats().get(fileName).get("count").longValue());
+        } finally {
+
+            sharedJsEngine.shutdown();
+            Config.setProperty("JS_ENGINE_SHARED", shared);
+        }
+    }
+
+    /**
+     * Method to test: {@link JsContextPool#borrow(List)} and {@link JsContextPool#release(JsContextPool.PooledContext, boolean)}
+     * Given Scenario: A context is borrowed, given back and borrowed again, then given back as not reusable
+     * ExpectedResult: The context given back is reused with the dot sources already evaluated, the one that
+     * is not reusable and the ones built for other dot sources are not
+     */
+    @Test
+    public void testPooledContextIsReused() {
+
+        final Engine engine = Engine.create();
+        final JsContextPool pool = new JsContextPool(() -> Context.newBuilder("js").engine(engine).build(),
+                1, 60_000);
+        try {
+
+            final List<Source> dotSources = List.of(Source.create("js", "var dotLoaded = true;"));
+            final JsContextPool.PooledContext borrowed = pool.borrow(dotSources);
+            Assert.assertTrue(borrowed.getContext().eval("js", "dotLoaded").asBoolean());
+            pool.release(borrowed, true);
+
+            final JsContextPool.PooledContext reused = pool.borrow(dotSources);
+            Assert.assertSame(borrowed, reused);
+            Assert.assertTrue(reused.getContext().eval("js", "dotLoaded").asBoolean());
+            pool.release(reused, false);
+
+            final JsContextPool.PooledContext rebuilt = pool.borrow(dotSources);
+            Assert.assertNotSame(reused, rebuilt);
+            pool.release(rebuilt, true);
+
+            final List<Source> otherDotSources = List.of(Source.create("js", "var otherLoaded = true;"));
+            final JsContextPool.PooledContext other = pool.borrow(otherDotSources);
+            Assert.assertNotSame(rebuilt, other);
+            Assert.assertTrue(other.getContext().eval("js", "otherLoaded").asBoolean());
+            pool.release(other, true);
+        } finally {
+
+            pool.clear();
+            engine.close();
+        }
+    }
 }
@@ -13,6 +13,7 @@ import com.dotcms.contenttype.model.type.ContentTypeBuilder;
 import com.dotcms.datagen.FolderDataGen;
 import com.dotcms.datagen.RoleDataGen;
 import com.dotcms.datagen.SiteDataGen;
+import com.dotcms.datagen.UserDataGen;
 import com.dotcms.util.IntegrationTestInitService;
 import com.dotmarketing.beans.Host;
 import com.dotmarketing.beans.Permission;
@@ -35,9 +36,12 @@ import com.dotmarketing.util.Config;
 import com.dotmarketing.util.Logger;
 import com.google.common.collect.Lists;
 import com.liferay.portal.model.User;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -521,4 +525,98 @@ public class PermissionAPIIntegrationTest extends IntegrationTestBase {
 
         assertTrue(assetIndividualPermissions2.stream().anyMatch(perm->perm.getRoleId().equals(roleForInheritable3.getId())));
     }
+
+    /**
+     * Method to test: {@link PermissionAPI#doesUserHavePermission(Permissionable, int, User)}
+     * Given Scenario: Two users with the same role and a third one with another role check the
+     * permission over a folder the first role can read
+     * Expected Result: The users with the same role share the result cached for the permission
+     * reference of the folder, the third user gets a result of their own
+     */
+    @Test
+    public void test_doesUserHavePermission_sharesResultsByRoleSet() throws DotDataException, DotSecurityException {
+
+        final Host site = new SiteDataGen().nextPersisted();
+        final Folder folder = new FolderDataGen().site(site).nextPersisted();
+        final long timeMark = System.currentTimeMillis();
+        final Role readerRole = new RoleDataGen().name("reader-role_" + timeMark).nextPersisted();
+        final Role otherRole = new RoleDataGen().name("other-role_" + timeMark).nextPersisted();
+        final User reader1 = new UserDataGen().roles(readerRole).nextPersisted();
+        final User reader2 = new UserDataGen().roles(readerRole).nextPersisted();
+        final User other = new UserDataGen().roles(otherRole).nextPersisted();
+
+        permissionAPI.permissionIndividually(permissionAPI.findParentPermissionable(folder), folder, systemUser);
+        permissionAPI.save(new Permission(PermissionAPI.INDIVIDUAL_PERMISSION_TYPE, folder.getPermissionId(),
+                readerRole.getId(), PermissionAPI.PERMISSION_READ, true), folder, systemUser, true);
+
+        final PermissionCache permissionCache = CacheLocator.getPermissionCache();
+        final String checkKey = PermissionAPI.INDIVIDUAL_PERMISSION_TYPE + ":" + PermissionAPI.PERMISSION_READ;
+
+        assertTrue(permissionAPI.doesUserHavePermission(folder, PermissionAPI.PERMISSION_READ, reader1));
+        final String readerFingerprint = permissionCache.getUserRoleSet(reader1.getUserId(), true)
+                .orElseThrow().getFingerprint();
+        assertEquals(Optional.of(true), permissionCache.doesRoleSetHavePermission(folder.getPermissionId(),
+                checkKey, readerFingerprint));
+
+        // the second reader gets the result cached by the first one, changed here to tell them apart
+        permissionCache.putRoleSetHavePermission(folder.getPermissionId(), checkKey, readerFingerprint, false);
+        assertFalse(permissionAPI.doesUserHavePermission(folder, PermissionAPI.PERMISSION_READ, reader2));
+        assertEquals(readerFingerprint, permissionCache.getUserRoleSet(reader2.getUserId(), true)
+                .orElseThrow().getFingerprint());
+
+        assertFalse(permissionAPI.doesUserHavePermission(folder, PermissionAPI.PERMISSION_READ, other));
+        final String otherFingerprint = permissionCache.getUserRoleSet(other.getUserId(), true)
+                .orElseThrow().getFingerprint();
+        assertFalse(readerFingerprint.equals(otherFingerprint));
+        assertEquals(Optional.of(false), permissionCache.doesRoleSetHavePermission(folder.getPermissionId(),
+                checkKey, otherFingerprint));
+
+        // the shared results are removed with the permissions of the reference
+        permissionCache.remove(folder.getPermissionId());
+        assertTrue(permissionAPI.doesUserHavePermission(folder, PermissionAPI.PERMISSION_READ, reader2));
+    }
+
+    /**
+     * Method to test: {@link PermissionAPI#filterCollection(List, int, boolean, User)}
+     * Given Scenario: A user with a role that can read the folders under a parent folder filters
+     * those folders together with a folder of the site they inherit nothing from
+     * Expected Result: The folders sharing the permission reference of the parent are kept, the
+     * result is the same the permissionables would get one by one, in the same order, and the given
+     * list is not changed
+     */
+    @Test
+    public void test_filterCollection_keepsTheSameResultsForSharedReferences()
+            throws DotDataException, DotSecurityException {
+
+        final Host site = new SiteDataGen().nextPersisted();
+        final Role readerRole = new RoleDataGen().name("reader-role_" + System.currentTimeMillis()).nextPersisted();
+        final User reader = new UserDataGen().roles(readerRole).nextPersisted();
+
+        final Folder parent = new FolderDataGen().site(site).nextPersisted();
+        permissionAPI.permissionIndividually(permissionAPI.findParentPermissionable(parent), parent, systemUser);
+        permissionAPI.save(new Permission(Folder.class.getCanonicalName(), parent.getPermissionId(),
+                readerRole.getId(), PermissionAPI.PERMISSION_READ, true), parent, systemUser, true);
+
+        final Folder child1 = new FolderDataGen().parent(parent).nextPersisted();
+        final Folder child2 = new FolderDataGen().parent(parent).nextPersisted();
+        final Folder other = new FolderDataGen().site(site).nextPersisted();
+        final List<Folder> folders = List.of(child1, other, child2);
+
+        final List<Folder> expected = new ArrayList<>();
+        for (final Folder folder : folders) {
+            if (permissionAPI.doesUserHavePermission(folder, PermissionAPI.PERMISSION_READ, reader, false)) {
+                expected.add(folder);
+            }
+        }
+        CacheLocator.getPermissionCache().clearCache();
+
+        final List<Folder> filtered = permissionAPI.filterCollection(folders, PermissionAPI.PERMISSION_READ,
+                false, reader);
+
+        assertEquals(expected.stream().map(Folder::getInode).collect(Collectors.toList()),
+                filtered.stream().map(Folder::getInode).collect(Collectors.toList()));
+        assertTrue(filtered.contains(child1));
+        assertTrue(filtered.contains(child2));
+        assertEquals(3, folders.size());
+    }
 }
@@ -1,12 +1,21 @@
 package com.dotmarketing.common.db;
 
+import com.dotcms.util.IntegrationTestInitService;
 import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotDataException;
 import io.vavr.control.Try;
+import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Test for {@link DotConnect}
@@ -14,6 +23,23 @@ import java.sql.SQLException;
  */
 public class DotConnectTest {
 
+    private static final String STREAM_TABLE = "dotconnect_stream_test";
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        IntegrationTestInitService.getInstance().init();
+        new DotConnect().executeStatement("CREATE TABLE " + STREAM_TABLE + " (id int, name varchar(36))");
+        for (int i = 0; i < 25; i++) {
+            new DotConnect().setSQL("INSERT INTO " + STREAM_TABLE + " (id, name) VALUES (?, ?)")
+                    .addParam(i).addParam("name" + i).loadResult();
+        }
+    }
+
+    @AfterClass
+    public static void cleanUp() throws Exception {
+        new DotConnect().executeStatement("DROP TABLE " + STREAM_TABLE);
+        DbConnectionFactory.closeSilently();
+    }
 
     /**
      * Method to test: {@link DotConnect#loadInt(String, Connection)}
@@ -35,4 +61,93 @@ public class DotConnectTest {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Method to test: {@link DotConnect#forEachRow(RowVisitor)}
+     * Given Scenario: The same query is loaded in memory and streamed, with a fetch size smaller than the results
+     * ExpectedResult: The streamed rows are the same maps loadObjectResults returns
+     */
+    @Test
+    public void test_forEachRow_returnsTheSameRowsAsLoadObjectResults() throws DotDataException {
+
+        final String query = "SELECT id, name FROM " + STREAM_TABLE + " ORDER BY id";
+        final List<Map<String, Object>> loaded = new DotConnect().setSQL(query).loadObjectResults();
+
+        final List<Map<String, Object>> streamed = new ArrayList<>();
+        final int count = new DotConnect().setSQL(query).setFetchSize(10)
+                .forEachRow(row -> streamed.add(row.toMap()));
+
+        Assert.assertEquals(25, count);
+        Assert.assertEquals(loaded, streamed);
+    }
+
+    /**
+     * Method to test: {@link DotConnect#streamObjectResults()}
+     * Given Scenario: The results are streamed with a start row and a max number of rows
+     * ExpectedResult: Only the rows of the page are returned
+     */
+    @Test
+    public void test_streamObjectResults_honorsStartRowAndMaxRows() throws DotDataException {
+
+        final DotConnect dotConnect = new DotConnect()
+                .setSQL("SELECT id FROM " + STREAM_TABLE + " ORDER BY id").setFetchSize(2);
+        dotConnect.setStartRow(5);
+        dotConnect.setMaxRows(3);
+
+        try (final Stream<Row> rows = dotConnect.streamObjectResults()) {
+            Assert.assertEquals(List.of(5, 6, 7), rows.map(row -> row.getInt("id")).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Method to test: {@link DotConnect#forEachRow(RowVisitor)}
+     * Given Scenario: The rows are streamed when no transaction is open
+     * ExpectedResult: The visitor does not run inside a transaction and its writes are committed
+     * right away, they are not rolled back with the streaming connection
+     */
+    @Test
+    public void test_forEachRow_outsideTransaction_doesNotOpenOne() throws DotDataException {
+
+        Assert.assertFalse(DbConnectionFactory.inTransaction());
+
+        new DotConnect().setSQL("SELECT id FROM " + STREAM_TABLE + " WHERE id < 3").forEachRow(row -> {
+            Assert.assertFalse(DbConnectionFactory.inTransaction());
+            new DotConnect().setSQL("UPDATE " + STREAM_TABLE + " SET name = ? WHERE id = ?")
+                    .addParam("visited").addParam(row.getInt("id")).loadResult();
+        });
+
+        Assert.assertFalse(DbConnectionFactory.inTransaction());
+        Assert.assertEquals(3, new DotConnect()
+                .setSQL("SELECT count(*) AS count FROM " + STREAM_TABLE + " WHERE name = 'visited'")
+                .getInt("count"));
+    }
+
+    /**
+     * Method to test: {@link DotConnect#forEachRow(RowVisitor)}
+     * Given Scenario: The rows are streamed inside a transaction that inserted a row
+     * ExpectedResult: The connection of the transaction is used, so the uncommitted row is read, and
+     * closing the stream does not commit the transaction
+     */
+    @Test
+    public void test_forEachRow_insideTransaction_usesTheTransaction() throws DotDataException {
+
+        Assert.assertTrue(DbConnectionFactory.startTransactionIfNeeded());
+        try {
+            new DotConnect().setSQL("INSERT INTO " + STREAM_TABLE + " (id, name) VALUES (?, ?)")
+                    .addParam(100).addParam("uncommitted").loadResult();
+
+            final List<String> names = new ArrayList<>();
+            new DotConnect().setSQL("SELECT name FROM " + STREAM_TABLE + " WHERE id = 100")
+                    .forEachRow(row -> names.add(row.getString("name")));
+
+            Assert.assertEquals(List.of("uncommitted"), names);
+            Assert.assertTrue(DbConnectionFactory.inTransaction());
+        } finally {
+            DbConnectionFactory.rollbackTransaction();
+            DbConnectionFactory.closeSilently();
+        }
+
+        Assert.assertEquals(0, new DotConnect()
+                .setSQL("SELECT count(*) AS count FROM " + STREAM_TABLE + " WHERE id = 100").getInt("count"));
+    }
 }
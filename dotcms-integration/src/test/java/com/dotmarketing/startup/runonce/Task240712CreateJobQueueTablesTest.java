@@ -0,0 +1,119 @@
+package com.dotmarketing.startup.runonce;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.db.DotDatabaseMetaData;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotDataException;
+import com.dotmarketing.util.Logger;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Verifies that the {@link Task240712CreateJobQueueTables} Upgrade Task creates the tables used by
+ * the {@link com.dotcms.jobs.business.queue.PostgresJobQueue}.
+ */
+public class Task240712CreateJobQueueTablesTest {
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        IntegrationTestInitService.getInstance().init();
+    }
+
+    /**
+     * Method to test: {@link Task240712CreateJobQueueTables#executeUpgrade()}
+     * <p>
+     * Given Scenario: The job and job_queue tables do not exist
+     * <p>
+     * ExpectedResult: The task has to run, and once it does both tables exist with their indexes
+     * and the task does not have to run again
+     *
+     * @throws DotDataException if a data access error occurs.
+     */
+    @Test
+    public void test_upgradeTask_success() throws DotDataException, SQLException {
+
+        // Make sure the tables do not exist
+        dropTables();
+
+        final var upgradeTask = new Task240712CreateJobQueueTables();
+        assertTrue(upgradeTask.forceRun());
+        upgradeTask.executeUpgrade();
+
+        final DotDatabaseMetaData metaData = new DotDatabaseMetaData();
+        assertTrue(metaData.tableExists(DbConnectionFactory.getConnection(), "job"));
+        assertTrue(metaData.tableExists(DbConnectionFactory.getConnection(), "job_queue"));
+        assertTrue(metaData.hasColumn("job", "lease_expires_at"));
+        assertTrue(metaData.hasColumn("job_queue", "next_attempt_at"));
+        assertTrue(validateIndex("job", "idx_job_queue_name_state"));
+        assertTrue(validateIndex("job", "idx_job_lease_expires_at"));
+        assertTrue(validateIndex("job_queue", "idx_job_queue_created_at"));
+        assertFalse(upgradeTask.forceRun());
+    }
+
+    /**
+     * Method to test: {@link Task240712CreateJobQueueTables#executeUpgrade()}
+     * <p>
+     * Given Scenario: The task runs when the tables already exist
+     * <p>
+     * ExpectedResult: The task does not fail and the tables are still there
+     *
+     * @throws DotDataException if a data access error occurs.
+     */
+    @Test
+    public void test_upgradeTask_runsTwice() throws DotDataException, SQLException {
+
+        final var upgradeTask = new Task240712CreateJobQueueTables();
+        upgradeTask.executeUpgrade();
+        upgradeTask.executeUpgrade();
+
+        assertFalse(upgradeTask.forceRun());
+    }
+
+    /**
+     * Drops the job and job_queue tables, so the task has to create them again.
+     *
+     * @throws DotDataException if a data access error occurs.
+     */
+    private void dropTables() throws DotDataException {
+
+        try {
+            DbConnectionFactory.getConnection().setAutoCommit(true);
+        } catch (SQLException e) {
+            throw new DotDataException(e.getMessage(), e);
+        }
+
+        try {
+            final DotConnect dotConnect = new DotConnect();
+            dotConnect.executeStatement("DROP TABLE IF EXISTS job_queue");
+            dotConnect.executeStatement("DROP TABLE IF EXISTS job");
+        } catch (SQLException e) {
+            throw new DotDataException(e.getMessage(), e);
+        } finally {
+            DbConnectionFactory.closeSilently();
+        }
+    }
+
+    private boolean validateIndex(final String tableName, final String indexName) {
+        final DotDatabaseMetaData dbMetadata = new DotDatabaseMetaData();
+
+        try {
+            final ResultSet indicesInfo = dbMetadata.getIndices(DbConnectionFactory.getConnection(),
+                    null, tableName, false);
+            while (indicesInfo.next()) {
+                if (indexName.equals(indicesInfo.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        } catch (final SQLException e) {
+            Logger.error(this, e);
+        }
+        return false;
+    }
+
+}
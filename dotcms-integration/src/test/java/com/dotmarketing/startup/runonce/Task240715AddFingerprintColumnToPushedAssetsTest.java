@@ -0,0 +1,93 @@
+package com.dotmarketing.startup.runonce;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.dotcms.util.IntegrationTestInitService;
+import com.dotmarketing.common.db.DotConnect;
+import com.dotmarketing.common.db.DotDatabaseMetaData;
+import com.dotmarketing.db.DbConnectionFactory;
+import com.dotmarketing.exception.DotDataException;
+import java.sql.SQLException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Verifies that the {@link Task240715AddFingerprintColumnToPushedAssets} Upgrade Task adds the
+ * {@code asset_fingerprint} column to the {@code publishing_pushed_assets} table.
+ */
+public class Task240715AddFingerprintColumnToPushedAssetsTest {
+
+    private static final String TABLE = "publishing_pushed_assets";
+    private static final String COLUMN = "asset_fingerprint";
+
+    @BeforeClass
+    public static void prepare() throws Exception {
+        IntegrationTestInitService.getInstance().init();
+    }
+
+    /**
+     * Method to test: {@link Task240715AddFingerprintColumnToPushedAssets#executeUpgrade()}
+     * <p>
+     * Given Scenario: The column does not exist in the publishing_pushed_assets table
+     * <p>
+     * ExpectedResult: The asset_fingerprint column is added
+     *
+     * @throws DotDataException if a data access error occurs.
+     */
+    @Test
+    public void test_upgradeTask_success() throws DotDataException, SQLException {
+
+        // Make sure the column does not exist
+        dropFingerprintColumn();
+        assertFalse(new DotDatabaseMetaData().hasColumn(TABLE, COLUMN));
+
+        final var upgradeTask = new Task240715AddFingerprintColumnToPushedAssets();
+        assertTrue(upgradeTask.forceRun());
+        upgradeTask.executeUpgrade();
+
+        assertTrue(new DotDatabaseMetaData().hasColumn(TABLE, COLUMN));
+    }
+
+    /**
+     * Method to test: {@link Task240715AddFingerprintColumnToPushedAssets#executeUpgrade()}
+     * <p>
+     * Given Scenario: The task runs when the column already exists
+     * <p>
+     * ExpectedResult: The task does not fail and the column is still there
+     *
+     * @throws DotDataException if a data access error occurs.
+     */
+    @Test
+    public void test_upgradeTask_runsTwice() throws DotDataException, SQLException {
+
+        final var upgradeTask = new Task240715AddFingerprintColumnToPushedAssets();
+        upgradeTask.executeUpgrade();
+        upgradeTask.executeUpgrade();
+
+        assertTrue(new DotDatabaseMetaData().hasColumn(TABLE, COLUMN));
+    }
+
+    /**
+     * Drops the asset_fingerprint column from the publishing_pushed_assets table.
+     *
+     * @throws DotDataException if a data access error occurs.
+     */
+    private void dropFingerprintColumn() throws DotDataException {
+
+        try {
+            DbConnectionFactory.getConnection().setAutoCommit(true);
+        } catch (SQLException e) {
+            throw new DotDataException(e.getMessage(), e);
+        }
+
+        try {
+            final DotConnect dotConnect = new DotConnect();
+            dotConnect.setSQL("ALTER TABLE " + TABLE + " DROP COLUMN IF EXISTS " + COLUMN);
+            dotConnect.loadResult();
+        } finally {
+            DbConnectionFactory.closeSilently();
+        }
+    }
+
+}